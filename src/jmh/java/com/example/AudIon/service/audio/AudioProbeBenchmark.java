@@ -0,0 +1,193 @@
+package com.example.AudIon.service.audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 헤더 분석 시간 (메모리 입력)
+ * - wav: 헤더만 읽음 → 길이와 무관해야 함
+ * - adts: 프레임 순회 - 앞 1000 프레임만 읽고 나머지는 추정하므로 10분 파일도 1분 파일과 비슷해야 함
+ * - mp3-xing / mp3-vbri: 첫 프레임의 VBR 헤더에서 프레임 수를 읽음
+ * - mp3-cbr: ID3 태그 + 쓰레기 바이트 뒤에서 동기 패턴을 한 바이트씩 찾고(프레임 탐색) 크기로 길이 추정
+ * - ogg: 첫 페이지(OpusHead) + 파일 끝 64KB 에서 마지막 granule 검색
+ * - m4a: moov 가 mdat 뒤(파일 끝)에 있는 경우 - mdat 는 skip 으로 건너뜀
+ * 설정 시 한 번 분석해서 길이가 맞는지 확인 (입력 생성이 틀리면 벤치마크 시작 전에 실패)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AudioProbeBenchmark {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int ADTS_FRAME_LENGTH = 372; // 약 128kbps
+    private static final int MP3_FRAME_LENGTH = 417;  // MPEG1 Layer III 128kbps 44.1kHz (패딩 없음)
+    private static final int MP3_SAMPLES_PER_FRAME = 1152;
+    private static final int OPUS_BYTES_PER_SECOND = 8000; // 64kbps
+    private static final int OPUS_PRE_SKIP = 312;
+
+    @Param({"wav", "adts", "mp3-xing", "mp3-vbri", "mp3-cbr", "ogg", "m4a"})
+    public String format;
+
+    @Param({"1", "10"})
+    public int minutes;
+
+    private final AudioProbe probe = new AudioProbe();
+    private byte[] data;
+
+    @Setup
+    public void setUp() throws IOException {
+        int seconds = minutes * 60;
+        data = switch (format) {
+            case "wav" -> wav(seconds * SAMPLE_RATE);
+            case "adts" -> adts(seconds * SAMPLE_RATE / 1024);
+            case "mp3-xing", "mp3-vbri", "mp3-cbr" -> mp3(format, seconds * SAMPLE_RATE / MP3_SAMPLES_PER_FRAME);
+            case "ogg" -> opus(seconds);
+            case "m4a" -> m4a(seconds);
+            default -> throw new IllegalArgumentException(format);
+        };
+        float duration = probe().duration();
+        if (Math.abs(duration - seconds) > 1 + seconds * 0.01) { // CBR 추정은 프레임 길이 내림만큼 짧게 나옴
+            throw new IllegalStateException(format + " fixture probed as " + duration + "s, expected " + seconds + "s");
+        }
+    }
+
+    @Benchmark
+    public AudioInfo probe() throws IOException {
+        return probe.probe(() -> new ByteArrayInputStream(data), data.length);
+    }
+
+    /** 16bit mono PCM (내용은 0) */
+    private static byte[] wav(int samples) {
+        int dataLength = samples * 2;
+        ByteBuffer b = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        b.put("RIFF".getBytes()).putInt(36 + dataLength).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16)
+                .putShort((short) 1).putShort((short) 1).putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes()).putInt(dataLength);
+        return b.array();
+    }
+
+    /** AAC-LC 44.1kHz stereo ADTS 프레임 (페이로드는 0) */
+    private static byte[] adts(int frames) {
+        byte[] out = new byte[frames * ADTS_FRAME_LENGTH];
+        for (int f = 0; f < frames; f++) {
+            int p = f * ADTS_FRAME_LENGTH;
+            out[p] = (byte) 0xFF;
+            out[p + 1] = (byte) 0xF1;
+            out[p + 2] = (byte) (1 << 6 | 4 << 2);             // LC, 44100
+            out[p + 3] = (byte) (2 << 6 | (ADTS_FRAME_LENGTH >> 11) & 3); // 2ch
+            out[p + 4] = (byte) (ADTS_FRAME_LENGTH >> 3);
+            out[p + 5] = (byte) ((ADTS_FRAME_LENGTH & 7) << 5 | 0x1F);
+            out[p + 6] = (byte) 0xFC;
+        }
+        return out;
+    }
+
+    /**
+     * MPEG1 Layer III 128kbps 44.1kHz stereo 프레임 (페이로드는 0)
+     * xing/vbri 는 첫 프레임에 VBR 헤더, cbr 은 앞에 ID3v2 태그(1KB) + 쓰레기 바이트(2KB)
+     */
+    private static byte[] mp3(String variant, int frames) {
+        int prefix = "mp3-cbr".equals(variant) ? 10 + 1024 + 2048 : 0;
+        ByteBuffer b = ByteBuffer.allocate(prefix + frames * MP3_FRAME_LENGTH); // big-endian
+        if (prefix > 0) {
+            b.put("ID3".getBytes()).put((byte) 4).put((byte) 0).put((byte) 0)
+                    .put((byte) 0).put((byte) 0).put((byte) (1024 >> 7)).put((byte) 0); // syncsafe 1024
+            b.position(prefix);
+        }
+        for (int f = 0; f < frames; f++) {
+            int p = prefix + f * MP3_FRAME_LENGTH;
+            b.put(p, (byte) 0xFF).put(p + 1, (byte) 0xFB).put(p + 2, (byte) 0x90).put(p + 3, (byte) 0x00);
+        }
+        int vbr = prefix + 4 + 32; // 프레임 헤더 + MPEG1 stereo side info
+        if ("mp3-xing".equals(variant)) {
+            b.position(vbr);
+            b.put("Xing".getBytes()).putInt(0x3).putInt(frames).putInt(frames * MP3_FRAME_LENGTH);
+        } else if ("mp3-vbri".equals(variant)) {
+            b.position(vbr);
+            b.put("VBRI".getBytes()).putShort((short) 1).putShort((short) 0).putShort((short) 75)
+                    .putInt(frames * MP3_FRAME_LENGTH).putInt(frames);
+        }
+        return b.array();
+    }
+
+    /** Opus 64kbps - 헤더 페이지, 0 으로 채운 데이터, granule 이 든 마지막 페이지 */
+    private static byte[] opus(int seconds) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer head = ByteBuffer.allocate(19).order(ByteOrder.LITTLE_ENDIAN);
+        head.put("OpusHead".getBytes()).put((byte) 1).put((byte) 2).putShort((short) OPUS_PRE_SKIP)
+                .putInt(48000).putShort((short) 0).put((byte) 0);
+        out.write(oggPage(0x02, 0, head.array()));
+        out.write(new byte[seconds * OPUS_BYTES_PER_SECOND]);
+        out.write(oggPage(0x04, 48000L * seconds + OPUS_PRE_SKIP, new byte[200]));
+        return out.toByteArray();
+    }
+
+    private static byte[] oggPage(int flags, long granule, byte[] packet) {
+        ByteBuffer b = ByteBuffer.allocate(27 + 1 + packet.length).order(ByteOrder.LITTLE_ENDIAN);
+        b.put("OggS".getBytes()).put((byte) 0).put((byte) flags).putLong(granule)
+                .putInt(0x4155_4449).putInt(0).putInt(0) // serial, sequence, crc (검증 안 함)
+                .put((byte) 1).put((byte) packet.length).put(packet);
+        return b.array();
+    }
+
+    /** AAC 44.1kHz stereo M4A - ftyp, mdat(128kbps 분량의 0), moov 순서 (스트리밍 최적화 안 된 파일) */
+    private static byte[] m4a(int seconds) throws IOException {
+        ByteBuffer mvhd = ByteBuffer.allocate(100);
+        mvhd.putInt(0).putInt(0).putInt(0).putInt(1000).putInt(seconds * 1000);
+        ByteBuffer mdhd = ByteBuffer.allocate(24);
+        mdhd.putInt(0).putInt(0).putInt(0).putInt(SAMPLE_RATE).putInt(seconds * SAMPLE_RATE);
+        ByteBuffer hdlr = ByteBuffer.allocate(25);
+        hdlr.putInt(0).putInt(0).put("soun".getBytes());
+        ByteBuffer mp4a = ByteBuffer.allocate(28);
+        mp4a.position(6);
+        mp4a.putShort((short) 1).position(16);
+        mp4a.putShort((short) 2).putShort((short) 16).putShort((short) 0).putShort((short) 0).putInt(SAMPLE_RATE << 16);
+        ByteBuffer stsd = ByteBuffer.allocate(8);
+        stsd.putInt(0).putInt(1);
+
+        byte[] moov = atom("moov",
+                atom("mvhd", mvhd.array()),
+                atom("trak",
+                        atom("mdia",
+                                atom("mdhd", mdhd.array()),
+                                atom("hdlr", hdlr.array()),
+                                atom("minf",
+                                        atom("stbl",
+                                                atom("stsd", stsd.array(), atom("mp4a", mp4a.array())))))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(atom("ftyp", "M4A ".getBytes(), new byte[4], "M4A isom".getBytes()));
+        out.write(atom("mdat", new byte[seconds * 16_000]));
+        out.write(moov);
+        return out.toByteArray();
+    }
+
+    private static byte[] atom(String type, byte[]... children) {
+        int length = 8;
+        for (byte[] child : children) {
+            length += child.length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(length);
+        b.putInt(length).put(type.getBytes(StandardCharsets.US_ASCII));
+        for (byte[] child : children) {
+            b.put(child);
+        }
+        return b.array();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+import com.example.AudIon.service.audio.dsp.ScalarDspKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VAD 무음 제거 처리량 - 16kHz 모노 60초 (1초 음성 / 1초 무음 반복), 전처리와 같은 4096 샘플 블록
+ * 기본값은 AudioPreprocessor 의 app.vad.* 기본값과 같음
+ * - 한 번 호출이 오디오 60초라 @OperationsPerInvocation(60): 점수(ops/s)는 CPU 1초당 처리하는 오디오 초 (실시간 배수)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(VoiceActivityDetectorBenchmark.SECONDS)
+public class VoiceActivityDetectorBenchmark {
+
+    private static final int SAMPLE_RATE = 16000;
+    static final int SECONDS = 60;
+    private static final int BLOCK = 4096;
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    private DspKernels kernels;
+    private float[] signal;
+    private float[] in;
+    private float[] out;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(impl) ? DspKernels.select(true) : new ScalarDspKernels();
+        if (!kernels.name().startsWith(impl)) {
+            throw new IllegalStateException("벡터 구현을 사용할 수 없습니다: " + kernels.name());
+        }
+        Random random = new Random(7);
+        signal = new float[SAMPLE_RATE * SECONDS];
+        for (int i = 0; i < signal.length; i++) {
+            float noise = (float) random.nextGaussian() * 0.002f;
+            boolean speech = (i / SAMPLE_RATE) % 2 == 0;
+            signal[i] = speech ? (float) (0.3 * Math.sin(2 * Math.PI * 180 * i / SAMPLE_RATE)) + noise : noise;
+        }
+        in = new float[BLOCK];
+        out = new float[newDetector().maxOutput(BLOCK)];
+    }
+
+    private VoiceActivityDetector newDetector() {
+        return new VoiceActivityDetector(SAMPLE_RATE, 20, 300, 200, -55, 10, 0.35, kernels);
+    }
+
+    @Benchmark
+    public long trimSilence() {
+        VoiceActivityDetector vad = newDetector();
+        long emitted = 0;
+        for (int pos = 0; pos < signal.length; pos += BLOCK) {
+            int n = Math.min(BLOCK, signal.length - pos);
+            System.arraycopy(signal, pos, in, 0, n);
+            emitted += vad.process(in, n, out);
+        }
+        return emitted + vad.flush(out);
+    }
+}
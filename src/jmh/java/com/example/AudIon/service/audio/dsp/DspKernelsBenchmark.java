@@ -0,0 +1,120 @@
+package com.example.AudIon.service.audio.dsp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DSP 커널 스칼라/벡터 비교 (샘플 수 size 한 구간 처리 시간)
+ * - fft 는 size 와 무관하게 1024 점 고정
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DspKernelsBenchmark {
+
+    private static final int FFT_SIZE = 1024;
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    @Param({"4096", "100000"})
+    public int size;
+
+    private DspKernels kernels;
+    private byte[] pcm;
+    private byte[] out;
+    private float[] samples;
+    private float[] other;
+    private float[] taps;
+    private float[] filtered;
+    private float[] fftRe;
+    private float[] fftIm;
+    private float[] spectrum;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(impl) ? DspKernels.select(true) : new ScalarDspKernels();
+        if (!kernels.name().startsWith(impl)) {
+            throw new IllegalStateException("벡터 구현을 사용할 수 없습니다: " + kernels.name());
+        }
+        Random random = new Random(1);
+        pcm = new byte[2 * size];
+        random.nextBytes(pcm);
+        out = new byte[2 * size];
+        samples = new float[size + 31];
+        other = new float[size];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) random.nextGaussian() * 0.3f;
+        }
+        for (int i = 0; i < size; i++) {
+            other[i] = (float) random.nextGaussian() * 0.3f;
+        }
+        taps = new float[31];
+        for (int i = 0; i < taps.length; i++) {
+            taps[i] = (float) random.nextGaussian() * 0.1f;
+        }
+        filtered = new float[size];
+        fftRe = new float[FFT_SIZE];
+        fftIm = new float[FFT_SIZE];
+        spectrum = new float[FFT_SIZE / 2 + 1];
+    }
+
+    @Benchmark
+    public float[] int16ToFloat() {
+        kernels.int16ToFloat(pcm, 0, other, 0, size);
+        return other;
+    }
+
+    @Benchmark
+    public byte[] floatToInt16() {
+        kernels.floatToInt16(samples, 0, out, 0, size, 0.9f);
+        return out;
+    }
+
+    @Benchmark
+    public double sumOfSquares() {
+        return kernels.sumOfSquares(samples, 0, size);
+    }
+
+    @Benchmark
+    public void peakAndClip(Blackhole bh) {
+        bh.consume(kernels.peak(samples, 0, size));
+        bh.consume(kernels.countAtLeast(samples, 0, size, 0.99f));
+    }
+
+    @Benchmark
+    public void minMax(Blackhole bh) {
+        bh.consume(kernels.min(samples, 0, size));
+        bh.consume(kernels.max(samples, 0, size));
+    }
+
+    @Benchmark
+    public float dot() {
+        return kernels.dot(samples, 0, other, 0, size);
+    }
+
+    @Benchmark
+    public float[] fir31() {
+        kernels.fir(samples, 0, taps, filtered, 0, size);
+        return filtered;
+    }
+
+    @Benchmark
+    public float[] fftMagnitude1024() {
+        System.arraycopy(samples, 0, fftRe, 0, FFT_SIZE);
+        Arrays.fill(fftIm, 0f);
+        kernels.fftMagnitude(fftRe, fftIm, spectrum, FFT_SIZE);
+        return spectrum;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.AudIon.config;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@Slf4j
+public class AudioProcessingConfig {
+
+    /**
+     * DSP 커널 구현 선택 (기동 시 한 번) - 벡터 모듈이 로드돼 있으면 SIMD, 아니면 스칼라
+     */
+    @Bean
+    public DspKernels dspKernels(@Value("${app.dsp.vector-enabled:true}") boolean vectorEnabled) {
+        DspKernels kernels = DspKernels.select(vectorEnabled);
+        log.info("Using {} DSP kernels", kernels.name());
+        return kernels;
+    }
+
+    /**
+     * 오디오 전처리 전용 워커 풀 (고정 크기 + 제한된 대기열)
+     * 대기열이 가득 차면 RejectedExecutionException - 호출 측에서 원본으로 학습 진행
+     */
+    @Bean(name = "audioProcessingExecutor")
+    public ThreadPoolTaskExecutor audioProcessingExecutor(
+            @Value("${app.preprocess.workers:2}") int workers,
+            @Value("${app.preprocess.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("audio-preprocess-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 저장된 WAV → FLAC 재인코딩 워커 풀 (배경 작업이라 기본 1개로 제한)
+     */
+    @Bean(name = "flacReencodeExecutor")
+    public ThreadPoolTaskExecutor flacReencodeExecutor(
+            @Value("${app.flac.workers:1}") int workers,
+            @Value("${app.flac.batch-size:20}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("flac-reencode-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 긴 녹음 분할/구간 업로드용 fork-join 풀
+     * 구간 업로드가 블로킹 I/O 라 공용 풀 대신 크기를 제한한 전용 풀 사용 (동시 버퍼 수 = parallelism)
+     */
+    @Bean(name = "audioSegmentPool", destroyMethod = "shutdown")
+    public ForkJoinPool audioSegmentPool(@Value("${app.segment.parallelism:4}") int parallelism) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("audio-segment-" + thread.getPoolIndex());
+            return thread;
+        };
+        return new ForkJoinPool(Math.max(1, parallelism), factory, null, false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.AudIon.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @Scheduled 작업용 스케줄러 풀
+ * 기본 스케줄러는 스레드 1개라 재고 대조/키 이전/GC 같은 긴 작업이 다른 작업(레이트 리밋 정리, 업로드 만료 등)을 막음
+ * - 같은 작업은 fixedDelay 라 겹쳐 실행되지 않음, 서로 다른 작업만 동시에 실행
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:6}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.AudIon.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 파일명/모델명 검색용 trigram 인덱스 초기화
+ * - pg_trgm + btree_gin 확장으로 (소유자, lower(이름)) 복합 GIN 인덱스를 만들어
+ *   '%검색어%' 조회도 해당 사용자 범위 안에서 인덱스로 처리
+ * - ddl-auto로는 만들 수 없는 인덱스라 기동 후 CONCURRENTLY로 생성 (테이블 잠금 없음)
+ * - 확장 생성 권한이 없으면 기존 LIKE 검색으로 동작
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramSearchInitializer {
+
+    private static final List<String> EXTENSIONS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE EXTENSION IF NOT EXISTS btree_gin"
+    );
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_filename_trgm " +
+                    "ON voice_files USING gin (wallet_key, lower(original_filename) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_model_name_trgm " +
+                    "ON voice_models USING gin (user_id, lower(model_name) gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.trigram.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("Trigram search disabled - using LIKE search");
+            return;
+        }
+
+        try {
+            EXTENSIONS.forEach(jdbcTemplate::execute);
+            INDEXES.forEach(jdbcTemplate::execute);
+            available = true;
+            log.info("Trigram search indexes ready");
+
+        } catch (Exception e) {
+            log.warn("Trigram search unavailable, falling back to LIKE search: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.AudIon.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * voice_files 보조 인덱스 초기화 (ddl-auto로는 만들 수 없는 인덱스라 기동 후 CONCURRENTLY로 생성, 테이블 잠금 없음)
+ * - S3 키 바이트 순 인덱스: 객체 목록(ListObjectsV2)은 UTF-8 바이트 순이라 DB 키도 같은 순서(COLLATE "C")로 범위 조회
+ * - 부분 인덱스: 목록 조회는 항상 deleted_at IS NULL 조건이라 삭제되지 않은 행만 색인,
+ *   영구 삭제 대상 조회는 삭제된 행만 색인
+ * - 실패해도 조회는 동작 (기존 인덱스 또는 순차 스캔)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoiceFileIndexInitializer {
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_s3_key_c " +
+                    "ON voice_files ((s3_key COLLATE \"C\"))",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_user_live " +
+                    "ON voice_files (user_id, uploaded_at DESC) WHERE deleted_at IS NULL",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_user_status_live " +
+                    "ON voice_files (user_id, status, uploaded_at DESC) WHERE deleted_at IS NULL",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_wallet_key_live " +
+                    "ON voice_files (wallet_key, uploaded_at DESC) WHERE deleted_at IS NULL",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_voice_file_deleted_at " +
+                    "ON voice_files (deleted_at) WHERE deleted_at IS NOT NULL"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        for (String index : INDEXES) {
+            try {
+                jdbcTemplate.execute(index);
+            } catch (Exception e) {
+                log.warn("Voice file index unavailable ({}): {}", index, e.getMessage());
+            }
+        }
+        log.info("Voice file indexes ready");
+    }
+}
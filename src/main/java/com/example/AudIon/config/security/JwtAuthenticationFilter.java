@@ -1,5 +1,6 @@
 package com.example.AudIon.config.security;
 
+import com.example.AudIon.domain.user.WalletAddress;
 import com.example.AudIon.service.Auth.JwtUtil;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Claims;
@@ -55,7 +56,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // 사용자 정보 추출
             Optional<String> userIdOpt = jwtUtil.getUserId(jws);
-            Optional<String> walletOpt = jwtUtil.getWalletAddress(jws);
+            Optional<WalletAddress> walletOpt = jwtUtil.getWallet(jws);
 
             if (userIdOpt.isEmpty() || walletOpt.isEmpty()) {
                 log.warn("JWT token missing required claims: userId or wallet");
@@ -65,10 +66,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // 인증 정보 생성
             String userId = userIdOpt.get();
-            String walletAddress = walletOpt.get();
+            WalletAddress wallet = walletOpt.get();
 
             // 사용자 principal 생성 (userId를 principal로, wallet을 credentials로)
-            Web3AuthenticatedUser principal = new Web3AuthenticatedUser(userId, walletAddress);
+            Web3AuthenticatedUser principal = new Web3AuthenticatedUser(userId, wallet);
+            String walletAddress = principal.getWalletAddress();
 
             // 권한 부여 (기본적으로 USER 권한)
             List<SimpleGrantedAuthority> authorities = List.of(
@@ -111,17 +113,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     public static class Web3AuthenticatedUser {
         private final String userId;
+        private final WalletAddress wallet;
         private final String walletAddress;
 
-        public Web3AuthenticatedUser(String userId, String walletAddress) {
+        public Web3AuthenticatedUser(String userId, WalletAddress wallet) {
             this.userId = userId;
-            this.walletAddress = walletAddress;
+            this.wallet = wallet;
+            this.walletAddress = wallet.toString(); // 정규화된 문자열은 요청당 한 번만 생성
         }
 
         public String getUserId() {
             return userId;
         }
 
+        public WalletAddress getWallet() {
+            return wallet;
+        }
+
         public String getWalletAddress() {
             return walletAddress;
         }
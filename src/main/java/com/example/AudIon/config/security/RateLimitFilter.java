@@ -0,0 +1,74 @@
+package com.example.AudIon.config.security;
+
+import com.example.AudIon.service.ratelimit.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 로그인/업로드(재개 가능한 업로드 생성 포함)/민팅 요청 한도 (IP + 인증된 지갑)
+ * 요청 본문을 읽기 전에 거절 - 로그인의 지갑 기준 한도는 본문을 읽은 뒤 AuthController 에서 확인
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitService.Endpoint endpoint = endpointOf(request);
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String wallet = authentication != null
+                && authentication.getPrincipal() instanceof JwtAuthenticationFilter.Web3AuthenticatedUser user
+                ? user.getWalletAddress() : null;
+
+        RateLimitService.Decision decision = rateLimitService.tryAcquire(endpoint,
+                rateLimitService.clientIp(request), wallet);
+        if (!decision.allowed()) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Too many requests, please retry later\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpointOf(request) == null;
+    }
+
+    private static RateLimitService.Endpoint endpointOf(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        return switch (request.getRequestURI().substring(request.getContextPath().length())) {
+            case "/auth/login" -> RateLimitService.Endpoint.LOGIN;
+            case "/voice/upload", "/voice/uploads" -> RateLimitService.Endpoint.UPLOAD;
+            case "/nft/mint" -> RateLimitService.Endpoint.MINT;
+            default -> null;
+        };
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -21,6 +22,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final UploadAdmissionFilter uploadAdmissionFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -50,6 +53,9 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/actuator/**").hasRole("ADMIN")
 
+                        // 관리자 엔드포인트
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+
                         // AI 서버 콜백 (X-AUTH 헤더로 별도 인증)
                         .requestMatchers("/model/callback", "/voice/callback").permitAll()
 
@@ -60,6 +66,10 @@ public class SecurityConfig {
                 // JWT 필터 추가
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // 요청 한도 → 업로드 허용 검사 (인가 통과 후, 본문 파싱 전)
+                .addFilterAfter(rateLimitFilter, AuthorizationFilter.class)
+                .addFilterAfter(uploadAdmissionFilter, RateLimitFilter.class)
+
                 // 에러 핸들링
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((request, response, authException) -> {
@@ -90,15 +100,20 @@ public class SecurityConfig {
         ));
 
         configuration.setAllowedMethods(List.of(
-                "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"
+                "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"
         ));
 
         configuration.setAllowedHeaders(List.of(
-                "Authorization", "Content-Type", "X-Requested-With", "X-AUTH"
+                "Authorization", "Content-Type", "X-Requested-With", "X-AUTH",
+                "Range", "If-Range", "If-None-Match", // 스트리밍 구간 요청 / ETag 재검증 (stream, peaks)
+                "Upload-Length", "Upload-Offset", "Upload-Metadata", "Tus-Resumable" // 재개 가능한 업로드
         ));
 
         configuration.setExposedHeaders(List.of(
-                "Authorization", "Content-Length", "X-Total-Count"
+                "Authorization", "Content-Length", "X-Total-Count",
+                "ETag", "Content-Range", "Accept-Ranges",
+                "Retry-After", // 503/429 재시도 대기 (업로드 허용 검사, 요청 한도)
+                "Location", "Upload-Offset", "Upload-Length", "Tus-Resumable" // 재개 가능한 업로드
         ));
 
         configuration.setAllowCredentials(true);
@@ -0,0 +1,72 @@
+package com.example.AudIon.config.security;
+
+import com.example.AudIon.service.voice.UploadAdmission;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 업로드 허용 검사 (POST /voice/upload, 재개 가능한 업로드 청크 PATCH /voice/uploads/{id})
+ * DispatcherServlet 이 본문을 읽기 전에 Content-Length 와 지갑만 보고 판단
+ * (인가 이후에 실행 - 인증되지 않은 요청은 그대로 넘겨 401 처리)
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String UPLOAD_PATH = "/voice/upload";
+    private static final String RESUMABLE_PATH_PREFIX = "/voice/uploads/";
+
+    private final UploadAdmission uploadAdmission;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof JwtAuthenticationFilter.Web3AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UploadAdmission.Decision decision = uploadAdmission.tryAdmit(user.getWalletAddress(),
+                request.getContentLengthLong());
+        if (!decision.admitted()) {
+            boolean busy = decision.rejection() == UploadAdmission.Rejection.BUSY;
+            response.setStatus(busy ? HttpServletResponse.SC_SERVICE_UNAVAILABLE : 429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setHeader(HttpHeaders.CONNECTION, "close"); // 읽지 않은 본문 때문에 연결을 재사용하지 않음
+            response.setContentType("application/json");
+            response.getWriter().write(busy
+                    ? "{\"error\":\"Server is busy with other uploads, please retry later\"}"
+                    : "{\"error\":\"Too many concurrent uploads for this wallet\"}");
+            return;
+        }
+
+        try (UploadAdmission.Permit ignored = decision.permit()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            return !UPLOAD_PATH.equals(path);
+        }
+        return !HttpMethod.PATCH.matches(request.getMethod()) || !path.startsWith(RESUMABLE_PATH_PREFIX);
+    }
+}
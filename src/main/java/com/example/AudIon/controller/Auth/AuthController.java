@@ -4,9 +4,11 @@ import com.example.AudIon.dto.auth.LoginRequest;
 import com.example.AudIon.service.Auth.AuthService;
 import com.example.AudIon.service.Auth.JwtUtil;
 import com.example.AudIon.repository.user.UserRepository;
+import com.example.AudIon.service.ratelimit.RateLimitService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +24,7 @@ public class AuthController {
     private final AuthService authService;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final RateLimitService rateLimitService;
 
     /**
      * Modern Web3 Login (단일 단계)
@@ -32,8 +35,20 @@ public class AuthController {
             @RequestBody LoginRequest loginRequest,
             HttpServletRequest request) {
 
+        // 지갑 기준 한도 (IP 기준은 RateLimitFilter) - 서명 검증 전에 확인하므로 IP + 지갑 조합으로
+        // (지갑만으로 세면 다른 사람이 잘못된 서명을 보내 그 지갑의 로그인을 막을 수 있음)
+        String clientIp = rateLimitService.clientIp(request);
+        String walletKey = loginRequest.getWalletAddress() != null
+                ? clientIp + "|" + loginRequest.getWalletAddress().trim().toLowerCase() : null;
+        RateLimitService.Decision limit = rateLimitService.tryAcquire(
+                RateLimitService.Endpoint.LOGIN, RateLimitService.Dimension.WALLET, walletKey);
+        if (!limit.allowed()) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(limit.retryAfterSeconds()))
+                    .body(Map.of("error", "Too many login attempts, please retry later"));
+        }
+
         try {
-            String clientIp = getClientIpAddress(request);
             String userAgent = request.getHeader("User-Agent");
 
             String token = authService.login(
@@ -110,22 +125,4 @@ public class AuthController {
             return ResponseEntity.ok(Map.of("message", "Logged out"));
         }
     }
-
-
-    /**
-     * 클라이언트 IP 주소 추출 (프록시 고려)
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
\ No newline at end of file
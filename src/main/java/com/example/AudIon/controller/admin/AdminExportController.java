@@ -0,0 +1,68 @@
+package com.example.AudIon.controller.admin;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.service.export.ExportFormat;
+import com.example.AudIon.service.export.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 관리자용 음성 파일 내보내기 (NDJSON/CSV 스트리밍)
+ * 접근 제어는 SecurityConfig의 /admin/** (ROLE_ADMIN)
+ */
+@RestController
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * 기간 또는 상태 기준 음성 파일 내보내기
+     */
+    @GetMapping("/voice-files")
+    public ResponseEntity<?> exportVoiceFiles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "format", required = false) String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.from(format);
+            StreamingResponseBody body;
+
+            if (status != null && !status.trim().isEmpty()) {
+                VoiceFile.Status fileStatus = VoiceFile.Status.valueOf(status.trim().toUpperCase());
+                body = out -> {
+                    long rows = exportService.exportVoiceFilesByStatus(fileStatus, exportFormat, out);
+                    log.info("Admin export: {} voice files with status {}", rows, fileStatus);
+                };
+            } else if (from != null && to != null) {
+                body = out -> {
+                    long rows = exportService.exportVoiceFilesUploadedBetween(from, to, exportFormat, out);
+                    log.info("Admin export: {} voice files uploaded between {} and {}", rows, from, to);
+                };
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("error", "status or from/to is required"));
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"voice-files." + exportFormat.getExtension() + "\"")
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
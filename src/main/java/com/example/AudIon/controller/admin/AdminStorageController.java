@@ -0,0 +1,31 @@
+package com.example.AudIon.controller.admin;
+
+import com.example.AudIon.domain.storage.InventoryRun;
+import com.example.AudIon.repository.storage.InventoryRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 관리자용 저장소 상태 조회
+ * 접근 제어는 SecurityConfig의 /admin/** (ROLE_ADMIN)
+ */
+@RestController
+@RequestMapping("/admin/storage")
+@RequiredArgsConstructor
+public class AdminStorageController {
+
+    private final InventoryRunRepository inventoryRunRepository;
+
+    /**
+     * 최근 인벤토리 대조 결과 (진행 중인 대조는 체크포인트까지의 집계)
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<List<InventoryRun>> inventoryRuns() {
+        return ResponseEntity.ok(inventoryRunRepository.findTop20ByOrderByStartedAtDesc());
+    }
+}
@@ -10,13 +10,18 @@ import com.example.AudIon.dto.model.ModelTrainCompleteCallbackRequest;
 import com.example.AudIon.repository.model.VoiceModelRepository;
 import com.example.AudIon.repository.user.UserRepository;
 import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.export.ExportFormat;
+import com.example.AudIon.service.export.ExportService;
 import com.example.AudIon.service.model.VoiceModelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
@@ -33,6 +38,7 @@ public class VoiceModelController {
     private final VoiceModelService voiceModelService;
     private final UserRepository userRepository;
     private final VoiceFileRepository voiceFileRepository;
+    private final ExportService exportService;
 
     @Value("${xauth.secret}")
     private String secret;
@@ -53,12 +59,11 @@ public class VoiceModelController {
 
             User user = userRepository.findById(userUuid)
                     .orElseThrow(() -> new IllegalArgumentException("User not found: " + authUser.getUserId()));
-            VoiceFile voiceFile = voiceFileRepository.findById(voiceFileUuid)
-                    .orElseThrow(() -> new IllegalArgumentException("VoiceFile not found: " + voiceFileId));
-                    
-            // Security check: Verify the voice file belongs to the authenticated user
-            if (!voiceFile.getWalletAddress().equalsIgnoreCase(authUser.getWalletAddress())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Voice file does not belong to you"));
+            // Security check: 소유자 범위 조회 (다른 사용자의 파일은 조회되지 않음)
+            VoiceFile voiceFile = voiceFileRepository.findByIdAndWalletKeyAndDeletedAtIsNull(voiceFileUuid, authUser.getWallet())
+                    .orElse(null);
+            if (voiceFile == null) {
+                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Voice file not found or does not belong to you"));
             }
 
             VoiceModel model = voiceModelService.createModel(user, voiceFile, modelName);
@@ -145,12 +150,12 @@ public class VoiceModelController {
         try {
             Web3AuthenticatedUser authUser = (Web3AuthenticatedUser) authentication.getPrincipal();
             UUID modelId = UUID.fromString(id);
-            VoiceModel model = voiceModelRepository.findById(modelId)
-                    .orElseThrow(() -> new IllegalArgumentException("Model not found: " + id));
+            UUID userUuid = UUID.fromString(authUser.getUserId());
 
-            // Security check: Verify the model belongs to the authenticated user
-            if (!model.getUser().getId().toString().equals(authUser.getUserId())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Model does not belong to you"));
+            // Security check: user_id FK 조건으로 한 번에 조회 (User 엔티티 로딩 없음)
+            VoiceModel model = voiceModelRepository.findByIdAndUserId(modelId, userUuid).orElse(null);
+            if (model == null) {
+                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Model not found or does not belong to you"));
             }
 
             return ResponseEntity.ok(Map.of(
@@ -193,6 +198,34 @@ public class VoiceModelController {
         }
     }
 
+    /**
+     * 내 모델 전체 내보내기 (NDJSON/CSV 스트리밍)
+     */
+    @GetMapping("/my-models/export")
+    public ResponseEntity<?> exportMyModels(
+            @RequestParam(value = "format", required = false) String format,
+            Authentication authentication) {
+        try {
+            Web3AuthenticatedUser authUser = (Web3AuthenticatedUser) authentication.getPrincipal();
+            UUID userUuid = UUID.fromString(authUser.getUserId());
+            ExportFormat exportFormat = ExportFormat.from(format);
+
+            StreamingResponseBody body = out -> {
+                long rows = exportService.exportModels(userUuid, exportFormat, out);
+                log.info("Exported {} models for user: {}", rows, userUuid);
+            };
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"voice-models." + exportFormat.getExtension() + "\"")
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * 사용자별 모델 목록 조회 (페이지네이션)
      */
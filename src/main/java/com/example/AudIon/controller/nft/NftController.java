@@ -33,13 +33,12 @@ public class NftController {
         try {
             Web3AuthenticatedUser authUser = (Web3AuthenticatedUser) authentication.getPrincipal();
             
-            // 모델 조회 및 소유자 검증
-            VoiceModel model = voiceModelRepository.findById(UUID.fromString(req.getModelId()))
-                    .orElseThrow(() -> new IllegalArgumentException("Model not found"));
-                    
-            // Security check: Verify the model belongs to the authenticated user
-            if (!model.getUser().getId().toString().equals(authUser.getUserId())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Model does not belong to you"));
+            // 모델 조회 및 소유자 검증 (user_id FK 조건으로 한 번에 조회)
+            VoiceModel model = voiceModelRepository.findByIdAndUserId(
+                            UUID.fromString(req.getModelId()), UUID.fromString(authUser.getUserId()))
+                    .orElse(null);
+            if (model == null) {
+                return ResponseEntity.status(403).body(Map.of("error", "Access denied: Model not found or does not belong to you"));
             }
 
             // Check if NFT already exists for this model
@@ -57,6 +56,7 @@ public class NftController {
                     .voiceModel(model)
                     .tokenId(UUID.randomUUID().toString()) // 실제론 온체인 tokenId 반환값
                     .ownerWallet(ownerWallet)
+                    .ownerWalletKey(authUser.getWallet())
                     .metadataUrl(metadataUrl)
                     .mintedAt(LocalDateTime.now())
                     .build();
@@ -85,9 +85,8 @@ public class NftController {
     public ResponseEntity<?> getMyNfts(Authentication authentication) {
         try {
             Web3AuthenticatedUser authUser = (Web3AuthenticatedUser) authentication.getPrincipal();
-            String walletAddress = authUser.getWalletAddress();
             
-            var nfts = nftRepository.findByOwnerWalletWithVoiceModel(walletAddress);
+            var nfts = nftRepository.findByOwnerWalletWithVoiceModel(authUser.getWallet());
             return ResponseEntity.ok(nfts);
 
         } catch (Exception e) {
@@ -102,9 +101,8 @@ public class NftController {
             Authentication authentication) {
         try {
             Web3AuthenticatedUser authUser = (Web3AuthenticatedUser) authentication.getPrincipal();
-            String walletAddress = authUser.getWalletAddress();
             
-            Page<Nft> page = nftRepository.findByOwnerWalletWithVoiceModel(walletAddress, pageRequest.toSpringPageRequest());
+            Page<Nft> page = nftRepository.findByOwnerWalletWithVoiceModel(authUser.getWallet(), pageRequest.toSpringPageRequest());
             PagedResponse<Nft> result = PagedResponse.of(page.getContent(), page);
             
             return ResponseEntity.ok(result);
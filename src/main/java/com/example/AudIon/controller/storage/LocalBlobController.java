@@ -0,0 +1,70 @@
+package com.example.AudIon.controller.storage;
+
+import com.example.AudIon.service.storage.LocalBlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 로컬 BlobStore 객체 서빙 (app.storage.type=local 일 때만)
+ * - public-read 객체는 그대로, 나머지는 presign 서명(method/expires/signature) 필요
+ * - Range 요청은 Resource 응답으로 Spring 이 처리 (206)
+ */
+@RestController
+@RequestMapping(LocalBlobStore.URL_PREFIX)
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalBlobController {
+
+    private final LocalBlobStore blobStore;
+
+    @GetMapping("**")
+    public ResponseEntity<?> get(HttpServletRequest request,
+                                 @RequestParam(required = false) String method,
+                                 @RequestParam(required = false) Long expires,
+                                 @RequestParam(required = false) String signature) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = UriUtils.decode(path.substring(LocalBlobStore.URL_PREFIX.length()), StandardCharsets.UTF_8);
+
+        LocalBlobStore.LocalBlob blob;
+        try {
+            blob = blobStore.locate(key).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        if (blob == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!blob.publicRead()) {
+            boolean signed = expires != null && HttpMethod.GET.matches(method)
+                    && blobStore.verify(key, method, expires, signature);
+            if (!signed) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Invalid or expired signature"));
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(blob.info().contentType()))
+                .eTag("\"" + blob.info().eTag() + "\"")
+                .lastModified(blob.info().lastModified());
+        if (blob.cacheControl() != null) {
+            response.header(HttpHeaders.CACHE_CONTROL, blob.cacheControl());
+        }
+        return response.body(new FileSystemResource(blob.content()));
+    }
+}
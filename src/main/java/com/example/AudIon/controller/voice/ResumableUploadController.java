@@ -0,0 +1,216 @@
+package com.example.AudIon.controller.voice;
+
+import com.example.AudIon.config.security.JwtAuthenticationFilter.Web3AuthenticatedUser;
+import com.example.AudIon.domain.voice.ResumableUpload;
+import com.example.AudIon.dto.voice.VoiceUploadResponse;
+import com.example.AudIon.service.voice.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 재개 가능한 업로드 (tus 1.0 core 방식)
+ * - POST /voice/uploads: Upload-Length (+ Upload-Metadata: filename, filetype, duration) → 201 + Location
+ * - HEAD /voice/uploads/{id}: 저장된 위치 (Upload-Offset)
+ * - PATCH /voice/uploads/{id}: Upload-Offset 위치부터 청크 하나 (application/offset+octet-stream, 크기는 partSize)
+ * - POST /voice/uploads/{id}/finalize: POST /voice/upload 와 같은 VoiceUploadResponse
+ * - DELETE /voice/uploads/{id}: 취소
+ */
+@RestController
+@RequestMapping("/voice/uploads")
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadController {
+
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<?> createUpload(
+            @RequestHeader(UPLOAD_LENGTH) long uploadLength,
+            @RequestHeader(value = "Upload-Metadata", required = false) String uploadMetadata,
+            Authentication authentication
+    ) {
+        try {
+            Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+            Map<String, String> metadata = parseMetadata(uploadMetadata);
+            String duration = metadata.get("duration");
+
+            ResumableUpload upload = resumableUploadService.create(user.getWallet(), uploadLength,
+                    metadata.get("filename"), metadata.get("filetype"),
+                    StringUtils.hasText(duration) ? Float.valueOf(duration) : null);
+
+            return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .path("/{id}").buildAndExpand(upload.getId()).toUri())
+                    .header(TUS_RESUMABLE, TUS_VERSION)
+                    .header(UPLOAD_OFFSET, "0")
+                    .body(Map.of(
+                            "uploadId", upload.getId().toString(),
+                            "uploadLength", upload.getUploadLength(),
+                            "partSize", upload.getPartSize(),
+                            "expiresAt", upload.getExpiresAt()
+                    ));
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid input for resumable upload: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("Failed to create resumable upload", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "업로드를 시작하지 못했습니다."));
+        }
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<?> getUploadOffset(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ResumableUpload> upload = findUpload(uploadId, authentication);
+        if (upload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (resumableUploadService.isGone(upload.get())) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        return ResponseEntity.ok()
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, String.valueOf(upload.get().getUploadOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(upload.get().getUploadLength()))
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+
+    @PatchMapping(value = "/{uploadId}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request,
+            Authentication authentication
+    ) {
+        Optional<ResumableUpload> upload = findUpload(uploadId, authentication);
+        if (upload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (resumableUploadService.isGone(upload.get())) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", "만료되었거나 취소된 업로드입니다."));
+        }
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).body(Map.of("error", "Content-Length 가 필요합니다."));
+        }
+
+        try {
+            long newOffset = resumableUploadService.appendChunk(upload.get(), offset, request.getInputStream(), length);
+            return ResponseEntity.noContent()
+                    .header(TUS_RESUMABLE, TUS_VERSION)
+                    .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+
+        } catch (Exception e) {
+            // 끊긴 청크는 저장되지 않음 - 클라이언트는 HEAD 로 위치를 확인하고 다시 보냄
+            log.warn("Resumable upload chunk failed: {} at offset {} - {}", uploadId, offset, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("error", "청크 업로드에 실패했습니다."));
+        }
+    }
+
+    @PostMapping("/{uploadId}/finalize")
+    public ResponseEntity<?> finalizeUpload(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ResumableUpload> upload = findUpload(uploadId, authentication);
+        if (upload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (resumableUploadService.isGone(upload.get())) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", "만료되었거나 취소된 업로드입니다."));
+        }
+
+        try {
+            Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+            VoiceUploadResponse response = resumableUploadService.finalizeUpload(upload.get(), user.getWallet());
+
+            log.info("Resumable upload finalized - fileId: {}, status: {}", response.getFileId(), response.getStatus());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid resumable upload {}: {}", uploadId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("Failed to finalize resumable upload: {}", uploadId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "파일 업로드에 실패했습니다."));
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId, Authentication authentication) {
+        Optional<ResumableUpload> upload = findUpload(uploadId, authentication);
+        if (upload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            resumableUploadService.abort(upload.get());
+            return ResponseEntity.noContent().header(TUS_RESUMABLE, TUS_VERSION).build();
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Optional<ResumableUpload> findUpload(String uploadId, Authentication authentication) {
+        Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+        try {
+            return resumableUploadService.find(UUID.fromString(uploadId), user.getWallet());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Upload-Metadata: "key base64value,key2 base64value2"
+     */
+    private static Map<String, String> parseMetadata(String header) {
+        Map<String, String> metadata = new HashMap<>();
+        if (!StringUtils.hasText(header)) {
+            return metadata;
+        }
+        for (String pair : header.split(",")) {
+            String[] parts = pair.trim().split(" ", 2);
+            if (parts[0].isEmpty()) {
+                continue;
+            }
+            String value = parts.length > 1
+                    ? new String(Base64.getDecoder().decode(parts[1].trim()), StandardCharsets.UTF_8)
+                    : "";
+            metadata.put(parts[0], value);
+        }
+        return metadata;
+    }
+}
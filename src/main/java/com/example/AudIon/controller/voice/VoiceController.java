@@ -5,17 +5,34 @@ import com.example.AudIon.domain.voice.VoiceFile;
 import com.example.AudIon.dto.common.PageRequest;
 import com.example.AudIon.dto.common.PagedResponse;
 import com.example.AudIon.dto.voice.VoiceUploadResponse;
+import com.example.AudIon.service.audio.WaveformPeaksService;
+import com.example.AudIon.service.export.ExportFormat;
+import com.example.AudIon.service.export.ExportService;
+import com.example.AudIon.service.s3.AudioObjectCache;
 import com.example.AudIon.service.voice.VoiceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/voice")
@@ -23,7 +40,12 @@ import java.util.Map;
 @Slf4j
 public class VoiceController {
 
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
     private final VoiceService voiceService;
+    private final ExportService exportService;
+    private final WaveformPeaksService waveformPeaksService;
+    private final AudioObjectCache audioObjectCache;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadVoice(
@@ -33,12 +55,11 @@ public class VoiceController {
     ) {
         try {
             Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
-            String walletAddress = user.getWalletAddress();
             
             log.info("Voice upload request - walletAddress: {}, filename: {}",
-                    walletAddress, file.getOriginalFilename());
+                    user.getWalletAddress(), file.getOriginalFilename());
 
-            VoiceUploadResponse response = voiceService.handleUpload(file, walletAddress, duration);
+            VoiceUploadResponse response = voiceService.handleUpload(file, user.getWallet(), duration);
 
             log.info("Voice upload successful - fileId: {}, status: {}",
                     response.getFileId(), response.getStatus());
@@ -59,10 +80,9 @@ public class VoiceController {
     public ResponseEntity<?> getVoiceFile(@PathVariable String fileId, Authentication authentication) {
         try {
             Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
-            String userWallet = user.getWalletAddress();
             
-            var voiceFile = voiceService.getVoiceFile(java.util.UUID.fromString(fileId), userWallet);
-            return ResponseEntity.ok(voiceFile);
+            var voiceFile = voiceService.getVoiceFile(java.util.UUID.fromString(fileId), user.getWallet());
+            return ResponseEntity.ok(voiceService.attachPlaybackUrl(voiceFile));
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -72,6 +92,145 @@ public class VoiceController {
         }
     }
 
+    /**
+     * 음성 파일 재생 스트리밍 (비공개 객체 포함) - Range/If-Range 지원, 구간 요청은 206
+     * 객체는 서버 로컬 캐시 파일에서 위치 지정 읽기로 전송 (탐색해도 S3 에서 다시 받지 않음)
+     * - 서블릿 출력 스트림은 소켓 채널이 아니라 sendfile(zero-copy)은 되지 않음, STREAM_BUFFER_BYTES 버퍼로 복사
+     */
+    @GetMapping("/{fileId}/stream")
+    public ResponseEntity<?> streamVoiceFile(@PathVariable String fileId,
+                                             @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                             @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             Authentication authentication) {
+        VoiceFile voiceFile;
+        try {
+            Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+            voiceFile = voiceService.getVoiceFile(UUID.fromString(fileId), user.getWallet());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!StringUtils.hasText(voiceFile.getS3Key())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "재생할 파일이 없습니다."));
+        }
+
+        AudioObjectCache.Handle handle;
+        try {
+            handle = audioObjectCache.open(voiceFile.getS3Key());
+        } catch (Exception e) {
+            log.error("Error opening voice file for streaming: {}", fileId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "파일 스트리밍에 실패했습니다."));
+        }
+
+        long length = handle.length();
+        String eTag = "\"" + handle.eTag() + "\"";
+        // 업로드 키의 내용은 바뀌지 않으므로 오래 캐시 (FLAC 교체 등은 새 키 → 새 ETag)
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate();
+
+        if (ifNoneMatch != null && matchesETag(ifNoneMatch, eTag)) {
+            closeQuietly(handle);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        // If-Range 가 현재 ETag 와 다르면 (또는 날짜면) Range 무시하고 전체 전송
+        List<HttpRange> ranges = List.of();
+        if (StringUtils.hasText(range) && (ifRange == null || ifRange.trim().equals(eTag))) {
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of(); // 형식이 잘못된 Range 는 무시
+            }
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                status = HttpStatus.PARTIAL_CONTENT;
+            } catch (IllegalArgumentException e) {
+                closeQuietly(handle);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+        // 여러 구간 요청은 multipart/byteranges 대신 전체 전송 (플레이어는 단일 구간만 사용)
+
+        long offset = start;
+        long count = end - start + 1;
+        StreamingResponseBody body = out -> {
+            try (handle) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, STREAM_BUFFER_BYTES));
+                long position = offset;
+                long remaining = count;
+                while (remaining > 0) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                    int read = handle.channel().read(buffer, position);
+                    if (read <= 0) {
+                        break;
+                    }
+                    out.write(buffer.array(), 0, read);
+                    position += read;
+                    remaining -= read;
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(mediaType(voiceFile.getContentType()))
+                .contentLength(count);
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * 파형 피크 (audiowaveform .dat) - resolution: 초당 픽셀 수, 가장 가까운 상위 레벨 반환
+     */
+    @GetMapping("/{fileId}/peaks")
+    public ResponseEntity<?> getPeaks(@PathVariable String fileId,
+                                      @RequestParam(value = "resolution", required = false) Integer resolution,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                      Authentication authentication) {
+        try {
+            Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+            VoiceFile voiceFile = voiceService.getVoiceFile(UUID.fromString(fileId), user.getWallet());
+
+            Optional<WaveformPeaksService.PeaksContent> peaks = waveformPeaksService.load(voiceFile, resolution, ifNoneMatch);
+            if (peaks.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "파형 데이터가 없습니다."));
+            }
+
+            WaveformPeaksService.PeaksContent content = peaks.get();
+            // 피크 파일은 생성 후 바뀌지 않으므로 오래 캐시, 변경 여부는 strong ETag 로 검증
+            CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate();
+            String eTag = "\"" + content.eTag() + "\"";
+
+            if (content.notModified()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header("X-Peaks-Resolution", String.valueOf(content.pixelsPerSecond()))
+                    .body(content.data());
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Error retrieving waveform peaks: {}", fileId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "파형 데이터 조회에 실패했습니다."));
+        }
+    }
+
     @GetMapping("/my-files")
     public ResponseEntity<?> getMyVoiceFiles(Authentication authentication) {
         try {
@@ -87,6 +246,33 @@ public class VoiceController {
         }
     }
 
+    /**
+     * 내 음성 파일 전체 내보내기 (NDJSON/CSV 스트리밍)
+     */
+    @GetMapping("/my-files/export")
+    public ResponseEntity<?> exportMyVoiceFiles(
+            @RequestParam(value = "format", required = false) String format,
+            Authentication authentication) {
+        try {
+            Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
+            ExportFormat exportFormat = ExportFormat.from(format);
+
+            StreamingResponseBody body = out -> {
+                long rows = exportService.exportVoiceFiles(user.getWallet(), exportFormat, out);
+                log.info("Exported {} voice files for wallet: {}", rows, user.getWalletAddress());
+            };
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"voice-files." + exportFormat.getExtension() + "\"")
+                    .body(body);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/my-files/paged")
     public ResponseEntity<?> getMyVoiceFilesPaged(
             @Valid PageRequest pageRequest,
@@ -105,7 +291,7 @@ public class VoiceController {
                 result = voiceService.getUserVoiceFilesByStatus(walletAddress, fileStatus, pageRequest.toSpringPageRequest());
             } else if (search != null && !search.trim().isEmpty()) {
                 // Search by filename
-                result = voiceService.searchUserVoiceFiles(walletAddress, search, pageRequest.toSpringPageRequest());
+                result = voiceService.searchUserVoiceFiles(user.getWallet(), search, pageRequest.toSpringPageRequest());
             } else {
                 // Get all files
                 result = voiceService.getUserVoiceFilesPaged(walletAddress, pageRequest.toSpringPageRequest());
@@ -128,9 +314,8 @@ public class VoiceController {
             Authentication authentication) {
         try {
             Web3AuthenticatedUser user = (Web3AuthenticatedUser) authentication.getPrincipal();
-            String walletAddress = user.getWalletAddress();
             
-            boolean deleted = voiceService.deleteVoiceFile(java.util.UUID.fromString(fileId), walletAddress);
+            boolean deleted = voiceService.deleteVoiceFile(java.util.UUID.fromString(fileId), user.getWallet());
 
             if (deleted) {
                 return ResponseEntity.ok(Map.of("message", "파일이 삭제되었습니다."));
@@ -140,9 +325,38 @@ public class VoiceController {
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error deleting voice file: {}", fileId, e);
             return ResponseEntity.internalServerError().body(Map.of("error", "파일 삭제에 실패했습니다."));
         }
     }
-}
\ No newline at end of file
+
+    private static boolean matchesETag(String header, String eTag) {
+        String current = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || (value.startsWith("W/") ? value.substring(2) : value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MediaType mediaType(String contentType) {
+        try {
+            return StringUtils.hasText(contentType) ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static void closeQuietly(AudioObjectCache.Handle handle) {
+        try {
+            handle.close();
+        } catch (IOException e) {
+            log.debug("Failed to close cached object: {}", e.getMessage());
+        }
+    }
+}
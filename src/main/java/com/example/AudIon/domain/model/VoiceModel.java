@@ -17,6 +17,7 @@ import java.util.UUID;
 @NoArgsConstructor @AllArgsConstructor @Builder
 @Table(name = "voice_models", indexes = {
         @Index(name = "idx_voice_model_user_id", columnList = "user_id"),
+        @Index(name = "idx_voice_model_wallet_created_at", columnList = "wallet_address, created_at"),
         @Index(name = "idx_voice_model_status", columnList = "status"),
         @Index(name = "idx_voice_model_created_at", columnList = "created_at"),
         @Index(name = "idx_voice_model_job_id", columnList = "job_id")
@@ -32,6 +33,10 @@ public class VoiceModel {
     @NotNull
     private User user;
 
+    @Column(name = "wallet_address", length = 42)
+    @Size(max = 42)
+    private String walletAddress; // Direct wallet access for performance (users 조인 없이 조회)
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "voice_file_id", nullable = false)
     @NotNull
@@ -132,6 +137,10 @@ public class VoiceModel {
         if (status == null) {
             status = Status.PENDING;
         }
+        // Auto-sync walletAddress from User if not set
+        if (walletAddress == null && user != null) {
+            walletAddress = user.getWalletAddress();
+        }
     }
 
     @PreUpdate
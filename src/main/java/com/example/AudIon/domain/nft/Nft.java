@@ -1,6 +1,9 @@
 package com.example.AudIon.domain.nft;
 
 import com.example.AudIon.domain.model.VoiceModel;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.user.WalletAddressConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -9,7 +12,9 @@ import java.util.UUID;
 @Entity
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
-@Table(name = "nfts")
+@Table(name = "nfts", indexes = {
+        @Index(name = "idx_nft_owner_wallet_key", columnList = "owner_wallet_key")
+})
 public class Nft {
     @Id
     @GeneratedValue
@@ -25,6 +30,19 @@ public class Nft {
     @Column(length = 42, nullable = false)
     private String ownerWallet;
 
+    @Column(name = "owner_wallet_key", columnDefinition = "bytea")
+    @Convert(converter = WalletAddressConverter.class)
+    @JsonIgnore
+    private WalletAddress ownerWalletKey; // 20바이트 정규화 주소 (소유자 조회용)
+
     private String metadataUrl;
     private LocalDateTime mintedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        // Auto-sync ownerWalletKey from ownerWallet if not set
+        if (ownerWalletKey == null && ownerWallet != null) {
+            ownerWalletKey = WalletAddress.parse(ownerWallet);
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.AudIon.domain.ratelimit;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공유 모드 토큰 버킷 (여러 노드가 같은 한도를 보도록 DB 에 보관)
+ * tatMicros: 다음 토큰이 비는 시각 (GCRA, DB 시계 기준 epoch 마이크로초) - 지난 시각이면 버킷이 가득 찬 상태라 지워도 됨
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor @AllArgsConstructor
+@Table(name = "rate_limit_buckets", indexes = {
+        @Index(name = "idx_rate_limit_bucket_tat", columnList = "tat_micros")
+})
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 200)
+    private String bucketKey; // {정책}:{지갑 또는 IP}
+
+    @Column(name = "tat_micros", nullable = false)
+    private long tatMicros;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
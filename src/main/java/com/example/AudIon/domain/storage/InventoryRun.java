@@ -0,0 +1,76 @@
+package com.example.AudIon.domain.storage;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 저장소 인벤토리 대조 1회 (voice_files 키 ↔ 버킷 목록)
+ * - checkpointKey 까지는 양쪽 모두 처리 완료, 중단되면 그 다음 키부터 이어서 진행
+ * - checkpointBase: 마지막으로 지난 DB 키의 base (이어서 시작할 때 같은 base 의 파생 객체를 고아로 보지 않도록)
+ * - finishedAt 이 비어 있으면 진행 중
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor @AllArgsConstructor
+@Table(name = "storage_inventory_runs", indexes = {
+        @Index(name = "idx_inventory_run_started_at", columnList = "started_at")
+})
+public class InventoryRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "prefix", nullable = false, length = 200)
+    private String prefix;
+
+    @Column(name = "checkpoint_key", length = 500)
+    @Size(max = 500)
+    private String checkpointKey;
+
+    @Column(name = "checkpoint_base", length = 500)
+    @Size(max = 500)
+    private String checkpointBase;
+
+    @Column(name = "objects_listed", nullable = false)
+    private long objectsListed;
+
+    @Column(name = "bytes_listed", nullable = false)
+    private long bytesListed;
+
+    @Column(name = "rows_scanned", nullable = false)
+    private long rowsScanned; // 서로 다른 s3_key 수
+
+    @Column(name = "matched", nullable = false)
+    private long matched;
+
+    @Column(name = "missing", nullable = false)
+    private long missing; // DB 에는 있는데 버킷에 없는 원본
+
+    @Column(name = "orphans", nullable = false)
+    private long orphans; // 버킷에만 있는 객체 (같은 base 의 DB 키가 없는 것)
+
+    @Column(name = "orphan_bytes", nullable = false)
+    private long orphanBytes;
+
+    @Column(name = "size_mismatches", nullable = false)
+    private long sizeMismatches;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
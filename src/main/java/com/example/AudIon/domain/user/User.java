@@ -1,5 +1,6 @@
 package com.example.AudIon.domain.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -8,7 +9,9 @@ import java.util.UUID;
 @Entity
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "uk_user_wallet_key", columnList = "wallet_key", unique = true) // 지갑 식별 조회 (NULL 은 백필 전 행)
+})
 public class User {
     @Id
     @GeneratedValue
@@ -17,9 +20,22 @@ public class User {
     @Column(length = 42, unique = true, nullable = false)
     private String walletAddress;
 
+    @Column(name = "wallet_key", columnDefinition = "bytea")
+    @Convert(converter = WalletAddressConverter.class)
+    @JsonIgnore
+    private WalletAddress walletKey; // 20바이트 정규화 주소 (조회/비교용)
+
     @Column(length = 32)
     private String nickname;
 
     private LocalDateTime createdAt;
     private LocalDateTime lastLoginAt;
+
+    @PrePersist
+    protected void onCreate() {
+        // Auto-sync walletKey from walletAddress if not set
+        if (walletKey == null && walletAddress != null) {
+            walletKey = WalletAddress.parse(walletAddress);
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package com.example.AudIon.domain.user;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+/**
+ * 정규화된 20바이트 지갑 주소 값 타입
+ * - 입력 경계(로그인, JWT 필터)에서 한 번만 파싱하고 이후에는 이 타입으로 비교
+ * - 대소문자(체크섬) 차이와 무관하게 동일 주소는 항상 equals
+ * - 내부적으로 long 2개 + int 1개로 보관하여 equals/hashCode에 할당이 없음
+ * - DB에는 WalletAddressConverter를 통해 bytea(20)로 저장
+ */
+public final class WalletAddress implements Serializable, Comparable<WalletAddress> {
+
+    public static final int BYTE_LENGTH = 20;
+    public static final int HEX_LENGTH = 2 + BYTE_LENGTH * 2; // "0x" + 40 hex
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long hi;  // bytes 0..7
+    private final long mid; // bytes 8..15
+    private final int lo;   // bytes 16..19
+
+    private WalletAddress(long hi, long mid, int lo) {
+        this.hi = hi;
+        this.mid = mid;
+        this.lo = lo;
+    }
+
+    /**
+     * "0x" + 40자리 16진수 문자열 파싱 (대소문자 무관)
+     */
+    @JsonCreator
+    public static WalletAddress parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Wallet address is required");
+        }
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+
+        if (end - start != HEX_LENGTH || value.charAt(start) != '0'
+                || (value.charAt(start + 1) != 'x' && value.charAt(start + 1) != 'X')) {
+            throw new IllegalArgumentException("Invalid wallet address format");
+        }
+
+        int pos = start + 2;
+        long hi = readHex(value, pos, 16);
+        long mid = readHex(value, pos + 16, 16);
+        int lo = (int) readHex(value, pos + 32, 8);
+        return new WalletAddress(hi, mid, lo);
+    }
+
+    /**
+     * 파싱 실패 시 예외 대신 empty 반환
+     */
+    public static Optional<WalletAddress> tryParse(String value) {
+        try {
+            return Optional.of(parse(value));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 20바이트 배열에서 생성 (DB bytea 읽기용)
+     */
+    public static WalletAddress fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTE_LENGTH) {
+            throw new IllegalArgumentException("Wallet address must be " + BYTE_LENGTH + " bytes");
+        }
+        return new WalletAddress(readLong(bytes, 0), readLong(bytes, 8), (int) readBytes(bytes, 16, 4));
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTE_LENGTH];
+        writeBytes(bytes, 0, hi, 8);
+        writeBytes(bytes, 8, mid, 8);
+        writeBytes(bytes, 16, lo & 0xFFFFFFFFL, 4);
+        return bytes;
+    }
+
+    /**
+     * 문자열 주소와 비교 (할당 없이 문자 단위로 비교, 대소문자 무관)
+     */
+    public boolean matches(String value) {
+        if (value == null || value.length() != HEX_LENGTH || value.charAt(0) != '0'
+                || (value.charAt(1) != 'x' && value.charAt(1) != 'X')) {
+            return false;
+        }
+        for (int i = 0; i < BYTE_LENGTH * 2; i++) {
+            int digit = Character.digit(value.charAt(2 + i), 16);
+            if (digit != nibble(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 정규화된 표현: "0x" + 소문자 16진수
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        char[] chars = new char[HEX_LENGTH];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 0; i < BYTE_LENGTH * 2; i++) {
+            chars[2 + i] = HEX[nibble(i)];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WalletAddress that)) return false;
+        return hi == that.hi && mid == that.mid && lo == that.lo;
+    }
+
+    @Override
+    public int hashCode() {
+        // 주소는 keccak 해시 기반이라 비트 분포가 고르므로 단순 XOR 폴딩으로 충분
+        return (int) (hi ^ (hi >>> 32)) ^ (int) (mid ^ (mid >>> 32)) * 31 ^ lo;
+    }
+
+    /**
+     * bytea 정렬 순서(부호 없는 바이트 사전순)와 동일한 비교
+     */
+    @Override
+    public int compareTo(WalletAddress other) {
+        int c = Long.compareUnsigned(hi, other.hi);
+        if (c != 0) return c;
+        c = Long.compareUnsigned(mid, other.mid);
+        if (c != 0) return c;
+        return Integer.compareUnsigned(lo, other.lo);
+    }
+
+    // Private helper methods
+
+    private int nibble(int index) {
+        if (index < 16) {
+            return (int) (hi >>> (60 - index * 4)) & 0xF;
+        } else if (index < 32) {
+            return (int) (mid >>> (60 - (index - 16) * 4)) & 0xF;
+        }
+        return (lo >>> (28 - (index - 32) * 4)) & 0xF;
+    }
+
+    private static long readHex(String value, int offset, int digits) {
+        long result = 0;
+        for (int i = 0; i < digits; i++) {
+            int digit = Character.digit(value.charAt(offset + i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid wallet address format");
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        return readBytes(bytes, offset, 8);
+    }
+
+    private static long readBytes(byte[] bytes, int offset, int count) {
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            result = (result << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return result;
+    }
+
+    private static void writeBytes(byte[] bytes, int offset, long value, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.AudIon.domain.user;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * WalletAddress <-> bytea(20) 변환
+ */
+@Converter
+public class WalletAddressConverter implements AttributeConverter<WalletAddress, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(WalletAddress attribute) {
+        return attribute != null ? attribute.toBytes() : null;
+    }
+
+    @Override
+    public WalletAddress convertToEntityAttribute(byte[] dbData) {
+        return dbData != null ? WalletAddress.fromBytes(dbData) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.AudIon.domain.voice;
+
+/**
+ * 학습용 분할 구간 (전처리 결과 타임라인 기준)
+ *
+ * @param index           0부터 시작하는 순번
+ * @param offsetSeconds   전처리 결과 내 시작 위치 (초)
+ * @param durationSeconds 구간 길이 (초)
+ * @param s3Key           구간 WAV 의 S3 키
+ * @param fileUrl         구간 WAV URL
+ * @param sizeBytes       구간 WAV 크기 (헤더 포함)
+ */
+public record AudioChunk(int index, double offsetSeconds, double durationSeconds,
+                         String s3Key, String fileUrl, long sizeBytes) {}
@@ -0,0 +1,43 @@
+package com.example.AudIon.domain.voice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * 분할 구간 목록 <-> JSON text 변환
+ */
+@Converter
+public class AudioChunkListConverter implements AttributeConverter<List<AudioChunk>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<AudioChunk>> TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(List<AudioChunk> attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("청크 목록을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public List<AudioChunk> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isBlank()) {
+            return null;
+        }
+        try {
+            return List.copyOf(MAPPER.readValue(dbData, TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("청크 목록을 읽을 수 없습니다.", e);
+        }
+    }
+}
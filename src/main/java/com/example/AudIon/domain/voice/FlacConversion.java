@@ -0,0 +1,69 @@
+package com.example.AudIon.domain.voice;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * WAV → FLAC 재인코딩 진행 상태 (원본 S3 키 기준, 재시작 후 이어서 처리)
+ * - ENCODED: FLAC 업로드 + 검증 완료, 아직 참조 교체 전
+ * - SWAPPED: VoiceFile/stored_objects 가 FLAC 을 가리킴, 원본 삭제 전
+ * - DONE: 원본 삭제 완료
+ * - SKIPPED: 변환 불가/이득 없음/검증 불일치 (다시 시도하지 않음)
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor @AllArgsConstructor
+@Table(name = "flac_conversions", indexes = {
+        @Index(name = "idx_flac_conversion_status", columnList = "status, updated_at")
+})
+public class FlacConversion {
+
+    @Id
+    @Column(name = "source_key", length = 500)
+    private String sourceKey;
+
+    @Column(name = "target_key", length = 500)
+    @Size(max = 500)
+    private String targetKey;
+
+    @Column(name = "target_url", length = 500)
+    @Size(max = 500)
+    private String targetUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @NotNull
+    private Status status;
+
+    @Column(name = "source_size")
+    private Long sourceSize; // bytes
+
+    @Column(name = "target_size")
+    private Long targetSize; // bytes
+
+    @Column(name = "message", length = 500)
+    @Size(max = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        ENCODED,
+        SWAPPED,
+        DONE,
+        SKIPPED
+    }
+}
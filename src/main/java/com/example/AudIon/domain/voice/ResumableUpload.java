@@ -0,0 +1,92 @@
+package com.example.AudIon.domain.voice;
+
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.user.WalletAddressConverter;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 재개 가능한 업로드 상태 (어느 노드에서든 이어서 올릴 수 있도록 DB 에 저장)
+ * - 청크 하나가 멀티파트 파트 하나 (partSize 단위, 마지막만 짧을 수 있음), uploadOffset 은 저장된 파트까지의 바이트
+ * - UPLOADING: 청크 수신 중 / COMPLETING: 파트 합치기 + 등록 중 / COMPLETED: voiceFileId 로 등록됨
+ * - ABORTED: 취소/만료/형식 오류 (멀티파트 업로드 정리됨)
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor @AllArgsConstructor
+@Table(name = "resumable_uploads", indexes = {
+        @Index(name = "idx_resumable_upload_wallet_key", columnList = "wallet_key"),
+        @Index(name = "idx_resumable_upload_status", columnList = "status, expires_at")
+})
+public class ResumableUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "wallet_key", columnDefinition = "bytea", nullable = false)
+    @Convert(converter = WalletAddressConverter.class)
+    @NotNull
+    private WalletAddress walletKey;
+
+    @Column(name = "s3_key", length = 500, nullable = false)
+    @NotNull
+    @Size(max = 500)
+    private String s3Key;
+
+    @Column(name = "multipart_upload_id", length = 1024, nullable = false)
+    @NotNull
+    private String multipartUploadId;
+
+    @Column(name = "original_filename", length = 255)
+    @Size(max = 255)
+    private String originalFilename;
+
+    @Column(name = "duration")
+    private Float duration; // 클라이언트 값 (완료 시 서버 분석 결과가 우선)
+
+    @Column(name = "upload_length", nullable = false)
+    private long uploadLength; // bytes
+
+    @Column(name = "upload_offset", nullable = false)
+    private long uploadOffset; // bytes
+
+    @Column(name = "part_size", nullable = false)
+    private long partSize; // bytes
+
+    @Column(name = "part_etags", columnDefinition = "TEXT")
+    private String partETags; // 파트 번호 순 ETag (쉼표 구분)
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @NotNull
+    private Status status;
+
+    @Column(name = "voice_file_id")
+    private UUID voiceFileId;
+
+    @Column(name = "expires_at", nullable = false)
+    @NotNull
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt; // 조건부 UPDATE 쿼리에서 직접 갱신
+
+    public enum Status {
+        UPLOADING,
+        COMPLETING,
+        COMPLETED,
+        ABORTED
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.AudIon.domain.voice;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 해시(SHA-256) 기준 S3 객체 참조 카운트
+ * - 여러 지갑이 같은 녹음을 올리면 S3 객체 하나를 공유
+ * - 참조하는 VoiceFile 이 모두 삭제되어 ref_count 가 0이 될 때만 S3 객체 삭제
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor @AllArgsConstructor
+@Table(name = "stored_objects", indexes = {
+        @Index(name = "idx_stored_object_s3_key", columnList = "s3_key", unique = true)
+})
+public class StoredObject {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 hex
+
+    @Column(name = "s3_key", nullable = false, length = 500)
+    @NotNull
+    @Size(max = 500)
+    private String s3Key;
+
+    @Column(name = "file_url", nullable = false, length = 500)
+    @NotNull
+    @Size(max = 500)
+    private String fileUrl;
+
+    @Column(name = "file_size")
+    private Long fileSize; // bytes
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private int refCount = 1;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,9 @@
 package com.example.AudIon.domain.voice;
 
 import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.user.WalletAddressConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -9,6 +12,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -17,9 +21,12 @@ import java.util.UUID;
 @NoArgsConstructor @AllArgsConstructor
 @Table(name = "voice_files", indexes = {
         @Index(name = "idx_voice_file_user_id", columnList = "user_id"),
+        @Index(name = "idx_voice_file_wallet_key", columnList = "wallet_key"),
         @Index(name = "idx_voice_file_status", columnList = "status"),
         @Index(name = "idx_voice_file_uploaded_at", columnList = "uploaded_at"),
-        @Index(name = "idx_voice_file_job_id", columnList = "job_id")
+        @Index(name = "idx_voice_file_job_id", columnList = "job_id"),
+        @Index(name = "idx_voice_file_content_hash", columnList = "content_hash, wallet_key"),
+        @Index(name = "idx_voice_file_key_layout", columnList = "key_layout")
 })
 public class VoiceFile {
 
@@ -37,15 +44,27 @@ public class VoiceFile {
     @Size(min = 42, max = 42)
     private String walletAddress; // Direct wallet access for performance
 
+    @Column(name = "wallet_key", columnDefinition = "bytea")
+    @Convert(converter = WalletAddressConverter.class)
+    @JsonIgnore
+    private WalletAddress walletKey; // 20바이트 정규화 주소 (소유자 검증용)
+
     @Column(name = "file_url", nullable = false, length = 500)
     @NotNull
     @Size(max = 500)
     private String fileUrl; // S3 URL
 
+    @Transient
+    private String playbackUrl; // 재생용 URL (조회 응답에서만 채움, 비공개 객체면 presigned)
+
     @Column(name = "s3_key", length = 500)
     @Size(max = 500)
     private String s3Key; // S3에서의 실제 키 (삭제 시 필요)
 
+    @Column(name = "key_layout")
+    @JsonIgnore
+    private Integer keyLayout; // KeyLayout 버전 (null 은 기록 이전 = DATED)
+
     @Column(name = "original_filename", length = 255)
     @Size(max = 255)
     private String originalFilename;
@@ -57,9 +76,16 @@ public class VoiceFile {
     @Column(name = "file_size")
     private Long fileSize; // bytes
 
+    @Column(name = "content_hash", length = 64)
+    @Size(max = 64)
+    private String contentHash; // SHA-256 hex (중복 업로드 감지 / stored_objects 참조)
+
     @Column(name = "duration_seconds")
     private Float duration; // 오디오 길이 (초)
 
+    @Column(name = "speech_duration_seconds")
+    private Float speechDuration; // VAD 기준 음성 구간 길이 (초, 전처리 후 기록)
+
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     @CreationTimestamp
     @NotNull
@@ -69,6 +95,12 @@ public class VoiceFile {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // 소프트 삭제 시각 (조회에서 제외, VoiceFilePurgeService 가 나중에 S3 객체와 함께 삭제)
+    // 엔티티 저장으로는 쓰지 않음 - 삭제 전에 읽은 엔티티를 저장해도 되살아나지 않도록 markDeleted 로만 기록
+    @JsonIgnore
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     @NotNull
@@ -97,6 +129,19 @@ public class VoiceFile {
     @Size(max = 10)
     private String audioFormat; // mp3, wav, etc.
 
+    // Audio quality (전처리 단계 분석 결과, 분석 불가 형식이면 null)
+    @Column(name = "peak_dbfs")
+    private Float peakDbfs;
+
+    @Column(name = "clipping_ratio")
+    private Float clippingRatio; // 풀스케일 도달 샘플 비율 (0..1)
+
+    @Column(name = "snr_db")
+    private Float snrDb; // 추정 SNR
+
+    @Column(name = "loudness_lufs")
+    private Float loudnessLufs; // EBU R128 통합 라우드니스
+
     // Processing flags
     @Column(name = "is_processed")
     @Builder.Default
@@ -105,6 +150,38 @@ public class VoiceFile {
     @Column(name = "processing_completed_at")
     private LocalDateTime processingCompletedAt;
 
+    @Column(name = "processed_s3_key", length = 500)
+    @Size(max = 500)
+    private String processedS3Key; // 학습용 전처리 결과 (16bit mono WAV)
+
+    @Column(name = "processed_file_url", length = 500)
+    @Size(max = 500)
+    private String processedFileUrl;
+
+    @Column(name = "features_s3_key", length = 500)
+    @Size(max = 500)
+    @JsonIgnore
+    private String featuresS3Key; // log-mel 특징 (float16, MelFeatureExtractor 형식)
+
+    @Column(name = "features_file_url", length = 500)
+    @Size(max = 500)
+    @JsonIgnore
+    private String featuresFileUrl;
+
+    @Column(name = "peaks_s3_key", length = 500)
+    @Size(max = 500)
+    @JsonIgnore
+    private String peaksS3Key; // 파형 피크 sidecar 접두사 ({prefix}{pps}.dat)
+
+    @Column(name = "peaks_levels", length = 50)
+    @Size(max = 50)
+    private String peaksLevels; // 사용 가능한 해상도 (초당 픽셀 수, 쉼표 구분)
+
+    @Column(name = "chunk_manifest", columnDefinition = "text")
+    @Convert(converter = AudioChunkListConverter.class)
+    @JsonIgnore
+    private List<AudioChunk> chunks; // 긴 녹음의 무음 경계 분할 결과 (없으면 processed 파일 하나로 학습)
+
     public enum Status {
         UPLOADED("업로드됨"),
         PROCESSING("처리중"),
@@ -204,6 +281,9 @@ public class VoiceFile {
         if (walletAddress == null && user != null) {
             walletAddress = user.getWalletAddress();
         }
+        if (walletKey == null && walletAddress != null) {
+            walletKey = WalletAddress.parse(walletAddress);
+        }
     }
 
     @PreUpdate
@@ -1,17 +1,25 @@
 package com.example.AudIon.repository.model;
 
 import com.example.AudIon.domain.model.VoiceModel;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
@@ -21,10 +29,18 @@ public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
      */
     List<VoiceModel> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * 지갑 주소로 모델 목록 조회 (idx_voice_model_wallet_created_at 사용, wallet_address 백필 완료 후)
+     */
+    List<VoiceModel> findByWalletAddressOrderByCreatedAtDesc(String walletAddress);
+
     /**
      * 사용자 지갑 주소로 모델 목록 조회
+     * wallet_address 백필(VoiceModelWalletBackfillJob)이 끝나기 전의 행은 users 조인으로 찾음
+     * (OR 조건이라 인덱스를 쓰지 못함 - 백필 중에만 사용)
      */
-    @Query("SELECT vm FROM VoiceModel vm WHERE vm.user.walletAddress = :walletAddress ORDER BY vm.createdAt DESC")
+    @Query("SELECT vm FROM VoiceModel vm LEFT JOIN vm.user u WHERE vm.walletAddress = :walletAddress " +
+            "OR (vm.walletAddress IS NULL AND u.walletAddress = :walletAddress) ORDER BY vm.createdAt DESC")
     List<VoiceModel> findByUserWalletAddressOrderByCreatedAtDesc(@Param("walletAddress") String walletAddress);
 
     /**
@@ -42,11 +58,18 @@ public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
      */
     Optional<VoiceModel> findByJobId(String jobId);
 
+    /**
+     * 소유자 범위 모델 조회 (권한 검사용 - user_id FK 컬럼만 비교, User 로딩 없음)
+     */
+    Optional<VoiceModel> findByIdAndUserId(UUID id, UUID userId);
+
     /**
      * 음성 파일 ID로 모델 조회
      */
     Optional<VoiceModel> findByVoiceFileId(UUID voiceFileId);
 
+    boolean existsByVoiceFileId(UUID voiceFileId);
+
     /**
      * 사용자의 모델 개수 조회
      */
@@ -122,11 +145,32 @@ public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
                                             @Param("fromDate") LocalDateTime fromDate);
 
     /**
-     * 오래된 실패 모델들 정리용
+     * 오래된 실패 모델들 정리용 (배치 작업, NFT 가 참조 중인 모델은 제외)
      */
-    @Query("SELECT vm FROM VoiceModel vm WHERE vm.status = 'ERROR' " +
-            "AND vm.createdAt < :beforeTime ORDER BY vm.createdAt ASC")
-    List<VoiceModel> findOldErrorModels(@Param("beforeTime") LocalDateTime beforeTime);
+    @Query("SELECT vm.id FROM VoiceModel vm WHERE vm.status = 'ERROR' " +
+            "AND vm.createdAt < :beforeTime " +
+            "AND NOT EXISTS (SELECT 1 FROM Nft n WHERE n.voiceModel = vm) " +
+            "ORDER BY vm.createdAt ASC")
+    List<UUID> findOldErrorModels(@Param("beforeTime") LocalDateTime beforeTime, Pageable pageable);
+
+    /**
+     * wallet_address 백필 (배치 작업)
+     * 아직 채워지지 않은 행을 batchSize 만큼만 잠그고(SKIP LOCKED) 갱신하므로 테이블 전체를 잠그지 않음
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE voice_models vm SET wallet_address = u.wallet_address FROM users u " +
+            "WHERE vm.user_id = u.id AND vm.id IN (" +
+            "SELECT id FROM voice_models WHERE wallet_address IS NULL LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int backfillWalletAddressBatch(@Param("batchSize") int batchSize);
+
+    // Streaming methods (내보내기용 - 트랜잭션 안에서 소비하고 반드시 close 할 것)
+    /**
+     * 사용자별 모델 전체 스트리밍 (최신순)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<VoiceModel> streamByUserIdOrderByCreatedAtDesc(UUID userId);
 
     // Pagination methods
     /**
@@ -135,9 +179,17 @@ public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
     Page<VoiceModel> findByUserId(UUID userId, Pageable pageable);
 
     /**
-     * 사용자 지갑 주소로 모델 목록 조회 (페이지네이션)
+     * 지갑 주소로 모델 목록 조회 (페이지네이션, idx_voice_model_wallet_created_at 사용, wallet_address 백필 완료 후)
      */
-    @Query("SELECT vm FROM VoiceModel vm WHERE vm.user.walletAddress = :walletAddress")
+    Page<VoiceModel> findByWalletAddress(String walletAddress, Pageable pageable);
+
+    /**
+     * 사용자 지갑 주소로 모델 목록 조회 (페이지네이션, 백필 전 행은 users 조인으로 찾음 - 백필 중에만 사용)
+     */
+    @Query(value = "SELECT vm FROM VoiceModel vm LEFT JOIN vm.user u WHERE vm.walletAddress = :walletAddress " +
+            "OR (vm.walletAddress IS NULL AND u.walletAddress = :walletAddress)",
+            countQuery = "SELECT COUNT(vm) FROM VoiceModel vm LEFT JOIN vm.user u WHERE vm.walletAddress = :walletAddress " +
+                    "OR (vm.walletAddress IS NULL AND u.walletAddress = :walletAddress)")
     Page<VoiceModel> findByUserWalletAddress(@Param("walletAddress") String walletAddress, Pageable pageable);
 
     /**
@@ -164,6 +216,23 @@ public interface VoiceModelRepository extends JpaRepository<VoiceModel, UUID> {
                                                         @Param("modelName") String modelName, 
                                                         Pageable pageable);
 
+    /**
+     * 사용자별 모델명 trigram 검색 (페이지네이션)
+     * (user_id, lower(model_name)) GIN 인덱스 사용 - 접두 일치 > 유사도 > 최신순으로 정렬
+     * pattern은 LIKE 와일드카드가 이스케이프된 소문자 검색어
+     */
+    @Query(value = "SELECT * FROM voice_models vm WHERE vm.user_id = :userId " +
+            "AND lower(vm.model_name) LIKE '%' || :pattern || '%' " +
+            "ORDER BY (lower(vm.model_name) LIKE :pattern || '%') DESC, " +
+            "similarity(lower(vm.model_name), :query) DESC, vm.created_at DESC",
+            countQuery = "SELECT COUNT(*) FROM voice_models vm WHERE vm.user_id = :userId " +
+                    "AND lower(vm.model_name) LIKE '%' || :pattern || '%'",
+            nativeQuery = true)
+    Page<VoiceModel> searchByModelNameTrigram(@Param("userId") UUID userId,
+                                              @Param("pattern") String pattern,
+                                              @Param("query") String query,
+                                              Pageable pageable);
+
     /**
      * 특정 기간 내 생성된 모델들 (페이지네이션)
      */
@@ -1,11 +1,14 @@
 package com.example.AudIon.repository.nft;
 
 import com.example.AudIon.domain.nft.Nft;
+import com.example.AudIon.domain.user.WalletAddress;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,9 +42,20 @@ public interface NftRepository extends JpaRepository<Nft, UUID> {
     @Query("SELECT n FROM Nft n " +
            "JOIN FETCH n.voiceModel vm " +
            "JOIN FETCH vm.user u " +
-           "WHERE n.ownerWallet = :ownerWallet " +
+           "WHERE n.ownerWalletKey = :ownerWallet " +
            "ORDER BY n.mintedAt DESC")
-    List<Nft> findByOwnerWalletWithVoiceModel(@Param("ownerWallet") String ownerWallet);
+    List<Nft> findByOwnerWalletWithVoiceModel(@Param("ownerWallet") WalletAddress ownerWallet);
+
+    /**
+     * owner_wallet_key 백필 (배치 작업)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE nfts SET owner_wallet_key = decode(substring(lower(owner_wallet) from 3), 'hex') " +
+           "WHERE id IN (SELECT id FROM nfts WHERE owner_wallet_key IS NULL " +
+           "AND owner_wallet ~* '^0x[0-9a-f]{40}$' LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int backfillOwnerWalletKeyBatch(@Param("batchSize") int batchSize);
 
     // Pagination methods
     /**
@@ -52,9 +66,10 @@ public interface NftRepository extends JpaRepository<Nft, UUID> {
     /**
      * Get NFTs with their voice models for a user (페이지네이션)
      */
-    @Query("SELECT n FROM Nft n " +
+    @Query(value = "SELECT n FROM Nft n " +
            "JOIN FETCH n.voiceModel vm " +
            "JOIN FETCH vm.user u " +
-           "WHERE n.ownerWallet = :ownerWallet")
-    Page<Nft> findByOwnerWalletWithVoiceModel(@Param("ownerWallet") String ownerWallet, Pageable pageable);
+           "WHERE n.ownerWalletKey = :ownerWallet",
+           countQuery = "SELECT COUNT(n) FROM Nft n WHERE n.ownerWalletKey = :ownerWallet")
+    Page<Nft> findByOwnerWalletWithVoiceModel(@Param("ownerWallet") WalletAddress ownerWallet, Pageable pageable);
 }
@@ -0,0 +1,45 @@
+package com.example.AudIon.repository.ratelimit;
+
+import com.example.AudIon.domain.ratelimit.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * 토큰 1개 획득 (GCRA, 한 문장으로 원자적) - 허용이면 새 tat, 거절이면 null
+     * 시각은 DB 시계 기준이라 노드 간 시계 차이와 무관
+     */
+    @Transactional
+    @Query(value = """
+            WITH c AS (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS now_micros)
+            INSERT INTO rate_limit_buckets (bucket_key, tat_micros, updated_at)
+            SELECT :key, c.now_micros + :interval, now() FROM c
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET tat_micros = GREATEST(rate_limit_buckets.tat_micros, EXCLUDED.tat_micros - :interval) + :interval,
+                updated_at = now()
+            WHERE GREATEST(rate_limit_buckets.tat_micros, EXCLUDED.tat_micros - :interval)
+                  - (EXCLUDED.tat_micros - :interval) <= :tolerance
+            RETURNING tat_micros
+            """, nativeQuery = true)
+    Long acquire(@Param("key") String key,
+                 @Param("interval") long intervalMicros,
+                 @Param("tolerance") long toleranceMicros);
+
+    /**
+     * 다 충전된 버킷 정리 (batchSize 씩, 잠긴 행은 건너뜀)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM rate_limit_buckets WHERE bucket_key IN (" +
+            "SELECT bucket_key FROM rate_limit_buckets " +
+            "WHERE tat_micros < (extract(epoch FROM clock_timestamp()) * 1000000)::bigint " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteIdle(@Param("batchSize") int batchSize);
+}
@@ -0,0 +1,28 @@
+package com.example.AudIon.repository.storage;
+
+import com.example.AudIon.domain.storage.InventoryRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InventoryRunRepository extends JpaRepository<InventoryRun, UUID> {
+
+    /**
+     * 진행 중인(중단된) 대조 - 재시작 후 체크포인트부터 이어서 처리
+     */
+    Optional<InventoryRun> findFirstByFinishedAtIsNullOrderByStartedAtDesc();
+
+    /**
+     * 가장 최근 대조 (다음 대조 시작 시점 판단용)
+     */
+    Optional<InventoryRun> findFirstByOrderByStartedAtDesc();
+
+    /**
+     * 최근 대조 결과 (관리자 조회용)
+     */
+    List<InventoryRun> findTop20ByOrderByStartedAtDesc();
+}
@@ -1,11 +1,50 @@
 package com.example.AudIon.repository.user;
 
 import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByWalletAddress(String walletAddress);
+
+    /**
+     * 20바이트 정규화 주소로 조회 (대소문자 무관, wallet_key 인덱스 사용)
+     */
+    Optional<User> findByWalletKey(WalletAddress walletKey);
+
+    /**
+     * wallet_key 가 아직 없는 기존 행 조회 (문자열 주소 대소문자 무관, 백필 전 fallback)
+     */
+    Optional<User> findFirstByWalletKeyIsNullAndWalletAddressIgnoreCaseOrderByCreatedAtAsc(String walletAddress);
+
+    /**
+     * 지갑으로 사용자 조회 - wallet_key 로 찾고, 없으면 백필되지 않은 기존 행을 찾아 wallet_key 를 채움
+     * (백필 전에 로그인한 기존 사용자가 중복 생성되거나 unique 제약 위반으로 실패하지 않도록)
+     */
+    default Optional<User> findByWallet(WalletAddress wallet) {
+        return findByWalletKey(wallet)
+                .or(() -> findFirstByWalletKeyIsNullAndWalletAddressIgnoreCaseOrderByCreatedAtAsc(wallet.toString())
+                        .map(user -> {
+                            user.setWalletKey(wallet);
+                            return save(user);
+                        }));
+    }
+
+    /**
+     * wallet_key 백필 (배치 작업)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET wallet_key = decode(substring(lower(wallet_address) from 3), 'hex') " +
+            "WHERE id IN (SELECT id FROM users WHERE wallet_key IS NULL " +
+            "AND wallet_address ~* '^0x[0-9a-f]{40}$' LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int backfillWalletKeyBatch(@Param("batchSize") int batchSize);
 }
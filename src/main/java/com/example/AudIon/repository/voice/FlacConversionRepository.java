@@ -0,0 +1,22 @@
+package com.example.AudIon.repository.voice;
+
+import com.example.AudIon.domain.voice.FlacConversion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlacConversionRepository extends JpaRepository<FlacConversion, String> {
+
+    /**
+     * 중단된 변환 조회 (재시작 후 이어서 처리)
+     */
+    List<FlacConversion> findTop100ByStatusInOrderByUpdatedAtAsc(Collection<FlacConversion.Status> statuses);
+
+    /**
+     * 원본 키의 변환이 진행 중인지 (교체/원본 삭제 전 단계)
+     */
+    boolean existsBySourceKeyAndStatusIn(String sourceKey, Collection<FlacConversion.Status> statuses);
+}
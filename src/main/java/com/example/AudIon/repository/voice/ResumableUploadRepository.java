@@ -0,0 +1,88 @@
+package com.example.AudIon.repository.voice;
+
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.voice.ResumableUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 재개 가능한 업로드 상태 - 상태 변경은 모두 조건부 UPDATE (여러 노드의 동시 요청 중 하나만 반영)
+ * 파트 업로드 동안 DB 커넥션을 잡지 않도록 메서드 단위 트랜잭션
+ */
+@Repository
+public interface ResumableUploadRepository extends JpaRepository<ResumableUpload, UUID> {
+
+    Optional<ResumableUpload> findByIdAndWalletKey(UUID id, WalletAddress walletKey);
+
+    /**
+     * 청크 반영 - 현재 위치가 offset 이고 아직 업로드 중일 때만
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumableUpload u SET u.uploadOffset = :newOffset, u.partETags = :partETags, u.updatedAt = :now " +
+            "WHERE u.id = :id AND u.uploadOffset = :offset " +
+            "AND u.status = com.example.AudIon.domain.voice.ResumableUpload.Status.UPLOADING")
+    int advance(@Param("id") UUID id,
+                @Param("offset") long offset,
+                @Param("newOffset") long newOffset,
+                @Param("partETags") String partETags,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * 완료 처리 선점 - 업로드 중이거나, 완료 처리가 staleBefore 이전에 멈춘 경우 (처리하던 노드 장애)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumableUpload u SET u.status = com.example.AudIon.domain.voice.ResumableUpload.Status.COMPLETING, " +
+            "u.updatedAt = :now WHERE u.id = :id AND u.uploadOffset = u.uploadLength " +
+            "AND (u.status = com.example.AudIon.domain.voice.ResumableUpload.Status.UPLOADING " +
+            "OR (u.status = com.example.AudIon.domain.voice.ResumableUpload.Status.COMPLETING " +
+            "AND u.updatedAt < :staleBefore))")
+    int claimCompletion(@Param("id") UUID id,
+                        @Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumableUpload u SET u.status = com.example.AudIon.domain.voice.ResumableUpload.Status.COMPLETED, " +
+            "u.voiceFileId = :voiceFileId, u.updatedAt = :now WHERE u.id = :id")
+    int markCompleted(@Param("id") UUID id,
+                      @Param("voiceFileId") UUID voiceFileId,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * 상태 전환 (from 일 때만)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumableUpload u SET u.status = :to, u.updatedAt = :now WHERE u.id = :id AND u.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") ResumableUpload.Status from,
+                   @Param("to") ResumableUpload.Status to,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 만료된 업로드 (정리 대상)
+     */
+    List<ResumableUpload> findTop100ByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(ResumableUpload.Status status,
+                                                                                  LocalDateTime now);
+
+    /**
+     * 끝난 업로드 기록 삭제 (보관 기간 경과)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResumableUpload u WHERE u.status IN (" +
+            "com.example.AudIon.domain.voice.ResumableUpload.Status.COMPLETED, " +
+            "com.example.AudIon.domain.voice.ResumableUpload.Status.ABORTED) AND u.updatedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
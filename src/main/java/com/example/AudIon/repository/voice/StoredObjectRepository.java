@@ -0,0 +1,87 @@
+package com.example.AudIon.repository.voice;
+
+import com.example.AudIon.domain.voice.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    /**
+     * 참조 획득 - 없으면 방금 업로드한 객체로 등록, 있으면 기존 S3 키 반환
+     * 기존 키가 공유 키(KeyLayout.SHARED)일 때만 ref_count 증가 - 지갑 경로 아래 키는 다른 지갑에 내주지 않으므로
+     * 호출 측은 반환 키가 자기 키도 공유 키도 아니면 방금 올린 객체를 그대로 씀 (참조 없음)
+     * 동시 업로드도 ON CONFLICT 로 한 행에 수렴
+     */
+    @Query(value = """
+            INSERT INTO stored_objects (content_hash, s3_key, file_url, file_size, ref_count, created_at)
+            VALUES (:hash, :s3Key, :fileUrl, :fileSize, 1, now())
+            ON CONFLICT (content_hash) DO UPDATE SET ref_count = stored_objects.ref_count
+                + CASE WHEN stored_objects.s3_key LIKE 'voices/objects/%' THEN 1 ELSE 0 END
+            RETURNING s3_key
+            """, nativeQuery = true)
+    String acquire(@Param("hash") String hash,
+                   @Param("s3Key") String s3Key,
+                   @Param("fileUrl") String fileUrl,
+                   @Param("fileSize") long fileSize);
+
+    /**
+     * 참조 해제 - 남은 ref_count 반환 (행이 없거나 다른 키의 행이면 null)
+     * 같은 내용이어도 공유하지 않고 따로 저장한 파일은 키가 달라 다른 파일의 참조를 줄이지 않음
+     */
+    @Query(value = """
+            UPDATE stored_objects SET ref_count = ref_count - 1
+            WHERE content_hash = :hash AND s3_key = :s3Key
+            RETURNING ref_count
+            """, nativeQuery = true)
+    Integer release(@Param("hash") String hash, @Param("s3Key") String s3Key);
+
+    /**
+     * 참조가 남지 않은 행 삭제 (삭제된 경우에만 S3 객체 삭제)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM stored_objects WHERE content_hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    /**
+     * 객체 교체 (FLAC 재인코딩 등) - 해시는 그대로, 실제 S3 키/URL/크기만 변경
+     */
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.s3Key = :targetKey, s.fileUrl = :fileUrl, s.fileSize = :fileSize " +
+            "WHERE s.s3Key = :sourceKey")
+    int replaceObject(@Param("sourceKey") String sourceKey,
+                      @Param("targetKey") String targetKey,
+                      @Param("fileUrl") String fileUrl,
+                      @Param("fileSize") long fileSize);
+
+    /**
+     * 공유 키로 옮길 객체 (after 다음부터 키 순)
+     * 지갑 경로 아래 있는데 같은 내용을 따로 저장한 다른 파일이 있는 경우 - 다음 업로드부터 공유 키로 공유
+     */
+    @Query(value = """
+            SELECT so.s3_key FROM stored_objects so
+            WHERE so.s3_key > :after AND so.s3_key NOT LIKE 'voices/objects/%'
+              AND EXISTS (SELECT 1 FROM voice_files vf
+                          WHERE vf.content_hash = so.content_hash AND vf.s3_key <> so.s3_key
+                            AND vf.deleted_at IS NULL)
+            ORDER BY so.s3_key
+            LIMIT :batchSize
+            """, nativeQuery = true)
+    List<String> findKeysToShare(@Param("after") String after, @Param("batchSize") int batchSize);
+
+    /**
+     * 객체 이동 (키 레이아웃 변경) - 내용/크기는 그대로, S3 키/URL 의 oldBase 만 newBase 로 치환
+     */
+    @Modifying
+    @Query(value = "UPDATE stored_objects SET s3_key = replace(s3_key, :oldBase, :newBase), " +
+            "file_url = replace(file_url, :oldBase, :newBase) WHERE s3_key = :sourceKey",
+            nativeQuery = true)
+    int relocateObject(@Param("sourceKey") String sourceKey,
+                       @Param("oldBase") String oldBase,
+                       @Param("newBase") String newBase);
+}
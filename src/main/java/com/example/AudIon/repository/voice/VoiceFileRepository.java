@@ -1,25 +1,35 @@
 package com.example.AudIon.repository.voice;
 
+import com.example.AudIon.domain.user.WalletAddress;
 import com.example.AudIon.domain.voice.VoiceFile;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
 
     /**
-     * 사용자의 지갑 주소로 음성 파일 목록 조회 (최신순)
+     * 사용자의 지갑 주소로 음성 파일 목록 조회 (최신순, 삭제된 파일 제외)
      */
-    List<VoiceFile> findByUserWalletAddressOrderByUploadedAtDesc(String walletAddress);
+    List<VoiceFile> findByUserWalletAddressAndDeletedAtIsNullOrderByUploadedAtDesc(String walletAddress);
 
     /**
      * 특정 사용자의 음성 파일 목록 조회 (최신순)
@@ -42,6 +52,68 @@ public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
      */
     Optional<VoiceFile> findByJobId(String jobId);
 
+    /**
+     * 소유자 범위 파일 조회 (권한 검사용 - PK + 20바이트 wallet_key 비교, 삭제된 파일 제외)
+     */
+    Optional<VoiceFile> findByIdAndWalletKeyAndDeletedAtIsNull(UUID id, WalletAddress walletKey);
+
+    /**
+     * 소프트 삭제 - 소유자 확인 + 전처리 중이 아닌 경우만 (갱신된 행 수 반환)
+     * deleted_at 은 엔티티에서 읽기 전용이므로 이 쿼리로만 기록
+     */
+    @Modifying
+    @Query(value = "UPDATE voice_files SET deleted_at = now() " +
+            "WHERE id = :id AND wallet_key = :walletKey AND deleted_at IS NULL AND status <> 'PROCESSING'",
+            nativeQuery = true)
+    int markDeleted(@Param("id") UUID id, @Param("walletKey") byte[] walletKey);
+
+    /**
+     * 영구 삭제 대상 (삭제 후 일정 시간 지난 파일, 모델이 참조 중인 파일은 제외)
+     */
+    @Query("SELECT vf FROM VoiceFile vf WHERE vf.deletedAt < :before " +
+            "AND NOT EXISTS (SELECT 1 FROM VoiceModel vm WHERE vm.voiceFile = vf) " +
+            "ORDER BY vf.deletedAt ASC")
+    List<VoiceFile> findDeletedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * 영구 삭제할 행 선점 - 다른 노드/스레드가 잠근 행은 건너뜀 (참조 해제가 한 번만 일어나도록)
+     * 같은 트랜잭션에서 삭제까지 마쳐야 하며, 이미 삭제된 행은 결과에 없음
+     */
+    @Query(value = "SELECT id FROM voice_files WHERE id IN (:ids) FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockForDelete(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * 같은 지갑의 동일 내용 파일 조회 (중복 업로드 감지용, 삭제 대기 중인 파일 제외 - 곧 영구 삭제되므로)
+     */
+    Optional<VoiceFile> findFirstByWalletKeyAndContentHashAndStatusNotAndDeletedAtIsNullOrderByUploadedAtDesc(
+            WalletAddress walletKey, String contentHash, VoiceFile.Status status);
+
+    /**
+     * 사용자까지 함께 조회 (비동기 처리에서 AI 요청 시 지연 로딩 방지)
+     */
+    @Query("SELECT vf FROM VoiceFile vf JOIN FETCH vf.user WHERE vf.id = :id")
+    Optional<VoiceFile> findWithUserById(@Param("id") UUID id);
+
+    /**
+     * 같은 내용의 전처리 완료 파일 조회 (공유 객체의 전처리 결과 재사용, 삭제 대기 중인 파일 제외)
+     */
+    Optional<VoiceFile> findFirstByContentHashAndProcessedS3KeyIsNotNullAndDeletedAtIsNull(String contentHash);
+
+    /**
+     * 일정 시간 이상 갱신되지 않은 상태별 파일 조회 (중단된 처리 재개용)
+     */
+    List<VoiceFile> findTop100ByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(VoiceFile.Status status, LocalDateTime before);
+
+    /**
+     * 멈춘 처리 선점 - 아직 그 상태로 멈춰 있을 때만 updated_at 갱신 (1이면 이 노드가 재개, 0이면 다른 노드가 선점)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VoiceFile vf SET vf.updatedAt = :now " +
+            "WHERE vf.id = :id AND vf.status = :status AND vf.updatedAt < :before")
+    int claimStalled(@Param("id") UUID id, @Param("status") VoiceFile.Status status,
+                     @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
     /**
      * 특정 기간 내 업로드된 파일들 조회
      */
@@ -76,6 +148,81 @@ public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
      */
     Optional<VoiceFile> findByS3Key(String s3Key);
 
+    /**
+     * 같은 S3 키를 참조하는 파일 중 특정 상태 개수 (공유 객체 교체 전 확인용)
+     */
+    long countByS3KeyAndStatusIn(String s3Key, Collection<VoiceFile.Status> statuses);
+
+    boolean existsByS3Key(String s3Key);
+
+    /**
+     * base 아래 키를 참조하는 파일 존재 여부 (키 이전 복사본 정리 전 확인용)
+     */
+    boolean existsByS3KeyStartingWith(String base);
+
+    /**
+     * FLAC 재인코딩 대상 원본 키 (업로드 후 일정 시간 지난 WAV, 변환 기록 없는 것만)
+     */
+    @Query("SELECT DISTINCT vf.s3Key FROM VoiceFile vf WHERE vf.audioFormat = 'wav' " +
+            "AND vf.uploadedAt < :before AND vf.s3Key IS NOT NULL AND vf.deletedAt IS NULL " +
+            "AND NOT EXISTS (SELECT c FROM FlacConversion c WHERE c.sourceKey = vf.s3Key) " +
+            "ORDER BY vf.s3Key")
+    List<String> findFlacCandidateKeys(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * 공유 S3 객체 교체 - 같은 키를 참조하는 모든 파일의 키/URL/형식 갱신
+     */
+    @Modifying
+    @Query("UPDATE VoiceFile vf SET vf.s3Key = :targetKey, vf.fileUrl = :fileUrl, " +
+            "vf.audioFormat = :audioFormat, vf.contentType = :contentType WHERE vf.s3Key = :sourceKey")
+    int replaceS3Object(@Param("sourceKey") String sourceKey,
+                        @Param("targetKey") String targetKey,
+                        @Param("fileUrl") String fileUrl,
+                        @Param("audioFormat") String audioFormat,
+                        @Param("contentType") String contentType);
+
+    /**
+     * 같은 S3 키를 참조하는 파일 전체 (공유 객체 이동 전 파생 키 수집용, 업로드 순)
+     */
+    List<VoiceFile> findAllByS3KeyOrderByUploadedAtAsc(String s3Key);
+
+    /**
+     * 키 레이아웃 이전 대상 원본 키 (after 다음부터 키 순, 삭제 예정 파일 제외)
+     * includeLegacy: 버전 기록 이전 행(key_layout NULL = DATED)도 대상인지
+     * shared: 공유 키 레이아웃 버전 - 여러 지갑이 참조하므로 지갑 경로로 되돌리지 않음
+     */
+    @Query("SELECT DISTINCT vf.s3Key FROM VoiceFile vf WHERE vf.s3Key > :after AND vf.deletedAt IS NULL " +
+            "AND (vf.keyLayout <> :layout OR (:includeLegacy = true AND vf.keyLayout IS NULL)) " +
+            "AND (vf.keyLayout IS NULL OR vf.keyLayout <> :shared) " +
+            "ORDER BY vf.s3Key")
+    List<String> findKeysToRelayout(@Param("layout") int layout,
+                                    @Param("includeLegacy") boolean includeLegacy,
+                                    @Param("shared") int shared,
+                                    @Param("after") String after,
+                                    Pageable pageable);
+
+    /**
+     * 공유 S3 객체 이동 (키 레이아웃 변경) - 같은 키를 참조하는 모든 파일의 원본/파생 키, URL, 구간 목록에서
+     * oldBase 를 newBase 로 치환 (base 는 UUID 를 포함해 다른 값과 겹치지 않음)
+     */
+    @Modifying
+    @Query(value = "UPDATE voice_files SET " +
+            "s3_key = replace(s3_key, :oldBase, :newBase), " +
+            "file_url = replace(file_url, :oldBase, :newBase), " +
+            "processed_s3_key = replace(processed_s3_key, :oldBase, :newBase), " +
+            "processed_file_url = replace(processed_file_url, :oldBase, :newBase), " +
+            "features_s3_key = replace(features_s3_key, :oldBase, :newBase), " +
+            "features_file_url = replace(features_file_url, :oldBase, :newBase), " +
+            "peaks_s3_key = replace(peaks_s3_key, :oldBase, :newBase), " +
+            "chunk_manifest = replace(chunk_manifest, :oldBase, :newBase), " +
+            "key_layout = :layout, updated_at = now() " +
+            "WHERE s3_key = :sourceKey",
+            nativeQuery = true)
+    int relocateS3Object(@Param("sourceKey") String sourceKey,
+                         @Param("oldBase") String oldBase,
+                         @Param("newBase") String newBase,
+                         @Param("layout") int layout);
+
     /**
      * 사용자의 파일 크기 총합 (용량 제한 체크용)
      */
@@ -92,11 +239,34 @@ public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
                                        @Param("end") LocalDateTime end);
 
     /**
-     * 오래된 실패 파일들 정리용 (배치 작업)
+     * 오래된 실패 파일들 정리용 (배치 작업, 모델이 참조 중인 파일은 제외)
      */
     @Query("SELECT vf FROM VoiceFile vf WHERE vf.status = 'FAILED' " +
-            "AND vf.uploadedAt < :beforeTime ORDER BY vf.uploadedAt ASC")
-    List<VoiceFile> findOldFailedFiles(@Param("beforeTime") LocalDateTime beforeTime);
+            "AND vf.uploadedAt < :beforeTime " +
+            "AND NOT EXISTS (SELECT 1 FROM VoiceModel vm WHERE vm.voiceFile = vf) " +
+            "ORDER BY vf.uploadedAt ASC")
+    List<VoiceFile> findOldFailedFiles(@Param("beforeTime") LocalDateTime beforeTime, Pageable pageable);
+
+    /**
+     * [from, to) 범위의 S3 키 (바이트 순 비교, 고아 객체 판별용)
+     * VoiceFileIndexInitializer 의 (s3_key COLLATE "C") 인덱스로 범위 조회
+     */
+    @Query(value = "SELECT s3_key FROM voice_files " +
+            "WHERE s3_key COLLATE \"C\" >= :from AND s3_key COLLATE \"C\" < :to",
+            nativeQuery = true)
+    List<String> findS3KeysInRange(@Param("from") String from, @Param("to") String to);
+
+    /**
+     * 인벤토리 대조용 (s3_key, 기대 크기) - (after, to) 범위를 바이트 순으로 limit 행 (같은 키의 행은 연속)
+     * 기대 크기는 stored_objects 크기(FLAC 교체 후 실제 객체 크기), 없으면 업로드 크기
+     * (s3_key COLLATE "C") 인덱스 순서로 읽으므로 정렬 없이 페이지 크기만큼만 읽음
+     */
+    @Query(value = "SELECT vf.s3_key, COALESCE(so.file_size, vf.file_size) FROM voice_files vf " +
+            "LEFT JOIN stored_objects so ON so.s3_key = vf.s3_key " +
+            "WHERE vf.s3_key COLLATE \"C\" > :after AND vf.s3_key COLLATE \"C\" < :to " +
+            "ORDER BY vf.s3_key COLLATE \"C\" LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findInventoryPage(@Param("after") String after, @Param("to") String to, @Param("limit") int limit);
 
     /**
      * 특정 확장자의 파일들 조회
@@ -118,11 +288,41 @@ public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
      */
     List<VoiceFile> findTop5ByUserWalletAddressOrderByUploadedAtDesc(String walletAddress);
 
+    /**
+     * wallet_key 백필 (배치 작업)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE voice_files SET wallet_key = decode(substring(lower(wallet_address) from 3), 'hex') " +
+            "WHERE id IN (SELECT id FROM voice_files WHERE wallet_key IS NULL " +
+            "AND wallet_address ~* '^0x[0-9a-f]{40}$' LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int backfillWalletKeyBatch(@Param("batchSize") int batchSize);
+
+    // Streaming methods (내보내기용 - 트랜잭션 안에서 소비하고 반드시 close 할 것)
+    /**
+     * 사용자의 음성 파일 전체 스트리밍 (최신순, 삭제된 파일 제외)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<VoiceFile> streamByWalletKeyAndDeletedAtIsNullOrderByUploadedAtDesc(WalletAddress walletKey);
+
+    /**
+     * 특정 기간 내 업로드된 파일 스트리밍 (관리자용, 삭제된 파일 제외)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<VoiceFile> streamByUploadedAtBetweenAndDeletedAtIsNullOrderByUploadedAtDesc(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 특정 상태의 파일 스트리밍 (관리자용, 삭제된 파일 제외)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<VoiceFile> streamByStatusAndDeletedAtIsNullOrderByUploadedAtDesc(VoiceFile.Status status);
+
     // Pagination methods
     /**
-     * 사용자의 지갑 주소로 음성 파일 목록 조회 (페이지네이션)
+     * 사용자의 지갑 주소로 음성 파일 목록 조회 (페이지네이션, 삭제된 파일 제외)
      */
-    Page<VoiceFile> findByUserWalletAddress(String walletAddress, Pageable pageable);
+    Page<VoiceFile> findByUserWalletAddressAndDeletedAtIsNull(String walletAddress, Pageable pageable);
 
     /**
      * 특정 사용자의 음성 파일 목록 조회 (페이지네이션)
@@ -135,16 +335,33 @@ public interface VoiceFileRepository extends JpaRepository<VoiceFile, UUID> {
     Page<VoiceFile> findByStatus(VoiceFile.Status status, Pageable pageable);
 
     /**
-     * 사용자별 특정 상태의 음성 파일들 조회 (페이지네이션)
+     * 사용자별 특정 상태의 음성 파일들 조회 (페이지네이션, 삭제된 파일 제외)
      */
-    Page<VoiceFile> findByUserWalletAddressAndStatus(String walletAddress, VoiceFile.Status status, Pageable pageable);
+    Page<VoiceFile> findByUserWalletAddressAndStatusAndDeletedAtIsNull(String walletAddress, VoiceFile.Status status, Pageable pageable);
 
     /**
-     * 검색 기능 추가 - 파일명으로 검색 (페이지네이션)
+     * 검색 기능 추가 - 파일명으로 검색 (페이지네이션, 삭제된 파일 제외)
      */
-    Page<VoiceFile> findByUserWalletAddressAndOriginalFilenameContainingIgnoreCase(
+    Page<VoiceFile> findByUserWalletAddressAndOriginalFilenameContainingIgnoreCaseAndDeletedAtIsNull(
             String walletAddress, String filename, Pageable pageable);
 
+    /**
+     * 파일명 trigram 검색 (페이지네이션)
+     * (wallet_key, lower(original_filename)) GIN 인덱스 사용 - 접두 일치 > 유사도 > 최신순으로 정렬
+     * pattern은 LIKE 와일드카드가 이스케이프된 소문자 검색어
+     */
+    @Query(value = "SELECT * FROM voice_files vf WHERE vf.wallet_key = :walletKey AND vf.deleted_at IS NULL " +
+            "AND lower(vf.original_filename) LIKE '%' || :pattern || '%' " +
+            "ORDER BY (lower(vf.original_filename) LIKE :pattern || '%') DESC, " +
+            "similarity(lower(vf.original_filename), :query) DESC, vf.uploaded_at DESC",
+            countQuery = "SELECT COUNT(*) FROM voice_files vf WHERE vf.wallet_key = :walletKey AND vf.deleted_at IS NULL " +
+                    "AND lower(vf.original_filename) LIKE '%' || :pattern || '%'",
+            nativeQuery = true)
+    Page<VoiceFile> searchByFilenameTrigram(@Param("walletKey") byte[] walletKey,
+                                            @Param("pattern") String pattern,
+                                            @Param("query") String query,
+                                            Pageable pageable);
+
     /**
      * 특정 기간 내 업로드된 파일들 조회 (페이지네이션)
      */
@@ -1,6 +1,7 @@
 package com.example.AudIon.service.Auth;
 
 import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
 import com.example.AudIon.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +14,8 @@ import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -31,7 +30,7 @@ public class AuthService {
      */
     @Transactional
     public String login(String walletAddress, String message, String signatureHex, String clientIp, String userAgent) {
-        final String normalizedWallet = normalizeWalletAddress(walletAddress);
+        final WalletAddress normalizedWallet = normalizeWalletAddress(walletAddress);
 
         // 서명 검증
         if (!verifyPersonalSign(normalizedWallet, signatureHex, message)) {
@@ -43,7 +42,7 @@ public class AuthService {
         User user = findOrCreateUser(normalizedWallet);
 
         // JWT 토큰 생성
-        String token = jwtUtil.createToken(user.getId().toString(), normalizedWallet);
+        String token = jwtUtil.createToken(user.getId().toString(), normalizedWallet.toString());
 
         log.info("Successful login for wallet: {}, userId: {}, IP: {}",
                 normalizedWallet, user.getId(), clientIp);
@@ -54,13 +53,14 @@ public class AuthService {
     /**
      * 사용자 조회 또는 생성
      */
-    private User findOrCreateUser(String walletAddress) {
-        return userRepository.findByWalletAddress(walletAddress)
+    private User findOrCreateUser(WalletAddress wallet) {
+        return userRepository.findByWallet(wallet)
                 .orElseGet(() -> {
-                    log.info("Creating new user for wallet: {}", walletAddress);
+                    log.info("Creating new user for wallet: {}", wallet);
                     User newUser = User.builder()
-                            .walletAddress(walletAddress)
-                            .createdAt(LocalDateTime.from(Instant.now()))
+                            .walletAddress(wallet.toString())
+                            .walletKey(wallet)
+                            .createdAt(LocalDateTime.now())
                             .build();
                     return userRepository.save(newUser);
                 });
@@ -69,7 +69,7 @@ public class AuthService {
     /**
      * Personal sign 서명 검증 (EIP-191)
      */
-    private boolean verifyPersonalSign(String walletAddress, String signatureHex, String message) {
+    private boolean verifyPersonalSign(WalletAddress walletAddress, String signatureHex, String message) {
         try {
             if (!StringUtils.hasText(signatureHex) || !signatureHex.startsWith("0x")) {
                 return false;
@@ -86,7 +86,7 @@ public class AuthService {
             BigInteger publicKey = Sign.signedPrefixedMessageToKey(messageBytes, signature);
             String recoveredAddress = "0x" + Keys.getAddress(publicKey);
 
-            return walletAddress.equalsIgnoreCase(recoveredAddress);
+            return walletAddress.matches(recoveredAddress);
 
         } catch (Exception e) {
             log.error("Signature verification failed for wallet: {}", walletAddress, e);
@@ -111,31 +111,15 @@ public class AuthService {
     }
 
     /**
-     * 지갑 주소 정규화
+     * 지갑 주소 정규화 (입력 경계에서 한 번만 수행)
+     * 체크섬 대소문자와 무관하게 20바이트 값으로 변환 - 문자열 표현은 항상 소문자
      */
-    private String normalizeWalletAddress(String walletAddress) {
+    private WalletAddress normalizeWalletAddress(String walletAddress) {
         if (!StringUtils.hasText(walletAddress)) {
             throw new IllegalArgumentException("Wallet address is required");
         }
 
-        String normalized = walletAddress.trim();
-
-        if (!normalized.startsWith("0x") || normalized.length() != 42) {
-            throw new IllegalArgumentException("Invalid wallet address format");
-        }
-
-        // 체크섬 검증 (선택적)
-        try {
-            if (!Keys.toChecksumAddress(normalized).equals(normalized)) {
-                // 체크섬이 틀렸지만 유효한 주소라면 소문자로 정규화
-                normalized = normalized.toLowerCase(Locale.ROOT);
-            }
-        } catch (Exception e) {
-            // 체크섬 검증 실패 시 소문자로 정규화
-            normalized = normalized.toLowerCase(Locale.ROOT);
-        }
-
-        return normalized;
+        return WalletAddress.parse(walletAddress);
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.AudIon.service.Auth;
 
+import com.example.AudIon.domain.user.WalletAddress;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -184,12 +185,19 @@ public class JwtUtil {
     }
 
     /**
-     * 토큰에서 지갑 주소 추출
+     * 토큰에서 지갑 주소 추출 (발급 시 이미 정규화된 값)
      */
     public Optional<String> getWalletAddress(Jws<Claims> jws) {
+        return getWallet(jws).map(WalletAddress::toString);
+    }
+
+    /**
+     * 토큰에서 20바이트 지갑 주소 추출
+     */
+    public Optional<WalletAddress> getWallet(Jws<Claims> jws) {
         Object wallet = jws.getBody().get("wallet");
-        if (wallet instanceof String walletStr && !walletStr.trim().isEmpty()) {
-            return Optional.of(walletStr.trim().toLowerCase());
+        if (wallet instanceof String walletStr) {
+            return WalletAddress.tryParse(walletStr);
         }
         return Optional.empty();
     }
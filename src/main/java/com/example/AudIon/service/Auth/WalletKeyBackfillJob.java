@@ -0,0 +1,130 @@
+package com.example.AudIon.service.Auth;
+
+import com.example.AudIon.repository.nft.NftRepository;
+import com.example.AudIon.repository.user.UserRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 기존 행의 20바이트 wallet_key 컬럼 백필 작업 (users, voice_files, nfts)
+ * 문자열 지갑 주소를 작은 배치(각각 별도 트랜잭션)로 변환해서 테이블 잠금 없이 마이그레이션
+ * - 소유자 조회/목록은 wallet_key 로만 찾으므로 기동 시(웹 서버가 요청을 받기 전) 테이블마다 최대
+ *   max-batches-per-run 배치까지 먼저 실행, 남은 행은 백그라운드 실행이 마저 처리
+ *   (기동 시 백필이 실패해도 기동은 계속, on-startup=false 면 백그라운드 실행만 - 그동안 백필되지 않은 행은 목록에서 빠짐)
+ * - 기동 후에는 남은 행이 없을 때까지 주기적으로 실행 (기동 시 백필을 끈 경우, 배포 중 이전 버전 노드가 넣은 행 등)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletKeyBackfillJob implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+    private final VoiceFileRepository voiceFileRepository;
+    private final NftRepository nftRepository;
+
+    @Value("${app.wallet-key-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.wallet-key-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.wallet-key-backfill.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.wallet-key-backfill.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.wallet-key-backfill.on-startup:true}")
+    private boolean onStartup;
+
+    private volatile boolean completed = false;
+
+    /**
+     * 기동 시 백필 - 모든 빈 생성 후, 웹 서버 커넥터 시작 전에 호출됨 (요청이 없으므로 배치 사이 대기 없음)
+     * 테이블마다 maxBatchesPerRun 배치까지만 처리해 기동 시간을 제한, 실패는 기록만 하고 기동 계속
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !onStartup) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            long total = drain(userRepository::backfillWalletKeyBatch)
+                    + drain(voiceFileRepository::backfillWalletKeyBatch)
+                    + drain(nftRepository::backfillOwnerWalletKeyBatch);
+            if (total > 0) {
+                log.info("Wallet key backfill on startup: {} rows in {} ms", total, System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            log.error("Wallet key backfill on startup failed, continuing in background", e);
+        }
+    }
+
+    private long drain(IntUnaryOperator batch) {
+        long total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int updated = batch.applyAsInt(batchSize);
+            if (updated == 0) {
+                break;
+            }
+            total += updated;
+        }
+        return total;
+    }
+
+    @Scheduled(initialDelayString = "${app.wallet-key-backfill.initial-delay-ms:5000}",
+            fixedDelayString = "${app.wallet-key-backfill.interval-ms:60000}")
+    public void run() {
+        if (!enabled || completed) {
+            return;
+        }
+
+        try {
+            boolean usersDone = backfill("users", userRepository::backfillWalletKeyBatch);
+            boolean filesDone = backfill("voice_files", voiceFileRepository::backfillWalletKeyBatch);
+            boolean nftsDone = backfill("nfts", nftRepository::backfillOwnerWalletKeyBatch);
+
+            if (usersDone && filesDone && nftsDone) {
+                completed = true;
+                log.info("Wallet key backfill completed");
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Wallet key backfill failed", e);
+        }
+    }
+
+    /**
+     * 테이블 하나를 최대 maxBatchesPerRun 배치까지 처리, 모두 채워졌으면 true
+     */
+    private boolean backfill(String table, IntUnaryOperator batch) throws InterruptedException {
+        long total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int updated = batch.applyAsInt(batchSize);
+            total += updated;
+
+            if (updated == 0) {
+                if (total > 0) {
+                    log.info("Wallet key backfill for {} finished ({} rows in last run)", table, total);
+                }
+                return true;
+            }
+
+            // 배치 사이에 잠시 쉬어서 다른 트랜잭션에 양보
+            Thread.sleep(pauseMs);
+        }
+        log.info("Wallet key backfill for {} in progress - {} rows updated in this run", table, total);
+        return false;
+    }
+}
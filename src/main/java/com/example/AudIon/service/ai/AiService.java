@@ -1,6 +1,7 @@
 package com.example.AudIon.service.ai;
 
 import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.service.s3.PresignedUrlCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -23,6 +26,7 @@ public class AiService {
     private String authSecret;
 
     private final RestTemplate restTemplate;
+    private final PresignedUrlCache presignedUrlCache;
 
     /**
      * AI 서버에 학습 요청을 보내고 jobId를 반환
@@ -37,14 +41,29 @@ public class AiService {
         }
 
         try {
-            Map<String, Object> requestBody = Map.of(
+            // 비공개 업로드면 원본/파생 객체 모두 presigned URL 로 전달
+            String originalUrl = presignedUrlCache.playbackUrl(voiceFile.getS3Key(), voiceFile.getFileUrl());
+            // 전처리 결과(16bit mono WAV)가 있으면 학습에는 그 파일 사용
+            String trainingUrl = voiceFile.getProcessedFileUrl() != null
+                    ? presignedUrlCache.playbackUrl(voiceFile.getProcessedS3Key(), voiceFile.getProcessedFileUrl())
+                    : originalUrl;
+
+            Map<String, Object> requestBody = new HashMap<>(Map.of(
                     "voiceFileId", voiceFile.getId().toString(),
-                    "voiceFileUrl", voiceFile.getFileUrl(),
+                    "voiceFileUrl", trainingUrl,
+                    "originalFileUrl", originalUrl,
+                    "preprocessed", voiceFile.getProcessedFileUrl() != null,
                     "userId", voiceFile.getUser().getId().toString(),
                     "walletAddress", voiceFile.getUser().getWalletAddress(),
                     "originalFilename", voiceFile.getOriginalFilename() != null ? voiceFile.getOriginalFilename() : "unknown",
-                    "duration", voiceFile.getDuration() != null ? voiceFile.getDuration() : 0.0f
-            );
+                    "duration", voiceFile.getDuration() != null ? voiceFile.getDuration() : 0.0f,
+                    "chunks", chunkManifest(voiceFile)
+            ));
+            // 서버 측에서 추출한 log-mel 특징이 있으면 AI 서버는 디코딩/특징 추출을 건너뜀
+            if (voiceFile.getFeaturesFileUrl() != null) {
+                requestBody.put("featuresUrl",
+                        presignedUrlCache.playbackUrl(voiceFile.getFeaturesS3Key(), voiceFile.getFeaturesFileUrl()));
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -84,6 +103,22 @@ public class AiService {
         }
     }
 
+    /**
+     * 분할 구간 목록 (짧은 발화 단위 학습용, 분할하지 않았으면 빈 목록 → voiceFileUrl 하나로 학습)
+     */
+    private List<Map<String, Object>> chunkManifest(VoiceFile voiceFile) {
+        if (voiceFile.getChunks() == null) {
+            return List.of();
+        }
+        return voiceFile.getChunks().stream()
+                .map(chunk -> Map.<String, Object>of(
+                        "index", chunk.index(),
+                        "offset", chunk.offsetSeconds(),
+                        "duration", chunk.durationSeconds(),
+                        "url", presignedUrlCache.playbackUrl(chunk.s3Key(), chunk.fileUrl())))
+                .toList();
+    }
+
     /**
      * AI 서버에서 학습 상태 조회
      */
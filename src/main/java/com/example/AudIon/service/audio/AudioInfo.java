@@ -0,0 +1,33 @@
+package com.example.AudIon.service.audio;
+
+/**
+ * 오디오 헤더 분석 결과
+ *
+ * @param format        컨테이너 형식 (wav, mp3, ogg, m4a, aac)
+ * @param mimeType      매직 바이트로 판별한 MIME 타입
+ * @param codec         코덱 (pcm, mp3, vorbis, opus, aac 등)
+ * @param sampleRate    Hz
+ * @param channels      1=mono, 2=stereo
+ * @param bitRate       kbps (평균)
+ * @param bitsPerSample PCM 샘플 비트 수 (압축 포맷은 0)
+ * @param duration      초
+ * @param dataOffset    PCM 데이터 시작 위치 (WAV만, 그 외 -1)
+ * @param dataLength    PCM 데이터 길이 (WAV만, 그 외 -1)
+ */
+public record AudioInfo(
+        String format,
+        String mimeType,
+        String codec,
+        int sampleRate,
+        int channels,
+        int bitRate,
+        int bitsPerSample,
+        float duration,
+        long dataOffset,
+        long dataLength
+) {
+
+    public boolean isPcm() {
+        return "pcm".equals(codec) || "pcm_float".equals(codec);
+    }
+}
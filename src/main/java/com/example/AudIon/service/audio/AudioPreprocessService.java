@@ -0,0 +1,289 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.service.voice.VoiceFileUploadedEvent;
+import com.example.AudIon.service.voice.VoiceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 업로드 → (전처리) → AI 학습 파이프라인
+ * - 업로드 커밋 후 전용 워커 풀에서 전처리, 결과를 원본 옆에 *.train.wav 로 저장
+ * - (선택) 전처리 결과로 log-mel 특징(*.mel.f16)을 추출해 AI 서버의 특징 추출을 대신함
+ * - 긴 녹음은 무음 경계에서 짧은 구간(*.chunks/NNNN.wav)으로 나눠 학습 요청에 목록으로 전달
+ * - 상태: PROCESSING → PROCESSED → TRAINING
+ * - 음질 점수/음성 길이는 VoiceFile 에 기록, 학습 허용 여부는 VoiceService.handleAiTraining 에서 판단
+ * - 전처리 실패 시 원본으로 학습 진행 (학습 자체는 막지 않음)
+ * - 대기열 초과 시 PROCESSING 으로 남겨 두고 복구 작업이 다시 넣음 (업로드/스케줄러 스레드에서 학습 요청 안 함)
+ * - 재시작 등으로 PROCESSING 에 멈춘 파일은 주기적으로 다시 대기열에 넣음
+ *   (updated_at 조건부 갱신으로 선점한 노드만 재개 - 여러 노드가 같은 파일을 중복 학습 요청하지 않음)
+ */
+@Service
+@Slf4j
+public class AudioPreprocessService {
+
+    private static final int HEADER_PROBE_BYTES = 128 * 1024;
+    private static final String ARTIFACT_SUFFIX = ".train.wav";
+    private static final String FEATURES_SUFFIX = ".mel.f16";
+    private static final ThreadMXBean THREAD_MX = ManagementFactory.getThreadMXBean();
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final S3Service s3Service;
+    private final AudioProbe audioProbe;
+    private final AudioPreprocessor audioPreprocessor;
+    private final VoiceService voiceService;
+    private final WaveformPeaksService waveformPeaksService;
+    private final AudioSegmenter audioSegmenter;
+    private final MelFeatureExtractor melFeatureExtractor;
+    private final TaskExecutor executor;
+
+    @Value("${app.preprocess.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    public AudioPreprocessService(VoiceFileRepository voiceFileRepository,
+                                  S3Service s3Service,
+                                  AudioProbe audioProbe,
+                                  AudioPreprocessor audioPreprocessor,
+                                  VoiceService voiceService,
+                                  WaveformPeaksService waveformPeaksService,
+                                  AudioSegmenter audioSegmenter,
+                                  MelFeatureExtractor melFeatureExtractor,
+                                  @Qualifier("audioProcessingExecutor") TaskExecutor executor) {
+        this.voiceFileRepository = voiceFileRepository;
+        this.s3Service = s3Service;
+        this.audioProbe = audioProbe;
+        this.audioPreprocessor = audioPreprocessor;
+        this.voiceService = voiceService;
+        this.waveformPeaksService = waveformPeaksService;
+        this.audioSegmenter = audioSegmenter;
+        this.melFeatureExtractor = melFeatureExtractor;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoiceFileUploaded(VoiceFileUploadedEvent event) {
+        submit(event.voiceFileId());
+    }
+
+    /**
+     * 멈춘 전처리 재개 (기동 직후 + 주기적)
+     */
+    @Scheduled(initialDelayString = "${app.preprocess.recovery.initial-delay-ms:60000}",
+            fixedDelayString = "${app.preprocess.recovery.interval-ms:300000}")
+    public void recoverStalled() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        List<VoiceFile> stalled = voiceFileRepository
+                .findTop100ByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(VoiceFile.Status.PROCESSING, before);
+        int resubmitted = 0;
+        for (VoiceFile vf : stalled) {
+            if (voiceFileRepository.claimStalled(vf.getId(), VoiceFile.Status.PROCESSING, before, LocalDateTime.now()) == 0) {
+                continue;
+            }
+            if (!submit(vf.getId())) {
+                break;
+            }
+            resubmitted++;
+        }
+        if (resubmitted > 0) {
+            log.info("Resubmitted {} stalled preprocessing job(s)", resubmitted);
+        }
+    }
+
+    /**
+     * 워커 풀에 전처리 등록 - 대기열이 차면 false (행은 PROCESSING 그대로, 복구 작업이 나중에 재개)
+     */
+    private boolean submit(UUID voiceFileId) {
+        try {
+            executor.execute(() -> process(voiceFileId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Preprocessing queue full, voice file {} left for stalled-job recovery", voiceFileId);
+            return false;
+        }
+    }
+
+    private void process(UUID voiceFileId) {
+        VoiceFile voiceFile = voiceFileRepository.findWithUserById(voiceFileId).orElse(null);
+        if (voiceFile == null || voiceFile.getStatus() != VoiceFile.Status.PROCESSING) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            if (!reuseSharedArtifact(voiceFile)) {
+                preprocess(voiceFile);
+            }
+
+            voiceFile.setIsProcessed(true);
+            voiceFile.setProcessingCompletedAt(LocalDateTime.now());
+
+            voiceFile.setStatus(VoiceFile.Status.PROCESSED);
+            voiceFile = voiceFileRepository.save(voiceFile);
+            log.info("Preprocessed voice file: {} in {}ms", voiceFileId, System.currentTimeMillis() - started);
+
+            voiceService.startTraining(voiceFile);
+
+        } catch (Exception e) {
+            log.warn("Preprocessing failed for voice file: {} - training on original: {}", voiceFileId, e.getMessage());
+            trainOnOriginal(voiceFile);
+        }
+    }
+
+    /**
+     * 같은 내용(공유 S3 객체)의 전처리 결과가 이미 있으면 재사용
+     */
+    private boolean reuseSharedArtifact(VoiceFile voiceFile) {
+        if (voiceFile.getContentHash() == null) {
+            return false;
+        }
+        Optional<VoiceFile> processed = voiceFileRepository
+                .findFirstByContentHashAndProcessedS3KeyIsNotNullAndDeletedAtIsNull(voiceFile.getContentHash());
+        if (processed.isEmpty() || !voiceFile.getS3Key().equals(processed.get().getS3Key())) {
+            return false;
+        }
+        voiceFile.setProcessedS3Key(processed.get().getProcessedS3Key());
+        voiceFile.setProcessedFileUrl(processed.get().getProcessedFileUrl());
+        voiceFile.setSpeechDuration(processed.get().getSpeechDuration());
+        voiceFile.setPeakDbfs(processed.get().getPeakDbfs());
+        voiceFile.setClippingRatio(processed.get().getClippingRatio());
+        voiceFile.setSnrDb(processed.get().getSnrDb());
+        voiceFile.setLoudnessLufs(processed.get().getLoudnessLufs());
+        voiceFile.setPeaksS3Key(processed.get().getPeaksS3Key());
+        voiceFile.setPeaksLevels(processed.get().getPeaksLevels());
+        voiceFile.setChunks(processed.get().getChunks());
+        voiceFile.setFeaturesS3Key(processed.get().getFeaturesS3Key());
+        voiceFile.setFeaturesFileUrl(processed.get().getFeaturesFileUrl());
+        return true;
+    }
+
+    private void preprocess(VoiceFile voiceFile) throws Exception {
+        String s3Key = voiceFile.getS3Key();
+        long size = voiceFile.getFileSize();
+
+        // 헤더 구간만 받아서 분석 → PCM 데이터 구간만 스트리밍
+        byte[] header = s3Service.readRange(s3Key, 0, Math.min(size, HEADER_PROBE_BYTES) - 1);
+        AudioInfo info = audioProbe.probe(() -> new ByteArrayInputStream(header), size);
+
+        Path output = Files.createTempFile("audion-train-", ".wav");
+        try {
+            AudioPreprocessor.Result result;
+            long cpuStart = THREAD_MX.getCurrentThreadCpuTime();
+            try (InputStream pcm = s3Service.openRange(s3Key, info.dataOffset(),
+                    info.dataOffset() + info.dataLength() - 1)) {
+                result = audioPreprocessor.process(pcm, info, output);
+            }
+            double cpuSeconds = (THREAD_MX.getCurrentThreadCpuTime() - cpuStart) / 1e9;
+            log.debug("Preprocess throughput: {} audio-seconds per CPU-second",
+                    cpuSeconds > 0 ? String.format("%.0f", result.inputDuration() / cpuSeconds) : "n/a");
+
+            String artifactKey = artifactKey(s3Key);
+            String url = s3Service.uploadArtifact(artifactKey, output, "audio/wav", s3Service.isPublicRead());
+            voiceFile.setProcessedS3Key(artifactKey);
+            voiceFile.setProcessedFileUrl(url);
+
+            // log-mel 특징 (실패하면 AI 서버가 직접 추출)
+            if (melFeatureExtractor.isEnabled()) {
+                extractFeatures(voiceFile, output, result);
+            }
+
+            // 긴 녹음은 구간 분할 (실패하면 전처리 결과 하나로 학습)
+            if (audioSegmenter.shouldSegment(result.duration())) {
+                try {
+                    voiceFile.setChunks(audioSegmenter.segment(output, result.sampleRate(), result.frames(),
+                            AudioSegmenter.prefixFor(s3Key)));
+                } catch (Exception e) {
+                    log.warn("Failed to segment voice file: {} - {}", voiceFile.getId(), e.getMessage());
+                }
+            }
+
+            voiceFile.setSpeechDuration(result.speechDuration());
+            AudioQualityAnalyzer.Quality quality = result.quality();
+            voiceFile.setPeakDbfs(finiteOrNull(quality.peakDbfs()));
+            voiceFile.setClippingRatio(finiteOrNull(quality.clippingRatio()));
+            voiceFile.setSnrDb(finiteOrNull(quality.snrDb()));
+            // 절대 게이트(-70 LUFS)를 넘는 구간이 없으면 사실상 무음 → 하한값으로 기록해 학습 거부 대상이 되게 함
+            voiceFile.setLoudnessLufs((float) Math.max(quality.loudnessLufs(), -70.0));
+
+            // 파형 피크 sidecar (실패해도 학습 진행에는 영향 없음)
+            if (result.peaks() != null) {
+                try {
+                    waveformPeaksService.store(voiceFile, result.peaks());
+                } catch (Exception e) {
+                    log.warn("Failed to store waveform peaks for voice file: {} - {}", voiceFile.getId(), e.getMessage());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private void extractFeatures(VoiceFile voiceFile, Path wav, AudioPreprocessor.Result result) {
+        Path features = null;
+        try {
+            features = Files.createTempFile("audion-mel-", ".f16");
+            long started = System.currentTimeMillis();
+            long frames = melFeatureExtractor.extract(wav, result.sampleRate(), result.frames(), features);
+            String key = featuresKey(voiceFile.getS3Key());
+            String url = s3Service.uploadArtifact(key, features, MelFeatureExtractor.CONTENT_TYPE,
+                    s3Service.isPublicRead());
+            voiceFile.setFeaturesS3Key(key);
+            voiceFile.setFeaturesFileUrl(url);
+            log.debug("Extracted {} mel frame(s) for voice file: {} in {}ms",
+                    frames, voiceFile.getId(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.warn("Failed to extract features for voice file: {} - {}", voiceFile.getId(), e.getMessage());
+        } finally {
+            if (features != null) {
+                try {
+                    Files.deleteIfExists(features);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temp features file: {}", features);
+                }
+            }
+        }
+    }
+
+    private void trainOnOriginal(VoiceFile voiceFile) {
+        voiceFile.setStatus(VoiceFile.Status.UPLOADED);
+        voiceService.startTraining(voiceFile);
+    }
+
+    private static Float finiteOrNull(double value) {
+        return Double.isFinite(value) ? (float) value : null;
+    }
+
+    static String artifactKey(String s3Key) {
+        return baseKey(s3Key) + ARTIFACT_SUFFIX;
+    }
+
+    static String featuresKey(String s3Key) {
+        return baseKey(s3Key) + FEATURES_SUFFIX;
+    }
+
+    private static String baseKey(String s3Key) {
+        int dot = s3Key.lastIndexOf('.');
+        int slash = s3Key.lastIndexOf('/');
+        return dot > slash ? s3Key.substring(0, dot) : s3Key;
+    }
+}
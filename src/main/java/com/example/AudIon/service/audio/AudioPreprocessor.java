@@ -0,0 +1,303 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 학습용 오디오 전처리 (순수 Java)
+ * - 디코딩 → 모노 다운믹스 → 폴리페이즈 리샘플 → VAD 무음 제거 → 라우드니스 정규화 → 16bit mono WAV
+ * - 같은 패스에서 원본 샘플레이트 기준 음질 분석 (피크/클리핑, SNR, R128 라우드니스) + 파형 피크 생성
+ * - 변환/레벨/필터 루프는 DspKernels (SIMD 가능 시 벡터 구현) 사용
+ * - 고정 크기 프레임 버퍼로 처리, 정규화 게인 계산을 위해 중간 결과는 임시 파일(float32)에 기록
+ *   (5분 파일도 메모리에 전부 올리지 않음)
+ * - 현재 디코딩 가능한 형식은 PCM WAV (MP3/AAC/OGG 는 원본 그대로 학습)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AudioPreprocessor {
+
+    private static final int FRAMES_PER_BLOCK = 4096;
+    private static final int GATE_WINDOW_MS = 50;
+    private static final double SILENCE_GATE_DBFS = -60.0;
+
+    private final DspKernels kernels;
+
+    @Value("${app.preprocess.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.preprocess.sample-rate:16000}")
+    private int targetSampleRate;
+
+    @Value("${app.preprocess.taps-per-phase:32}")
+    private int tapsPerPhase;
+
+    @Value("${app.preprocess.target-dbfs:-20}")
+    private double targetDbfs;
+
+    @Value("${app.preprocess.peak-ceiling-dbfs:-1}")
+    private double peakCeilingDbfs;
+
+    @Value("${app.preprocess.max-gain-db:30}")
+    private double maxGainDb;
+
+    @Value("${app.peaks.enabled:true}")
+    private boolean peaksEnabled;
+
+    @Value("${app.peaks.levels:100,25,5}")
+    private int[] peaksLevels;
+
+    @Value("${app.vad.enabled:true}")
+    private boolean vadEnabled;
+
+    @Value("${app.vad.frame-ms:20}")
+    private int vadFrameMs;
+
+    @Value("${app.vad.hangover-ms:300}")
+    private int vadHangoverMs;
+
+    @Value("${app.vad.preroll-ms:200}")
+    private int vadPrerollMs;
+
+    @Value("${app.vad.floor-dbfs:-55}")
+    private double vadFloorDbfs;
+
+    @Value("${app.vad.margin-db:10}")
+    private double vadMarginDb;
+
+    @Value("${app.vad.max-zcr:0.35}")
+    private double vadMaxZcr;
+
+    /**
+     * 전처리 결과
+     *
+     * @param frames         출력(무음 제거 후) 샘플 수
+     * @param duration       출력 길이 (초)
+     * @param inputDuration  무음 제거 전 길이 (초)
+     * @param speechDuration 음성으로 판정된 구간 길이 (초, VAD 꺼져 있으면 inputDuration)
+     * @param quality        원본 기준 음질 분석 결과
+     * @param peaks          원본 타임라인 기준 파형 피크 (비활성화 시 null)
+     */
+    public record Result(int sampleRate, long frames, float duration, float inputDuration, float speechDuration,
+                         double inputRmsDbfs, double gainDb, AudioQualityAnalyzer.Quality quality,
+                         WaveformPeaks peaks) {}
+
+    public boolean supports(AudioInfo info) {
+        return enabled && info != null && info.isPcm() && info.dataOffset() >= 0;
+    }
+
+    public int getTargetSampleRate() {
+        return targetSampleRate;
+    }
+
+    /**
+     * PCM 데이터 스트림(헤더 이후)을 전처리해 output 에 WAV 로 기록
+     */
+    public Result process(InputStream pcm, AudioInfo info, Path output) throws IOException {
+        if (!supports(info)) {
+            throw new IllegalArgumentException("전처리를 지원하지 않는 형식입니다: " + info.format() + "/" + info.codec());
+        }
+
+        Path intermediate = Files.createTempFile("audion-pre-", ".f32");
+        try {
+            // Pass 1: 디코딩 + 다운믹스 + 리샘플 + VAD → float32 임시 파일, 게이트 RMS/피크 측정
+            PcmFrameReader reader = new PcmFrameReader(pcm, info, FRAMES_PER_BLOCK, kernels);
+            PolyphaseResampler resampler = new PolyphaseResampler(info.sampleRate(), targetSampleRate, tapsPerPhase, kernels);
+            VoiceActivityDetector vad = vadEnabled
+                    ? new VoiceActivityDetector(targetSampleRate, vadFrameMs, vadHangoverMs, vadPrerollMs,
+                            vadFloorDbfs, vadMarginDb, vadMaxZcr, kernels)
+                    : null;
+            GatedLevelMeter meter = new GatedLevelMeter(targetSampleRate * GATE_WINDOW_MS / 1000, kernels);
+            long sourceFrames = info.dataLength() / ((long) Math.max(1, info.channels()) * Math.max(1, info.bitsPerSample() / 8));
+            AudioQualityAnalyzer analyzer = new AudioQualityAnalyzer(info.sampleRate(), info.channels(), sourceFrames);
+            WaveformPeaks peaks = peaksEnabled ? new WaveformPeaks(info.sampleRate(), peaksLevels, sourceFrames, kernels) : null;
+
+            float[] mono = new float[FRAMES_PER_BLOCK];
+            float[] resampled = new float[resampler.maxOutput(FRAMES_PER_BLOCK)];
+            float[] voiced = vad != null ? new float[vad.maxOutput(resampled.length)] : resampled;
+            ByteBuffer floatBuffer = ByteBuffer.allocateDirect(voiced.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            long inputFrames = 0;
+            long frames = 0;
+
+            try (FileChannel channel = FileChannel.open(intermediate, StandardOpenOption.WRITE)) {
+                int n;
+                while ((n = reader.read(mono)) > 0) {
+                    analyzer.accept(mono, n);
+                    if (peaks != null) {
+                        peaks.accept(mono, n);
+                    }
+                    int produced = resampler.process(mono, n, resampled);
+                    inputFrames += produced;
+                    int kept = vad != null ? vad.process(resampled, produced, voiced) : produced;
+                    frames += writeFloats(channel, floatBuffer, voiced, kept, meter);
+                }
+                int tail = resampler.flush(resampled);
+                inputFrames += tail;
+                int kept = vad != null ? vad.process(resampled, tail, voiced) : tail;
+                frames += writeFloats(channel, floatBuffer, voiced, kept, meter);
+                if (vad != null) {
+                    frames += writeFloats(channel, floatBuffer, voiced, vad.flush(voiced), meter);
+                }
+            }
+
+            // 게인 계산: 목표 RMS, 피크 상한, 최대 증폭 중 가장 작은 값
+            double rmsDbfs = meter.gatedRmsDbfs();
+            double gainDb = Double.isInfinite(rmsDbfs) ? 0.0 : targetDbfs - rmsDbfs;
+            gainDb = Math.min(gainDb, maxGainDb);
+            double peakDbfs = meter.peakDbfs();
+            if (!Double.isInfinite(peakDbfs)) {
+                gainDb = Math.min(gainDb, peakCeilingDbfs - peakDbfs);
+            }
+            float gain = (float) Math.pow(10, gainDb / 20);
+
+            // Pass 2: 게인 적용 → 16bit mono WAV
+            writeWav(intermediate, output, frames, gain, floatBuffer);
+
+            float duration = (float) frames / targetSampleRate;
+            float inputDuration = (float) inputFrames / targetSampleRate;
+            float speechDuration = vad != null ? (float) vad.getSpeechSamples() / targetSampleRate : inputDuration;
+            AudioQualityAnalyzer.Quality quality = analyzer.finish(reader.getPeak(), reader.getClippingRatio());
+            if (peaks != null) {
+                peaks.finish();
+            }
+            // VAD 가 있으면 음성/무음 구간 에너지 비로 SNR 을 추정 (쉼 없는 발화를 잡음으로 오판하지 않음)
+            if (vad != null) {
+                quality = new AudioQualityAnalyzer.Quality(quality.peakDbfs(), quality.clippingRatio(),
+                        quality.loudnessLufs(), vad.estimateSnrDb());
+            }
+            log.debug("Preprocessed audio: {}Hz/{}ch → {}Hz mono, {}s → {}s (speech {}s), rms={}dBFS, gain={}dB",
+                    info.sampleRate(), info.channels(), targetSampleRate, inputDuration, duration, speechDuration,
+                    String.format("%.1f", rmsDbfs), String.format("%.1f", gainDb));
+            log.debug("Audio quality: peak={}dBFS, clipping={}, snr={}dB, loudness={}LUFS",
+                    String.format("%.1f", quality.peakDbfs()), String.format("%.5f", quality.clippingRatio()),
+                    String.format("%.1f", quality.snrDb()), String.format("%.1f", quality.loudnessLufs()));
+            return new Result(targetSampleRate, frames, duration, inputDuration, speechDuration, rmsDbfs, gainDb, quality,
+                    peaks);
+
+        } finally {
+            Files.deleteIfExists(intermediate);
+        }
+    }
+
+    private static int writeFloats(FileChannel channel, ByteBuffer buffer, float[] samples, int count,
+                                   GatedLevelMeter meter) throws IOException {
+        if (count <= 0) return 0;
+        buffer.clear();
+        buffer.asFloatBuffer().put(samples, 0, count);
+        buffer.limit(count * 4);
+        meter.accept(samples, count);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return count;
+    }
+
+    private void writeWav(Path intermediate, Path output, long frames, float gain, ByteBuffer floatBuffer)
+            throws IOException {
+        long dataBytes = frames * 2;
+        float[] samples = new float[floatBuffer.capacity() / 4];
+        byte[] pcm = new byte[samples.length * 2];
+
+        try (FileChannel in = FileChannel.open(intermediate, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer header = wavHeader(targetSampleRate, 1, 16, dataBytes);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+
+            floatBuffer.clear();
+            while (in.read(floatBuffer) >= 0) {
+                floatBuffer.flip();
+                int n = floatBuffer.remaining() / 4;
+                floatBuffer.asFloatBuffer().get(samples, 0, n);
+                floatBuffer.position(n * 4);
+                floatBuffer.compact();
+
+                kernels.floatToInt16(samples, 0, pcm, 0, n, gain);
+                ByteBuffer pcmBuffer = ByteBuffer.wrap(pcm, 0, n * 2);
+                while (pcmBuffer.hasRemaining()) {
+                    out.write(pcmBuffer);
+                }
+            }
+        }
+    }
+
+    static ByteBuffer wavHeader(int sampleRate, int channels, int bitsPerSample, long dataBytes) {
+        int blockAlign = channels * bitsPerSample / 8;
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'}).putInt((int) (36 + dataBytes))
+                .put(new byte[]{'W', 'A', 'V', 'E'})
+                .put(new byte[]{'f', 'm', 't', ' '}).putInt(16)
+                .putShort((short) 1).putShort((short) channels)
+                .putInt(sampleRate).putInt(sampleRate * blockAlign)
+                .putShort((short) blockAlign).putShort((short) bitsPerSample)
+                .put(new byte[]{'d', 'a', 't', 'a'}).putInt((int) dataBytes);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * 짧은 창 단위 RMS 로 무음 구간을 제외한 평균 레벨 + 샘플 피크
+     */
+    private static final class GatedLevelMeter {
+        private final DspKernels kernels;
+        private final int window;
+        private final double gateEnergy = Math.pow(10, SILENCE_GATE_DBFS / 10);
+        private double windowSum;
+        private int windowCount;
+        private double gatedSum;
+        private long gatedCount;
+        private float peak;
+
+        GatedLevelMeter(int window, DspKernels kernels) {
+            this.window = Math.max(1, window);
+            this.kernels = kernels;
+        }
+
+        void accept(float[] samples, int count) {
+            int i = 0;
+            while (i < count) {
+                int take = Math.min(window - windowCount, count - i);
+                peak = Math.max(peak, kernels.peak(samples, i, take));
+                windowSum += kernels.sumOfSquares(samples, i, take);
+                windowCount += take;
+                i += take;
+                if (windowCount == window) {
+                    closeWindow();
+                }
+            }
+        }
+
+        private void closeWindow() {
+            if (windowSum / windowCount >= gateEnergy) {
+                gatedSum += windowSum;
+                gatedCount += windowCount;
+            }
+            windowSum = 0;
+            windowCount = 0;
+        }
+
+        double gatedRmsDbfs() {
+            if (windowCount > 0) closeWindow();
+            return gatedCount == 0 ? Double.NEGATIVE_INFINITY : 10 * Math.log10(gatedSum / gatedCount);
+        }
+
+        double peakDbfs() {
+            return peak <= 0 ? Double.NEGATIVE_INFINITY : 20 * Math.log10(peak);
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package com.example.AudIon.service.audio;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 스트리밍 오디오 헤더 분석기
+ * - Content-Type 대신 매직 바이트로 형식 판별
+ * - WAV(RIFF) 청크 헤더, MP3 프레임 헤더(Xing/Info/VBRI), AAC ADTS 프레임 헤더,
+ *   OGG 페이지(Vorbis/Opus), MP4 moov 아톰만 읽고 오디오 데이터는 디코딩하지 않음
+ * - 데이터 구간은 skip 으로 건너뜀 (디스크 기반 멀티파트는 seek)
+ * - 파일 끝을 봐야 하는 OGG 는 RangeSource 면 끝부분만 따로 받음 (S3 객체를 통째로 받지 않음)
+ * - 잘리거나 헤더가 깨진 파일은 IllegalArgumentException (읽기 실패 자체만 IOException)
+ */
+@Component
+@Slf4j
+public class AudioProbe {
+
+    private static final int SNIFF_LENGTH = 12;
+    private static final int MP3_SYNC_SEARCH_LIMIT = 64 * 1024;
+    private static final int OGG_TAIL_LENGTH = 64 * 1024;
+    private static final long MP4_MAX_MOOV_SIZE = 16L * 1024 * 1024;
+    private static final int ADTS_SCAN_FRAMES = 1000; // 이후는 평균 프레임 크기로 추정 (~23초 분량)
+
+    /**
+     * 시작 위치를 지정해 열 수 있는 입력 (S3 구간 읽기 등)
+     */
+    @FunctionalInterface
+    public interface RangeSource extends InputStreamSource {
+
+        InputStream getInputStream(long start) throws IOException;
+
+        @Override
+        default InputStream getInputStream() throws IOException {
+            return getInputStream(0);
+        }
+    }
+
+    private static final int[][] MP3_BITRATES = {
+            // MPEG1 Layer I, II, III
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            // MPEG2/2.5 Layer I, II&III
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+    private static final int[] MP3_SAMPLE_RATES = {44100, 48000, 32000};
+    private static final int[] AAC_SAMPLE_RATES = {
+            96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350
+    };
+
+    /**
+     * 오디오 헤더 분석 (지원하지 않는 형식이면 IllegalArgumentException)
+     */
+    public AudioInfo probe(InputStreamSource source, long size) throws IOException {
+        if (source == null || size <= 0) {
+            throw new IllegalArgumentException("오디오 파일이 비어 있습니다.");
+        }
+
+        try (ProbeInput in = new ProbeInput(source.getInputStream())) {
+            byte[] head = in.peek(SNIFF_LENGTH);
+            if (head.length < SNIFF_LENGTH) {
+                throw new IllegalArgumentException("오디오 파일이 너무 작습니다.");
+            }
+
+            if (matches(head, 0, "RIFF") && matches(head, 8, "WAVE")) {
+                in.skip(SNIFF_LENGTH);
+                return probeWav(in, size);
+            }
+            if (matches(head, 0, "OggS")) {
+                return probeOgg(source, in, size);
+            }
+            if (matches(head, 4, "ftyp")) {
+                return probeMp4(in, head, size);
+            }
+
+            // ID3v2 태그 건너뛰기 (MP3/AAC 앞에 붙는 메타데이터)
+            long audioStart = 0;
+            if (matches(head, 0, "ID3")) {
+                long tagSize = ((head[6] & 0x7F) << 21) | ((head[7] & 0x7F) << 14)
+                        | ((head[8] & 0x7F) << 7) | (head[9] & 0x7F);
+                audioStart = 10 + tagSize + ((head[5] & 0x10) != 0 ? 10 : 0);
+                in.skipTo(audioStart);
+                head = in.peek(4);
+                if (head.length < 4) {
+                    throw new IllegalArgumentException("지원되지 않는 오디오 형식입니다.");
+                }
+            }
+
+            if ((head[0] & 0xFF) == 0xFF && (head[1] & 0xF6) == 0xF0) {
+                return probeAdts(in, audioStart, size);
+            }
+            return probeMp3(in, audioStart, size);
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("오디오 헤더가 손상되었거나 파일이 잘렸습니다.");
+        }
+    }
+
+    // WAV
+
+    private AudioInfo probeWav(ProbeInput in, long size) throws IOException {
+        int formatTag = -1, channels = 0, sampleRate = 0, byteRate = 0, bitsPerSample = 0;
+        byte[] chunk = new byte[8];
+
+        while (in.readUpTo(chunk, 8) == 8) {
+            String id = new String(chunk, 0, 4, StandardCharsets.US_ASCII);
+            long chunkSize = le32(chunk, 4);
+
+            if ("fmt ".equals(id)) {
+                if (chunkSize < 16) {
+                    throw new IllegalArgumentException("WAV fmt 청크가 너무 짧습니다.");
+                }
+                byte[] fmt = in.readFully((int) Math.min(chunkSize, 64));
+                formatTag = le16(fmt, 0);
+                channels = le16(fmt, 2);
+                sampleRate = (int) le32(fmt, 4);
+                byteRate = (int) le32(fmt, 8);
+                bitsPerSample = le16(fmt, 14);
+                if (formatTag == 0xFFFE && fmt.length >= 26) {
+                    formatTag = le16(fmt, 24); // WAVE_FORMAT_EXTENSIBLE: SubFormat GUID 앞 2바이트
+                }
+                in.skip(chunkSize - fmt.length + (chunkSize & 1));
+
+            } else if ("data".equals(id)) {
+                if (formatTag < 0) {
+                    throw new IllegalArgumentException("WAV fmt 청크가 없습니다.");
+                }
+                if (formatTag != 1 && formatTag != 3) {
+                    throw new IllegalArgumentException("지원되지 않는 WAV 인코딩입니다: " + formatTag);
+                }
+                if (channels <= 0 || sampleRate <= 0 || byteRate <= 0) {
+                    throw new IllegalArgumentException("WAV 헤더가 올바르지 않습니다.");
+                }
+
+                long dataOffset = in.position();
+                // 스트리밍으로 기록된 WAV는 data 크기가 0 또는 0xFFFFFFFF
+                long dataLength = (chunkSize == 0 || chunkSize == 0xFFFFFFFFL || dataOffset + chunkSize > size)
+                        ? size - dataOffset
+                        : chunkSize;
+                float duration = (float) dataLength / byteRate;
+
+                return new AudioInfo("wav", "audio/wav", formatTag == 3 ? "pcm_float" : "pcm",
+                        sampleRate, channels, (int) Math.round(byteRate * 8 / 1000.0), bitsPerSample,
+                        duration, dataOffset, dataLength);
+            } else {
+                in.skip(chunkSize + (chunkSize & 1));
+            }
+        }
+        throw new IllegalArgumentException("WAV data 청크가 없습니다.");
+    }
+
+    // MP3
+
+    private AudioInfo probeMp3(ProbeInput in, long audioStart, long size) throws IOException {
+        // 첫 프레임 동기 패턴 탐색 (앞쪽 쓰레기 바이트 허용)
+        byte[] window = in.readFully(4);
+        long frameStart = audioStart;
+        Mp3Header header = Mp3Header.parse(window);
+        while (header == null) {
+            if (frameStart - audioStart > MP3_SYNC_SEARCH_LIMIT) {
+                throw new IllegalArgumentException("지원되지 않는 오디오 형식입니다.");
+            }
+            System.arraycopy(window, 1, window, 0, 3);
+            window[3] = (byte) in.read();
+            frameStart++;
+            header = Mp3Header.parse(window);
+        }
+
+        // 첫 프레임 + 다음 프레임 헤더까지 읽어서 동기 검증 및 Xing/VBRI 확인
+        byte[] frame = new byte[header.frameLength + 4];
+        System.arraycopy(window, 0, frame, 0, 4);
+        int read = 4 + in.readUpTo(frame, 4, frame.length - 4);
+        if (read == frame.length) {
+            byte[] next = {frame[header.frameLength], frame[header.frameLength + 1],
+                    frame[header.frameLength + 2], frame[header.frameLength + 3]};
+            if (Mp3Header.parse(next) == null) {
+                throw new IllegalArgumentException("지원되지 않는 오디오 형식입니다.");
+            }
+        }
+
+        long frames = -1;
+        long bytes = -1;
+        int xingOffset = 4 + header.sideInfoLength();
+        if (read >= xingOffset + 16 && (matches(frame, xingOffset, "Xing") || matches(frame, xingOffset, "Info"))) {
+            int flags = (int) be32(frame, xingOffset + 4);
+            int pos = xingOffset + 8;
+            if ((flags & 0x1) != 0) {
+                frames = be32(frame, pos);
+                pos += 4;
+            }
+            if ((flags & 0x2) != 0 && read >= pos + 4) {
+                bytes = be32(frame, pos);
+            }
+        } else if (read >= 36 + 18 && matches(frame, 36, "VBRI")) {
+            bytes = be32(frame, 36 + 10);
+            frames = be32(frame, 36 + 14);
+        }
+
+        long audioBytes = bytes > 0 ? bytes : size - frameStart;
+        float duration;
+        int bitRate;
+        if (frames > 0) {
+            duration = (float) frames * header.samplesPerFrame / header.sampleRate;
+            bitRate = duration > 0 ? (int) Math.round(audioBytes * 8 / 1000.0 / duration) : header.bitRate;
+        } else {
+            // Xing/VBRI 헤더가 없으면 CBR로 간주
+            bitRate = header.bitRate;
+            duration = (float) (audioBytes * 8.0 / (bitRate * 1000.0));
+        }
+
+        return new AudioInfo("mp3", "audio/mpeg", "mp3", header.sampleRate, header.channels,
+                bitRate, 0, duration, -1, -1);
+    }
+
+    private record Mp3Header(int version, int layer, int bitRate, int sampleRate, int channels,
+                             int frameLength, int samplesPerFrame) {
+
+        /** version: 1=MPEG1, 2=MPEG2, 25=MPEG2.5 / layer: 1..3 */
+        static Mp3Header parse(byte[] b) {
+            if ((b[0] & 0xFF) != 0xFF || (b[1] & 0xE0) != 0xE0) return null;
+
+            int versionBits = (b[1] >> 3) & 0x3;
+            int layerBits = (b[1] >> 1) & 0x3;
+            int bitrateIndex = (b[2] >> 4) & 0xF;
+            int sampleRateIndex = (b[2] >> 2) & 0x3;
+            if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                return null;
+            }
+
+            int version = versionBits == 3 ? 1 : versionBits == 2 ? 2 : 25;
+            int layer = 4 - layerBits;
+            int table = version == 1 ? layer - 1 : (layer == 1 ? 3 : 4);
+            int bitRate = MP3_BITRATES[table][bitrateIndex];
+            int sampleRate = MP3_SAMPLE_RATES[sampleRateIndex] / (version == 1 ? 1 : version == 2 ? 2 : 4);
+            int padding = (b[2] >> 1) & 0x1;
+            int channels = ((b[3] >> 6) & 0x3) == 3 ? 1 : 2;
+
+            int samplesPerFrame;
+            int frameLength;
+            if (layer == 1) {
+                samplesPerFrame = 384;
+                frameLength = (12 * bitRate * 1000 / sampleRate + padding) * 4;
+            } else {
+                samplesPerFrame = (layer == 3 && version != 1) ? 576 : 1152;
+                frameLength = samplesPerFrame / 8 * bitRate * 1000 / sampleRate + padding;
+            }
+            return new Mp3Header(version, layer, bitRate, sampleRate, channels, frameLength, samplesPerFrame);
+        }
+
+        int sideInfoLength() {
+            if (version == 1) {
+                return channels == 1 ? 17 : 32;
+            }
+            return channels == 1 ? 9 : 17;
+        }
+    }
+
+    // AAC (ADTS)
+
+    private AudioInfo probeAdts(ProbeInput in, long audioStart, long size) throws IOException {
+        byte[] header = in.readFully(7);
+
+        int sampleRateIndex = (header[2] >> 2) & 0xF;
+        if (sampleRateIndex >= AAC_SAMPLE_RATES.length) {
+            throw new IllegalArgumentException("AAC 헤더가 올바르지 않습니다.");
+        }
+        int sampleRate = AAC_SAMPLE_RATES[sampleRateIndex];
+        int channels = ((header[2] & 0x1) << 2) | ((header[3] >> 6) & 0x3);
+
+        // 앞쪽 프레임 헤더만 읽고 페이로드는 건너뛰며 집계 - 스트림 skip 도 결국 내려받으므로 개수 제한
+        long samples = 0;
+        long frames = 0;
+        long scannedBytes = 0;
+        boolean truncated = false;
+        while (true) {
+            if (frames >= ADTS_SCAN_FRAMES) {
+                truncated = true;
+                break;
+            }
+            if ((header[0] & 0xFF) != 0xFF || (header[1] & 0xF6) != 0xF0) {
+                break;
+            }
+            int frameLength = ((header[3] & 0x3) << 11) | ((header[4] & 0xFF) << 3) | ((header[5] >> 5) & 0x7);
+            int rawBlocks = (header[6] & 0x3) + 1;
+            if (frameLength < 7) {
+                break;
+            }
+            samples += 1024L * rawBlocks;
+            frames++;
+            scannedBytes += frameLength;
+
+            in.skip(frameLength - 7);
+            if (in.readUpTo(header, 7) < 7) {
+                break;
+            }
+        }
+        if (frames == 0) {
+            throw new IllegalArgumentException("AAC 프레임이 없습니다.");
+        }
+
+        float duration = (float) samples / sampleRate;
+        if (truncated && scannedBytes > 0) {
+            duration *= (float) (size - audioStart) / scannedBytes; // 남은 구간은 평균 프레임 크기로 추정
+        }
+        int bitRate = duration > 0 ? (int) Math.round((size - audioStart) * 8 / 1000.0 / duration) : 0;
+        return new AudioInfo("aac", "audio/aac", "aac", sampleRate, channels == 0 ? 2 : channels,
+                bitRate, 0, duration, -1, -1);
+    }
+
+    // OGG
+
+    private AudioInfo probeOgg(InputStreamSource source, ProbeInput in, long size) throws IOException {
+        // 첫 페이지 헤더 (27바이트) + 세그먼트 테이블
+        byte[] pageHeader = in.readFully(27);
+        long serial = le32(pageHeader, 14);
+        int segments = pageHeader[26] & 0xFF;
+        byte[] segmentTable = in.readFully(segments);
+        int firstPacketLength = 0;
+        for (byte seg : segmentTable) {
+            firstPacketLength += seg & 0xFF;
+            if ((seg & 0xFF) < 255) break;
+        }
+        byte[] packet = in.readFully(Math.min(firstPacketLength, 64));
+
+        String codec;
+        int sampleRate;
+        int channels;
+        int granuleRate;
+        long preSkip = 0;
+        if (packet.length >= 16 && packet[0] == 1 && matches(packet, 1, "vorbis")) {
+            codec = "vorbis";
+            channels = packet[11] & 0xFF;
+            sampleRate = (int) le32(packet, 12);
+            granuleRate = sampleRate;
+        } else if (packet.length >= 19 && matches(packet, 0, "OpusHead")) {
+            codec = "opus";
+            channels = packet[9] & 0xFF;
+            preSkip = le16(packet, 10);
+            long inputRate = le32(packet, 12);
+            sampleRate = inputRate > 0 ? (int) inputRate : 48000;
+            granuleRate = 48000; // Opus granule position은 항상 48kHz 기준
+        } else {
+            throw new IllegalArgumentException("지원되지 않는 OGG 코덱입니다.");
+        }
+        if (sampleRate <= 0 || channels <= 0) {
+            throw new IllegalArgumentException("OGG 헤더가 올바르지 않습니다.");
+        }
+
+        // 마지막 페이지의 granule position으로 길이 계산 (파일 끝부분만 읽음)
+        long granule = lastOggGranule(source, size, serial);
+        float duration = granule > preSkip ? (float) (granule - preSkip) / granuleRate : 0f;
+        int bitRate = duration > 0 ? (int) Math.round(size * 8 / 1000.0 / duration) : 0;
+
+        return new AudioInfo("ogg", "audio/ogg", codec, sampleRate, channels, bitRate, 0, duration, -1, -1);
+    }
+
+    private long lastOggGranule(InputStreamSource source, long size, long serial) throws IOException {
+        long tailStart = Math.max(0, size - OGG_TAIL_LENGTH);
+        boolean ranged = source instanceof RangeSource;
+        InputStream raw = ranged ? ((RangeSource) source).getInputStream(tailStart) : source.getInputStream();
+        try (ProbeInput tail = new ProbeInput(raw)) {
+            if (!ranged) {
+                tail.skipTo(tailStart);
+            }
+            byte[] buf = new byte[(int) (size - tailStart)];
+            int n = tail.readUpTo(buf, buf.length);
+
+            for (int i = n - 27; i >= 0; i--) {
+                if (buf[i] == 'O' && matches(buf, i, "OggS") && le32(buf, i + 14) == serial) {
+                    long granule = le64(buf, i + 6);
+                    if (granule >= 0) {
+                        return granule;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // MP4 / M4A
+
+    private AudioInfo probeMp4(ProbeInput in, byte[] head, long size) throws IOException {
+        // ftyp 아톰 나머지 건너뛰기
+        long ftypSize = be32(head, 0);
+        in.skipTo(ftypSize);
+
+        byte[] atom = new byte[8];
+        while (in.readUpTo(atom, 8) == 8) {
+            long atomSize = be32(atom, 0);
+            String type = new String(atom, 4, 4, StandardCharsets.US_ASCII);
+            long headerLength = 8;
+            if (atomSize == 1) {
+                atomSize = be64(in.readFully(8), 0);
+                headerLength = 16;
+            } else if (atomSize == 0) {
+                atomSize = size - in.position() + 8;
+            }
+            if (atomSize < headerLength) {
+                break;
+            }
+
+            if ("moov".equals(type)) {
+                if (atomSize > MP4_MAX_MOOV_SIZE) {
+                    throw new IllegalArgumentException("MP4 moov 아톰이 너무 큽니다.");
+                }
+                byte[] moov = in.readFully((int) (atomSize - headerLength));
+                return parseMoov(moov, size);
+            }
+            // mdat 등 나머지 아톰은 건너뜀 (moov가 파일 끝에 있어도 데이터는 읽지 않음)
+            in.skip(atomSize - headerLength);
+        }
+        throw new IllegalArgumentException("MP4 moov 아톰이 없습니다.");
+    }
+
+    private AudioInfo parseMoov(byte[] moov, long size) {
+        long movieTimescale = 0, movieDuration = 0;
+        Mp4Track audio = null;
+
+        for (int pos = 0; pos + 8 <= moov.length; ) {
+            int atomSize = (int) be32(moov, pos);
+            if (atomSize < 8 || pos + atomSize > moov.length) break;
+
+            if (matches(moov, pos + 4, "mvhd")) {
+                long[] td = readTimescaleDuration(moov, pos + 8);
+                movieTimescale = td[0];
+                movieDuration = td[1];
+            } else if (matches(moov, pos + 4, "trak") && audio == null) {
+                audio = parseTrak(moov, pos + 8, pos + atomSize);
+            }
+            pos += atomSize;
+        }
+
+        if (audio == null) {
+            throw new IllegalArgumentException("MP4 파일에 오디오 트랙이 없습니다.");
+        }
+
+        float duration = audio.timescale > 0
+                ? (float) audio.duration / audio.timescale
+                : movieTimescale > 0 ? (float) movieDuration / movieTimescale : 0f;
+        int bitRate = duration > 0 ? (int) Math.round(size * 8 / 1000.0 / duration) : 0;
+
+        return new AudioInfo("m4a", "audio/mp4", audio.codec, audio.sampleRate, audio.channels,
+                bitRate, 0, duration, -1, -1);
+    }
+
+    private record Mp4Track(String codec, int sampleRate, int channels, long timescale, long duration) {}
+
+    private Mp4Track parseTrak(byte[] buf, int start, int end) {
+        int mdia = findChild(buf, start, end, "mdia");
+        if (mdia < 0) return null;
+        int mdiaEnd = mdia + (int) be32(buf, mdia);
+
+        int hdlr = findChild(buf, mdia + 8, mdiaEnd, "hdlr");
+        if (hdlr < 0 || !matches(buf, hdlr + 16, "soun")) return null;
+
+        long timescale = 0, duration = 0;
+        int mdhd = findChild(buf, mdia + 8, mdiaEnd, "mdhd");
+        if (mdhd >= 0) {
+            long[] td = readTimescaleDuration(buf, mdhd + 8);
+            timescale = td[0];
+            duration = td[1];
+        }
+
+        String codec = "aac";
+        int sampleRate = 0, channels = 0;
+        int minf = findChild(buf, mdia + 8, mdiaEnd, "minf");
+        int stbl = minf >= 0 ? findChild(buf, minf + 8, minf + (int) be32(buf, minf), "stbl") : -1;
+        int stsd = stbl >= 0 ? findChild(buf, stbl + 8, stbl + (int) be32(buf, stbl), "stsd") : -1;
+        if (stsd >= 0 && stsd + 16 + 36 <= buf.length) {
+            int entry = stsd + 16; // ver/flags(4) + entry_count(4)
+            String type = new String(buf, entry + 4, 4, StandardCharsets.US_ASCII);
+            codec = "mp4a".equals(type) ? "aac" : type.trim();
+            channels = be16(buf, entry + 24);
+            sampleRate = (int) (be32(buf, entry + 32) >>> 16); // 16.16 고정소수점
+        }
+        if (sampleRate == 0 && timescale > 0) {
+            sampleRate = (int) timescale;
+        }
+        return new Mp4Track(codec, sampleRate, channels, timescale, duration);
+    }
+
+    private static int findChild(byte[] buf, int start, int end, String type) {
+        for (int pos = start; pos + 8 <= end && pos + 8 <= buf.length; ) {
+            int atomSize = (int) be32(buf, pos);
+            if (atomSize < 8) return -1;
+            if (matches(buf, pos + 4, type)) return pos;
+            pos += atomSize;
+        }
+        return -1;
+    }
+
+    /** mvhd/mdhd 공통 레이아웃: version(1) flags(3) 이후 timescale/duration */
+    private static long[] readTimescaleDuration(byte[] buf, int pos) {
+        int version = buf[pos] & 0xFF;
+        if (version == 1) {
+            return new long[]{be32(buf, pos + 20), be64(buf, pos + 24)};
+        }
+        return new long[]{be32(buf, pos + 12), be32(buf, pos + 16)};
+    }
+
+    // Byte helpers
+
+    private static boolean matches(byte[] buf, int offset, String ascii) {
+        if (offset < 0 || offset + ascii.length() > buf.length) return false;
+        for (int i = 0; i < ascii.length(); i++) {
+            if (buf[offset + i] != (byte) ascii.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int le16(byte[] b, int o) {
+        return (b[o] & 0xFF) | ((b[o + 1] & 0xFF) << 8);
+    }
+
+    private static long le32(byte[] b, int o) {
+        return (b[o] & 0xFFL) | ((b[o + 1] & 0xFFL) << 8) | ((b[o + 2] & 0xFFL) << 16) | ((b[o + 3] & 0xFFL) << 24);
+    }
+
+    private static long le64(byte[] b, int o) {
+        return le32(b, o) | (le32(b, o + 4) << 32);
+    }
+
+    private static int be16(byte[] b, int o) {
+        return ((b[o] & 0xFF) << 8) | (b[o + 1] & 0xFF);
+    }
+
+    private static long be32(byte[] b, int o) {
+        return ((b[o] & 0xFFL) << 24) | ((b[o + 1] & 0xFFL) << 16) | ((b[o + 2] & 0xFFL) << 8) | (b[o + 3] & 0xFFL);
+    }
+
+    private static long be64(byte[] b, int o) {
+        return (be32(b, o) << 32) | be32(b, o + 4);
+    }
+
+    /**
+     * 위치를 추적하는 입력 스트림 래퍼 (skip 으로 데이터 구간을 건너뜀)
+     */
+    private static final class ProbeInput implements AutoCloseable {
+        private final InputStream in;
+        private long position = 0;
+
+        ProbeInput(InputStream in) {
+            this.in = new BufferedInputStream(in, 8192);
+        }
+
+        long position() {
+            return position;
+        }
+
+        /** 위치를 옮기지 않고 앞부분 미리 보기 */
+        byte[] peek(int len) throws IOException {
+            in.mark(len);
+            byte[] buf = new byte[len];
+            int total = 0;
+            while (total < len) {
+                int n = in.read(buf, total, len - total);
+                if (n < 0) break;
+                total += n;
+            }
+            in.reset();
+            return total == len ? buf : Arrays.copyOf(buf, total);
+        }
+
+        int read() throws IOException {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            position++;
+            return b;
+        }
+
+        int readUpTo(byte[] buf, int len) throws IOException {
+            return readUpTo(buf, 0, len);
+        }
+
+        int readUpTo(byte[] buf, int off, int len) throws IOException {
+            int total = 0;
+            while (total < len) {
+                int n = in.read(buf, off + total, len - total);
+                if (n < 0) break;
+                total += n;
+            }
+            position += total;
+            return total;
+        }
+
+        byte[] readFully(int len) throws IOException {
+            byte[] buf = new byte[len];
+            readFully(buf, 0, len);
+            return buf;
+        }
+
+        void readFully(byte[] buf, int off, int len) throws IOException {
+            if (readUpTo(buf, off, len) < len) throw new EOFException();
+        }
+
+        void skip(long n) throws IOException {
+            while (n > 0) {
+                long skipped = in.skip(n);
+                if (skipped <= 0) {
+                    if (in.read() < 0) throw new EOFException();
+                    skipped = 1;
+                }
+                position += skipped;
+                n -= skipped;
+            }
+        }
+
+        void skipTo(long target) throws IOException {
+            if (target < position) throw new IOException("Cannot seek backwards");
+            skip(target - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
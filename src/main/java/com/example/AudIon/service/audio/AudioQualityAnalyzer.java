@@ -0,0 +1,173 @@
+package com.example.AudIon.service.audio;
+
+import java.util.Arrays;
+
+/**
+ * 단일 패스 스트리밍 음질 분석 (모노 float 입력, 원본 샘플레이트)
+ * - 통합 라우드니스: EBU R128 / ITU-R BS.1770 (K-weighting, 400ms 블록 75% 중첩, -70 LUFS 절대 게이트, -10 LU 상대 게이트)
+ * - SNR 추정: 100ms 구간 에너지 분포의 상위(95%)/하위(10%) 비율 (VAD 를 쓰면 VAD 추정값으로 대체)
+ * - 피크/클리핑은 채널별 원본 샘플 기준으로 PcmFrameReader 가 집계
+ * 버퍼는 생성 시 최대 길이 기준으로 한 번만 할당
+ */
+public final class AudioQualityAnalyzer {
+
+    private static final double ABSOLUTE_GATE_LUFS = -70.0;
+    private static final double RELATIVE_GATE_LU = -10.0;
+    private static final double MAX_SNR_DB = 100.0;
+
+    /**
+     * 분석 결과 (값이 없으면 NEGATIVE_INFINITY 또는 NaN)
+     *
+     * @param peakDbfs      채널별 샘플 피크 (dBFS)
+     * @param clippingRatio 풀스케일 도달 샘플 비율 (0..1)
+     * @param loudnessLufs  통합 라우드니스 (LUFS)
+     * @param snrDb         추정 SNR (dB)
+     */
+    public record Quality(double peakDbfs, double clippingRatio, double loudnessLufs, double snrDb) {}
+
+    // K-weighting 2단 biquad 계수
+    private final double b10, b11, b12, a11, a12;
+    private final double b20, b21, b22, a21, a22;
+    private double z11, z12, z21, z22;
+
+    private final double channelWeight;
+    private final int hopLength;
+    private final double[] hopSums;
+    private int hopCount;
+    private double currentSum;
+    private int currentFill;
+
+    /**
+     * @param sampleRate 입력 샘플레이트
+     * @param channels   원본 채널 수 (다운믹스 에너지 보정, 듀얼 모노에서 정확)
+     * @param maxFrames  최대 입력 프레임 수 (구간 버퍼 크기)
+     */
+    public AudioQualityAnalyzer(int sampleRate, int channels, long maxFrames) {
+        // Stage 1: high-shelf (+4 dB, ~1.7 kHz)
+        double f0 = 1681.974450955533;
+        double gain = 3.999843853973347;
+        double q = 0.7071752369554196;
+        double k = Math.tan(Math.PI * f0 / sampleRate);
+        double vh = Math.pow(10.0, gain / 20.0);
+        double vb = Math.pow(vh, 0.4996667741545416);
+        double a0 = 1.0 + k / q + k * k;
+        b10 = (vh + vb * k / q + k * k) / a0;
+        b11 = 2.0 * (k * k - vh) / a0;
+        b12 = (vh - vb * k / q + k * k) / a0;
+        a11 = 2.0 * (k * k - 1.0) / a0;
+        a12 = (1.0 - k / q + k * k) / a0;
+
+        // Stage 2: RLB high-pass (~38 Hz)
+        f0 = 38.13547087602444;
+        q = 0.5003270373238773;
+        k = Math.tan(Math.PI * f0 / sampleRate);
+        a0 = 1.0 + k / q + k * k;
+        b20 = 1.0;
+        b21 = -2.0;
+        b22 = 1.0;
+        a21 = 2.0 * (k * k - 1.0) / a0;
+        a22 = (1.0 - k / q + k * k) / a0;
+
+        this.channelWeight = Math.max(1, channels);
+        this.hopLength = Math.max(1, sampleRate / 10);
+        this.hopSums = new double[(int) Math.min(Integer.MAX_VALUE - 8, maxFrames / hopLength + 2)];
+    }
+
+    public void accept(float[] samples, int count) {
+        for (int i = 0; i < count; i++) {
+            double x = samples[i];
+
+            // Direct Form II transposed
+            double y1 = b10 * x + z11;
+            z11 = b11 * x - a11 * y1 + z12;
+            z12 = b12 * x - a12 * y1;
+
+            double y2 = b20 * y1 + z21;
+            z21 = b21 * y1 - a21 * y2 + z22;
+            z22 = b22 * y1 - a22 * y2;
+
+            currentSum += y2 * y2;
+            if (++currentFill == hopLength) {
+                if (hopCount < hopSums.length) {
+                    hopSums[hopCount++] = currentSum;
+                }
+                currentSum = 0;
+                currentFill = 0;
+            }
+        }
+    }
+
+    /**
+     * 피크/클리핑(디코더 집계값)과 합쳐 결과 생성
+     */
+    public Quality finish(float peak, double clippingRatio) {
+        double peakDbfs = peak <= 0 ? Double.NEGATIVE_INFINITY : 20.0 * Math.log10(peak);
+        return new Quality(peakDbfs, clippingRatio, integratedLoudness(), estimateSnr());
+    }
+
+    private double integratedLoudness() {
+        int blocks = hopCount - 3;
+        if (blocks <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double blockLength = 4.0 * hopLength;
+        double absoluteGate = loudnessToMeanSquare(ABSOLUTE_GATE_LUFS);
+
+        // 1차: 절대 게이트
+        double sum = 0;
+        int n = 0;
+        for (int j = 0; j < blocks; j++) {
+            double ms = blockMeanSquare(j, blockLength);
+            if (ms > absoluteGate) {
+                sum += ms;
+                n++;
+            }
+        }
+        if (n == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        // 2차: 상대 게이트
+        double relativeGate = loudnessToMeanSquare(meanSquareToLoudness(sum / n) + RELATIVE_GATE_LU);
+        double gate = Math.max(absoluteGate, relativeGate);
+        sum = 0;
+        n = 0;
+        for (int j = 0; j < blocks; j++) {
+            double ms = blockMeanSquare(j, blockLength);
+            if (ms > gate) {
+                sum += ms;
+                n++;
+            }
+        }
+        return n == 0 ? Double.NEGATIVE_INFINITY : meanSquareToLoudness(sum / n);
+    }
+
+    private double blockMeanSquare(int j, double blockLength) {
+        return (hopSums[j] + hopSums[j + 1] + hopSums[j + 2] + hopSums[j + 3]) / blockLength * channelWeight;
+    }
+
+    private double estimateSnr() {
+        if (hopCount < 10) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double[] sorted = Arrays.copyOf(hopSums, hopCount);
+        Arrays.sort(sorted);
+        double noise = sorted[(int) (hopCount * 0.10)];
+        double signal = sorted[Math.min(hopCount - 1, (int) (hopCount * 0.95))];
+        if (signal <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (noise <= 0) {
+            return MAX_SNR_DB; // 디지털 무음 바닥
+        }
+        return Math.min(MAX_SNR_DB, 10.0 * Math.log10(signal / noise));
+    }
+
+    private static double meanSquareToLoudness(double ms) {
+        return -0.691 + 10.0 * Math.log10(ms);
+    }
+
+    private static double loudnessToMeanSquare(double lufs) {
+        return Math.pow(10.0, (lufs + 0.691) / 10.0);
+    }
+}
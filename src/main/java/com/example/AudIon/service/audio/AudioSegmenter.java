@@ -0,0 +1,345 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.domain.voice.AudioChunk;
+import com.example.AudIon.service.audio.dsp.DspKernels;
+import com.example.AudIon.service.s3.S3Service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 긴 녹음을 무음 경계에서 학습용 짧은 구간(WAV)으로 분할
+ * - 입력: 전처리 결과 (16bit mono WAV, 44바이트 헤더)
+ * - 20ms 프레임 에너지를 fork-join 으로 병렬 계산 → 목표 길이 근처에서 가장 조용한 지점을 경계로 선택
+ * - 구간별 업로드도 fork-join 으로 병렬 처리, 파일 구간을 위치 지정 읽기로 바로 스트리밍 (구간 전체를 메모리에 올리지 않음)
+ * - 메모리: 에너지 배열(프레임당 4바이트, 1시간 약 700KB) + 작업당 고정 크기 버퍼
+ */
+@Component
+@Slf4j
+public class AudioSegmenter {
+
+    private static final int HEADER_BYTES = 44;
+    private static final int BYTES_PER_SAMPLE = 2;
+    private static final int ANALYSIS_FRAME_MS = 20;
+    private static final int SCAN_BLOCK_FRAMES = 256;   // 작업당 읽기 버퍼 (16kHz 기준 160KB)
+    private static final int SCAN_LEAF_FRAMES = 8192;   // 분할 단위 (약 2.7분)
+    private static final int SMOOTH_FRAMES = 3;         // 60ms 이동 평균으로 순간적인 저점 배제
+    private static final double DISTANCE_PENALTY_DB_PER_SEC = 1.0;
+    private static final String CHUNK_SUFFIX = ".chunks/";
+
+    private final S3Service s3Service;
+    private final DspKernels kernels;
+    private final ForkJoinPool pool;
+
+    @Value("${app.segment.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.segment.min-input-seconds:60}")
+    private double minInputSeconds;
+
+    @Value("${app.segment.target-seconds:15}")
+    private double targetSeconds;
+
+    @Value("${app.segment.min-seconds:5}")
+    private double minSeconds;
+
+    @Value("${app.segment.max-seconds:30}")
+    private double maxSeconds;
+
+    public AudioSegmenter(S3Service s3Service, DspKernels kernels, @Qualifier("audioSegmentPool") ForkJoinPool pool) {
+        this.s3Service = s3Service;
+        this.kernels = kernels;
+        this.pool = pool;
+    }
+
+    /**
+     * 분할 대상 여부 (전처리 결과 길이 기준)
+     */
+    public boolean shouldSegment(double durationSeconds) {
+        return enabled && durationSeconds > Math.max(minInputSeconds, maxSeconds);
+    }
+
+    /**
+     * wav 를 분할해 keyPrefix 아래 0000.wav, 0001.wav ... 로 업로드
+     * 일부 업로드가 실패하면 이미 올린 구간을 지우고 예외를 던짐
+     */
+    public List<AudioChunk> segment(Path wav, int sampleRate, long frames, String keyPrefix) throws IOException {
+        long started = System.currentTimeMillis();
+        int frameLength = Math.max(1, sampleRate * ANALYSIS_FRAME_MS / 1000);
+        int analysisFrames = (int) ((frames + frameLength - 1) / frameLength);
+
+        try (FileChannel channel = FileChannel.open(wav, StandardOpenOption.READ)) {
+            float[] energyDb = new float[analysisFrames];
+            pool.invoke(new EnergyScan(channel, kernels, energyDb, frameLength, frames, 0, analysisFrames));
+
+            long[] cuts = planCuts(smooth(energyDb), frameLength, frames);
+            AudioChunk[] chunks = new AudioChunk[cuts.length - 1];
+            try {
+                pool.invoke(new ChunkUpload(channel, cuts, sampleRate, keyPrefix, chunks, 0, chunks.length));
+            } catch (RuntimeException e) {
+                deleteUploaded(chunks);
+                throw e;
+            }
+
+            log.debug("Segmented {}s of audio into {} chunk(s) in {}ms",
+                    String.format("%.1f", (double) frames / sampleRate), chunks.length,
+                    System.currentTimeMillis() - started);
+            return List.of(chunks);
+        }
+    }
+
+    public void delete(List<AudioChunk> chunks) {
+        if (chunks == null) {
+            return;
+        }
+        for (AudioChunk chunk : chunks) {
+            if (!s3Service.deleteFile(chunk.s3Key())) {
+                log.warn("Failed to delete chunk from S3: {}", chunk.s3Key());
+            }
+        }
+    }
+
+    static String prefixFor(String s3Key) {
+        int dot = s3Key.lastIndexOf('.');
+        int slash = s3Key.lastIndexOf('/');
+        return (dot > slash ? s3Key.substring(0, dot) : s3Key) + CHUNK_SUFFIX;
+    }
+
+    /**
+     * 경계(샘플 위치) 선택: [start+min, start+max] 범위에서 (평활 에너지 + 목표 지점과의 거리 패널티) 최소 지점
+     * 반환 배열은 0 으로 시작해 frames 로 끝남
+     */
+    private long[] planCuts(float[] score, int frameLength, long frames) {
+        double framesPerSecond = 1000.0 / ANALYSIS_FRAME_MS;
+        int total = score.length;
+        int min = (int) Math.max(1, Math.round(minSeconds * framesPerSecond));
+        int max = (int) Math.max(2L * min, Math.round(maxSeconds * framesPerSecond));
+        int target = (int) Math.max(min, Math.min(max, Math.round(targetSeconds * framesPerSecond)));
+        double penaltyPerFrame = DISTANCE_PENALTY_DB_PER_SEC / framesPerSecond;
+
+        List<Long> cuts = new ArrayList<>();
+        cuts.add(0L);
+        int start = 0;
+        while (total - start > max) {
+            int lo = start + min;
+            int hi = Math.min(start + max, total - min);
+            int goal = start + target;
+            int best = lo;
+            double bestScore = Double.MAX_VALUE;
+            for (int f = lo; f <= hi; f++) {
+                double s = score[f] + Math.abs(f - goal) * penaltyPerFrame;
+                if (s < bestScore) {
+                    bestScore = s;
+                    best = f;
+                }
+            }
+            // 가장 조용한 프레임의 가운데에서 자름
+            cuts.add(Math.min(frames, (long) best * frameLength + frameLength / 2));
+            start = best;
+        }
+        cuts.add(frames);
+        return cuts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static float[] smooth(float[] energyDb) {
+        if (energyDb.length < SMOOTH_FRAMES) {
+            return energyDb;
+        }
+        float[] out = new float[energyDb.length];
+        int half = SMOOTH_FRAMES / 2;
+        for (int i = 0; i < energyDb.length; i++) {
+            int lo = Math.max(0, i - half);
+            int hi = Math.min(energyDb.length - 1, i + half);
+            float sum = 0f;
+            for (int k = lo; k <= hi; k++) {
+                sum += energyDb[k];
+            }
+            out[i] = sum / (hi - lo + 1);
+        }
+        return out;
+    }
+
+    private void deleteUploaded(AudioChunk[] chunks) {
+        delete(Arrays.stream(chunks).filter(c -> c != null).toList());
+    }
+
+    /**
+     * 프레임 에너지(dB) 병렬 계산 - 구간을 반씩 나눠 SCAN_LEAF_FRAMES 이하가 되면 순차 처리
+     */
+    private static final class EnergyScan extends RecursiveAction {
+        private final FileChannel channel;
+        private final DspKernels kernels;
+        private final float[] energyDb;
+        private final int frameLength;
+        private final long totalSamples;
+        private final int from;
+        private final int to;
+
+        EnergyScan(FileChannel channel, DspKernels kernels, float[] energyDb, int frameLength, long totalSamples,
+                   int from, int to) {
+            this.channel = channel;
+            this.kernels = kernels;
+            this.energyDb = energyDb;
+            this.frameLength = frameLength;
+            this.totalSamples = totalSamples;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SCAN_LEAF_FRAMES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new EnergyScan(channel, kernels, energyDb, frameLength, totalSamples, from, mid),
+                        new EnergyScan(channel, kernels, energyDb, frameLength, totalSamples, mid, to));
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BLOCK_FRAMES * frameLength * BYTES_PER_SAMPLE);
+            float[] pcm = new float[SCAN_BLOCK_FRAMES * frameLength];
+            try {
+                for (int block = from; block < to; block += SCAN_BLOCK_FRAMES) {
+                    long firstSample = (long) block * frameLength;
+                    long samples = Math.min((long) Math.min(SCAN_BLOCK_FRAMES, to - block) * frameLength,
+                            totalSamples - firstSample);
+                    buffer.clear().limit((int) samples * BYTES_PER_SAMPLE);
+                    readFully(channel, buffer, HEADER_BYTES + firstSample * BYTES_PER_SAMPLE);
+                    kernels.int16ToFloat(buffer.array(), 0, pcm, 0, (int) samples);
+
+                    int f = block;
+                    for (int i = 0; i < samples; i += frameLength) {
+                        int n = (int) Math.min(frameLength, samples - i);
+                        double sum = kernels.sumOfSquares(pcm, i, n);
+                        energyDb[f++] = (float) (10 * Math.log10(sum / n + 1e-10));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 구간별 WAV 업로드 - 구간 목록을 반씩 나눠 병렬 처리
+     */
+    private final class ChunkUpload extends RecursiveAction {
+        private final FileChannel channel;
+        private final long[] cuts;
+        private final int sampleRate;
+        private final String keyPrefix;
+        private final AudioChunk[] results;
+        private final int from;
+        private final int to;
+
+        ChunkUpload(FileChannel channel, long[] cuts, int sampleRate, String keyPrefix,
+                    AudioChunk[] results, int from, int to) {
+            this.channel = channel;
+            this.cuts = cuts;
+            this.sampleRate = sampleRate;
+            this.keyPrefix = keyPrefix;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkUpload(channel, cuts, sampleRate, keyPrefix, results, from, mid),
+                        new ChunkUpload(channel, cuts, sampleRate, keyPrefix, results, mid, to));
+                return;
+            }
+            if (to == from) {
+                return;
+            }
+
+            int index = from;
+            long start = cuts[index];
+            long samples = cuts[index + 1] - start;
+            long dataBytes = samples * BYTES_PER_SAMPLE;
+            String key = keyPrefix + String.format("%04d.wav", index);
+
+            byte[] header = new byte[HEADER_BYTES];
+            AudioPreprocessor.wavHeader(sampleRate, 1, 16, dataBytes).get(header);
+            InputStream content = new RegionInputStream(channel, header,
+                    HEADER_BYTES + start * BYTES_PER_SAMPLE, dataBytes);
+
+            String url = s3Service.uploadArtifact(key, content, HEADER_BYTES + dataBytes, "audio/wav",
+                    s3Service.isPublicRead());
+            results[index] = new AudioChunk(index, (double) start / sampleRate, (double) samples / sampleRate,
+                    key, url, HEADER_BYTES + dataBytes);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file at " + position);
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * 헤더 + 파일 구간 스트림 (위치 지정 읽기라 같은 채널을 여러 작업이 함께 사용 가능)
+     */
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final byte[] header;
+        private int headerPos;
+        private long position;
+        private long remaining;
+
+        RegionInputStream(FileChannel channel, byte[] header, long position, long length) {
+            this.channel = channel;
+            this.header = header;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (headerPos < header.length) {
+                int n = Math.min(len, header.length - headerPos);
+                System.arraycopy(header, headerPos, b, off, n);
+                headerPos += n;
+                return n;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (n < 0) {
+                return -1;
+            }
+            position += n;
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.domain.voice.FlacConversion;
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.voice.FlacConversionRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.audio.flac.FlacDecoder;
+import com.example.AudIon.service.audio.flac.FlacEncoder;
+import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.service.storage.BlobNotFoundException;
+import com.example.AudIon.service.voice.VoiceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 저장된 WAV 업로드를 FLAC 으로 무손실 재인코딩 (저장 용량 절감)
+ * - 업로드 후 min-age 가 지난 WAV 원본을 전용 워커 풀(기본 1개)에서 변환, 건마다 pause 만큼 쉼
+ * - 인코딩 → 디코딩해 원본 PCM 과 샘플 단위 비교 → {base}.flac 업로드 → 참조 교체(한 트랜잭션) → 원본 삭제
+ * - 단계마다 flac_conversions 에 기록, 재시작 후 ENCODED/SWAPPED 부터 이어서 처리
+ * - 파생 결과(*.train.wav, *.peaks/ 등)는 확장자를 뺀 같은 base 를 쓰므로 그대로 유효
+ * - 전처리/학습 중인 파일이 참조하는 원본은 건드리지 않고 다음 실행으로 미룸
+ */
+@Service
+@Slf4j
+public class FlacReencodeService {
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final FlacConversionRepository flacConversionRepository;
+    private final VoiceService voiceService;
+    private final S3Service s3Service;
+    private final AudioProbe audioProbe;
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutor executor;
+
+    @Value("${app.flac.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.flac.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.flac.min-age-hours:24}")
+    private long minAgeHours;
+
+    @Value("${app.flac.pause-ms:1000}")
+    private long pauseMs;
+
+    public FlacReencodeService(VoiceFileRepository voiceFileRepository,
+                               FlacConversionRepository flacConversionRepository,
+                               VoiceService voiceService,
+                               S3Service s3Service,
+                               AudioProbe audioProbe,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("flacReencodeExecutor") TaskExecutor executor) {
+        this.voiceFileRepository = voiceFileRepository;
+        this.flacConversionRepository = flacConversionRepository;
+        this.voiceService = voiceService;
+        this.s3Service = s3Service;
+        this.audioProbe = audioProbe;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+    }
+
+    @Scheduled(initialDelayString = "${app.flac.initial-delay-ms:120000}",
+            fixedDelayString = "${app.flac.interval-ms:600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            resumePending();
+
+            LocalDateTime before = LocalDateTime.now().minusHours(minAgeHours);
+            List<String> keys = voiceFileRepository.findFlacCandidateKeys(before, PageRequest.of(0, batchSize));
+            if (keys.isEmpty()) {
+                return;
+            }
+
+            // 배치가 끝날 때까지 기다려서 다음 실행과 겹치지 않게 함
+            CompletableFuture.allOf(keys.stream()
+                    .map(key -> CompletableFuture.runAsync(() -> convertSafely(key), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+            log.info("FLAC re-encode batch finished ({} source objects)", keys.size());
+
+        } catch (RejectedExecutionException e) {
+            log.warn("FLAC re-encode queue is full, retrying next run");
+        } catch (Exception e) {
+            log.error("FLAC re-encode run failed", e);
+        }
+    }
+
+    /**
+     * 중단된 변환 이어서 처리 (참조 교체 / 원본 삭제)
+     */
+    private void resumePending() {
+        List<FlacConversion> pending = flacConversionRepository.findTop100ByStatusInOrderByUpdatedAtAsc(
+                List.of(FlacConversion.Status.ENCODED, FlacConversion.Status.SWAPPED));
+        for (FlacConversion conversion : pending) {
+            try {
+                if (conversion.getStatus() == FlacConversion.Status.ENCODED) {
+                    swap(conversion);
+                } else {
+                    deleteSource(conversion);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to resume FLAC conversion for {}: {}", conversion.getSourceKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void convertSafely(String sourceKey) {
+        try {
+            convert(sourceKey);
+        } catch (BlobNotFoundException e) {
+            skip(sourceKey, null, "missing", "Source object not found");
+        } catch (Exception e) {
+            log.warn("FLAC re-encode failed for {}, retrying next run", sourceKey, e);
+        }
+
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void convert(String sourceKey) throws IOException {
+        if (isBusy(sourceKey)) {
+            log.debug("Source object in use, deferring FLAC re-encode: {}", sourceKey);
+            return;
+        }
+
+        Path wav = Files.createTempFile("audion-flac-src-", ".wav");
+        Path flac = Files.createTempFile("audion-flac-", FlacEncoder.EXTENSION);
+        try {
+            try (InputStream in = s3Service.openRange(sourceKey, 0, -1)) {
+                Files.copy(in, wav, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long sourceSize = Files.size(wav);
+            AudioInfo info = audioProbe.probe(() -> Files.newInputStream(wav), sourceSize);
+            if (!FlacEncoder.supports(info)) {
+                skip(sourceKey, sourceSize, "unsupported",
+                        "Unsupported PCM layout: " + info.codec() + "/" + info.bitsPerSample() + "bit/" + info.channels() + "ch");
+                return;
+            }
+
+            FlacEncoder.Result result = FlacEncoder.encode(wav, info, flac);
+            if (result.size() >= sourceSize) {
+                skip(sourceKey, sourceSize, "no_gain", "FLAC is not smaller (" + result.size() + " bytes)");
+                return;
+            }
+            if (!FlacDecoder.matches(flac, wav, info)) {
+                log.error("FLAC verification mismatch, keeping original: {}", sourceKey);
+                skip(sourceKey, sourceSize, "mismatch", "Decoded FLAC does not match source PCM");
+                return;
+            }
+
+            String targetKey = targetKeyFor(sourceKey);
+            String targetUrl = s3Service.uploadArtifact(targetKey, flac, FlacEncoder.CONTENT_TYPE, s3Service.isPublicRead());
+            FlacConversion conversion = flacConversionRepository.save(FlacConversion.builder()
+                    .sourceKey(sourceKey)
+                    .targetKey(targetKey)
+                    .targetUrl(targetUrl)
+                    .sourceSize(sourceSize)
+                    .targetSize(result.size())
+                    .status(FlacConversion.Status.ENCODED)
+                    .build());
+            log.info("Encoded {} -> {} ({} -> {} bytes)", sourceKey, targetKey, sourceSize, result.size());
+
+            swap(conversion);
+
+        } finally {
+            Files.deleteIfExists(wav);
+            Files.deleteIfExists(flac);
+        }
+    }
+
+    /**
+     * 참조 교체 - 교체됐으면 바로 원본 삭제까지 진행
+     */
+    private void swap(FlacConversion conversion) {
+        int updated = voiceService.replaceStoredObject(conversion.getSourceKey(), conversion.getTargetKey(),
+                conversion.getTargetUrl(), conversion.getTargetSize(), "flac", FlacEncoder.CONTENT_TYPE);
+        if (updated < 0) {
+            log.debug("Source object in use, deferring swap: {}", conversion.getSourceKey());
+            return;
+        }
+
+        if (updated == 0 && !voiceFileRepository.existsByS3Key(conversion.getTargetKey())) {
+            // 변환 중 참조하던 파일이 모두 삭제됨 (원본은 삭제 흐름에서 지워짐) - 올린 FLAC 만 정리
+            if (!s3Service.deleteFile(conversion.getTargetKey())) {
+                return;
+            }
+            complete(conversion, FlacConversion.Status.DONE, "Source deleted before swap");
+            return;
+        }
+
+        complete(conversion, FlacConversion.Status.SWAPPED, null);
+        deleteSource(conversion);
+    }
+
+    private void deleteSource(FlacConversion conversion) {
+        if (!s3Service.deleteFile(conversion.getSourceKey())) {
+            log.warn("Failed to delete original after FLAC swap, retrying next run: {}", conversion.getSourceKey());
+            return;
+        }
+        complete(conversion, FlacConversion.Status.DONE, null);
+
+        long saved = conversion.getSourceSize() - conversion.getTargetSize();
+        meterRegistry.counter("voice.flac.converted").increment();
+        meterRegistry.counter("voice.flac.bytes.saved").increment(saved);
+        log.info("FLAC re-encode completed: {} ({} bytes saved)", conversion.getTargetKey(), saved);
+    }
+
+    private void complete(FlacConversion conversion, FlacConversion.Status status, String message) {
+        conversion.setStatus(status);
+        conversion.setMessage(message);
+        flacConversionRepository.save(conversion);
+    }
+
+    private void skip(String sourceKey, Long sourceSize, String reason, String message) {
+        flacConversionRepository.save(FlacConversion.builder()
+                .sourceKey(sourceKey)
+                .sourceSize(sourceSize)
+                .status(FlacConversion.Status.SKIPPED)
+                .message(message)
+                .build());
+        meterRegistry.counter("voice.flac.skipped", "reason", reason).increment();
+        log.info("Skipping FLAC re-encode for {}: {}", sourceKey, message);
+    }
+
+    private boolean isBusy(String sourceKey) {
+        return voiceFileRepository.countByS3KeyAndStatusIn(sourceKey,
+                List.of(VoiceFile.Status.PROCESSING, VoiceFile.Status.TRAINING)) > 0;
+    }
+
+    static String targetKeyFor(String sourceKey) {
+        int dot = sourceKey.lastIndexOf('.');
+        int slash = sourceKey.lastIndexOf('/');
+        return (dot > slash ? sourceKey.substring(0, dot) : sourceKey) + FlacEncoder.EXTENSION;
+    }
+}
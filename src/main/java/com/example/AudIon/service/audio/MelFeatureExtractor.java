@@ -0,0 +1,297 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 학습용 log-mel 스펙트로그램 추출 (AI 서버의 디코딩/특징 추출 부담 제거)
+ * - 입력: 전처리 결과 (16bit mono WAV, 44바이트 헤더)
+ * - STFT: periodic Hann 창, 양 끝 fftSize/2 만큼 0 패딩(center), 프레임 수 = 1 + samples / hop
+ * - mel: Slaney 척도 + 면적 정규화 삼각 필터, 값 = ln(max(1e-5, mel · |STFT|))
+ * - 출력 (little-endian): "MELF", int32 version=1, sampleRate, fftSize, hop, melBins, frames,
+ *   float32 fmin, fmax, 이후 frames × melBins 개 float16 (프레임 순)
+ * - 블록 단위로 읽고 프레임마다 바로 기록 (파일 길이와 무관하게 고정 크기 버퍼만 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class MelFeatureExtractor {
+
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final int HEADER_BYTES = 36;
+    private static final int VERSION = 1;
+    private static final int READ_BLOCK_SAMPLES = 8192;
+    private static final float LOG_FLOOR = 1e-5f;
+
+    private final DspKernels kernels;
+
+    @Value("${app.features.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.features.fft-size:1024}")
+    private int fftSize;
+
+    @Value("${app.features.hop:256}")
+    private int hop;
+
+    @Value("${app.features.mel-bins:80}")
+    private int melBins;
+
+    @Value("${app.features.fmin:0}")
+    private float fmin;
+
+    @Value("${app.features.fmax:8000}")
+    private float fmax;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * wav(16bit mono) → output 에 log-mel 기록, 프레임 수 반환
+     */
+    public long extract(Path wav, int sampleRate, long samples, Path output) throws IOException {
+        if (Integer.bitCount(fftSize) != 1 || hop <= 0 || hop > fftSize || melBins <= 0) {
+            throw new IllegalArgumentException("잘못된 특징 추출 설정입니다: fft=" + fftSize + ", hop=" + hop + ", mel=" + melBins);
+        }
+        float upper = Math.min(fmax, sampleRate / 2f);
+        MelFilterbank filterbank = new MelFilterbank(sampleRate, fftSize, melBins, fmin, upper);
+        long frames = 1 + samples / hop;
+
+        float[] window = hann(fftSize);
+        float[] pending = new float[fftSize];
+        float[] re = new float[fftSize];
+        float[] im = new float[fftSize];
+        float[] magnitude = new float[fftSize / 2 + 1];
+        float[] block = new float[READ_BLOCK_SAMPLES];
+        ByteBuffer raw = ByteBuffer.allocate(READ_BLOCK_SAMPLES * 2);
+        ByteBuffer out = ByteBuffer.allocateDirect(Math.max(HEADER_BYTES, 64 * melBins * 2)).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel in = FileChannel.open(wav, StandardOpenOption.READ);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            out.put(new byte[]{'M', 'E', 'L', 'F'})
+                    .putInt(VERSION).putInt(sampleRate).putInt(fftSize).putInt(hop).putInt(melBins)
+                    .putInt((int) frames).putFloat(fmin).putFloat(upper);
+
+            Framer framer = new Framer(pending, fftSize / 2); // 앞쪽 center 패딩
+            long emitted = 0;
+            long position = WAV_HEADER_BYTES;
+            long remaining = samples;
+            while (remaining > 0) {
+                int n = (int) Math.min(READ_BLOCK_SAMPLES, remaining);
+                raw.clear().limit(n * 2);
+                while (raw.hasRemaining()) {
+                    if (in.read(raw, position + raw.position()) < 0) {
+                        throw new IOException("Unexpected end of WAV data");
+                    }
+                }
+                kernels.int16ToFloat(raw.array(), 0, block, 0, n);
+                position += n * 2L;
+                remaining -= n;
+
+                int offset = 0;
+                while (offset < n) {
+                    offset += framer.fill(block, offset, n - offset);
+                    if (framer.isFull()) {
+                        writeFrame(pending, window, re, im, magnitude, filterbank, out, channel);
+                        framer.advance(hop);
+                        emitted++;
+                    }
+                }
+            }
+
+            // 뒤쪽 center 패딩
+            int padding = fftSize / 2;
+            while (emitted < frames) {
+                padding -= framer.fillZeros(padding);
+                if (!framer.isFull()) {
+                    break;
+                }
+                writeFrame(pending, window, re, im, magnitude, filterbank, out, channel);
+                framer.advance(hop);
+                emitted++;
+            }
+
+            flush(out, channel);
+            return emitted;
+        }
+    }
+
+    private void writeFrame(float[] frame, float[] window, float[] re, float[] im, float[] magnitude,
+                            MelFilterbank filterbank, ByteBuffer out, FileChannel channel) throws IOException {
+        System.arraycopy(frame, 0, re, 0, fftSize);
+        for (int i = 0; i < fftSize; i++) {
+            re[i] *= window[i];
+            im[i] = 0f;
+        }
+        kernels.fftMagnitude(re, im, magnitude, fftSize);
+
+        if (out.remaining() < melBins * 2) {
+            flush(out, channel);
+        }
+        for (int m = 0; m < melBins; m++) {
+            float energy = filterbank.apply(kernels, m, magnitude);
+            out.putShort(toFloat16((float) Math.log(Math.max(LOG_FLOOR, energy))));
+        }
+    }
+
+    private static void flush(ByteBuffer out, FileChannel channel) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static float[] hann(int n) {
+        float[] w = new float[n];
+        for (int i = 0; i < n; i++) {
+            w[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / n)); // periodic
+        }
+        return w;
+    }
+
+    /**
+     * float32 → IEEE 754 binary16 (반올림, 범위 초과는 ±Inf, 아주 작은 값은 서브노멀/0)
+     */
+    static short toFloat16(float value) {
+        int bits = Float.floatToIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int abs = bits & 0x7fffffff;
+        int rounded = abs + 0x1000;
+        if (rounded >= 0x47800000) {
+            if (abs >= 0x7f800000) {
+                return (short) (sign | 0x7c00 | (abs > 0x7f800000 ? 0x200 : 0)); // Inf / NaN
+            }
+            return (short) (sign | 0x7c00);
+        }
+        if (rounded >= 0x38800000) {
+            return (short) (sign | ((rounded - 0x38000000) >>> 13));
+        }
+        if (rounded < 0x33000000) {
+            return (short) sign;
+        }
+        int exponent = abs >>> 23;
+        return (short) (sign | ((((abs & 0x7fffff) | 0x800000) + (0x800000 >>> (exponent - 102))) >>> (126 - exponent)));
+    }
+
+    /**
+     * fftSize 길이 프레임 버퍼 (hop 만큼 밀어가며 채움)
+     */
+    private static final class Framer {
+        private final float[] buffer;
+        private int filled;
+
+        Framer(float[] buffer, int leadingZeros) {
+            this.buffer = buffer;
+            this.filled = leadingZeros; // 버퍼는 0 으로 생성됨
+        }
+
+        int fill(float[] src, int offset, int n) {
+            int take = Math.min(n, buffer.length - filled);
+            System.arraycopy(src, offset, buffer, filled, take);
+            filled += take;
+            return take;
+        }
+
+        int fillZeros(int n) {
+            int take = Math.min(n, buffer.length - filled);
+            Arrays.fill(buffer, filled, filled + take, 0f);
+            filled += take;
+            return take;
+        }
+
+        boolean isFull() {
+            return filled == buffer.length;
+        }
+
+        void advance(int hop) {
+            System.arraycopy(buffer, hop, buffer, 0, buffer.length - hop);
+            filled -= hop;
+        }
+    }
+
+    /**
+     * Slaney mel 삼각 필터 (bin 구간 + 가중치만 저장, 0 가중치는 건너뜀)
+     */
+    private static final class MelFilterbank {
+        private final int[] start;
+        private final float[][] weights;
+
+        MelFilterbank(int sampleRate, int fftSize, int melBins, float fmin, float fmax) {
+            int bins = fftSize / 2 + 1;
+            double melMin = hzToMel(fmin);
+            double melMax = hzToMel(fmax);
+            double[] edges = new double[melBins + 2];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = melToHz(melMin + (melMax - melMin) * i / (melBins + 1));
+            }
+
+            this.start = new int[melBins];
+            this.weights = new float[melBins][];
+            double binHz = (double) sampleRate / fftSize;
+            for (int m = 0; m < melBins; m++) {
+                double left = edges[m];
+                double center = edges[m + 1];
+                double right = edges[m + 2];
+                double norm = 2.0 / (right - left); // 면적 정규화
+                int first = -1;
+                int last = -1;
+                float[] w = new float[bins];
+                for (int k = 0; k < bins; k++) {
+                    double hz = k * binHz;
+                    double lower = (hz - left) / (center - left);
+                    double upper = (right - hz) / (right - center);
+                    double v = Math.max(0, Math.min(lower, upper)) * norm;
+                    if (v > 0) {
+                        if (first < 0) first = k;
+                        last = k;
+                        w[k] = (float) v;
+                    }
+                }
+                if (first < 0) {
+                    start[m] = 0;
+                    weights[m] = new float[0];
+                } else {
+                    start[m] = first;
+                    weights[m] = Arrays.copyOfRange(w, first, last + 1);
+                }
+            }
+        }
+
+        float apply(DspKernels kernels, int m, float[] magnitude) {
+            float[] w = weights[m];
+            return w.length == 0 ? 0f : kernels.dot(w, 0, magnitude, start[m], w.length);
+        }
+
+        // Slaney: 1 kHz 까지 선형, 이후 로그
+        private static double hzToMel(double hz) {
+            double fSp = 200.0 / 3;
+            double minLogHz = 1000.0;
+            double minLogMel = minLogHz / fSp;
+            double logStep = Math.log(6.4) / 27.0;
+            return hz < minLogHz ? hz / fSp : minLogMel + Math.log(hz / minLogHz) / logStep;
+        }
+
+        private static double melToHz(double mel) {
+            double fSp = 200.0 / 3;
+            double minLogHz = 1000.0;
+            double minLogMel = minLogHz / fSp;
+            double logStep = Math.log(6.4) / 27.0;
+            return mel < minLogMel ? mel * fSp : minLogHz * Math.exp(logStep * (mel - minLogMel));
+        }
+    }
+}
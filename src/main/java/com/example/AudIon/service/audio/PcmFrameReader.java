@@ -0,0 +1,144 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 인터리브 PCM 스트림을 고정 크기 블록 단위로 읽어 모노 float(-1..1)로 변환
+ * - 8bit(unsigned)/16/24/32bit 정수, 32/64bit float 지원
+ * - 채널 평균으로 다운믹스
+ * - 다운믹스 전 채널별 샘플로 피크/클리핑(풀스케일 도달) 샘플 수 집계
+ * - 16bit 는 DspKernels 로 블록 단위 변환/집계, 그 외 비트 수는 샘플 단위 변환
+ * - 바이트/샘플 버퍼는 생성 시 한 번만 할당
+ */
+public final class PcmFrameReader {
+
+    private final InputStream in;
+    private final DspKernels kernels;
+    private final int channels;
+    private final int bytesPerSample;
+    private final boolean floatingPoint;
+    private final int frameSize;
+    private final byte[] buffer;
+    private final float[] interleaved; // 16bit 경로 전용
+    private final float clipThreshold;
+    private long remaining;
+
+    private float peak;
+    private long clippedSamples;
+    private long totalSamples;
+
+    public PcmFrameReader(InputStream in, AudioInfo info, int framesPerBlock, DspKernels kernels) {
+        if (!info.isPcm()) {
+            throw new IllegalArgumentException("PCM 데이터가 아닙니다: " + info.codec());
+        }
+        this.in = in;
+        this.kernels = kernels;
+        this.channels = Math.max(1, info.channels());
+        this.bytesPerSample = info.bitsPerSample() / 8;
+        this.floatingPoint = "pcm_float".equals(info.codec());
+        if (bytesPerSample < 1 || bytesPerSample > 8 || (floatingPoint && bytesPerSample != 4 && bytesPerSample != 8)
+                || (!floatingPoint && bytesPerSample > 4)) {
+            throw new IllegalArgumentException("지원되지 않는 PCM 샘플 형식입니다: " + info.bitsPerSample() + "bit");
+        }
+        this.frameSize = channels * bytesPerSample;
+        this.buffer = new byte[framesPerBlock * frameSize];
+        this.interleaved = bytesPerSample == 2 && !floatingPoint ? new float[framesPerBlock * channels] : null;
+        this.remaining = info.dataLength() >= 0 ? info.dataLength() : Long.MAX_VALUE;
+        // 정수 PCM 은 최대 코드값 근처, float 는 ±1.0 근처를 클리핑으로 봄
+        this.clipThreshold = floatingPoint ? 0.9999f : 1f - 3f / (1 << Math.min(24, bytesPerSample * 8));
+    }
+
+    /**
+     * 최대 framesPerBlock 프레임을 읽어 mono 에 기록, 읽은 프레임 수 반환 (끝이면 -1)
+     */
+    public int read(float[] mono) throws IOException {
+        int want = (int) Math.min(buffer.length, remaining - remaining % frameSize);
+        int filled = 0;
+        while (filled < want) {
+            int n = in.read(buffer, filled, want - filled);
+            if (n < 0) break;
+            filled += n;
+        }
+        remaining -= filled;
+
+        int frames = filled / frameSize;
+        if (frames == 0) {
+            return -1;
+        }
+
+        if (interleaved != null) {
+            readInt16(frames, mono);
+            totalSamples += (long) frames * channels;
+            return frames;
+        }
+
+        float scale = 1f / channels;
+        int pos = 0;
+        for (int f = 0; f < frames; f++) {
+            float sum = 0f;
+            for (int c = 0; c < channels; c++) {
+                float v = sample(pos);
+                float abs = Math.abs(v);
+                if (abs > peak) peak = abs;
+                if (abs >= clipThreshold) clippedSamples++;
+                sum += v;
+                pos += bytesPerSample;
+            }
+            mono[f] = sum * scale;
+        }
+        totalSamples += (long) frames * channels;
+        return frames;
+    }
+
+    /** 채널별 원본 샘플 중 최대 절댓값 (0..1) */
+    public float getPeak() {
+        return peak;
+    }
+
+    /** 풀스케일에 도달한 샘플 비율 */
+    public double getClippingRatio() {
+        return totalSamples == 0 ? 0.0 : (double) clippedSamples / totalSamples;
+    }
+
+    private void readInt16(int frames, float[] mono) {
+        int samples = frames * channels;
+        kernels.int16ToFloat(buffer, 0, interleaved, 0, samples);
+        peak = Math.max(peak, kernels.peak(interleaved, 0, samples));
+        clippedSamples += kernels.countAtLeast(interleaved, 0, samples, clipThreshold);
+
+        if (channels == 1) {
+            System.arraycopy(interleaved, 0, mono, 0, frames);
+            return;
+        }
+        float scale = 1f / channels;
+        for (int f = 0, pos = 0; f < frames; f++) {
+            float sum = 0f;
+            for (int c = 0; c < channels; c++) {
+                sum += interleaved[pos++];
+            }
+            mono[f] = sum * scale;
+        }
+    }
+
+    private float sample(int p) {
+        byte[] b = buffer;
+        switch (bytesPerSample) {
+            case 1:
+                return ((b[p] & 0xFF) - 128) / 128f;
+            case 2:
+                return (short) ((b[p] & 0xFF) | (b[p + 1] << 8)) / 32768f;
+            case 3:
+                return ((b[p] & 0xFF) | ((b[p + 1] & 0xFF) << 8) | (b[p + 2] << 16)) / 8388608f;
+            case 4:
+                int bits = (b[p] & 0xFF) | ((b[p + 1] & 0xFF) << 8) | ((b[p + 2] & 0xFF) << 16) | (b[p + 3] << 24);
+                return floatingPoint ? Float.intBitsToFloat(bits) : bits / 2147483648f;
+            default:
+                long lo = ((b[p] & 0xFFL) | ((b[p + 1] & 0xFFL) << 8) | ((b[p + 2] & 0xFFL) << 16) | ((b[p + 3] & 0xFFL) << 24));
+                long hi = ((b[p + 4] & 0xFFL) | ((b[p + 5] & 0xFFL) << 8) | ((b[p + 6] & 0xFFL) << 16) | ((b[p + 7] & 0xFFL) << 24));
+                return (float) Double.longBitsToDouble(lo | (hi << 32));
+        }
+    }
+}
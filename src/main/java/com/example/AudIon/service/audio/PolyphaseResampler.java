@@ -0,0 +1,149 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+
+/**
+ * 유리수 비율(L/M) 폴리페이즈 리샘플러 (모노, 스트리밍)
+ * - 프로토타입 필터: Kaiser 창 windowed-sinc, 위상별 계수로 분해해 0 삽입 없이 계산
+ * - 블록 경계는 직전 입력 (탭 수 - 1)개를 보관해 이어 붙임
+ * - 필터 지연을 보정해 출력 길이 = ceil(입력 길이 * L / M)
+ * - 위상별 계수는 역순으로 저장해 출력 샘플마다 연속 구간 내적(DspKernels.dot) 한 번으로 계산
+ */
+public final class PolyphaseResampler {
+
+    private static final double KAISER_BETA = 8.0;
+    private static final double ROLLOFF = 0.92;
+
+    private final int up;      // L
+    private final int down;    // M
+    private final int taps;    // 위상당 탭 수 (K)
+    private final float[][] phases; // 역순 계수
+    private final DspKernels kernels;
+
+    private final float[] history;
+    private float[] work;
+    private long inputCount;    // 지금까지 받은 입력 샘플 수
+    private long outputCount;   // 지금까지 만든 출력 샘플 수
+    private long nextT;         // 다음 출력의 업샘플 영역 위치 (지연 보정 포함)
+    private long workStart;     // work[0] 의 절대 입력 인덱스
+
+    public PolyphaseResampler(int inputRate, int outputRate, int tapsPerPhase, DspKernels kernels) {
+        if (inputRate <= 0 || outputRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        int g = gcd(inputRate, outputRate);
+        this.up = outputRate / g;
+        this.down = inputRate / g;
+        this.taps = Math.max(4, tapsPerPhase);
+        this.phases = design(up, down, taps);
+        this.kernels = kernels;
+
+        this.history = new float[taps - 1];
+        this.work = new float[0];
+        this.workStart = -(taps - 1); // 시작 전 구간은 0으로 간주
+        this.nextT = (long) (up * taps - 1) / 2;
+    }
+
+    public boolean isPassthrough() {
+        return up == 1 && down == 1;
+    }
+
+    /**
+     * 입력 n 개에 대해 나올 수 있는 최대 출력 수 (출력 버퍼 크기 계산용)
+     */
+    public int maxOutput(int n) {
+        return (int) (((long) n + taps) * up / down) + 2;
+    }
+
+    /**
+     * 입력 블록 처리, out 에 기록한 출력 수 반환
+     */
+    public int process(float[] in, int n, float[] out) {
+        if (isPassthrough()) {
+            System.arraycopy(in, 0, out, 0, n);
+            inputCount += n;
+            outputCount += n;
+            return n;
+        }
+        int keep = taps - 1;
+        int needed = keep + n;
+        if (work.length < needed) {
+            work = new float[needed]; // 첫 블록에서 한 번만 할당 (블록 크기 고정)
+        }
+        System.arraycopy(history, 0, work, 0, keep);
+        System.arraycopy(in, 0, work, keep, n);
+        inputCount += n;
+        long limit = workStart + needed; // work 에 들어있는 절대 인덱스 상한 (exclusive)
+
+        int produced = 0;
+        while (true) {
+            long base = nextT / up;
+            if (base >= limit) break;
+            int phase = (int) (nextT % up);
+            float[] h = phases[phase];
+            int idx = (int) (base - workStart);
+            out[produced++] = kernels.dot(h, 0, work, idx - taps + 1, taps);
+            nextT += down;
+        }
+
+        System.arraycopy(work, needed - keep, history, 0, keep);
+        workStart = limit - keep;
+        outputCount += produced;
+        return produced;
+    }
+
+    /**
+     * 남은 지연 구간을 0으로 채워 출력 (기대 출력 길이까지만)
+     */
+    public int flush(float[] out) {
+        long expected = (inputCount * up + down - 1) / down;
+        if (isPassthrough() || outputCount >= expected) {
+            return 0;
+        }
+        float[] zeros = new float[taps];
+        int produced = process(zeros, taps, out);
+        inputCount -= taps;
+        int allowed = (int) Math.max(0, expected - (outputCount - produced));
+        int result = Math.min(produced, allowed);
+        outputCount = outputCount - produced + result;
+        return result;
+    }
+
+    // Filter design
+
+    private static float[][] design(int up, int down, int taps) {
+        int length = up * taps;
+        double cutoff = ROLLOFF * 0.5 / Math.max(up, down); // 업샘플 영역 기준 (cycles/sample)
+        double center = (length - 1) / 2.0;
+        double i0Beta = besselI0(KAISER_BETA);
+
+        float[][] phases = new float[up][taps];
+        for (int n = 0; n < length; n++) {
+            double x = n - center;
+            double sinc = x == 0 ? 2 * cutoff : Math.sin(2 * Math.PI * cutoff * x) / (Math.PI * x);
+            double r = 2.0 * n / (length - 1) - 1.0;
+            double window = besselI0(KAISER_BETA * Math.sqrt(Math.max(0, 1 - r * r))) / i0Beta;
+            phases[n % up][taps - 1 - n / up] = (float) (sinc * window * up);
+        }
+        return phases;
+    }
+
+    private static double besselI0(double x) {
+        double sum = 1.0, term = 1.0, half = x / 2;
+        for (int k = 1; k < 50; k++) {
+            term *= (half / k) * (half / k);
+            sum += term;
+            if (term < 1e-12 * sum) break;
+        }
+        return sum;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 학습 요청 전 음질 기준 검사 (GPU 학습 전에 나쁜 녹음 거르기)
+ * - 클리핑 비율, 추정 SNR, 통합 라우드니스, VAD 음성 길이
+ * - 값이 없는 항목(전처리하지 않은 형식 등)은 검사하지 않음
+ */
+@Component
+public class TrainingAdmissionPolicy {
+
+    @Value("${app.quality.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.quality.max-clipping-ratio:0.01}")
+    private float maxClippingRatio;
+
+    @Value("${app.quality.min-snr-db:10}")
+    private float minSnrDb;
+
+    @Value("${app.quality.min-loudness-lufs:-45}")
+    private float minLoudnessLufs;
+
+    @Value("${app.vad.min-speech-seconds:10}")
+    private float minSpeechSeconds;
+
+    /** 거부 사유 (reason: 메트릭 태그용 코드) */
+    public record Rejection(String reason, String message) {}
+
+    public Optional<Rejection> check(VoiceFile voiceFile) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Float clipping = voiceFile.getClippingRatio();
+        if (clipping != null && maxClippingRatio > 0 && clipping > maxClippingRatio) {
+            return Optional.of(new Rejection("clipping", String.format(
+                    "녹음이 클리핑되었습니다 (%.2f%%, 최대 %.2f%%). 입력 볼륨을 낮춰 다시 녹음해 주세요.",
+                    clipping * 100, maxClippingRatio * 100)));
+        }
+
+        Float loudness = voiceFile.getLoudnessLufs();
+        if (loudness != null && loudness < minLoudnessLufs) {
+            return Optional.of(new Rejection("loudness", String.format(
+                    "녹음 소리가 너무 작습니다 (%.1f LUFS, 최소 %.0f LUFS)", loudness, minLoudnessLufs)));
+        }
+
+        Float snr = voiceFile.getSnrDb();
+        if (snr != null && snr < minSnrDb) {
+            return Optional.of(new Rejection("snr", String.format(
+                    "배경 잡음이 너무 큽니다 (SNR %.1f dB, 최소 %.0f dB)", snr, minSnrDb)));
+        }
+
+        Float speech = voiceFile.getSpeechDuration();
+        if (speech != null && minSpeechSeconds > 0 && speech < minSpeechSeconds) {
+            return Optional.of(new Rejection("speech", String.format(
+                    "음성 구간이 너무 짧습니다 (%.1f초, 최소 %.0f초 필요)", speech, minSpeechSeconds)));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+
+/**
+ * 에너지 + 영교차율(ZCR) 기반 스트리밍 VAD (모노 float 입력)
+ * - 프레임 에너지가 추정 잡음 레벨(최근 최소 에너지)보다 충분히 크고, ZCR 이 잡음(히스)처럼 높지 않으면 음성
+ * - 음성 종료 후 hangover 프레임 동안 유지, 음성 시작 전 preroll 프레임을 함께 내보냄 (어두/어미 보존)
+ * - 무음 구간은 출력에서 제거
+ * - 버퍼는 생성 시 한 번만 할당, 프레임 처리 중 할당 없음
+ */
+public final class VoiceActivityDetector {
+
+    private static final int NOISE_WINDOW_MS = 2000;          // 최근 2초 프레임 에너지의 최솟값 추적
+    private static final double NOISE_RISE_DB_PER_SEC = 2.5;  // 잡음 레벨 상승 속도 제한
+    private static final double STRONG_MARGIN_DB = 20.0;
+
+    private final DspKernels kernels;
+    private final int frameLength;
+    private final int hangoverFrames;
+    private final double absoluteFloorDb;
+    private final double marginDb;
+    private final double maxZcr;
+    private final double noiseRisePerFrame;
+
+    private final float[] frame;
+    private int frameFill;
+
+    // preroll 링 버퍼 (프레임 단위)
+    private final float[] preroll;
+    private final int prerollFrames;
+    private int prerollStart;
+    private int prerollCount;
+
+    // 최근 프레임 에너지(dB) 링 버퍼 - 최소값 추적으로 잡음 레벨 추정
+    private final double[] energyHistory;
+    private int energyIndex;
+    private int energyCount;
+    private double noiseDb;
+    private int hangover;
+    private boolean speaking;
+
+    private long totalSamples;
+    private long speechSamples;   // 실제 음성으로 판정된 프레임 샘플 수
+    private long emittedSamples;  // 출력된 샘플 수 (hangover/preroll 포함)
+
+    // SNR 추정용: 음성/무음 판정 프레임별 평균 에너지 합
+    private double speechEnergy;
+    private long speechFrames;
+    private double noiseEnergy;
+    private long noiseFrames;
+
+    /**
+     * @param sampleRate      Hz
+     * @param frameMs         분석 프레임 길이 (보통 20ms)
+     * @param hangoverMs      음성 종료 후 유지 시간
+     * @param prerollMs       음성 시작 전 함께 내보낼 시간
+     * @param absoluteFloorDb 이 레벨 이하는 항상 무음 (dBFS)
+     * @param marginDb        잡음 레벨 대비 음성 판정 여유 (dB)
+     * @param maxZcr          음성으로 볼 최대 ZCR (0..1, 샘플당 부호 변화 비율)
+     * @param kernels         프레임 에너지 계산용 DSP 커널
+     */
+    public VoiceActivityDetector(int sampleRate, int frameMs, int hangoverMs, int prerollMs,
+                                 double absoluteFloorDb, double marginDb, double maxZcr, DspKernels kernels) {
+        this.kernels = kernels;
+        this.frameLength = Math.max(1, sampleRate * frameMs / 1000);
+        this.hangoverFrames = Math.max(0, hangoverMs / Math.max(1, frameMs));
+        this.prerollFrames = Math.max(0, prerollMs / Math.max(1, frameMs));
+        this.absoluteFloorDb = absoluteFloorDb;
+        this.marginDb = marginDb;
+        this.maxZcr = maxZcr;
+        this.frame = new float[frameLength];
+        this.preroll = new float[prerollFrames * frameLength];
+        this.energyHistory = new double[Math.max(1, NOISE_WINDOW_MS / Math.max(1, frameMs))];
+        this.noiseRisePerFrame = NOISE_RISE_DB_PER_SEC * frameMs / 1000.0;
+        this.noiseDb = absoluteFloorDb;
+    }
+
+    /**
+     * 입력 n 개에 대해 필요한 최대 출력 버퍼 크기
+     */
+    public int maxOutput(int n) {
+        return n + (prerollFrames + 1) * frameLength;
+    }
+
+    /**
+     * 입력 블록 처리, 음성 구간만 out 에 기록하고 기록한 수 반환
+     */
+    public int process(float[] in, int n, float[] out) {
+        int written = 0;
+        int i = 0;
+        while (i < n) {
+            int take = Math.min(frameLength - frameFill, n - i);
+            System.arraycopy(in, i, frame, frameFill, take);
+            frameFill += take;
+            i += take;
+            if (frameFill == frameLength) {
+                written += processFrame(frameLength, out, written);
+                frameFill = 0;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 마지막 불완전 프레임 처리
+     */
+    public int flush(float[] out) {
+        if (frameFill == 0) return 0;
+        int written = processFrame(frameFill, out, 0);
+        frameFill = 0;
+        return written;
+    }
+
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    public long getSpeechSamples() {
+        return speechSamples;
+    }
+
+    public long getEmittedSamples() {
+        return emittedSamples;
+    }
+
+    /**
+     * 음성 프레임 대 무음 프레임 평균 에너지 비 (dB)
+     * 무음 구간이 0.5초 미만이면 추정 불가 (NaN)
+     */
+    public double estimateSnrDb() {
+        long minNoiseFrames = Math.max(1, energyHistory.length / 4);
+        if (speechFrames == 0 || noiseFrames < minNoiseFrames) {
+            return Double.NaN;
+        }
+        double noise = noiseEnergy / noiseFrames;
+        double signal = speechEnergy / speechFrames - noise;
+        if (signal <= 0) {
+            return 0.0;
+        }
+        if (noise <= 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, 10 * Math.log10(signal / noise));
+    }
+
+    private int processFrame(int length, float[] out, int offset) {
+        totalSamples += length;
+        boolean voiced = classify(length);
+
+        int written = 0;
+        if (voiced) {
+            speechSamples += length;
+            hangover = hangoverFrames;
+            if (!speaking) {
+                written += drainPreroll(out, offset);
+                speaking = true;
+            }
+        } else if (speaking && hangover > 0) {
+            hangover--;
+        } else {
+            speaking = false;
+            pushPreroll(length);
+            return 0;
+        }
+
+        System.arraycopy(frame, 0, out, offset + written, length);
+        written += length;
+        emittedSamples += written;
+        return written;
+    }
+
+    private boolean classify(int length) {
+        double energy = kernels.sumOfSquares(frame, 0, length);
+        int crossings = 0;
+        float prev = frame[0];
+        for (int i = 0; i < length; i++) {
+            float s = frame[i];
+            if ((s >= 0) != (prev >= 0)) crossings++;
+            prev = s;
+        }
+        double db = energy <= 0 ? -120.0 : 10 * Math.log10(energy / length);
+        double zcr = (double) crossings / length;
+
+        // 잡음 레벨: 최근 구간 최소 에너지 (음절 사이 짧은 휴지만 있어도 바닥 소음을 잡음)
+        // 바닥에서 시작해 천천히만 올라가므로 처음부터 말하는 녹음이나 쉼 없는 발화도 잘리지 않음
+        energyHistory[energyIndex] = db;
+        energyIndex = (energyIndex + 1) % energyHistory.length;
+        if (energyCount < energyHistory.length) energyCount++;
+        double windowMin = db;
+        for (int k = 0; k < energyCount; k++) {
+            if (energyHistory[k] < windowMin) windowMin = energyHistory[k];
+        }
+        noiseDb = Math.min(windowMin, noiseDb + noiseRisePerFrame);
+
+        double threshold = Math.max(absoluteFloorDb, noiseDb + marginDb);
+        // 에너지가 아주 크면 ZCR 과 무관하게 음성 (마찰음), 애매하면 ZCR 로 히스 잡음 배제
+        boolean voiced = db >= threshold && (zcr <= maxZcr || db >= noiseDb + STRONG_MARGIN_DB);
+        if (voiced) {
+            speechEnergy += energy / length;
+            speechFrames++;
+        } else {
+            noiseEnergy += energy / length;
+            noiseFrames++;
+        }
+        return voiced;
+    }
+
+    private void pushPreroll(int length) {
+        if (prerollFrames == 0 || length < frameLength) return;
+        int slot = (prerollStart + prerollCount) % prerollFrames;
+        if (prerollCount == prerollFrames) {
+            slot = prerollStart;
+            prerollStart = (prerollStart + 1) % prerollFrames;
+        } else {
+            prerollCount++;
+        }
+        System.arraycopy(frame, 0, preroll, slot * frameLength, frameLength);
+    }
+
+    private int drainPreroll(float[] out, int offset) {
+        int written = 0;
+        for (int k = 0; k < prerollCount; k++) {
+            int slot = (prerollStart + k) % prerollFrames;
+            System.arraycopy(preroll, slot * frameLength, out, offset + written, frameLength);
+            written += frameLength;
+        }
+        prerollStart = 0;
+        prerollCount = 0;
+        return written;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.service.audio.dsp.DspKernels;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 다중 해상도 min/max 파형 피크 (모노 float 입력, 스트리밍)
+ * - 해상도는 초당 픽셀 수(pps) 단위, 레벨마다 samplesPerPixel = sampleRate / pps
+ * - 결과는 audiowaveform .dat v1 형식 (peaks.js 등에서 바로 사용 가능)
+ *   int32 version=1, uint32 flags(bit0 = 8bit), int32 sampleRate, int32 samplesPerPixel, uint32 length, (min,max)*
+ * 픽셀 구간 min/max 는 DspKernels 로 계산, 버퍼는 생성 시 최대 길이 기준으로 한 번만 할당
+ */
+public final class WaveformPeaks {
+
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    private static final int HEADER_BYTES = 20;
+
+    private final DspKernels kernels;
+    private final int sampleRate;
+    private final int[] levels;           // pps
+    private final int[] samplesPerPixel;
+    private final float[][] mins;
+    private final float[][] maxs;
+    private final int[] lengths;
+    private final int[] fill;
+    private final float[] currentMin;
+    private final float[] currentMax;
+
+    public WaveformPeaks(int sampleRate, int[] pixelsPerSecond, long maxFrames, DspKernels kernels) {
+        this.kernels = kernels;
+        this.sampleRate = sampleRate;
+        this.levels = pixelsPerSecond.clone();
+        int n = levels.length;
+        this.samplesPerPixel = new int[n];
+        this.mins = new float[n][];
+        this.maxs = new float[n][];
+        this.lengths = new int[n];
+        this.fill = new int[n];
+        this.currentMin = new float[n];
+        this.currentMax = new float[n];
+
+        for (int i = 0; i < n; i++) {
+            samplesPerPixel[i] = Math.max(1, Math.round((float) sampleRate / levels[i]));
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, maxFrames / samplesPerPixel[i] + 2);
+            mins[i] = new float[capacity];
+            maxs[i] = new float[capacity];
+            currentMin[i] = Float.MAX_VALUE;
+            currentMax[i] = -Float.MAX_VALUE;
+        }
+    }
+
+    public void accept(float[] samples, int count) {
+        for (int l = 0; l < levels.length; l++) {
+            int spp = samplesPerPixel[l];
+            float min = currentMin[l];
+            float max = currentMax[l];
+            int f = fill[l];
+            int i = 0;
+            while (i < count) {
+                int take = Math.min(spp - f, count - i);
+                min = Math.min(min, kernels.min(samples, i, take));
+                max = Math.max(max, kernels.max(samples, i, take));
+                f += take;
+                i += take;
+                if (f == spp) {
+                    emit(l, min, max);
+                    min = Float.MAX_VALUE;
+                    max = -Float.MAX_VALUE;
+                    f = 0;
+                }
+            }
+            currentMin[l] = min;
+            currentMax[l] = max;
+            fill[l] = f;
+        }
+    }
+
+    /**
+     * 마지막 불완전 픽셀 반영
+     */
+    public void finish() {
+        for (int l = 0; l < levels.length; l++) {
+            if (fill[l] > 0) {
+                emit(l, currentMin[l], currentMax[l]);
+                fill[l] = 0;
+            }
+        }
+    }
+
+    public int[] getLevels() {
+        return levels.clone();
+    }
+
+    /**
+     * 레벨별 .dat 바이트 (bits: 8 또는 16)
+     */
+    public byte[] toDat(int levelIndex, int bits) {
+        boolean eightBit = bits == 8;
+        int length = lengths[levelIndex];
+        int bytesPerValue = eightBit ? 1 : 2;
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + length * 2 * bytesPerValue).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(1)
+                .putInt(eightBit ? 1 : 0)
+                .putInt(sampleRate)
+                .putInt(samplesPerPixel[levelIndex])
+                .putInt(length);
+
+        float[] min = mins[levelIndex];
+        float[] max = maxs[levelIndex];
+        for (int i = 0; i < length; i++) {
+            if (eightBit) {
+                out.put(quantize8(min[i])).put(quantize8(max[i]));
+            } else {
+                out.putShort(quantize16(min[i])).putShort(quantize16(max[i]));
+            }
+        }
+        return out.array();
+    }
+
+    private void emit(int level, float min, float max) {
+        int i = lengths[level];
+        if (i < mins[level].length) {
+            mins[level][i] = min;
+            maxs[level][i] = max;
+            lengths[level] = i + 1;
+        }
+    }
+
+    private static byte quantize8(float v) {
+        return (byte) Math.max(-128, Math.min(127, Math.round(v * 127f)));
+    }
+
+    private static short quantize16(float v) {
+        return (short) Math.max(-32768, Math.min(32767, Math.round(v * 32767f)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.AudIon.service.audio;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.service.storage.BlobNotFoundException;
+import com.example.AudIon.service.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 파형 피크 sidecar 저장/조회
+ * - 원본 키 옆 {base}.peaks/{pps}.dat 로 레벨별 저장 (audiowaveform .dat v1)
+ * - 조회는 S3 ETag(MD5, strong) 조건부 GET → 변경 없으면 본문 없이 304
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaveformPeaksService {
+
+    private static final String PEAKS_SUFFIX = ".peaks/";
+
+    private final S3Service s3Service;
+
+    @Value("${app.peaks.bits:8}")
+    private int bits;
+
+    /** 조회 결과 (notModified 면 data 는 null) */
+    public record PeaksContent(int pixelsPerSecond, String eTag, byte[] data, boolean notModified) {}
+
+    /**
+     * 모든 레벨 업로드 후 VoiceFile 에 접두사/레벨 기록
+     */
+    public void store(VoiceFile voiceFile, WaveformPeaks peaks) {
+        String prefix = prefixFor(voiceFile.getS3Key());
+        int[] levels = peaks.getLevels();
+        for (int i = 0; i < levels.length; i++) {
+            s3Service.uploadBytes(prefix + levels[i] + ".dat", peaks.toDat(i, bits), WaveformPeaks.CONTENT_TYPE);
+        }
+        voiceFile.setPeaksS3Key(prefix);
+        voiceFile.setPeaksLevels(Arrays.stream(levels).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 요청 해상도 이상인 가장 낮은 레벨 (없으면 가장 높은 레벨) 조회
+     */
+    public Optional<PeaksContent> load(VoiceFile voiceFile, Integer resolution, String ifNoneMatch) throws IOException {
+        if (!StringUtils.hasText(voiceFile.getPeaksS3Key()) || !StringUtils.hasText(voiceFile.getPeaksLevels())) {
+            return Optional.empty();
+        }
+
+        int level = selectLevel(parseLevels(voiceFile.getPeaksLevels()), resolution);
+        String key = voiceFile.getPeaksS3Key() + level + ".dat";
+        String eTag = unquote(ifNoneMatch);
+
+        try (BlobStore.Blob blob = s3Service.getObjectIfNoneMatch(key, eTag)) {
+            if (blob == null) {
+                return Optional.of(new PeaksContent(level, eTag, null, true));
+            }
+            return Optional.of(new PeaksContent(level, blob.info().eTag(), blob.content().readAllBytes(), false));
+        } catch (BlobNotFoundException e) {
+            log.warn("Peaks sidecar missing: {}", key);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 레벨별 sidecar 키 (없으면 빈 목록)
+     */
+    public List<String> keys(VoiceFile voiceFile) {
+        if (!StringUtils.hasText(voiceFile.getPeaksS3Key()) || !StringUtils.hasText(voiceFile.getPeaksLevels())) {
+            return List.of();
+        }
+        return Arrays.stream(parseLevels(voiceFile.getPeaksLevels()))
+                .mapToObj(level -> voiceFile.getPeaksS3Key() + level + ".dat")
+                .toList();
+    }
+
+    static String prefixFor(String s3Key) {
+        int dot = s3Key.lastIndexOf('.');
+        int slash = s3Key.lastIndexOf('/');
+        return (dot > slash ? s3Key.substring(0, dot) : s3Key) + PEAKS_SUFFIX;
+    }
+
+    private static int selectLevel(int[] levels, Integer resolution) {
+        int[] sorted = levels.clone();
+        Arrays.sort(sorted);
+        if (resolution == null || resolution <= 0) {
+            return sorted[sorted.length - 1];
+        }
+        for (int level : sorted) {
+            if (level >= resolution) {
+                return level;
+            }
+        }
+        return sorted[sorted.length - 1];
+    }
+
+    private static int[] parseLevels(String levels) {
+        return Arrays.stream(levels.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    private static String unquote(String eTag) {
+        if (!StringUtils.hasText(eTag)) {
+            return null;
+        }
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            return null; // 약한 검증자는 바이트 단위 비교에 쓰지 않음
+        }
+        return value.replace("\"", "");
+    }
+}
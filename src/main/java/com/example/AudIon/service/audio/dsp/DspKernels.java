@@ -0,0 +1,99 @@
+package com.example.AudIon.service.audio.dsp;
+
+/**
+ * 오디오 처리 공통 float 루프 커널
+ * - 구현: ScalarDspKernels (항상 사용 가능), VectorDspKernels (jdk.incubator.vector, SIMD)
+ * - 기동 시 select() 로 한 번 고르고 전처리/분석 단계 전체가 같은 인스턴스를 사용
+ * - 모든 메서드는 상태가 없고 스레드 안전 (FFT 테이블은 크기별로 공유 캐시)
+ * - 스칼라/벡터 구현은 합산 순서 차이 외에는 같은 결과를 냄 (floatToInt16 반올림 규칙 동일)
+ */
+public interface DspKernels {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /** 구현 이름 (로그/메트릭용) */
+    String name();
+
+    /**
+     * little-endian int16 → float(-1..1), n 개 샘플
+     */
+    void int16ToFloat(byte[] src, int srcOffset, float[] dst, int dstOffset, int n);
+
+    /**
+     * float * gain → -1..1 로 자른 뒤 little-endian int16 (반올림: 0에서 먼 쪽)
+     */
+    void floatToInt16(float[] src, int srcOffset, byte[] dst, int dstOffset, int n, float gain);
+
+    /**
+     * 제자리 게인 적용
+     */
+    void gain(float[] x, int offset, int n, float gain);
+
+    /**
+     * 제곱합 (RMS/에너지 계산용, double 누적)
+     */
+    double sumOfSquares(float[] x, int offset, int n);
+
+    /**
+     * 최대 절댓값
+     */
+    float peak(float[] x, int offset, int n);
+
+    /**
+     * 절댓값이 threshold 이상인 샘플 수 (클리핑 집계)
+     */
+    int countAtLeast(float[] x, int offset, int n, float threshold);
+
+    /**
+     * 최솟값/최댓값 (빈 구간이면 +MAX / -MAX)
+     */
+    float min(float[] x, int offset, int n);
+
+    float max(float[] x, int offset, int n);
+
+    /**
+     * 내적 Σ a[aOffset+k] * b[bOffset+k]
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int n);
+
+    /**
+     * FIR (상관 형태) y[yOffset+i] = Σ_k h[k] * x[xOffset+i+k], i < n
+     * x 는 xOffset + n + h.length - 1 까지 유효해야 함
+     */
+    void fir(float[] x, int xOffset, float[] h, float[] y, int yOffset, int n);
+
+    /**
+     * 제자리 복소 FFT (radix-2, n 은 2의 거듭제곱)
+     */
+    void fft(float[] re, float[] im, int n);
+
+    /**
+     * 복소 크기 |re + i·im|, bins 개
+     */
+    void magnitude(float[] re, float[] im, float[] out, int bins);
+
+    /**
+     * FFT 후 0..n/2 bin 의 크기 (re/im 은 덮어씀, out 은 n/2+1 이상)
+     */
+    default void fftMagnitude(float[] re, float[] im, float[] out, int n) {
+        fft(re, im, n);
+        magnitude(re, im, out, n / 2 + 1);
+    }
+
+    /**
+     * 사용 가능한 가장 빠른 구현 선택 (벡터 모듈이 런타임에 없으면 스칼라)
+     * VectorDspKernels 는 리플렉션으로만 로드해 모듈이 없을 때 클래스 로딩 오류가 나지 않게 함
+     */
+    static DspKernels select(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (DspKernels) Class.forName(DspKernels.class.getPackageName() + ".VectorDspKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 지원하지 않는 CPU/JVM - 스칼라로 대체 (호출 측에서 name() 으로 확인)
+            }
+        }
+        return new ScalarDspKernels();
+    }
+}
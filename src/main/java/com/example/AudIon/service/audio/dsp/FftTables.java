@@ -0,0 +1,66 @@
+package com.example.AudIon.service.audio.dsp;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * radix-2 FFT 용 크기별 테이블 (비트 역순 인덱스 + 단계별 연속 twiddle)
+ * - 단계(len = 2, 4, ..., n)마다 half = len/2 개 twiddle 을 이어 붙여 저장 → 벡터 구현이 연속 구간으로 읽음
+ * - 크기별로 한 번 만들어 공유 (불변)
+ */
+final class FftTables {
+
+    private static final ConcurrentMap<Integer, FftTables> CACHE = new ConcurrentHashMap<>();
+
+    final int size;
+    final int[] swaps;   // (i, j) 쌍, i < j
+    final float[] cos;   // 단계 len 의 twiddle 은 [len/2 - 1, len - 1) 구간
+    final float[] sin;
+
+    private FftTables(int n) {
+        this.size = n;
+        int bits = Integer.numberOfTrailingZeros(n);
+        int count = 0;
+        int[] pairs = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = Integer.reverse(i) >>> (32 - bits);
+            if (bits > 0 && i < j) {
+                pairs[count++] = i;
+                pairs[count++] = j;
+            }
+        }
+        this.swaps = Arrays.copyOf(pairs, count);
+
+        this.cos = new float[Math.max(0, n - 1)];
+        this.sin = new float[Math.max(0, n - 1)];
+        for (int len = 2; len <= n; len <<= 1) {
+            int half = len >>> 1;
+            for (int j = 0; j < half; j++) {
+                double angle = -2 * Math.PI * j / len;
+                cos[half - 1 + j] = (float) Math.cos(angle);
+                sin[half - 1 + j] = (float) Math.sin(angle);
+            }
+        }
+    }
+
+    static FftTables forSize(int n) {
+        if (n < 1 || Integer.bitCount(n) != 1) {
+            throw new IllegalArgumentException("FFT 크기는 2의 거듭제곱이어야 합니다: " + n);
+        }
+        return CACHE.computeIfAbsent(n, FftTables::new);
+    }
+
+    void permute(float[] re, float[] im) {
+        for (int k = 0; k < swaps.length; k += 2) {
+            int i = swaps[k];
+            int j = swaps[k + 1];
+            float t = re[i];
+            re[i] = re[j];
+            re[j] = t;
+            t = im[i];
+            im[i] = im[j];
+            im[j] = t;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.AudIon.service.audio.dsp;
+
+/**
+ * 순수 Java 스칼라 구현 (항상 사용 가능, 벡터 구현의 기준 동작)
+ */
+public class ScalarDspKernels implements DspKernels {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void int16ToFloat(byte[] src, int srcOffset, float[] dst, int dstOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            int p = srcOffset + 2 * i;
+            dst[dstOffset + i] = (short) ((src[p] & 0xFF) | (src[p + 1] << 8)) / 32768f;
+        }
+    }
+
+    @Override
+    public void floatToInt16(float[] src, int srcOffset, byte[] dst, int dstOffset, int n, float gain) {
+        for (int i = 0; i < n; i++) {
+            short s = toInt16(src[srcOffset + i] * gain);
+            int p = dstOffset + 2 * i;
+            dst[p] = (byte) s;
+            dst[p + 1] = (byte) (s >> 8);
+        }
+    }
+
+    @Override
+    public void gain(float[] x, int offset, int n, float gain) {
+        for (int i = offset, end = offset + n; i < end; i++) {
+            x[i] *= gain;
+        }
+    }
+
+    @Override
+    public double sumOfSquares(float[] x, int offset, int n) {
+        double sum = 0;
+        for (int i = offset, end = offset + n; i < end; i++) {
+            double v = x[i];
+            sum += v * v;
+        }
+        return sum;
+    }
+
+    @Override
+    public float peak(float[] x, int offset, int n) {
+        float peak = 0f;
+        for (int i = offset, end = offset + n; i < end; i++) {
+            float abs = Math.abs(x[i]);
+            if (abs > peak) peak = abs;
+        }
+        return peak;
+    }
+
+    @Override
+    public int countAtLeast(float[] x, int offset, int n, float threshold) {
+        int count = 0;
+        for (int i = offset, end = offset + n; i < end; i++) {
+            if (Math.abs(x[i]) >= threshold) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public float min(float[] x, int offset, int n) {
+        float min = Float.MAX_VALUE;
+        for (int i = offset, end = offset + n; i < end; i++) {
+            if (x[i] < min) min = x[i];
+        }
+        return min;
+    }
+
+    @Override
+    public float max(float[] x, int offset, int n) {
+        float max = -Float.MAX_VALUE;
+        for (int i = offset, end = offset + n; i < end; i++) {
+            if (x[i] > max) max = x[i];
+        }
+        return max;
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int n) {
+        float sum = 0f;
+        for (int k = 0; k < n; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void fir(float[] x, int xOffset, float[] h, float[] y, int yOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            y[yOffset + i] = dot(h, 0, x, xOffset + i, h.length);
+        }
+    }
+
+    @Override
+    public void fft(float[] re, float[] im, int n) {
+        FftTables tables = FftTables.forSize(n);
+        tables.permute(re, im);
+        for (int len = 2; len <= n; len <<= 1) {
+            int half = len >>> 1;
+            butterflies(re, im, n, len, 0, half, tables.cos, tables.sin, half - 1);
+        }
+    }
+
+    @Override
+    public void magnitude(float[] re, float[] im, float[] out, int bins) {
+        for (int i = 0; i < bins; i++) {
+            out[i] = (float) Math.sqrt(re[i] * re[i] + im[i] * im[i]);
+        }
+    }
+
+    /**
+     * 단계 len 의 버터플라이 중 j ∈ [from, to) 부분 (벡터 구현의 나머지 처리에도 사용)
+     */
+    static void butterflies(float[] re, float[] im, int n, int len, int from, int to,
+                            float[] cos, float[] sin, int twiddleOffset) {
+        int half = len >>> 1;
+        for (int k = 0; k < n; k += len) {
+            for (int j = from; j < to; j++) {
+                float wr = cos[twiddleOffset + j];
+                float wi = sin[twiddleOffset + j];
+                int a = k + j;
+                int b = a + half;
+                float xr = re[b] * wr - im[b] * wi;
+                float xi = re[b] * wi + im[b] * wr;
+                re[b] = re[a] - xr;
+                im[b] = im[a] - xi;
+                re[a] += xr;
+                im[a] += xi;
+            }
+        }
+    }
+
+    /**
+     * -1..1 로 자른 뒤 0에서 먼 쪽으로 반올림 (벡터 구현과 같은 규칙)
+     */
+    static short toInt16(float v) {
+        v = Math.max(-1f, Math.min(1f, v)) * 32767f;
+        return (short) (v + Math.copySign(0.5f, v));
+    }
+}
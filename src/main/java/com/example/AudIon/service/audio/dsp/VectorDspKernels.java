@@ -0,0 +1,206 @@
+package com.example.AudIon.service.audio.dsp;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+
+/**
+ * Java Vector API (jdk.incubator.vector) 구현
+ * - CPU 가 지원하는 가장 넓은 float 레인 수 사용 (AVX2 8개, AVX-512 16개)
+ * - int16 변환은 같은 레인 수의 short 벡터(절반 폭)와 castShape 로 처리
+ * - 나머지 구간과 짧은 FFT 단계는 스칼라 구현으로 처리
+ * - 실행 시 --add-modules jdk.incubator.vector 가 필요 (없으면 DspKernels.select 가 스칼라 선택)
+ */
+final class VectorDspKernels extends ScalarDspKernels {
+
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final int L = F.length();
+    private static final int SUM_BLOCK = 1024; // float 누적 오차를 줄이기 위해 블록마다 double 로 합산
+
+    private final VectorSpecies<Short> shorts;
+
+    VectorDspKernels() {
+        if (F.vectorBitSize() < 128) {
+            throw new UnsupportedOperationException("SIMD width too small: " + F.vectorBitSize());
+        }
+        this.shorts = VectorSpecies.of(short.class, VectorShape.forBitSize(F.vectorBitSize() / 2));
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + F.vectorBitSize();
+    }
+
+    @Override
+    public void int16ToFloat(byte[] src, int srcOffset, float[] dst, int dstOffset, int n) {
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            ShortVector s = ShortVector.fromByteArray(shorts, src, srcOffset + 2 * i, ByteOrder.LITTLE_ENDIAN);
+            ((FloatVector) s.castShape(F, 0)).mul(1f / 32768f).intoArray(dst, dstOffset + i);
+        }
+        super.int16ToFloat(src, srcOffset + 2 * i, dst, dstOffset + i, n - i);
+    }
+
+    @Override
+    public void floatToInt16(float[] src, int srcOffset, byte[] dst, int dstOffset, int n, float gain) {
+        FloatVector positiveHalf = FloatVector.broadcast(F, 0.5f);
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            FloatVector v = FloatVector.fromArray(F, src, srcOffset + i)
+                    .mul(gain)
+                    .max(-1f)
+                    .min(1f)
+                    .mul(32767f);
+            VectorMask<Float> negative = v.compare(VectorOperators.LT, 0f);
+            v = v.add(positiveHalf.blend(-0.5f, negative));
+            ((ShortVector) v.castShape(shorts, 0)).intoByteArray(dst, dstOffset + 2 * i, ByteOrder.LITTLE_ENDIAN);
+        }
+        super.floatToInt16(src, srcOffset + i, dst, dstOffset + 2 * i, n - i, gain);
+    }
+
+    @Override
+    public void gain(float[] x, int offset, int n, float gain) {
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            FloatVector.fromArray(F, x, offset + i).mul(gain).intoArray(x, offset + i);
+        }
+        super.gain(x, offset + i, n - i, gain);
+    }
+
+    @Override
+    public double sumOfSquares(float[] x, int offset, int n) {
+        double sum = 0;
+        int i = 0;
+        while (i <= n - L) {
+            FloatVector acc = FloatVector.zero(F);
+            int end = Math.min(n - L, i + SUM_BLOCK);
+            for (; i <= end; i += L) {
+                FloatVector v = FloatVector.fromArray(F, x, offset + i);
+                acc = v.fma(v, acc);
+            }
+            sum += acc.reduceLanes(VectorOperators.ADD);
+        }
+        return sum + super.sumOfSquares(x, offset + i, n - i);
+    }
+
+    @Override
+    public float peak(float[] x, int offset, int n) {
+        FloatVector acc = FloatVector.zero(F);
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            acc = acc.max(FloatVector.fromArray(F, x, offset + i).abs());
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), super.peak(x, offset + i, n - i));
+    }
+
+    @Override
+    public int countAtLeast(float[] x, int offset, int n, float threshold) {
+        int count = 0;
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            count += FloatVector.fromArray(F, x, offset + i).abs()
+                    .compare(VectorOperators.GE, threshold)
+                    .trueCount();
+        }
+        return count + super.countAtLeast(x, offset + i, n - i, threshold);
+    }
+
+    @Override
+    public float min(float[] x, int offset, int n) {
+        FloatVector acc = FloatVector.broadcast(F, Float.MAX_VALUE);
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            acc = acc.min(FloatVector.fromArray(F, x, offset + i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), super.min(x, offset + i, n - i));
+    }
+
+    @Override
+    public float max(float[] x, int offset, int n) {
+        FloatVector acc = FloatVector.broadcast(F, -Float.MAX_VALUE);
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            acc = acc.max(FloatVector.fromArray(F, x, offset + i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), super.max(x, offset + i, n - i));
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int n) {
+        FloatVector acc = FloatVector.zero(F);
+        int k = 0;
+        for (; k <= n - L; k += L) {
+            acc = FloatVector.fromArray(F, a, aOffset + k).fma(FloatVector.fromArray(F, b, bOffset + k), acc);
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + super.dot(a, aOffset + k, b, bOffset + k, n - k);
+    }
+
+    /**
+     * 출력 L 개를 한 벡터로 계산: 탭마다 계수를 브로드캐스트해 입력 창에 곱해 누적
+     */
+    @Override
+    public void fir(float[] x, int xOffset, float[] h, float[] y, int yOffset, int n) {
+        int i = 0;
+        for (; i <= n - L; i += L) {
+            FloatVector acc = FloatVector.zero(F);
+            for (int k = 0; k < h.length; k++) {
+                acc = FloatVector.fromArray(F, x, xOffset + i + k).fma(FloatVector.broadcast(F, h[k]), acc);
+            }
+            acc.intoArray(y, yOffset + i);
+        }
+        super.fir(x, xOffset + i, h, y, yOffset + i, n - i);
+    }
+
+    @Override
+    public void fft(float[] re, float[] im, int n) {
+        FftTables tables = FftTables.forSize(n);
+        tables.permute(re, im);
+        float[] cos = tables.cos;
+        float[] sin = tables.sin;
+        for (int len = 2; len <= n; len <<= 1) {
+            int half = len >>> 1;
+            int twiddleOffset = half - 1;
+            if (half < L) {
+                butterflies(re, im, n, len, 0, half, cos, sin, twiddleOffset);
+                continue;
+            }
+            // half 와 L 모두 2의 거듭제곱 → half 는 L 의 배수, 나머지 없음
+            for (int k = 0; k < n; k += len) {
+                for (int j = 0; j < half; j += L) {
+                    int a = k + j;
+                    int b = a + half;
+                    FloatVector wr = FloatVector.fromArray(F, cos, twiddleOffset + j);
+                    FloatVector wi = FloatVector.fromArray(F, sin, twiddleOffset + j);
+                    FloatVector br = FloatVector.fromArray(F, re, b);
+                    FloatVector bi = FloatVector.fromArray(F, im, b);
+                    FloatVector xr = br.mul(wr).sub(bi.mul(wi));
+                    FloatVector xi = br.mul(wi).add(bi.mul(wr));
+                    FloatVector ar = FloatVector.fromArray(F, re, a);
+                    FloatVector ai = FloatVector.fromArray(F, im, a);
+                    ar.sub(xr).intoArray(re, b);
+                    ai.sub(xi).intoArray(im, b);
+                    ar.add(xr).intoArray(re, a);
+                    ai.add(xi).intoArray(im, a);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void magnitude(float[] re, float[] im, float[] out, int bins) {
+        int i = 0;
+        for (; i <= bins - L; i += L) {
+            FloatVector r = FloatVector.fromArray(F, re, i);
+            FloatVector m = FloatVector.fromArray(F, im, i);
+            r.mul(r).add(m.mul(m)).lanewise(VectorOperators.SQRT).intoArray(out, i);
+        }
+        for (; i < bins; i++) {
+            out[i] = (float) Math.sqrt(re[i] * re[i] + im[i] * im[i]);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.AudIon.service.audio.flac;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * MSB 우선 비트 읽기 + 읽은 바이트의 CRC-8/CRC-16 누적 (프레임 검증용)
+ */
+final class FlacBitReader {
+
+    private final InputStream in;
+    private int cache;
+    private int cacheBits;
+    private int crc8;
+    private int crc16;
+
+    FlacBitReader(InputStream in) {
+        this.in = in;
+    }
+
+    void resetCrc() {
+        crc8 = 0;
+        crc16 = 0;
+    }
+
+    int crc8() {
+        return crc8;
+    }
+
+    int crc16() {
+        return crc16;
+    }
+
+    boolean isAligned() {
+        return cacheBits == 0;
+    }
+
+    void alignToByte() {
+        cacheBits = 0;
+    }
+
+    /**
+     * n 비트 읽기 (n ≤ 57)
+     */
+    long readBits(int n) throws IOException {
+        long result = 0;
+        while (n > 0) {
+            if (cacheBits == 0) {
+                fetch();
+            }
+            int take = Math.min(n, cacheBits);
+            int bits = (cache >>> (cacheBits - take)) & ((1 << take) - 1);
+            result = (result << take) | bits;
+            cacheBits -= take;
+            n -= take;
+        }
+        return result;
+    }
+
+    int readInt(int n) throws IOException {
+        return (int) readBits(n);
+    }
+
+    int readSigned(int n) throws IOException {
+        long v = readBits(n);
+        return (int) ((v << (64 - n)) >> (64 - n));
+    }
+
+    long readUnary() throws IOException {
+        long zeros = 0;
+        while (true) {
+            if (cacheBits == 0) {
+                fetch();
+            }
+            int rest = cache & ((1 << cacheBits) - 1);
+            if (rest == 0) {
+                zeros += cacheBits;
+                cacheBits = 0;
+                continue;
+            }
+            int top = 31 - Integer.numberOfLeadingZeros(rest);
+            zeros += cacheBits - 1 - top;
+            cacheBits = top;
+            return zeros;
+        }
+    }
+
+    int readRice(int k) throws IOException {
+        long u = (readUnary() << k) | readBits(k);
+        return (int) ((u >>> 1) ^ -(u & 1));
+    }
+
+    long readUtf8() throws IOException {
+        int first = readInt(8);
+        if ((first & 0x80) == 0) {
+            return first;
+        }
+        int bytes = Integer.numberOfLeadingZeros(~(first << 24));
+        if (bytes < 2 || bytes > 7) {
+            throw new IOException("Invalid UTF-8 frame number");
+        }
+        long value = bytes == 7 ? 0 : first & (0x7F >> bytes);
+        for (int i = 1; i < bytes; i++) {
+            int b = readInt(8);
+            if ((b & 0xC0) != 0x80) {
+                throw new IOException("Invalid UTF-8 continuation byte");
+            }
+            value = (value << 6) | (b & 0x3F);
+        }
+        return value;
+    }
+
+    void skipBytes(long n) throws IOException {
+        for (long i = 0; i < n; i++) {
+            readBits(8);
+        }
+    }
+
+    private void fetch() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of FLAC stream");
+        }
+        cache = b;
+        cacheBits = 8;
+        crc8 = FlacCrc.crc8(crc8, b);
+        crc16 = FlacCrc.crc16(crc16, b);
+    }
+}
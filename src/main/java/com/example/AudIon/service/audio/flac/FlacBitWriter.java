@@ -0,0 +1,103 @@
+package com.example.AudIon.service.audio.flac;
+
+import java.util.Arrays;
+
+/**
+ * MSB 우선 비트 기록기 (프레임 하나 단위로 재사용)
+ */
+final class FlacBitWriter {
+
+    private byte[] buffer;
+    private int length;
+    private long accumulator;
+    private int accumulatorBits;
+
+    FlacBitWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(64, initialCapacity)];
+    }
+
+    void reset() {
+        length = 0;
+        accumulator = 0;
+        accumulatorBits = 0;
+    }
+
+    /**
+     * value 의 하위 n 비트 기록 (n ≤ 32)
+     */
+    void writeBits(long value, int n) {
+        if (n == 0) {
+            return;
+        }
+        accumulator = (accumulator << n) | (value & ((1L << n) - 1));
+        accumulatorBits += n;
+        while (accumulatorBits >= 8) {
+            accumulatorBits -= 8;
+            put((byte) (accumulator >>> accumulatorBits));
+        }
+    }
+
+    void writeSigned(int value, int bits) {
+        writeBits(value, bits);
+    }
+
+    /**
+     * q 개의 0 다음 1
+     */
+    void writeUnary(long q) {
+        while (q >= 32) {
+            writeBits(0, 32);
+            q -= 32;
+        }
+        writeBits(1, (int) q + 1);
+    }
+
+    /**
+     * 부호 있는 값을 zigzag 후 Rice(k) 부호화
+     */
+    void writeRice(int value, int k) {
+        long u = ((long) value << 1) ^ ((long) value >> 63);
+        writeUnary(u >>> k);
+        writeBits(u, k);
+    }
+
+    /**
+     * FLAC 프레임 번호 (UTF-8 유사 가변 길이, 최대 36비트)
+     */
+    void writeUtf8(long value) {
+        if (value < 0x80) {
+            writeBits(value, 8);
+            return;
+        }
+        int bytes = value < 0x800 ? 2 : value < 0x10000 ? 3 : value < 0x200000 ? 4
+                : value < 0x4000000 ? 5 : value < 0x80000000L ? 6 : 7;
+        int shift = (bytes - 1) * 6;
+        int lead = bytes == 7 ? 0xFE : (0xFF00 >> bytes) & 0xFF;
+        writeBits(lead | (value >>> shift), 8);
+        for (shift -= 6; shift >= 0; shift -= 6) {
+            writeBits(0x80 | ((value >>> shift) & 0x3F), 8);
+        }
+    }
+
+    void alignToByte() {
+        if (accumulatorBits > 0) {
+            writeBits(0, 8 - accumulatorBits);
+        }
+    }
+
+    /** 바이트 정렬 상태에서만 의미 있음 */
+    int length() {
+        return length;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    private void put(byte b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = b;
+    }
+}
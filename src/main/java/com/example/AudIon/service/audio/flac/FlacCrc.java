@@ -0,0 +1,49 @@
+package com.example.AudIon.service.audio.flac;
+
+/**
+ * FLAC 프레임 CRC (CRC-8 poly 0x07, CRC-16 poly 0x8005, 초기값 0, MSB 우선)
+ */
+final class FlacCrc {
+
+    private static final int[] CRC8 = new int[256];
+    private static final int[] CRC16 = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int c8 = i;
+            int c16 = i << 8;
+            for (int b = 0; b < 8; b++) {
+                c8 = (c8 & 0x80) != 0 ? (c8 << 1) ^ 0x07 : c8 << 1;
+                c16 = (c16 & 0x8000) != 0 ? (c16 << 1) ^ 0x8005 : c16 << 1;
+            }
+            CRC8[i] = c8 & 0xFF;
+            CRC16[i] = c16 & 0xFFFF;
+        }
+    }
+
+    private FlacCrc() {}
+
+    static int crc8(int crc, int b) {
+        return CRC8[(crc ^ b) & 0xFF];
+    }
+
+    static int crc16(int crc, int b) {
+        return ((crc << 8) ^ CRC16[((crc >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+    }
+
+    static int crc8(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc = crc8(crc, data[i]);
+        }
+        return crc;
+    }
+
+    static int crc16(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc = crc16(crc, data[i]);
+        }
+        return crc;
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.AudIon.service.audio.flac;
+
+import com.example.AudIon.service.audio.AudioInfo;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * FlacEncoder 출력 검증용 디코더
+ * - 프레임마다 CRC-8/CRC-16 확인, 디코딩 샘플을 원본 WAV data 청크와 샘플 단위로 비교
+ * - 끝까지 일치하고 STREAMINFO 의 MD5/샘플 수까지 맞아야 통과
+ * - FlacEncoder 가 쓰는 서브프레임(CONSTANT/VERBATIM/FIXED)만 지원, LPC 등은 불일치로 처리
+ */
+public final class FlacDecoder {
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    private FlacDecoder() {}
+
+    /**
+     * flac 이 wav(info 기준 data 청크)와 비트 단위로 같은지 확인
+     */
+    public static boolean matches(Path flac, Path wav, AudioInfo info) throws IOException {
+        int channels = info.channels();
+        int bps = info.bitsPerSample();
+        int bytesPerSample = bps / 8;
+        int frameBytes = channels * bytesPerSample;
+        long expectedSamples = info.dataLength() / frameBytes;
+
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(flac), READ_BUFFER);
+             FileChannel pcm = FileChannel.open(wav, StandardOpenOption.READ)) {
+            FlacBitReader reader = new FlacBitReader(stream);
+            if (reader.readBits(32) != 0x664C6143L) { // "fLaC"
+                return false;
+            }
+
+            StreamInfo streamInfo = null;
+            boolean last = false;
+            while (!last) {
+                last = reader.readBits(1) == 1;
+                int type = reader.readInt(7);
+                int length = reader.readInt(24);
+                if (type == 0) {
+                    streamInfo = StreamInfo.read(reader);
+                } else {
+                    reader.skipBytes(length);
+                }
+            }
+            if (streamInfo == null || streamInfo.sampleRate != info.sampleRate() || streamInfo.channels != channels
+                    || streamInfo.bitsPerSample != bps || streamInfo.totalSamples != expectedSamples) {
+                return false;
+            }
+
+            MessageDigest md5 = FlacEncoder.md5();
+            int maxBlock = Math.max(1, streamInfo.maxBlockSize);
+            int[][] samples = new int[channels][maxBlock];
+            ByteBuffer raw = ByteBuffer.allocate(maxBlock * frameBytes);
+            long position = info.dataOffset();
+            long decoded = 0;
+            long frameNumber = 0;
+
+            while (decoded < expectedSamples) {
+                int n = decodeFrame(reader, streamInfo, frameNumber++, samples);
+                if (n <= 0 || decoded + n > expectedSamples) {
+                    return false;
+                }
+                raw.clear().limit(n * frameBytes);
+                while (raw.hasRemaining()) {
+                    if (pcm.read(raw, position + raw.position()) < 0) {
+                        return false;
+                    }
+                }
+                if (!sameSamples(raw.array(), n, channels, bytesPerSample, samples, md5)) {
+                    return false;
+                }
+                position += (long) n * frameBytes;
+                decoded += n;
+            }
+            return stream.read() < 0 && MessageDigest.isEqual(md5.digest(), streamInfo.md5);
+        }
+    }
+
+    /**
+     * 프레임 하나 디코딩, 블록 크기 반환 (CRC/헤더 불일치면 -1)
+     */
+    private static int decodeFrame(FlacBitReader reader, StreamInfo streamInfo, long expectedFrame,
+                                   int[][] samples) throws IOException {
+        reader.resetCrc();
+        if (reader.readInt(16) != 0xFFF8) {
+            return -1;
+        }
+        int blockCode = reader.readInt(4);
+        int rateCode = reader.readInt(4);
+        int assignment = reader.readInt(4);
+        int sizeCode = reader.readInt(3);
+        reader.readBits(1);
+        long frameNumber = reader.readUtf8();
+        int n = switch (blockCode) {
+            case 6 -> reader.readInt(8) + 1;
+            case 7 -> reader.readInt(16) + 1;
+            case 12 -> 4096;
+            default -> -1;
+        };
+        int headerCrc = reader.crc8();
+        if (reader.readInt(8) != headerCrc || n <= 0 || n > samples[0].length || rateCode != 0
+                || frameNumber != expectedFrame || sizeCode != FlacEncoder.sampleSizeCode(streamInfo.bitsPerSample)) {
+            return -1;
+        }
+
+        int channels = streamInfo.channels;
+        int bps = streamInfo.bitsPerSample;
+        if (assignment <= FlacEncoder.INDEPENDENT_MAX) {
+            if (assignment + 1 != channels) {
+                return -1;
+            }
+            for (int c = 0; c < channels; c++) {
+                if (!decodeSubframe(reader, samples[c], n, bps)) {
+                    return -1;
+                }
+            }
+        } else {
+            if (channels != 2 || assignment > FlacEncoder.MID_SIDE) {
+                return -1;
+            }
+            int firstBps = assignment == FlacEncoder.SIDE_RIGHT ? bps + 1 : bps;
+            int secondBps = assignment == FlacEncoder.SIDE_RIGHT ? bps : bps + 1;
+            if (!decodeSubframe(reader, samples[0], n, firstBps) || !decodeSubframe(reader, samples[1], n, secondBps)) {
+                return -1;
+            }
+            restoreStereo(assignment, samples[0], samples[1], n);
+        }
+
+        reader.alignToByte();
+        int frameCrc = reader.crc16();
+        return reader.readInt(16) == frameCrc ? n : -1;
+    }
+
+    private static boolean decodeSubframe(FlacBitReader reader, int[] out, int n, int bps) throws IOException {
+        if (reader.readBits(1) != 0) {
+            return false;
+        }
+        int type = reader.readInt(6);
+        if (reader.readBits(1) != 0) {
+            return false; // wasted bits 는 쓰지 않음
+        }
+        if (type == FlacEncoder.SUBFRAME_CONSTANT) {
+            Arrays.fill(out, 0, n, reader.readSigned(bps));
+            return true;
+        }
+        if (type == FlacEncoder.SUBFRAME_VERBATIM) {
+            for (int i = 0; i < n; i++) {
+                out[i] = reader.readSigned(bps);
+            }
+            return true;
+        }
+        if ((type & 0x38) != FlacEncoder.SUBFRAME_FIXED || (type & 0x07) > FlacEncoder.MAX_FIXED_ORDER) {
+            return false;
+        }
+
+        int order = type & 0x07;
+        if (order >= n) {
+            return false;
+        }
+        for (int i = 0; i < order; i++) {
+            out[i] = reader.readSigned(bps);
+        }
+        int method = reader.readInt(2);
+        if (method > 1) {
+            return false;
+        }
+        int paramBits = method == 0 ? 4 : 5;
+        int escape = (1 << paramBits) - 1;
+        int partitionOrder = reader.readInt(4);
+        int partitions = 1 << partitionOrder;
+        if ((n & (partitions - 1)) != 0 || (n >> partitionOrder) <= order) {
+            return false;
+        }
+        int size = n >> partitionOrder;
+        int i = order;
+        for (int p = 0; p < partitions; p++) {
+            int k = reader.readInt(paramBits);
+            int end = (p + 1) * size;
+            if (k == escape) {
+                int raw = reader.readInt(5);
+                for (; i < end; i++) {
+                    out[i] = raw == 0 ? 0 : reader.readSigned(raw);
+                }
+            } else {
+                for (; i < end; i++) {
+                    out[i] = reader.readRice(k);
+                }
+            }
+        }
+        restoreFixed(out, n, order);
+        return true;
+    }
+
+    // out[order..] 의 잔차를 예측값에 더해 복원
+    private static void restoreFixed(int[] x, int n, int order) {
+        switch (order) {
+            case 0 -> {
+            }
+            case 1 -> {
+                for (int i = 1; i < n; i++) x[i] += x[i - 1];
+            }
+            case 2 -> {
+                for (int i = 2; i < n; i++) x[i] += 2 * x[i - 1] - x[i - 2];
+            }
+            case 3 -> {
+                for (int i = 3; i < n; i++) x[i] += 3 * x[i - 1] - 3 * x[i - 2] + x[i - 3];
+            }
+            default -> {
+                for (int i = 4; i < n; i++) x[i] += 4 * x[i - 1] - 6 * x[i - 2] + 4 * x[i - 3] - x[i - 4];
+            }
+        }
+    }
+
+    private static void restoreStereo(int assignment, int[] a, int[] b, int n) {
+        for (int i = 0; i < n; i++) {
+            switch (assignment) {
+                case FlacEncoder.LEFT_SIDE -> b[i] = a[i] - b[i];
+                case FlacEncoder.SIDE_RIGHT -> a[i] = a[i] + b[i];
+                default -> {
+                    int side = b[i];
+                    int mid = (a[i] << 1) | (side & 1);
+                    a[i] = (mid + side) >> 1;
+                    b[i] = (mid - side) >> 1;
+                }
+            }
+        }
+    }
+
+    private static boolean sameSamples(byte[] raw, int n, int channels, int bytesPerSample,
+                                       int[][] samples, MessageDigest md5) {
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < channels; c++) {
+                int expected;
+                switch (bytesPerSample) {
+                    case 1 -> {
+                        expected = (raw[p] & 0xFF) - 128;
+                        raw[p] = (byte) expected;
+                    }
+                    case 2 -> expected = (short) ((raw[p] & 0xFF) | (raw[p + 1] << 8));
+                    default -> expected = (raw[p] & 0xFF) | ((raw[p + 1] & 0xFF) << 8) | (raw[p + 2] << 16);
+                }
+                if (samples[c][i] != expected) {
+                    return false;
+                }
+                p += bytesPerSample;
+            }
+        }
+        md5.update(raw, 0, n * channels * bytesPerSample); // 일치 확인된 바이트 = 디코딩 샘플
+        return true;
+    }
+
+    private record StreamInfo(int maxBlockSize, int sampleRate, int channels, int bitsPerSample,
+                              long totalSamples, byte[] md5) {
+
+        static StreamInfo read(FlacBitReader reader) throws IOException {
+            reader.readBits(16); // min block size
+            int maxBlockSize = reader.readInt(16);
+            reader.readBits(24);
+            reader.readBits(24);
+            int sampleRate = reader.readInt(20);
+            int channels = reader.readInt(3) + 1;
+            int bitsPerSample = reader.readInt(5) + 1;
+            long totalSamples = reader.readBits(36);
+            byte[] md5 = new byte[16];
+            for (int i = 0; i < md5.length; i++) {
+                md5[i] = (byte) reader.readBits(8);
+            }
+            return new StreamInfo(maxBlockSize, sampleRate, channels, bitsPerSample, totalSamples, md5);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.AudIon.service.audio.flac;
+
+import com.example.AudIon.service.audio.AudioInfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 정수 PCM WAV → FLAC 무손실 인코더 (순수 Java, 스트리밍)
+ * - 고정 블록 4096 샘플, STREAMINFO(MD5 포함) 하나만 기록 (WAV 의 LIST 등 부가 청크는 보존하지 않음)
+ * - 서브프레임: CONSTANT / VERBATIM / FIXED(0~4차), LPC 는 쓰지 않음
+ * - 스테레오는 블록마다 L/R, L/S, S/R, M/S 중 예상 비트 수가 가장 작은 조합 선택
+ * - 잔차는 Rice 파티션(0~8차) 탐색, 파라미터가 14 를 넘으면 5비트 파라미터(method 1) 사용
+ */
+public final class FlacEncoder {
+
+    public static final String CONTENT_TYPE = "audio/flac";
+    public static final String EXTENSION = ".flac";
+    public static final int BLOCK_SIZE = 4096;
+
+    static final int STREAMINFO_BYTES = 4 + 4 + 34;
+    static final int MAX_FIXED_ORDER = 4;
+    static final int MAX_PARTITION_ORDER = 8;
+
+    static final int SUBFRAME_CONSTANT = 0;
+    static final int SUBFRAME_VERBATIM = 1;
+    static final int SUBFRAME_FIXED = 8;
+
+    static final int INDEPENDENT_MAX = 7;
+    static final int LEFT_SIDE = 8;
+    static final int SIDE_RIGHT = 9;
+    static final int MID_SIDE = 10;
+
+    /**
+     * @param totalSamples 채널당 샘플 수
+     * @param md5          디코딩 샘플(부호 있는 little-endian) MD5
+     * @param size         FLAC 파일 크기 (bytes)
+     */
+    public record Result(long totalSamples, byte[] md5, long size) {}
+
+    private FlacEncoder() {}
+
+    /**
+     * 8/16/24bit 정수 PCM, 1~8채널, 프레임 단위로 나누어 떨어지는 data 청크만 지원
+     */
+    public static boolean supports(AudioInfo info) {
+        if (!"wav".equals(info.format()) || !"pcm".equals(info.codec())) {
+            return false;
+        }
+        int bits = info.bitsPerSample();
+        if (bits != 8 && bits != 16 && bits != 24) {
+            return false;
+        }
+        if (info.channels() < 1 || info.channels() > 8 || info.sampleRate() <= 0 || info.sampleRate() >= (1 << 20)) {
+            return false;
+        }
+        long frameBytes = (long) info.channels() * (bits / 8);
+        return info.dataOffset() > 0 && info.dataLength() >= frameBytes * 16 && info.dataLength() % frameBytes == 0;
+    }
+
+    public static Result encode(Path wav, AudioInfo info, Path output) throws IOException {
+        if (!supports(info)) {
+            throw new IllegalArgumentException("FLAC 로 변환할 수 없는 형식입니다: " + info.codec() + "/" + info.bitsPerSample() + "bit");
+        }
+        int channels = info.channels();
+        int bps = info.bitsPerSample();
+        int bytesPerSample = bps / 8;
+        int frameBytes = channels * bytesPerSample;
+        long totalSamples = info.dataLength() / frameBytes;
+
+        MessageDigest md5 = md5();
+        int[][] pcm = new int[channels][BLOCK_SIZE];
+        int[] mid = channels == 2 ? new int[BLOCK_SIZE] : null;
+        int[] side = channels == 2 ? new int[BLOCK_SIZE] : null;
+        SubframeEncoder[] encoders = new SubframeEncoder[channels == 2 ? 4 : channels];
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = new SubframeEncoder();
+        }
+        ByteBuffer raw = ByteBuffer.allocate(BLOCK_SIZE * frameBytes);
+        FlacBitWriter writer = new FlacBitWriter(BLOCK_SIZE * frameBytes + 64);
+        int minFrame = Integer.MAX_VALUE;
+        int maxFrame = 0;
+
+        try (FileChannel in = FileChannel.open(wav, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            out.position(STREAMINFO_BYTES); // STREAMINFO 는 MD5/프레임 크기를 안 뒤 채움
+            long position = info.dataOffset();
+            long frameNumber = 0;
+            for (long done = 0; done < totalSamples; done += BLOCK_SIZE, frameNumber++) {
+                int n = (int) Math.min(BLOCK_SIZE, totalSamples - done);
+                raw.clear().limit(n * frameBytes);
+                while (raw.hasRemaining()) {
+                    if (in.read(raw, position + raw.position()) < 0) {
+                        throw new IOException("Unexpected end of WAV data");
+                    }
+                }
+                position += (long) n * frameBytes;
+                deinterleave(raw.array(), n, channels, bytesPerSample, pcm, md5);
+
+                writer.reset();
+                int assignment = channels - 1;
+                SubframeEncoder[] chosen = encoders;
+                if (channels == 2) {
+                    for (int i = 0; i < n; i++) {
+                        mid[i] = (pcm[0][i] + pcm[1][i]) >> 1;
+                        side[i] = pcm[0][i] - pcm[1][i];
+                    }
+                    long left = encoders[0].plan(pcm[0], n, bps);
+                    long right = encoders[1].plan(pcm[1], n, bps);
+                    long m = encoders[2].plan(mid, n, bps);
+                    long s = encoders[3].plan(side, n, bps + 1);
+                    long best = Math.min(Math.min(left + right, left + s), Math.min(s + right, m + s));
+                    if (best == left + right) {
+                        chosen = new SubframeEncoder[]{encoders[0], encoders[1]};
+                    } else if (best == left + s) {
+                        assignment = LEFT_SIDE;
+                        chosen = new SubframeEncoder[]{encoders[0], encoders[3]};
+                    } else if (best == s + right) {
+                        assignment = SIDE_RIGHT;
+                        chosen = new SubframeEncoder[]{encoders[3], encoders[1]};
+                    } else {
+                        assignment = MID_SIDE;
+                        chosen = new SubframeEncoder[]{encoders[2], encoders[3]};
+                    }
+                } else {
+                    for (int c = 0; c < channels; c++) {
+                        encoders[c].plan(pcm[c], n, bps);
+                    }
+                }
+
+                writeFrameHeader(writer, n, assignment, bps, frameNumber);
+                for (SubframeEncoder encoder : chosen) {
+                    encoder.write(writer);
+                }
+                writer.alignToByte();
+                writer.writeBits(FlacCrc.crc16(writer.buffer(), 0, writer.length()), 16);
+
+                int length = writer.length();
+                writeFully(out, ByteBuffer.wrap(writer.buffer(), 0, length));
+                minFrame = Math.min(minFrame, length);
+                maxFrame = Math.max(maxFrame, length);
+            }
+
+            byte[] digest = md5.digest();
+            int blockSize = (int) Math.min(BLOCK_SIZE, totalSamples);
+            ByteBuffer header = ByteBuffer.allocate(STREAMINFO_BYTES).order(ByteOrder.BIG_ENDIAN);
+            header.put(new byte[]{'f', 'L', 'a', 'C'});
+            header.putInt(0x80000000 | 34); // 마지막 메타데이터 블록, type 0, 길이 34
+            header.putShort((short) blockSize).putShort((short) blockSize);
+            putInt24(header, minFrame);
+            putInt24(header, maxFrame);
+            long packed = ((long) info.sampleRate() << 44)
+                    | ((long) (channels - 1) << 41)
+                    | ((long) (bps - 1) << 36)
+                    | totalSamples;
+            header.putLong(packed);
+            header.put(digest);
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position()); // 파일 앞부분, 버퍼 위치 = 파일 위치
+            }
+            out.force(false);
+            return new Result(totalSamples, digest, out.size());
+        }
+    }
+
+    private static void deinterleave(byte[] raw, int n, int channels, int bytesPerSample, int[][] pcm, MessageDigest md5) {
+        int p = 0;
+        switch (bytesPerSample) {
+            case 1 -> {
+                for (int i = 0; i < n; i++) {
+                    for (int c = 0; c < channels; c++) {
+                        int v = (raw[p] & 0xFF) - 128; // WAV 8bit 는 unsigned
+                        raw[p++] = (byte) v;           // MD5 는 부호 있는 값 기준
+                        pcm[c][i] = v;
+                    }
+                }
+            }
+            case 2 -> {
+                for (int i = 0; i < n; i++) {
+                    for (int c = 0; c < channels; c++) {
+                        pcm[c][i] = (short) ((raw[p] & 0xFF) | (raw[p + 1] << 8));
+                        p += 2;
+                    }
+                }
+            }
+            default -> {
+                for (int i = 0; i < n; i++) {
+                    for (int c = 0; c < channels; c++) {
+                        pcm[c][i] = (raw[p] & 0xFF) | ((raw[p + 1] & 0xFF) << 8) | (raw[p + 2] << 16);
+                        p += 3;
+                    }
+                }
+            }
+        }
+        md5.update(raw, 0, n * channels * bytesPerSample);
+    }
+
+    private static void writeFrameHeader(FlacBitWriter w, int n, int assignment, int bps, long frameNumber) {
+        w.writeBits(0xFFF8, 16); // sync 14bit + reserved + 고정 블록
+        int blockCode = n == BLOCK_SIZE ? 12 : n <= 256 ? 6 : 7;
+        w.writeBits(blockCode, 4);
+        w.writeBits(0, 4); // 샘플레이트는 STREAMINFO 참조
+        w.writeBits(assignment, 4);
+        w.writeBits(sampleSizeCode(bps), 3);
+        w.writeBits(0, 1);
+        w.writeUtf8(frameNumber);
+        if (blockCode == 6) {
+            w.writeBits(n - 1, 8);
+        } else if (blockCode == 7) {
+            w.writeBits(n - 1, 16);
+        }
+        w.writeBits(FlacCrc.crc8(w.buffer(), 0, w.length()), 8);
+    }
+
+    static int sampleSizeCode(int bps) {
+        return switch (bps) {
+            case 8 -> 1;
+            case 16 -> 4;
+            case 24 -> 6;
+            default -> throw new IllegalArgumentException("Unsupported sample size: " + bps);
+        };
+    }
+
+    static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void putInt24(ByteBuffer buffer, int value) {
+        buffer.put((byte) (value >>> 16)).put((byte) (value >>> 8)).put((byte) value);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 채널 하나의 서브프레임 계획(형식/차수/Rice 파라미터 + 예상 비트 수) 후 기록
+     */
+    private static final class SubframeEncoder {
+        private final int[] residual = new int[BLOCK_SIZE];
+        private final int[] params = new int[1 << MAX_PARTITION_ORDER];
+        private final int[] bestParams = new int[1 << MAX_PARTITION_ORDER];
+        private int[] samples;
+        private int n;
+        private int bps;
+        private int type;
+        private int order;
+        private int partitionOrder;
+        private boolean wideParams;
+
+        long plan(int[] samples, int n, int bps) {
+            this.samples = samples;
+            this.n = n;
+            this.bps = bps;
+
+            boolean constant = true;
+            for (int i = 1; i < n && constant; i++) {
+                constant = samples[i] == samples[0];
+            }
+            if (constant) {
+                type = SUBFRAME_CONSTANT;
+                return 8 + bps;
+            }
+
+            // 잔차 절댓값 합이 가장 작은 고정 예측 차수
+            int maxOrder = Math.min(MAX_FIXED_ORDER, n - 1);
+            long bestSum = Long.MAX_VALUE;
+            for (int o = 0; o <= maxOrder; o++) {
+                long sum = 0;
+                for (int i = o; i < n; i++) {
+                    sum += Math.abs(residualAt(o, i));
+                }
+                if (sum < bestSum) {
+                    bestSum = sum;
+                    order = o;
+                }
+            }
+            for (int i = order; i < n; i++) {
+                residual[i - order] = (int) residualAt(order, i);
+            }
+
+            long fixedBits = 8 + (long) order * bps + planRice();
+            long verbatimBits = 8 + (long) n * bps;
+            if (fixedBits < verbatimBits) {
+                type = SUBFRAME_FIXED;
+                return fixedBits;
+            }
+            type = SUBFRAME_VERBATIM;
+            return verbatimBits;
+        }
+
+        void write(FlacBitWriter w) {
+            w.writeBits(0, 1);
+            switch (type) {
+                case SUBFRAME_CONSTANT -> {
+                    w.writeBits(SUBFRAME_CONSTANT, 6);
+                    w.writeBits(0, 1);
+                    w.writeSigned(samples[0], bps);
+                }
+                case SUBFRAME_VERBATIM -> {
+                    w.writeBits(SUBFRAME_VERBATIM, 6);
+                    w.writeBits(0, 1);
+                    for (int i = 0; i < n; i++) {
+                        w.writeSigned(samples[i], bps);
+                    }
+                }
+                default -> {
+                    w.writeBits(SUBFRAME_FIXED | order, 6);
+                    w.writeBits(0, 1);
+                    for (int i = 0; i < order; i++) {
+                        w.writeSigned(samples[i], bps);
+                    }
+                    w.writeBits(wideParams ? 1 : 0, 2);
+                    w.writeBits(partitionOrder, 4);
+                    int partitions = 1 << partitionOrder;
+                    int size = n >> partitionOrder;
+                    int r = 0;
+                    for (int p = 0; p < partitions; p++) {
+                        int k = bestParams[p];
+                        w.writeBits(k, wideParams ? 5 : 4);
+                        int end = (p + 1) * size - order;
+                        for (; r < end; r++) {
+                            w.writeRice(residual[r], k);
+                        }
+                    }
+                }
+            }
+        }
+
+        private long residualAt(int order, int i) {
+            int[] x = samples;
+            return switch (order) {
+                case 0 -> x[i];
+                case 1 -> (long) x[i] - x[i - 1];
+                case 2 -> (long) x[i] - 2L * x[i - 1] + x[i - 2];
+                case 3 -> (long) x[i] - 3L * x[i - 1] + 3L * x[i - 2] - x[i - 3];
+                default -> (long) x[i] - 4L * x[i - 1] + 6L * x[i - 2] - 4L * x[i - 3] + x[i - 4];
+            };
+        }
+
+        /**
+         * 파티션 차수별 Rice 비트 수를 추정해 가장 작은 구성 선택, 잔차 영역 비트 수 반환
+         */
+        private long planRice() {
+            long best = Long.MAX_VALUE;
+            for (int p = 0; p <= MAX_PARTITION_ORDER; p++) {
+                int partitions = 1 << p;
+                if ((n & (partitions - 1)) != 0 || (n >> p) <= order) {
+                    break;
+                }
+                int size = n >> p;
+                long bits = 2 + 4;
+                boolean wide = false;
+                int r = 0;
+                for (int q = 0; q < partitions; q++) {
+                    int end = (q + 1) * size - order;
+                    int count = end - r;
+                    long sum = 0;
+                    for (; r < end; r++) {
+                        long v = residual[r];
+                        sum += (v << 1) ^ (v >> 63);
+                    }
+                    int k = riceParameter(sum, count);
+                    params[q] = k;
+                    wide |= k > 14;
+                    bits += 4 + riceBits(sum, count, k);
+                }
+                if (wide) {
+                    bits += partitions;
+                }
+                if (bits < best) {
+                    best = bits;
+                    partitionOrder = p;
+                    wideParams = wide;
+                    System.arraycopy(params, 0, bestParams, 0, partitions);
+                }
+            }
+            return best;
+        }
+
+        private static int riceParameter(long sum, int count) {
+            if (count == 0 || sum == 0) {
+                return 0;
+            }
+            long mean = sum / count;
+            int guess = mean > 0 ? 63 - Long.numberOfLeadingZeros(mean) : 0;
+            int best = 0;
+            long bestBits = Long.MAX_VALUE;
+            for (int k = Math.max(0, guess - 1); k <= Math.min(30, guess + 1); k++) {
+                long bits = riceBits(sum, count, k);
+                if (bits < bestBits) {
+                    bestBits = bits;
+                    best = k;
+                }
+            }
+            return best;
+        }
+
+        // 몫 합은 sum >> k 로 근사 (실제와 파티션 길이 이내 차이)
+        private static long riceBits(long sum, int count, int k) {
+            return (long) count * (k + 1) + (sum >> k);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.AudIon.service.export;
+
+import com.example.AudIon.domain.model.VoiceModel;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.model.VoiceModelRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 음성 파일/모델 스트리밍 내보내기
+ * - 리포지토리 Stream + JDBC fetch size로 행을 조금씩 읽고
+ * - Jackson 스트리밍 제너레이터로 바로 응답 스트림에 기록
+ * - 기록한 엔티티는 즉시 detach 하여 영속성 컨텍스트가 커지지 않음 (행 수와 무관하게 메모리 일정)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final List<String> VOICE_FILE_COLUMNS = List.of(
+            "id", "originalFilename", "contentType", "fileSize", "duration", "audioFormat",
+            "sampleRate", "bitRate", "channels", "status", "jobId", "errorMessage",
+            "fileUrl", "uploadedAt", "updatedAt");
+
+    private static final List<String> VOICE_MODEL_COLUMNS = List.of(
+            "id", "modelName", "status", "voiceFileId", "modelPath", "previewUrl",
+            "jobId", "errorMessage", "createdAt", "completedAt");
+
+    // 응답 스트림은 서블릿 컨테이너가 닫도록 제너레이터 close 시 대상 스트림은 닫지 않음
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+    private static final CsvFactory CSV_FACTORY = CsvFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final VoiceModelRepository voiceModelRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * 사용자의 음성 파일 전체 내보내기
+     */
+    @Transactional(readOnly = true)
+    public long exportVoiceFiles(WalletAddress wallet, ExportFormat format, OutputStream out) {
+        if (wallet == null) {
+            throw new IllegalArgumentException("Wallet address cannot be null");
+        }
+
+        try (Stream<VoiceFile> rows = voiceFileRepository.streamByWalletKeyAndDeletedAtIsNullOrderByUploadedAtDesc(wallet)) {
+            return writeVoiceFiles(rows, format, out);
+        }
+    }
+
+    /**
+     * 특정 기간 내 업로드된 파일 내보내기 (관리자용)
+     */
+    @Transactional(readOnly = true)
+    public long exportVoiceFilesUploadedBetween(LocalDateTime start, LocalDateTime end, ExportFormat format, OutputStream out) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+
+        try (Stream<VoiceFile> rows = voiceFileRepository.streamByUploadedAtBetweenAndDeletedAtIsNullOrderByUploadedAtDesc(start, end)) {
+            return writeVoiceFiles(rows, format, out);
+        }
+    }
+
+    /**
+     * 특정 상태의 파일 내보내기 (관리자용)
+     */
+    @Transactional(readOnly = true)
+    public long exportVoiceFilesByStatus(VoiceFile.Status status, ExportFormat format, OutputStream out) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+
+        try (Stream<VoiceFile> rows = voiceFileRepository.streamByStatusAndDeletedAtIsNullOrderByUploadedAtDesc(status)) {
+            return writeVoiceFiles(rows, format, out);
+        }
+    }
+
+    /**
+     * 사용자의 모델 전체 내보내기
+     */
+    @Transactional(readOnly = true)
+    public long exportModels(UUID userId, ExportFormat format, OutputStream out) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+
+        try (Stream<VoiceModel> rows = voiceModelRepository.streamByUserIdOrderByCreatedAtDesc(userId);
+             JsonGenerator gen = createGenerator(format, VOICE_MODEL_COLUMNS, out)) {
+            long[] count = {0};
+            rows.forEach(model -> {
+                writeRow(gen, format, g -> {
+                    writeField(g, "id", model.getId());
+                    writeField(g, "modelName", model.getModelName());
+                    writeField(g, "status", model.getStatus());
+                    writeField(g, "voiceFileId", model.getVoiceFile() != null ? model.getVoiceFile().getId() : null);
+                    writeField(g, "modelPath", model.getModelPath());
+                    writeField(g, "previewUrl", model.getPreviewUrl());
+                    writeField(g, "jobId", model.getJobId());
+                    writeField(g, "errorMessage", model.getErrorMessage());
+                    writeField(g, "createdAt", model.getCreatedAt());
+                    writeField(g, "completedAt", model.getCompletedAt());
+                });
+                entityManager.detach(model);
+                count[0]++;
+            });
+            return count[0];
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Model export failed", e);
+        }
+    }
+
+    // Private helper methods
+
+    private long writeVoiceFiles(Stream<VoiceFile> rows, ExportFormat format, OutputStream out) {
+        try (JsonGenerator gen = createGenerator(format, VOICE_FILE_COLUMNS, out)) {
+            long[] count = {0};
+            rows.forEach(file -> {
+                writeRow(gen, format, g -> {
+                    writeField(g, "id", file.getId());
+                    writeField(g, "originalFilename", file.getOriginalFilename());
+                    writeField(g, "contentType", file.getContentType());
+                    writeField(g, "fileSize", file.getFileSize());
+                    writeField(g, "duration", file.getDuration());
+                    writeField(g, "audioFormat", file.getAudioFormat());
+                    writeField(g, "sampleRate", file.getSampleRate());
+                    writeField(g, "bitRate", file.getBitRate());
+                    writeField(g, "channels", file.getChannels());
+                    writeField(g, "status", file.getStatus());
+                    writeField(g, "jobId", file.getJobId());
+                    writeField(g, "errorMessage", file.getErrorMessage());
+                    writeField(g, "fileUrl", file.getFileUrl());
+                    writeField(g, "uploadedAt", file.getUploadedAt());
+                    writeField(g, "updatedAt", file.getUpdatedAt());
+                });
+                entityManager.detach(file);
+                count[0]++;
+            });
+            return count[0];
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Voice file export failed", e);
+        }
+    }
+
+    private JsonGenerator createGenerator(ExportFormat format, List<String> columns, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder();
+            columns.forEach(schema::addColumn);
+
+            JsonGenerator gen = CSV_FACTORY.createGenerator(out);
+            gen.setSchema(schema.setUseHeader(true).build());
+            return gen;
+        }
+
+        JsonGenerator gen = JSON_FACTORY.createGenerator(out);
+        gen.setRootValueSeparator(new SerializedString("")); // 행 구분은 writeRow에서 직접 기록
+        return gen;
+    }
+
+    private void writeRow(JsonGenerator gen, ExportFormat format, RowWriter writer) {
+        try {
+            gen.writeStartObject();
+            writer.write(gen);
+            gen.writeEndObject();
+            if (format == ExportFormat.NDJSON) {
+                gen.writeRaw('\n'); // NDJSON: 한 줄에 한 객체
+            }
+        } catch (IOException e) {
+            // 클라이언트 연결 끊김 등 - 스트림 소비를 중단
+            throw new UncheckedIOException("Failed to write " + format + " row", e);
+        }
+    }
+
+    private static void writeField(JsonGenerator gen, String name, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else if (value instanceof Number number) {
+            gen.writeFieldName(name);
+            gen.writeNumber(number.toString());
+        } else if (value instanceof Enum<?> e) {
+            gen.writeStringField(name, e.name());
+        } else {
+            gen.writeStringField(name, value.toString());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(JsonGenerator gen) throws IOException;
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.AudIon.service.model;
 
+import com.example.AudIon.config.TrigramSearchInitializer;
 import com.example.AudIon.domain.model.VoiceModel;
 import com.example.AudIon.domain.user.User;
 import com.example.AudIon.domain.voice.VoiceFile;
 import com.example.AudIon.dto.common.PagedResponse;
 import com.example.AudIon.repository.model.VoiceModelRepository;
+import com.example.AudIon.util.SearchUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +26,8 @@ import java.util.UUID;
 public class VoiceModelService {
 
     private final VoiceModelRepository voiceModelRepository;
+    private final TrigramSearchInitializer trigramSearch;
+    private final VoiceModelWalletBackfillJob walletBackfillJob;
 
     @Transactional
     public VoiceModel createModel(User user, VoiceFile voiceFile, String modelName) {
@@ -39,6 +44,7 @@ public class VoiceModelService {
 
         VoiceModel model = VoiceModel.builder()
                 .user(user)
+                .walletAddress(user.getWalletAddress()) // Set wallet address directly
                 .voiceFile(voiceFile)
                 .modelName(finalModelName)
                 .status(VoiceModel.Status.PENDING)
@@ -84,6 +90,7 @@ public class VoiceModelService {
 
     /**
      * 지갑 주소로 모델 목록 조회 (페이지네이션)
+     * wallet_address 백필이 끝나면 인덱스 조회만, 그 전에는 users 조인 대체 조회
      */
     @Transactional(readOnly = true)
     public PagedResponse<VoiceModel> getModelsByWalletPaged(String walletAddress, Pageable pageable) {
@@ -91,7 +98,9 @@ public class VoiceModelService {
             throw new IllegalArgumentException("Wallet address cannot be null or empty");
         }
 
-        Page<VoiceModel> page = voiceModelRepository.findByUserWalletAddress(walletAddress, pageable);
+        Page<VoiceModel> page = walletBackfillJob.isCompleted()
+                ? voiceModelRepository.findByWalletAddress(walletAddress, pageable)
+                : voiceModelRepository.findByUserWalletAddress(walletAddress, pageable);
         return PagedResponse.of(page.getContent(), page);
     }
 
@@ -113,6 +122,7 @@ public class VoiceModelService {
 
     /**
      * 모델명으로 검색 (페이지네이션)
+     * trigram 인덱스가 있으면 사용자 범위 인덱스 검색 + 관련도 순 정렬, 없으면 LIKE 검색
      */
     @Transactional(readOnly = true)
     public PagedResponse<VoiceModel> searchModelsByName(UUID userId, String modelName, Pageable pageable) {
@@ -120,8 +130,15 @@ public class VoiceModelService {
             throw new IllegalArgumentException("User ID cannot be null");
         }
 
-        Page<VoiceModel> page = voiceModelRepository.findByUserIdAndModelNameContaining(
-                userId, modelName != null ? modelName : "", pageable);
+        String query = SearchUtils.normalizeQuery(modelName);
+        Page<VoiceModel> page;
+        if (trigramSearch.isAvailable() && !query.isEmpty()) {
+            // 정렬은 관련도 순으로 고정 (요청의 sort는 무시)
+            page = voiceModelRepository.searchByModelNameTrigram(userId, SearchUtils.escapeLike(query), query,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else {
+            page = voiceModelRepository.findByUserIdAndModelNameContaining(userId, query, pageable);
+        }
         return PagedResponse.of(page.getContent(), page);
     }
 
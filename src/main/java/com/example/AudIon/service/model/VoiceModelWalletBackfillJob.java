@@ -0,0 +1,73 @@
+package com.example.AudIon.service.model;
+
+import com.example.AudIon.repository.model.VoiceModelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * voice_models.wallet_address 백필 작업
+ * 기존 행들을 작은 배치(각각 별도 트랜잭션)로 채워서 테이블 잠금 없이 마이그레이션
+ * - 완료 전까지 지갑별 모델 목록은 users 조인 대체 조회 사용 (VoiceModelService)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoiceModelWalletBackfillJob {
+
+    private final VoiceModelRepository voiceModelRepository;
+
+    @Value("${app.model.wallet-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.model.wallet-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.model.wallet-backfill.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.model.wallet-backfill.pause-ms:200}")
+    private long pauseMs;
+
+    private volatile boolean completed = false;
+
+    /**
+     * 이 노드에서 남은 행이 없음을 확인했는지 (지갑별 목록의 users 조인 대체 조회 생략 여부)
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Scheduled(initialDelayString = "${app.model.wallet-backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${app.model.wallet-backfill.interval-ms:60000}")
+    public void run() {
+        if (!enabled || completed) {
+            return;
+        }
+
+        long total = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int updated = voiceModelRepository.backfillWalletAddressBatch(batchSize);
+                total += updated;
+
+                if (updated == 0) {
+                    completed = true;
+                    log.info("Voice model wallet backfill completed ({} rows in last run)", total);
+                    return;
+                }
+
+                // 배치 사이에 잠시 쉬어서 다른 트랜잭션에 양보
+                Thread.sleep(pauseMs);
+            }
+            log.info("Voice model wallet backfill in progress - {} rows updated in this run", total);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Voice model wallet backfill failed after {} rows", total, e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.AudIon.service.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 정책 하나의 로컬 버킷 저장소 (락 없음)
+ * - 키별 상태는 AtomicLong 하나(GCRA 의 다음 토큰 시각, System.nanoTime 기준) - 획득은 CAS 한 번
+ * - 키 해시로 나눈 stripe 별 ConcurrentHashMap, stripe 당 최대 개수로 메모리 상한
+ * - 가득 찬(다 충전된) 버킷은 지워도 동작이 같으므로 유휴 정리는 그런 버킷만 제거
+ *   제거 전 EVICTED 로 CAS 해서 정리와 동시에 들어온 획득이 지워질 버킷에 기록하지 않도록 함
+ * - 상한까지 활성 버킷이 차 있으면 새 키는 stripe 공용 버킷 하나를 같은 정책으로 나눠 씀 (overflows 로 집계)
+ *   키를 계속 바꿔 맵을 채워도 한도가 풀리지 않음 - 이때 정리할 버킷이 생길 가장 이른 시각을
+ *   stripe 별로 기억해 그 전까지는 다시 훑지 않음
+ * - 시각 비교는 모두 뺄셈 기준 (nanoTime 은 음수일 수 있음)
+ */
+final class RateLimitBuckets {
+
+    private static final long EVICTED = Long.MAX_VALUE;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final RateLimitPolicy policy;
+    private final long interval;
+    private final long tolerance;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int mask;
+    private final int maxPerStripe;
+    private final AtomicLongArray nextScan; // stripe 별 다음 인라인 정리 시각
+    private final AtomicLong[] overflowBuckets; // stripe 가 가득 찼을 때 새 키가 함께 쓰는 버킷
+    final LongAdder overflows = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    RateLimitBuckets(RateLimitPolicy policy, int stripeCount, int maxBuckets) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.policy = policy;
+        this.interval = policy.intervalNanos();
+        this.tolerance = policy.toleranceNanos();
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.nextScan = new AtomicLongArray(size);
+        this.overflowBuckets = new AtomicLong[size];
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            nextScan.set(i, now);
+            overflowBuckets[i] = new AtomicLong(EMPTY);
+        }
+        this.mask = size - 1;
+        this.maxPerStripe = Math.max(1, maxBuckets / size);
+    }
+
+    RateLimitPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * 토큰 1개 획득 - 허용이면 0, 거절이면 다음 토큰까지 남은 나노초
+     */
+    long acquire(String key, long now) {
+        int index = stripeIndex(key);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        while (true) {
+            AtomicLong tat = stripe.get(key);
+            if (tat == null) {
+                if (stripe.size() >= maxPerStripe && !makeRoom(index, now)) {
+                    overflows.increment();
+                    return take(overflowBuckets[index], now);
+                }
+                tat = stripe.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+            }
+            long wait = take(tat, now);
+            if (wait >= 0) {
+                return wait;
+            }
+            // 정리 중인 버킷 - 맵에서 빠진 뒤 새로 만듦
+        }
+    }
+
+    /**
+     * GCRA 한 단계 - 허용이면 0, 거절이면 대기 나노초, 정리 중인 버킷이면 -1
+     */
+    private long take(AtomicLong tat, long now) {
+        while (true) {
+            long current = tat.get();
+            if (current == EVICTED) {
+                return -1;
+            }
+            long base = current == EMPTY || current - now < 0 ? now : current;
+            long wait = base - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 획득한 토큰 반환 (공유 저장소에서 거절된 경우)
+     */
+    void refund(String key) {
+        AtomicLong tat = stripes[stripeIndex(key)].get(key);
+        if (tat == null) {
+            return;
+        }
+        long current;
+        do {
+            current = tat.get();
+            if (current == EVICTED || current == EMPTY) {
+                return;
+            }
+        } while (!tat.compareAndSet(current, current - interval));
+    }
+
+    /**
+     * 다 충전된 버킷 제거, 제거한 개수 반환
+     */
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evicted += evictIdle(stripe, now);
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * 가득 찬 stripe 정리 시도 - 지울 버킷이 없으면 가장 빨리 충전되는 시각까지 다시 훑지 않음
+     */
+    private boolean makeRoom(int index, long now) {
+        long scanAt = nextScan.get(index);
+        if (now - scanAt < 0 || !nextScan.compareAndSet(index, scanAt, now + interval)) {
+            return false; // 아직 지울 버킷이 없거나 다른 스레드가 정리 중
+        }
+        long earliest = now + interval;
+        int evicted = 0;
+        for (var entry : stripes[index].entrySet()) {
+            AtomicLong tat = entry.getValue();
+            long current = tat.get();
+            if (current == EVICTED) {
+                continue;
+            }
+            if (isIdle(current, now) && tat.compareAndSet(current, EVICTED)) {
+                stripes[index].remove(entry.getKey(), tat);
+                evicted++;
+            } else if (current != EMPTY && current - earliest < 0) {
+                earliest = current;
+            }
+        }
+        nextScan.set(index, evicted > 0 ? now : earliest);
+        return evicted > 0;
+    }
+
+    private int evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        int evicted = 0;
+        for (var entry : stripe.entrySet()) {
+            AtomicLong tat = entry.getValue();
+            long current = tat.get();
+            if (isIdle(current, now) && tat.compareAndSet(current, EVICTED)) {
+                stripe.remove(entry.getKey(), tat);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 다 충전된 버킷 (지워도 동작이 같음)
+     */
+    private static boolean isIdle(long current, long now) {
+        return current != EVICTED && (current == EMPTY || current - now <= 0);
+    }
+
+    private int stripeIndex(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.AudIon.service.ratelimit;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * 토큰 버킷 정책 - period 동안 limit 회 (버킷 크기 limit, period / limit 마다 1개 충전)
+ * GCRA 로 계산: 버킷 상태는 "다음 토큰이 비는 시각" 하나 (interval = 토큰 1개 충전 시간, tolerance = 버스트 허용폭)
+ */
+public record RateLimitPolicy(int limit, Duration period) {
+
+    public RateLimitPolicy {
+        if (limit <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit must be positive: " + limit + "/" + period);
+        }
+    }
+
+    /**
+     * "20/1m", "30/1h" 형식 (기간은 Spring Boot Duration 표기)
+     */
+    public static RateLimitPolicy parse(String spec) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must look like <limit>/<period>: " + spec);
+        }
+        return new RateLimitPolicy(Integer.parseInt(spec.substring(0, slash).trim()),
+                DurationStyle.detectAndParse(spec.substring(slash + 1).trim()));
+    }
+
+    public long intervalNanos() {
+        return period.toNanos() / limit;
+    }
+
+    public long toleranceNanos() {
+        return intervalNanos() * (limit - 1);
+    }
+
+    @Override
+    public String toString() {
+        return limit + "/" + period;
+    }
+}
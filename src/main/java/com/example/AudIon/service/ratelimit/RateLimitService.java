@@ -0,0 +1,241 @@
+package com.example.AudIon.service.ratelimit;
+
+import com.example.AudIon.repository.ratelimit.RateLimitBucketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 요청 한도 (지갑/IP 기준 토큰 버킷)
+ * - 정책은 app.ratelimit.{login|upload|mint}.{ip|wallet} = "횟수/기간" (예: 20/1m)
+ * - local(기본): 노드별 메모리 버킷 - 획득은 해시 조회 + CAS 한 번 (수백 ns 이내)
+ * - shared: 로컬 버킷을 먼저 통과한 요청만 DB 버킷(rate_limit_buckets)에서 한 번 더 획득해 노드 간 한도를 맞춤
+ *   (로컬 사용량은 전체 사용량 이하이므로 로컬에서 거절되면 전체에서도 거절, DB 장애 시에는 로컬 한도만 적용)
+ * - 다 충전된 버킷은 evict-interval 마다 정리, 로컬 버킷 수는 max-buckets-per-policy 로 제한
+ * - IP 기준 키는 접속 주소 - trusted-proxies(IP/CIDR) 에서 온 요청만 X-Forwarded-For 를 오른쪽부터 따라가
+ *   신뢰하지 않는 첫 주소 사용 (맨 왼쪽 값은 클라이언트가 마음대로 넣을 수 있음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitService {
+
+    private static final int SHARED_EVICT_BATCH = 1000;
+    private static final int SHARED_EVICT_MAX_BATCHES = 100;
+
+    public enum Endpoint {
+        LOGIN, UPLOAD, MINT
+    }
+
+    public enum Dimension {
+        IP, WALLET
+    }
+
+    public record Decision(boolean allowed, int retryAfterSeconds) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    /** 정책 하나 (엔드포인트 × 기준) */
+    private record Limit(String name, RateLimitBuckets buckets, Counter allowed, Counter limited) {}
+
+    private final RateLimitBucketRepository bucketRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ratelimit.mode:local}")
+    private String mode;
+
+    @Value("${app.ratelimit.stripes:16}")
+    private int stripes;
+
+    @Value("${app.ratelimit.max-buckets-per-policy:100000}")
+    private int maxBucketsPerPolicy;
+
+    @Value("${app.ratelimit.trusted-proxies:}")
+    private List<String> trustedProxies;
+
+    @Value("${app.ratelimit.login.ip:20/1m}")
+    private String loginIp;
+
+    @Value("${app.ratelimit.login.wallet:10/1m}")
+    private String loginWallet;
+
+    @Value("${app.ratelimit.upload.ip:120/1h}")
+    private String uploadIp;
+
+    @Value("${app.ratelimit.upload.wallet:30/1h}")
+    private String uploadWallet;
+
+    @Value("${app.ratelimit.mint.ip:60/1h}")
+    private String mintIp;
+
+    @Value("${app.ratelimit.mint.wallet:10/1h}")
+    private String mintWallet;
+
+    private final Map<Endpoint, Limit[]> limits = new EnumMap<>(Endpoint.class);
+    private final List<IpAddressMatcher> proxyMatchers = new ArrayList<>();
+    private boolean shared;
+
+    @PostConstruct
+    void init() {
+        shared = "shared".equalsIgnoreCase(mode);
+        trustedProxies.stream()
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .forEach(proxy -> proxyMatchers.add(new IpAddressMatcher(proxy)));
+        register(Endpoint.LOGIN, loginIp, loginWallet);
+        register(Endpoint.UPLOAD, uploadIp, uploadWallet);
+        register(Endpoint.MINT, mintIp, mintWallet);
+        log.info("Rate limiting {} ({} mode)", enabled ? "enabled" : "disabled", shared ? "shared" : "local");
+    }
+
+    private void register(Endpoint endpoint, String ipSpec, String walletSpec) {
+        Limit[] byDimension = new Limit[Dimension.values().length];
+        byDimension[Dimension.IP.ordinal()] = limit(endpoint, Dimension.IP, ipSpec);
+        byDimension[Dimension.WALLET.ordinal()] = limit(endpoint, Dimension.WALLET, walletSpec);
+        limits.put(endpoint, byDimension);
+    }
+
+    private Limit limit(Endpoint endpoint, Dimension dimension, String spec) {
+        String name = endpoint.name().toLowerCase(Locale.ROOT) + "." + dimension.name().toLowerCase(Locale.ROOT);
+        RateLimitBuckets buckets = new RateLimitBuckets(RateLimitPolicy.parse(spec), stripes, maxBucketsPerPolicy);
+        Gauge.builder("ratelimit.buckets", buckets, RateLimitBuckets::size).tag("policy", name).register(meterRegistry);
+        FunctionCounter.builder("ratelimit.buckets.overflow", buckets.overflows, LongAdder::sum)
+                .tag("policy", name).register(meterRegistry);
+        return new Limit(name, buckets,
+                meterRegistry.counter("ratelimit.requests", "policy", name, "result", "allowed"),
+                meterRegistry.counter("ratelimit.requests", "policy", name, "result", "limited"));
+    }
+
+    /**
+     * 요청 한도에 쓰는 클라이언트 IP - 신뢰하는 프록시를 거친 경우에만 그 프록시가 붙인 X-Forwarded-For 값 사용
+     */
+    public String clientIp(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (!isTrustedProxy(address) || !StringUtils.hasText(forwardedFor)) {
+            return address;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            address = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher matcher : proxyMatchers) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                return false; // IP 형식이 아닌 값
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 요청 하나에 대해 IP, 지갑 순으로 토큰 획득 (null 인 기준은 건너뜀)
+     */
+    public Decision tryAcquire(Endpoint endpoint, String ip, String wallet) {
+        Decision decision = tryAcquire(endpoint, Dimension.IP, ip);
+        return decision.allowed() ? tryAcquire(endpoint, Dimension.WALLET, wallet) : decision;
+    }
+
+    public Decision tryAcquire(Endpoint endpoint, Dimension dimension, String key) {
+        if (!enabled || key == null) {
+            return Decision.ALLOWED;
+        }
+
+        Limit limit = limits.get(endpoint)[dimension.ordinal()];
+        long wait = limit.buckets().acquire(key, System.nanoTime());
+        if (wait == 0 && shared) {
+            wait = acquireShared(limit, key);
+        }
+        if (wait > 0) {
+            limit.limited().increment();
+            return new Decision(false, (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        limit.allowed().increment();
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * DB 버킷 획득 - 거절되면 로컬에서 가져간 토큰을 돌려주고 토큰 1개 충전 시간을 대기로 반환
+     */
+    private long acquireShared(Limit limit, String key) {
+        RateLimitPolicy policy = limit.buckets().policy();
+        try {
+            Long tat = bucketRepository.acquire(limit.name() + ":" + key,
+                    TimeUnit.NANOSECONDS.toMicros(policy.intervalNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(policy.toleranceNanos()));
+            if (tat != null) {
+                return 0;
+            }
+            limit.buckets().refund(key);
+            return policy.intervalNanos();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("ratelimit.shared.errors").increment();
+            log.debug("Shared rate limit store unavailable, using local limit only: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.ratelimit.evict-interval-ms:60000}",
+            fixedDelayString = "${app.ratelimit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Limit[] byDimension : limits.values()) {
+            for (Limit limit : byDimension) {
+                evicted += limit.buckets().evictIdle(now);
+            }
+        }
+        if (shared) {
+            try {
+                for (int batch = 0; batch < SHARED_EVICT_MAX_BATCHES; batch++) {
+                    int deleted = bucketRepository.deleteIdle(SHARED_EVICT_BATCH);
+                    evicted += deleted;
+                    if (deleted < SHARED_EVICT_BATCH) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to evict idle shared rate limit buckets: {}", e.getMessage());
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit bucket(s)", evicted);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.AudIon.service.s3;
+
+import com.example.AudIon.service.storage.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재생용 S3 객체 로컬 디스크 캐시 (스트리밍 엔드포인트용)
+ * - 객체 전체를 한 번 받아 로컬 파일로 두고, 구간 요청은 로컬 파일에서 처리 (탐색마다 S3 재요청 없음)
+ * - 같은 키를 동시에 요청해도 S3 GET 은 한 번만 (나머지는 진행 중인 다운로드를 기다림)
+ * - 총 바이트 기준 LRU 제거, 제거된 파일도 이미 열린 채널은 끝까지 읽을 수 있음
+ * - 업로드 키는 한 번 쓰면 바뀌지 않으므로 (FLAC 교체도 새 키) 재검증 없이 키 단위로 캐시
+ * - 기동 시 디렉터리를 비움 (ETag 등 인덱스는 메모리에만 유지)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioObjectCache {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.stream-cache.dir:${java.io.tmpdir}/audion-stream-cache}")
+    private Path directory;
+
+    @Value("${app.stream-cache.max-bytes:1073741824}")
+    private long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    private record Entry(Path path, long length, String eTag) {}
+
+    /**
+     * 열린 캐시 파일 (호출 측에서 close)
+     */
+    public record Handle(FileChannel channel, long length, String eTag) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        meterRegistry.gauge("voice.stream.cache.bytes", this, cache -> cache.currentBytes());
+    }
+
+    /**
+     * 객체를 캐시에서 열기 (없으면 S3 에서 받아 채움)
+     */
+    public Handle open(String s3Key) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Entry entry = lookup(s3Key);
+            if (entry != null) {
+                meterRegistry.counter("voice.stream.cache", "result", "hit").increment();
+            } else {
+                entry = fetchOnce(s3Key);
+            }
+            try {
+                return new Handle(FileChannel.open(entry.path(), StandardOpenOption.READ), entry.length(), entry.eTag());
+            } catch (NoSuchFileException e) {
+                // 찾은 직후 제거됨 - 다시 받음
+                remove(s3Key, entry);
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Entry fetchOnce(String s3Key) throws IOException {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(s3Key, mine);
+        if (running != null) {
+            meterRegistry.counter("voice.stream.cache", "result", "wait").increment();
+            return await(running);
+        }
+
+        try {
+            Entry entry = lookup(s3Key); // 방금 끝난 다운로드가 있으면 재사용
+            if (entry == null) {
+                meterRegistry.counter("voice.stream.cache", "result", "miss").increment();
+                entry = fetch(s3Key);
+                insert(s3Key, entry);
+            }
+            mine.complete(entry);
+            return entry;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e); // 기다리는 요청도 같은 실패로 깨움
+            throw e;
+        } finally {
+            inFlight.remove(s3Key, mine);
+        }
+    }
+
+    private Entry fetch(String s3Key) throws IOException {
+        Path target = directory.resolve(fileName(s3Key));
+        Path part = Files.createTempFile(directory, "fetch-", PART_SUFFIX);
+        try {
+            String eTag;
+            long expected;
+            try (BlobStore.Blob blob = s3Service.getObjectIfNoneMatch(s3Key, null)) {
+                eTag = blob.info().eTag();
+                expected = blob.info().size();
+                Files.copy(blob.content(), part, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long length = Files.size(part);
+            if (expected >= 0 && length != expected) {
+                throw new IOException("Truncated download for " + s3Key + ": " + length + "/" + expected + " bytes");
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Entry(target, length, eTag);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private Entry lookup(String s3Key) {
+        synchronized (entries) {
+            return entries.get(s3Key);
+        }
+    }
+
+    /**
+     * 등록 후 한도를 넘으면 오래 안 쓴 항목부터 제거 (방금 넣은 항목은 제외)
+     */
+    private void insert(String s3Key, Entry entry) {
+        synchronized (entries) {
+            Entry previous = entries.put(s3Key, entry);
+            if (previous != null) {
+                totalBytes -= previous.length();
+            }
+            totalBytes += entry.length();
+
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                it.remove();
+                totalBytes -= eldest.getValue().length();
+                deleteQuietly(eldest.getValue().path());
+                meterRegistry.counter("voice.stream.cache.evictions").increment();
+            }
+        }
+    }
+
+    private void remove(String s3Key, Entry entry) {
+        synchronized (entries) {
+            if (entries.remove(s3Key, entry)) {
+                totalBytes -= entry.length();
+            }
+        }
+    }
+
+    private long currentBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached object {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String fileName(String s3Key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s3Key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.AudIon.service.s3;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+/**
+ * 음성 원본 S3 키 레이아웃 (VoiceFile.keyLayout 에 버전 기록)
+ * - 키는 {base}.{ext}, 파생 결과는 같은 base 에 접미사를 붙이므로(*.train.wav, *.peaks/ 등) 레이아웃과 무관
+ * - DATED (1): voices/{wallet}/{yyyy}/{MM}/{dd}/{id} - 기존 방식, 지갑/날짜 접두사 하나에 요청이 몰림
+ * - SHARDED (2): voices/{hh}/{wallet}/{id} - hh 는 지갑 SHA-256 앞 2자리 hex (256개 접두사로 분산)
+ *   한 지갑의 객체는 접두사 하나 아래 모여 목록 조회가 간단하고, 바로 뒤 UUID 가 무작위라
+ *   요청이 많은 지갑도 S3 가 그 아래를 다시 나눠 처리량을 늘릴 수 있음
+ * - SHARED (3): voices/objects/{hh}/{id} - 여러 지갑이 공유하는 객체 (hh 는 id SHA-256 앞 2자리 hex)
+ *   키/URL 에 지갑 주소가 없어 다른 지갑에 내줘도 원래 업로더가 드러나지 않음 (KeyLayoutMigrator 가 공유 시 이동)
+ */
+public enum KeyLayout {
+
+    DATED(1) {
+        @Override
+        public String base(String safeWallet, String id, LocalDate date) {
+            return String.format("%s%s/%04d/%02d/%02d/%s", PREFIX, safeWallet,
+                    date.getYear(), date.getMonthValue(), date.getDayOfMonth(), id);
+        }
+    },
+
+    SHARDED(2) {
+        @Override
+        public String base(String safeWallet, String id, LocalDate date) {
+            return PREFIX + shard(safeWallet) + "/" + safeWallet + "/" + id;
+        }
+    },
+
+    SHARED(3) {
+        @Override
+        public String base(String safeWallet, String id, LocalDate date) {
+            return SHARED_PREFIX + shard(id) + "/" + id;
+        }
+    };
+
+    private static final String PREFIX = "voices/";
+    private static final String SHARED_PREFIX = PREFIX + "objects/";
+
+    private final int version;
+
+    KeyLayout(int version) {
+        this.version = version;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /**
+     * 확장자를 뺀 원본 키 (safeWallet 은 '/' 없는 정리된 지갑 문자열)
+     */
+    public abstract String base(String safeWallet, String id, LocalDate date);
+
+    /**
+     * 저장된 버전 → 레이아웃 (null 은 버전 기록 이전 행 = DATED)
+     */
+    public static KeyLayout of(Integer version) {
+        if (version == null) {
+            return DATED;
+        }
+        for (KeyLayout layout : values()) {
+            if (layout.version == version) {
+                return layout;
+            }
+        }
+        throw new IllegalArgumentException("Unknown key layout version: " + version);
+    }
+
+    /**
+     * 원본 키 모양으로 판별 (공유 객체를 재사용해 다른 레이아웃 키를 받은 경우 등)
+     */
+    public static KeyLayout detect(String key) {
+        if (isShared(key)) {
+            return SHARED;
+        }
+        int slashes = 0;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == '/') {
+                slashes++;
+            }
+        }
+        return slashes == 3 ? SHARDED : DATED;
+    }
+
+    /**
+     * 지갑 주소가 들어가지 않은 공유 키인지
+     */
+    public static boolean isShared(String key) {
+        return key.startsWith(SHARED_PREFIX);
+    }
+
+    private static String shard(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().toHexDigits(hash[0]);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.AudIon.service.s3;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (S3 키, 메서드) 단위 presigned URL 캐시 (비공개 객체 목록/재생용)
+ * - 만료 시각을 고정 구간(window) 경계에 맞춤: 한 구간 안의 요청은 같은 URL 을 받음 (브라우저 캐시 재사용)
+ * - 만료 = 구간 끝 + min-validity, 다음 구간이 시작되면 새로 서명 → 내준 URL 은 항상 min-validity 이상 남음
+ * - 크기 제한 LRU (서명은 잠금 밖에서, 같은 구간에 동시에 서명되면 먼저 들어간 URL 유지)
+ * - 서명 시각(X-Amz-Date)이 URL 에 들어가므로 인스턴스 간에는 같은 URL 이 보장되지 않음
+ */
+@Service
+@Slf4j
+public class PresignedUrlCache {
+
+    private static final Duration MAX_PRESIGN_EXPIRY = Duration.ofDays(7); // SigV4 한도
+
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+    private final long windowMillis;
+    private final long minValidityMillis;
+    private final Map<Key, Entry> entries;
+
+    private record Key(String s3Key, HttpMethod method) {}
+
+    private record Entry(String url, long windowEnd) {}
+
+    public PresignedUrlCache(S3Service s3Service,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.presign.window-seconds:3600}") long windowSeconds,
+                             @Value("${app.presign.min-validity-seconds:900}") long minValiditySeconds,
+                             @Value("${app.presign.max-entries:10000}") int maxEntries) {
+        if (windowSeconds <= 0 || minValiditySeconds < 0
+                || Duration.ofSeconds(windowSeconds + minValiditySeconds).compareTo(MAX_PRESIGN_EXPIRY) > 0) {
+            throw new IllegalArgumentException("잘못된 presigned URL 설정입니다: window=" + windowSeconds
+                    + "s, min-validity=" + minValiditySeconds + "s");
+        }
+        this.s3Service = s3Service;
+        this.meterRegistry = meterRegistry;
+        this.windowMillis = windowSeconds * 1000;
+        this.minValidityMillis = minValiditySeconds * 1000;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        meterRegistry.gauge("voice.presign.cache.size", this, PresignedUrlCache::size);
+    }
+
+    public String get(String s3Key) {
+        return get(s3Key, HttpMethod.GET);
+    }
+
+    public String get(String s3Key, HttpMethod method) {
+        Key key = new Key(s3Key, method);
+        long now = System.currentTimeMillis();
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && now < cached.windowEnd()) {
+            meterRegistry.counter("voice.presign.cache", "result", "hit").increment();
+            return cached.url();
+        }
+
+        long windowEnd = (now / windowMillis + 1) * windowMillis;
+        String url = s3Service.generatePresignedUrl(s3Key, method, new Date(windowEnd + minValidityMillis)).toString();
+        synchronized (entries) {
+            Entry current = entries.get(key);
+            if (current != null && current.windowEnd() >= windowEnd) {
+                return current.url(); // 같은 구간에 먼저 서명된 URL 유지
+            }
+            entries.put(key, new Entry(url, windowEnd));
+        }
+        meterRegistry.counter("voice.presign.cache", "result", cached == null ? "miss" : "refresh").increment();
+        return url;
+    }
+
+    /**
+     * 재생용 URL - public-read 업로드면 저장된 URL, 아니면 캐시된 presigned GET
+     */
+    public String playbackUrl(String s3Key, String fileUrl) {
+        if (s3Service.isPublicRead() || s3Key == null || s3Key.isBlank()) {
+            return fileUrl;
+        }
+        return get(s3Key, HttpMethod.GET);
+    }
+
+    private double size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
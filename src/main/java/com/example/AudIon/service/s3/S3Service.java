@@ -1,37 +1,46 @@
 package com.example.AudIon.service.s3;
 
-import com.amazonaws.AmazonServiceException;
-import com.amazonaws.HttpMethod;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.*;
+import com.example.AudIon.service.storage.BlobStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
+/**
+ * 음성/파생 파일 저장 (실제 저장소는 BlobStore 구현: S3 또는 로컬 파일시스템)
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class S3Service {
 
-    private final AmazonS3 s3;
-
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    private final BlobStore blobStore;
 
     @Value("${cloud.aws.cdn-base:}")
     private String cdnBase;
@@ -39,6 +48,13 @@ public class S3Service {
     @Value("${app.upload.max-file-size:50MB}")
     private String maxFileSize;
 
+    @Value("${app.upload.public-read:true}")
+    private boolean publicRead;
+
+    // 새 업로드의 키 레이아웃 (DATED | SHARDED), 기존 키는 KeyLayoutMigrator 로 옮김
+    @Value("${app.storage.key-layout:DATED}")
+    private KeyLayout keyLayout;
+
     private static final Pattern SAFE_PATTERN = Pattern.compile("[^a-zA-Z0-9._-]");
     private static final List<String> ALLOWED_AUDIO_TYPES = Arrays.asList(
             "audio/mpeg", "audio/mp3", "audio/wav", "audio/wave", "audio/x-wav",
@@ -62,6 +78,18 @@ public class S3Service {
                                           String walletAddress,
                                           boolean makePublic,
                                           int presignExpireSeconds) {
+        return uploadVoiceFile(file, walletAddress, null, null, makePublic, presignExpireSeconds);
+    }
+
+    /**
+     * 서버에서 판별한 Content-Type/확장자로 업로드 (null이면 클라이언트 값 사용)
+     */
+    public S3UploadResult uploadVoiceFile(MultipartFile file,
+                                          String walletAddress,
+                                          String detectedContentType,
+                                          String detectedExtension,
+                                          boolean makePublic,
+                                          int presignExpireSeconds) {
 
         // Input validation
         if (file == null || file.isEmpty()) {
@@ -73,42 +101,98 @@ public class S3Service {
         }
 
         // Validate content type
-        String contentType = file.getContentType();
+        String contentType = StringUtils.hasText(detectedContentType) ? detectedContentType : file.getContentType();
         if (!isValidAudioFile(contentType, file.getOriginalFilename())) {
             throw new IllegalArgumentException("Invalid audio file type. Allowed types: " + ALLOWED_AUDIO_TYPES);
         }
 
         // Sanitize inputs
         String safeWallet = sanitizeWalletAddress(walletAddress);
-        String fileExtension = getFileExtension(file.getOriginalFilename());
+        String fileExtension = StringUtils.hasText(detectedExtension)
+                ? detectedExtension
+                : getFileExtension(file.getOriginalFilename());
 
         // Generate unique key with date-based hierarchy
         String key = generateS3Key(safeWallet, fileExtension);
 
-        // Prepare metadata
-        ObjectMetadata metadata = createObjectMetadata(contentType, file.getSize());
-
         try {
-            // Upload to S3
-            uploadToS3(file, key, metadata, makePublic);
+            // Upload to S3 (SHA-256은 업로드 스트림에서 함께 계산)
+            String contentHash = uploadToS3(file, key, createPutOptions(contentType, makePublic));
 
             // Generate URLs
-            String s3Url = s3.getUrl(bucket, key).toString();
+            String s3Url = blobStore.url(key);
             String publicUrl = makePublic ? buildPublicUrl(key) : null;
             URL presignedUrl = generatePresignedUrl(key, makePublic, presignExpireSeconds);
 
             log.info("Successfully uploaded file: {} to key: {}", file.getOriginalFilename(), key);
-            return new S3UploadResult(key, s3Url, publicUrl, presignedUrl);
+            return new S3UploadResult(key, s3Url, publicUrl, presignedUrl, contentHash);
 
-        } catch (AmazonServiceException e) {
-            log.error("AWS S3 service error during upload: {}", e.getMessage(), e);
-            throw new RuntimeException("S3 service error: " + e.getErrorMessage(), e);
         } catch (Exception e) {
             log.error("Unexpected error during S3 upload", e);
             throw new RuntimeException("S3 upload failed", e);
         }
     }
 
+    /**
+     * 재개 가능한 업로드 시작 - 클라이언트가 알린 파일명/형식으로 키를 정하고 멀티파트 업로드 생성
+     * (실제 형식은 완료 후 헤더 분석으로 검증)
+     */
+    public ResumableTarget startResumableUpload(String walletAddress, String filename, String contentType) {
+        if (!isValidAudioFile(contentType, filename)) {
+            throw new IllegalArgumentException("Invalid audio file type. Allowed types: " + ALLOWED_AUDIO_TYPES);
+        }
+
+        String key = generateS3Key(sanitizeWalletAddress(walletAddress), getFileExtension(filename));
+        String objectType = StringUtils.hasText(contentType) && ALLOWED_AUDIO_TYPES.contains(contentType.toLowerCase())
+                ? contentType.toLowerCase()
+                : MediaTypeFactory.getMediaType(filename).map(MediaType::toString).orElse(null);
+        String uploadId = blobStore.initiateMultipart(key, createPutOptions(objectType, publicRead));
+        log.info("Started resumable upload: {} ({})", key, uploadId);
+        return new ResumableTarget(key, uploadId);
+    }
+
+    /**
+     * Upload one part of a resumable upload, returns the part ETag
+     */
+    public String uploadResumablePart(String s3Key, String uploadId, int partNumber, InputStream content, long length) {
+        return blobStore.uploadPart(s3Key, uploadId, partNumber, content, length);
+    }
+
+    /**
+     * 재개 가능한 업로드 완료 - 파트를 합친 뒤 객체를 한 번 읽어 SHA-256 계산 (노드 간에 해시 상태를 넘기지 않음)
+     * 이전 요청에서 이미 합쳐진 경우(완료 후 상태 저장 전에 실패)에는 남아 있는 객체 사용 - 크기가 업로드 길이와 같을 때만
+     */
+    public S3UploadResult completeResumableUpload(String s3Key, String uploadId, List<String> partETags,
+                                                  long expectedLength) {
+        try {
+            blobStore.completeMultipart(s3Key, uploadId, partETags);
+        } catch (RuntimeException e) {
+            if (blobStore.head(s3Key).filter(info -> info.size() == expectedLength).isEmpty()) {
+                throw e;
+            }
+            log.info("Resumable upload {} was already completed: {}", uploadId, s3Key);
+        }
+
+        MessageDigest digest = newSha256();
+        try (InputStream in = new DigestInputStream(openRange(s3Key, 0, -1), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read completed upload: " + s3Key, e);
+        }
+
+        String publicUrl = publicRead ? buildPublicUrl(s3Key) : null;
+        log.info("Completed resumable upload: {} ({} parts)", s3Key, partETags.size());
+        return new S3UploadResult(s3Key, blobStore.url(s3Key), publicUrl, null, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Abort a resumable upload and discard its parts
+     */
+    public void abortResumableUpload(String s3Key, String uploadId) {
+        blobStore.abortMultipart(s3Key, uploadId);
+        log.info("Aborted resumable upload: {} ({})", s3Key, uploadId);
+    }
+
     /**
      * Delete file from S3
      */
@@ -118,15 +202,34 @@ public class S3Service {
         }
 
         try {
-            s3.deleteObject(bucket, s3Key);
+            blobStore.delete(s3Key);
             log.info("Successfully deleted file: {}", s3Key);
             return true;
-        } catch (AmazonServiceException e) {
+        } catch (RuntimeException e) {
             log.error("Failed to delete file: {} - {}", s3Key, e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Delete many files in batches, returns the keys that could not be deleted
+     */
+    public List<String> deleteFiles(Collection<String> s3Keys) {
+        if (s3Keys.isEmpty()) {
+            return List.of();
+        }
+        List<String> failed = blobStore.deleteAll(s3Keys);
+        log.info("Deleted {} of {} files", s3Keys.size() - failed.size(), s3Keys.size());
+        return failed;
+    }
+
+    /**
+     * List one page of files under a prefix in key order (startAfter null = from the beginning)
+     */
+    public BlobStore.ListPage listFiles(String prefix, String startAfter, int maxKeys) {
+        return blobStore.list(prefix, startAfter, maxKeys);
+    }
+
     /**
      * Check if file exists in S3
      */
@@ -136,13 +239,118 @@ public class S3Service {
         }
 
         try {
-            return s3.doesObjectExist(bucket, s3Key);
-        } catch (AmazonServiceException e) {
+            return blobStore.exists(s3Key);
+        } catch (RuntimeException e) {
             log.error("Error checking file existence: {} - {}", s3Key, e.getMessage(), e);
             return false;
         }
     }
 
+    /**
+     * Open a byte range of an object as a stream (endInclusive < 0 means to the end)
+     */
+    public InputStream openRange(String s3Key, long start, long endInclusive) {
+        if (!StringUtils.hasText(s3Key)) {
+            throw new IllegalArgumentException("S3 key cannot be null or empty");
+        }
+
+        return blobStore.get(s3Key, start, endInclusive).content();
+    }
+
+    /**
+     * Read a small byte range fully (header probing 등)
+     */
+    public byte[] readRange(String s3Key, long start, long endInclusive) throws IOException {
+        try (InputStream in = openRange(s3Key, start, endInclusive)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Upload a derived artifact (전처리 결과 등) from a local file, returns the file URL
+     */
+    public String uploadArtifact(String s3Key, Path file, String contentType, boolean makePublic) throws IOException {
+        BlobStore.PutOptions options = createPutOptions(contentType, makePublic);
+        try {
+            blobStore.put(s3Key, file, options);
+        } catch (RuntimeException e) {
+            log.error("Storage error during artifact upload: {} - {}", s3Key, e.getMessage(), e);
+            throw new RuntimeException("S3 service error: " + e.getMessage(), e);
+        }
+        log.info("Successfully uploaded artifact: {}", s3Key);
+        return makePublic ? buildPublicUrl(s3Key) : blobStore.url(s3Key);
+    }
+
+    /**
+     * Upload a derived artifact from a stream of known length (파일 일부 구간 등), returns the file URL
+     */
+    public String uploadArtifact(String s3Key, InputStream content, long length, String contentType, boolean makePublic) {
+        try {
+            blobStore.put(s3Key, content, length, createPutOptions(contentType, makePublic));
+        } catch (RuntimeException e) {
+            log.error("Storage error during artifact upload: {} - {}", s3Key, e.getMessage(), e);
+            throw new RuntimeException("S3 service error: " + e.getMessage(), e);
+        }
+        log.info("Successfully uploaded artifact: {}", s3Key);
+        return makePublic ? buildPublicUrl(s3Key) : blobStore.url(s3Key);
+    }
+
+    /**
+     * Upload small in-memory content (sidecar 등), returns the S3 ETag
+     */
+    public String uploadBytes(String s3Key, byte[] content, String contentType) {
+        try {
+            return blobStore.put(s3Key, new ByteArrayInputStream(content), content.length,
+                    createPutOptions(contentType, false)).eTag();
+        } catch (RuntimeException e) {
+            log.error("Storage error during upload: {} - {}", s3Key, e.getMessage(), e);
+            throw new RuntimeException("S3 service error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get an object unless its ETag matches (null when not modified, BlobNotFoundException when missing)
+     */
+    public BlobStore.Blob getObjectIfNoneMatch(String s3Key, String eTag) {
+        return blobStore.getIfNoneMatch(s3Key, eTag);
+    }
+
+    /**
+     * Presign a request for an existing object (PresignedUrlCache 에서 재사용)
+     */
+    public URL generatePresignedUrl(String s3Key, HttpMethod method, Date expiration) {
+        return blobStore.presign(s3Key, method, expiration);
+    }
+
+    /**
+     * 원본 업로드를 public-read 로 올리는지 여부 (false 면 재생/학습에 presigned URL 사용)
+     */
+    public boolean isPublicRead() {
+        return publicRead;
+    }
+
+    /**
+     * 새 업로드에 쓰는 키 레이아웃
+     */
+    public KeyLayout getKeyLayout() {
+        return keyLayout;
+    }
+
+    /**
+     * 주어진 레이아웃의 원본 키 base (확장자 제외, 지갑 주소는 업로드와 같은 방식으로 정리)
+     */
+    public String baseKey(KeyLayout layout, String walletAddress, String id, LocalDate date) {
+        return layout.base(sanitizeWalletAddress(walletAddress), id, date);
+    }
+
+    /**
+     * Copy an object to a new key (메타데이터/공개 여부 유지, BlobNotFoundException when missing)
+     */
+    public void copyFile(String sourceKey, String targetKey) {
+        blobStore.copy(sourceKey, targetKey);
+        log.debug("Copied file: {} -> {}", sourceKey, targetKey);
+    }
+
     // Private helper methods
 
     private boolean isValidAudioFile(String contentType, String filename) {
@@ -173,41 +381,38 @@ public class S3Service {
     }
 
     private String generateS3Key(String safeWallet, String extension) {
-        LocalDate date = LocalDate.now();
-        return String.format("voices/%s/%04d/%02d/%02d/%s.%s",
-                safeWallet,
-                date.getYear(),
-                date.getMonthValue(),
-                date.getDayOfMonth(),
-                UUID.randomUUID(),
-                extension);
+        return keyLayout.base(safeWallet, UUID.randomUUID().toString(), LocalDate.now()) + "." + extension;
     }
 
-    private ObjectMetadata createObjectMetadata(String contentType, long fileSize) {
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        metadata.setContentLength(fileSize);
-
-        // Add cache control for audio files
-        metadata.setCacheControl("max-age=31536000"); // 1 year
-
-        // Add metadata for tracking
-        metadata.addUserMetadata("uploaded-at", String.valueOf(System.currentTimeMillis()));
-
-        return metadata;
+    private BlobStore.PutOptions createPutOptions(String contentType, boolean makePublic) {
+        // Cache control for audio files (1 year) + metadata for tracking
+        return new BlobStore.PutOptions(contentType, "max-age=31536000", makePublic,
+                Map.of("uploaded-at", String.valueOf(System.currentTimeMillis())));
     }
 
-    private void uploadToS3(MultipartFile file, String key, ObjectMetadata metadata, boolean makePublic)
-            throws IOException {
-
-        try (InputStream inputStream = file.getInputStream()) {
-            PutObjectRequest request = new PutObjectRequest(bucket, key, inputStream, metadata);
-
-            if (makePublic) {
-                request.withCannedAcl(CannedAccessControlList.PublicRead);
+    /**
+     * 업로드하면서 SHA-256 계산 (추가 읽기 없음), hex 반환
+     */
+    private String uploadToS3(MultipartFile file, String key, BlobStore.PutOptions options) throws IOException {
+
+        MessageDigest digest = newSha256();
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest) {
+            // SDK 재시도 시 mark/reset 이 원본 스트림까지 내려가면 해시가 중복 계산되므로 SDK 자체 버퍼를 쓰게 함
+            @Override
+            public boolean markSupported() {
+                return false;
             }
+        }) {
+            blobStore.put(key, inputStream, file.getSize(), options);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
-            s3.putObject(request);
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -216,7 +421,7 @@ public class S3Service {
             String cleanCdnBase = cdnBase.endsWith("/") ? cdnBase.substring(0, cdnBase.length() - 1) : cdnBase;
             return cleanCdnBase + "/" + key;
         }
-        return s3.getUrl(bucket, key).toString();
+        return blobStore.url(key);
     }
 
     private URL generatePresignedUrl(String key, boolean makePublic, int presignExpireSeconds) {
@@ -226,17 +431,16 @@ public class S3Service {
 
         try {
             Date expiration = new Date(System.currentTimeMillis() + (presignExpireSeconds * 1000L));
-            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key)
-                    .withMethod(HttpMethod.GET)
-                    .withExpiration(expiration);
-
-            return s3.generatePresignedUrl(request);
+            return generatePresignedUrl(key, HttpMethod.GET, expiration);
         } catch (Exception e) {
             log.error("Failed to generate presigned URL for key: {}", key, e);
             return null;
         }
     }
 
-    /** 업로드 결과 DTO */
-    public record S3UploadResult(String key, String s3Url, String publicUrl, URL presignedUrl) {}
+    /** 업로드 결과 DTO (contentHash: SHA-256 hex) */
+    public record S3UploadResult(String key, String s3Url, String publicUrl, URL presignedUrl, String contentHash) {}
+
+    /** 재개 가능한 업로드 대상 (최종 키 + 멀티파트 업로드 ID) */
+    public record ResumableTarget(String key, String uploadId) {}
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.AudIon.service.storage;
+
+/**
+ * 없는 키 읽기 (S3 404 / 로컬 파일 없음)
+ */
+public class BlobNotFoundException extends RuntimeException {
+
+    public BlobNotFoundException(String key) {
+        super("Blob not found: " + key);
+    }
+
+    public BlobNotFoundException(String key, Throwable cause) {
+        super("Blob not found: " + key, cause);
+    }
+}
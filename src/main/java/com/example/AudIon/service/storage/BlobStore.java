@@ -0,0 +1,118 @@
+package com.example.AudIon.service.storage;
+
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 객체 저장소 추상화 (S3 / 로컬 파일시스템)
+ * - 키는 "voices/..." 같은 슬래시 구분 경로, 객체는 한 번 쓰면 통째로만 교체
+ * - 없는 키 읽기는 BlobNotFoundException, 그 외 저장소 오류는 구현별 RuntimeException
+ * - app.storage.type 으로 구현 선택 (s3 기본, local)
+ */
+public interface BlobStore {
+
+    /**
+     * @param contentType  Content-Type (null 이면 application/octet-stream)
+     * @param cacheControl Cache-Control (null 이면 생략)
+     * @param publicRead   인증 없이 url(key) 로 읽기 허용
+     * @param metadata     사용자 메타데이터
+     */
+    record PutOptions(String contentType, String cacheControl, boolean publicRead, Map<String, String> metadata) {
+        public PutOptions {
+            metadata = metadata == null ? Map.of() : Map.copyOf(metadata);
+        }
+    }
+
+    /**
+     * @param size 전체 객체 크기 (구간 읽기여도 전체 크기)
+     * @param eTag 따옴표 없는 ETag (단일 업로드는 내용 MD5 hex)
+     */
+    record BlobInfo(String key, long size, String eTag, String contentType, Instant lastModified) {}
+
+    /**
+     * 목록 한 페이지 (키 사전순, 바이트 기준) - nextStartAfter 가 null 이면 마지막 페이지
+     */
+    record ListPage(List<BlobInfo> items, String nextStartAfter) {}
+
+    /**
+     * 읽기 결과 (content 는 요청 구간만, 호출 측에서 close)
+     */
+    record Blob(BlobInfo info, InputStream content) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+    }
+
+    BlobInfo put(String key, InputStream content, long length, PutOptions options);
+
+    default BlobInfo put(String key, Path file, PutOptions options) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return put(key, in, Files.size(file), options);
+        }
+    }
+
+    Optional<BlobInfo> head(String key);
+
+    default boolean exists(String key) {
+        return head(key).isPresent();
+    }
+
+    /**
+     * 구간 읽기 (endInclusive < 0 이면 끝까지)
+     */
+    Blob get(String key, long start, long endInclusive);
+
+    /**
+     * 전체 읽기, ETag 가 같으면 null (변경 없음)
+     */
+    Blob getIfNoneMatch(String key, String eTag);
+
+    void delete(String key);
+
+    /**
+     * prefix 아래 키를 startAfter 다음부터 최대 maxKeys 개 (BlobInfo.contentType 은 null)
+     */
+    ListPage list(String prefix, String startAfter, int maxKeys);
+
+    /**
+     * 여러 키 삭제, 실패한 키 목록 반환 (없는 키는 성공으로 봄)
+     */
+    List<String> deleteAll(Collection<String> keys);
+
+    /**
+     * 같은 저장소 안에서 복사 (내용/메타데이터/공개 여부 유지, 원본이 없으면 BlobNotFoundException)
+     */
+    void copy(String sourceKey, String targetKey);
+
+    // 멀티파트 업로드 (파트 번호는 1부터, 완료 시 번호 순 ETag 목록)
+
+    String initiateMultipart(String key, PutOptions options);
+
+    String uploadPart(String key, String uploadId, int partNumber, InputStream content, long length);
+
+    BlobInfo completeMultipart(String key, String uploadId, List<String> partETags);
+
+    void abortMultipart(String key, String uploadId);
+
+    /**
+     * 서명된 임시 URL
+     */
+    URL presign(String key, HttpMethod method, Date expiration);
+
+    /**
+     * 객체의 기본 URL (publicRead 객체는 그대로 읽을 수 있음)
+     */
+    String url(String key);
+}
@@ -0,0 +1,55 @@
+package com.example.AudIon.service.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * 여러 노드 중 한 곳에서만 배치 작업 실행 (PostgreSQL 세션 advisory lock)
+ * - 작업 동안 커넥션 하나를 잡고 pg_try_advisory_lock, 끝나면 해제 (노드가 죽으면 세션 종료로 자동 해제)
+ * - 이미 다른 노드가 잡고 있으면 기다리지 않고 이번 실행을 건너뜀
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 잠금을 얻으면 job 실행 후 true, 다른 노드가 실행 중이면 false
+     */
+    public boolean runExclusively(String name, Runnable job) {
+        long key = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            if (!call(con, "SELECT pg_try_advisory_lock(?)", key)) {
+                log.debug("Job {} is running on another node, skipped", name);
+                return false;
+            }
+            try {
+                job.run();
+            } finally {
+                call(con, "SELECT pg_advisory_unlock(?)", key);
+            }
+            return true;
+        }));
+    }
+
+    private static boolean call(Connection con, String sql, long key) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.AudIon.service.storage;
+
+import com.example.AudIon.domain.voice.FlacConversion;
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.voice.FlacConversionRepository;
+import com.example.AudIon.repository.voice.StoredObjectRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.s3.KeyLayout;
+import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.service.voice.VoiceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 객체를 현재 키 레이아웃(app.storage.key-layout)으로 옮김 (백그라운드)
+ * - 원본 키 하나(공유 객체면 그 키를 참조하는 모든 파일)를 단위로: 원본/파생 객체 복사 → DB 키/URL 치환 → 이전 키 삭제
+ * - 복사와 DB 갱신 사이에는 두 위치 모두 유효, DB 갱신이 실패하거나 건너뛰면 복사본만 지움
+ *   (이전 키 삭제가 실패해도 DB 행이 없으므로 StorageGarbageCollector 의 고아 객체 정리에서 회수)
+ * - 전처리/학습 중이거나 FLAC 교체가 진행 중인 키는 건너뛰고 다음 바퀴에 재시도
+ * - 키 순으로 batch-size 씩 이어서 처리, 복사는 copies-per-second 로 속도 제한
+ * - 공유 이동: 다른 지갑이 같은 내용을 따로 올린 객체는 지갑 주소 없는 KeyLayout.SHARED 키로 옮김
+ *   (레이아웃 이전과 별도로 share-enabled 로 켜고 끔, SHARED 키는 레이아웃 이전 대상에서 제외)
+ * - 여러 노드 중 ClusterJobLock 을 잡은 한 곳에서만 실행 (커서는 그 노드 메모리에 유지)
+ * - 복사본 정리 전 DB 가 새 위치를 참조하는지 확인 - 다른 경로로 이미 옮겨진 객체는 지우지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KeyLayoutMigrator {
+
+    private static final List<VoiceFile.Status> BUSY = List.of(VoiceFile.Status.PROCESSING, VoiceFile.Status.TRAINING);
+    private static final List<FlacConversion.Status> FLAC_PENDING = List.of(FlacConversion.Status.ENCODED,
+            FlacConversion.Status.SWAPPED);
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final FlacConversionRepository flacConversionRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final VoiceService voiceService;
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+    private final ClusterJobLock clusterJobLock;
+
+    @Value("${app.storage.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.storage.migration.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.storage.migration.copies-per-second:50}")
+    private int copiesPerSecond;
+
+    @Value("${app.storage.migration.share-enabled:true}")
+    private boolean shareEnabled;
+
+    private String cursor = ""; // 다음 실행에서 이어서 처리할 위치 (한 바퀴 돌면 처음부터)
+    private String shareCursor = "";
+    private long nextCopySlot;
+
+    @Scheduled(initialDelayString = "${app.storage.migration.initial-delay-ms:120000}",
+            fixedDelayString = "${app.storage.migration.interval-ms:60000}")
+    public void run() {
+        clusterJobLock.runExclusively("storage.key-layout-migration", this::migrateBatch);
+    }
+
+    private void migrateBatch() {
+        try {
+            if (shareEnabled) {
+                shareDuplicates();
+            }
+            if (enabled) {
+                relayout();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Key layout migration failed at {} / {}, retrying next run", shareCursor, cursor, e);
+        }
+    }
+
+    private void relayout() throws InterruptedException {
+        KeyLayout target = s3Service.getKeyLayout();
+        List<String> keys = voiceFileRepository.findKeysToRelayout(target.version(),
+                KeyLayout.of(null) != target, KeyLayout.SHARED.version(), cursor, PageRequest.of(0, batchSize));
+        if (keys.isEmpty()) {
+            cursor = "";
+            return;
+        }
+        for (String key : keys) {
+            cursor = key;
+            String result = migrate(key, target);
+            meterRegistry.counter("storage.migration.groups", "result", result).increment();
+        }
+    }
+
+    /**
+     * 다른 지갑이 같은 내용을 올린 객체를 공유 키로 이동 (이후 업로드부터 공유)
+     */
+    private void shareDuplicates() throws InterruptedException {
+        List<String> keys = storedObjectRepository.findKeysToShare(shareCursor, batchSize);
+        if (keys.isEmpty()) {
+            shareCursor = "";
+            return;
+        }
+        for (String key : keys) {
+            shareCursor = key;
+            String result = migrate(key, KeyLayout.SHARED);
+            meterRegistry.counter("storage.migration.shared", "result", result).increment();
+        }
+    }
+
+    /**
+     * 원본 키 하나 이동, 결과(moved | skipped | missing | failed) 반환
+     */
+    private String migrate(String sourceKey, KeyLayout target) throws InterruptedException {
+        if (flacConversionRepository.existsBySourceKeyAndStatusIn(sourceKey, FLAC_PENDING)) {
+            return "skipped";
+        }
+        List<VoiceFile> files = voiceFileRepository.findAllByS3KeyOrderByUploadedAtAsc(sourceKey);
+        if (files.isEmpty() || files.stream().anyMatch(file -> BUSY.contains(file.getStatus()))) {
+            return "skipped";
+        }
+
+        // 처음 업로드한 파일 기준으로 새 위치 계산 (id 는 기존 키의 UUID 그대로)
+        VoiceFile owner = files.get(0);
+        String oldBase = baseOf(sourceKey);
+        String id = oldBase.substring(oldBase.lastIndexOf('/') + 1);
+        String newBase = s3Service.baseKey(target, owner.getWalletAddress(), id, owner.getUploadedAt().toLocalDate());
+        if (newBase.equals(oldBase)) {
+            // 키 모양은 이미 대상 레이아웃 (버전만 기록)
+            return voiceService.relocateStoredObject(sourceKey, oldBase, newBase, target) > 0 ? "moved" : "skipped";
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        files.forEach(file -> voiceService.storageKeys(file).stream()
+                .filter(key -> key.startsWith(oldBase))
+                .forEach(keys::add));
+
+        List<String> copied = new ArrayList<>();
+        for (String key : keys) {
+            throttle();
+            String targetKey = newBase + key.substring(oldBase.length());
+            try {
+                s3Service.copyFile(key, targetKey);
+                copied.add(targetKey);
+            } catch (BlobNotFoundException e) {
+                if (key.equals(sourceKey)) {
+                    discardCopies(copied, newBase);
+                    log.warn("Key layout migration skipped {}: original object is missing", sourceKey);
+                    return "missing";
+                }
+                // 이미 없는 파생 객체는 옮길 것이 없음 (이동 후에도 같은 상태)
+                log.debug("Derived object {} missing, not copied", key);
+            } catch (RuntimeException e) {
+                discardCopies(copied, newBase);
+                log.warn("Key layout migration of {} failed while copying {}: {}", sourceKey, key, e.getMessage());
+                return "failed";
+            }
+        }
+        meterRegistry.counter("storage.migration.objects.copied").increment(copied.size());
+
+        // 복사 중 전처리/학습이 시작됐거나 FLAC 교체로 원본 키가 바뀌었으면 0 이하 - 복사본만 정리
+        if (voiceService.relocateStoredObject(sourceKey, oldBase, newBase, target) <= 0) {
+            discardCopies(copied, newBase);
+            return "skipped";
+        }
+
+        List<String> failed = s3Service.deleteFiles(keys);
+        if (!failed.isEmpty()) {
+            log.warn("Moved {} -> {} but {} old object(s) could not be deleted", oldBase, newBase, failed.size());
+        }
+        return "moved";
+    }
+
+    /**
+     * 이번에 만든 복사본 삭제 - DB 행이 이미 새 위치를 참조하면(다른 노드가 먼저 옮김) 그대로 둠
+     */
+    private void discardCopies(List<String> copied, String newBase) {
+        if (copied.isEmpty()) {
+            return;
+        }
+        if (voiceFileRepository.existsByS3KeyStartingWith(newBase)) {
+            log.warn("Kept {} copied object(s) under {}: already referenced by another migration", copied.size(), newBase);
+            return;
+        }
+        s3Service.deleteFiles(copied);
+    }
+
+    /**
+     * 초당 복사 수 제한
+     */
+    private void throttle() throws InterruptedException {
+        if (copiesPerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long start = Math.max(now, nextCopySlot);
+        nextCopySlot = start + TimeUnit.SECONDS.toNanos(1) / copiesPerSecond;
+        if (start > now) {
+            TimeUnit.NANOSECONDS.sleep(start - now);
+        }
+    }
+
+    /**
+     * 원본 키에서 확장자를 뺀 base
+     */
+    private static String baseOf(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+    }
+}
@@ -0,0 +1,812 @@
+package com.example.AudIon.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 파일시스템 BlobStore (단일 노드 운영 / 테스트 대용)
+ * - objects/ab/cd/{sha256}: 내용 주소 지정 저장 (같은 내용은 한 번만 저장, {sha256}.refs 에 참조 수)
+ * - keys/ab/cd/{sha256(key)}.meta: 키 → 내용 해시/크기/ETag/Content-Type 등 (Properties)
+ * - 목록용 키 색인은 메모리의 정렬 집합 (기동 시 keys/ 를 한 번 훑어 채우고 메타 쓰기/삭제 때 갱신)
+ * - 쓰기는 tmp/ 에 FileChannel 로 기록하며 SHA-256/MD5 동시 계산 후 원자적 이동
+ * - fsync 정책: NONE (OS 에 맡김), DATA (파일 내용 force), FULL (메타데이터 + 디렉터리까지 force)
+ * - 하드 링크 대신 참조 수 파일을 써서 Windows 개발 환경에서도 동일하게 동작
+ * - presign 은 HMAC-SHA256 서명 URL, LocalBlobController 가 /public/blobs/** 로 서빙
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Slf4j
+public class LocalBlobStore implements BlobStore {
+
+    public static final String URL_PREFIX = "/public/blobs/";
+
+    public enum FsyncPolicy { NONE, DATA, FULL }
+
+    /** 컨트롤러 서빙용 (content 는 실제 내용 파일) */
+    public record LocalBlob(BlobInfo info, Path content, String cacheControl, boolean publicRead) {}
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final ConcurrentSkipListSet<String> keyIndex = new ConcurrentSkipListSet<>(LocalBlobStore::compareBytes);
+
+    @Value("${app.storage.local.root:${java.io.tmpdir}/audion-blobs}")
+    private String rootDir;
+
+    @Value("${app.storage.local.fsync:DATA}")
+    private FsyncPolicy fsync;
+
+    @Value("${app.storage.local.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${app.storage.local.signing-secret:}")
+    private String signingSecret;
+
+    private Path objects;
+    private Path keys;
+    private Path tmp;
+    private Path multipart;
+    private byte[] secret;
+
+    public LocalBlobStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Path root = Paths.get(rootDir).toAbsolutePath();
+        objects = Files.createDirectories(root.resolve("objects"));
+        keys = Files.createDirectories(root.resolve("keys"));
+        multipart = Files.createDirectories(root.resolve("multipart"));
+        tmp = root.resolve("tmp");
+        FileSystemUtils.deleteRecursively(tmp); // 중단된 쓰기 잔여물
+        Files.createDirectories(tmp);
+        loadKeyIndex();
+
+        if (StringUtils.hasText(signingSecret)) {
+            secret = signingSecret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            log.warn("app.storage.local.signing-secret not set, presigned URLs will not survive a restart");
+        }
+        log.info("Local blob store at {} (fsync={}, {} keys)", root, fsync, keyIndex.size());
+    }
+
+    private void loadKeyIndex() throws IOException {
+        try (Stream<Path> files = Files.walk(keys)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".meta"))::iterator) {
+                String key = readProperties(file).getProperty("key");
+                if (key != null) {
+                    keyIndex.add(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    public BlobInfo put(String key, InputStream content, long length, PutOptions options) {
+        validateKey(key);
+        try {
+            Written written = write(Channels.newChannel(content), length);
+            return commit(key, written, written.md5(), options);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local blob write failed: " + key, e);
+        }
+    }
+
+    @Override
+    public BlobInfo put(String key, Path file, PutOptions options) throws IOException {
+        validateKey(key);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            Written written = write(in, in.size());
+            return commit(key, written, written.md5(), options);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> head(String key) {
+        return readMeta(key).map(meta -> meta.info(key));
+    }
+
+    @Override
+    public Blob get(String key, long start, long endInclusive) {
+        for (int attempt = 0; ; attempt++) {
+            Meta meta = readMeta(key).orElseThrow(() -> new BlobNotFoundException(key));
+            try {
+                FileChannel channel = FileChannel.open(contentPath(meta.hash()), StandardOpenOption.READ);
+                long end = endInclusive < 0 ? meta.size() - 1 : Math.min(endInclusive, meta.size() - 1);
+                long length = Math.max(0, end - start + 1);
+                return new Blob(meta.info(key), new RangeInputStream(channel, start, length));
+            } catch (NoSuchFileException e) {
+                // 메타 조회 직후 덮어쓰기/삭제로 내용이 해제된 경우 한 번 다시 조회
+                if (attempt > 0) {
+                    throw new BlobNotFoundException(key, e);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Local blob read failed: " + key, e);
+            }
+        }
+    }
+
+    @Override
+    public Blob getIfNoneMatch(String key, String eTag) {
+        if (StringUtils.hasText(eTag)) {
+            Meta meta = readMeta(key).orElseThrow(() -> new BlobNotFoundException(key));
+            if (meta.eTag().equals(eTag)) {
+                return null;
+            }
+        }
+        return get(key, 0, -1);
+    }
+
+    /**
+     * 컨트롤러 서빙용 조회 (Range 처리는 Spring Resource 에 맡김)
+     */
+    public Optional<LocalBlob> locate(String key) {
+        return readMeta(key).map(meta -> new LocalBlob(meta.info(key), contentPath(meta.hash()),
+                meta.cacheControl(), meta.publicRead()));
+    }
+
+    @Override
+    public void delete(String key) {
+        validateKey(key);
+        Path metaPath = metaPath(key);
+        String released;
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Optional<Meta> meta = readMeta(key);
+            if (meta.isEmpty()) {
+                return;
+            }
+            Files.deleteIfExists(metaPath);
+            keyIndex.remove(key);
+            released = meta.get().hash();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local blob delete failed: " + key, e);
+        } finally {
+            lock.unlock();
+        }
+        release(released);
+    }
+
+    /**
+     * 정렬된 키 색인에서 startAfter(또는 prefix) 다음부터 이어 읽음 - 페이지마다 O(log n + maxKeys)
+     * (바이트 순이라 같은 prefix 의 키는 연속, prefix 를 벗어나면 종료)
+     */
+    @Override
+    public ListPage list(String prefix, String startAfter, int maxKeys) {
+        String from = prefix == null ? "" : prefix;
+        NavigableSet<String> range = startAfter != null && compareBytes(startAfter, from) >= 0
+                ? keyIndex.tailSet(startAfter, false)
+                : keyIndex.tailSet(from, true);
+        List<BlobInfo> items = new ArrayList<>();
+        for (String key : range) {
+            if (!key.startsWith(from)) {
+                break;
+            }
+            if (items.size() == maxKeys) {
+                return new ListPage(items, items.get(items.size() - 1).key());
+            }
+            readMeta(key).ifPresent(meta -> items.add(meta.info(key))); // 목록 중 삭제됐으면 건너뜀
+        }
+        return new ListPage(items, null);
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (String key : keys) {
+            try {
+                delete(key);
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete local blob {}: {}", key, e.getMessage());
+                failed.add(key);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 내용은 그대로 두고 참조만 하나 늘려 새 키 메타를 씀 (내용 복사 없음)
+     */
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        validateKey(sourceKey);
+        validateKey(targetKey);
+        try {
+            Properties props;
+            try {
+                props = readProperties(metaPath(sourceKey));
+            } catch (NoSuchFileException e) {
+                throw new BlobNotFoundException(sourceKey, e);
+            }
+            String hash = props.getProperty("hash");
+            retain(hash, sourceKey);
+            props.setProperty("key", targetKey);
+            props.setProperty("lastModified", Instant.now().toString());
+            replaceMeta(targetKey, props, hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local blob copy failed: " + sourceKey + " -> " + targetKey, e);
+        }
+    }
+
+    @Override
+    public String initiateMultipart(String key, PutOptions options) {
+        validateKey(key);
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Path dir = Files.createDirectories(multipart.resolve(uploadId));
+            Properties props = new Properties();
+            props.setProperty("key", key);
+            writeOptions(props, options);
+            writeProperties(dir.resolve("upload.meta"), props);
+            return uploadId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local multipart initiate failed: " + key, e);
+        }
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream content, long length) {
+        if (partNumber < 1 || partNumber > 10000) {
+            throw new IllegalArgumentException("Part number must be between 1 and 10000: " + partNumber);
+        }
+        Path dir = uploadDir(key, uploadId);
+        try {
+            Written written = write(Channels.newChannel(content), length);
+            move(written.file(), dir.resolve(partName(partNumber)));
+            Files.writeString(dir.resolve(partName(partNumber) + ".etag"), written.md5(), StandardCharsets.US_ASCII);
+            return written.md5();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local part upload failed: " + key + " #" + partNumber, e);
+        }
+    }
+
+    @Override
+    public BlobInfo completeMultipart(String key, String uploadId, List<String> partETags) {
+        if (partETags.isEmpty()) {
+            throw new IllegalArgumentException("At least one part is required");
+        }
+        Path dir = uploadDir(key, uploadId);
+        try {
+            Properties props = readProperties(dir.resolve("upload.meta"));
+            MessageDigest partDigests = newDigest("MD5");
+            HexFormat hex = HexFormat.of();
+            List<Path> parts = new ArrayList<>(partETags.size());
+            for (int i = 0; i < partETags.size(); i++) {
+                Path part = dir.resolve(partName(i + 1));
+                Path etag = dir.resolve(partName(i + 1) + ".etag");
+                if (!Files.exists(part) || !Files.exists(etag)) {
+                    throw new IllegalArgumentException("Missing part " + (i + 1) + " for upload " + uploadId);
+                }
+                if (!Files.readString(etag, StandardCharsets.US_ASCII).equals(partETags.get(i))) {
+                    throw new IllegalArgumentException("ETag mismatch for part " + (i + 1));
+                }
+                parts.add(part);
+                partDigests.update(hex.parseHex(partETags.get(i)));
+            }
+
+            // 파트를 이어 붙이며 전체 SHA-256 계산 (ETag 는 S3 와 같은 md5(파트 md5...)-N 형식)
+            Written written;
+            try (ConcatChannel in = new ConcatChannel(parts)) {
+                written = write(in, -1);
+            }
+            String eTag = hex.formatHex(partDigests.digest()) + "-" + parts.size();
+            BlobInfo info = commit(key, written, eTag, readOptions(props));
+            FileSystemUtils.deleteRecursively(dir);
+            return info;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local multipart complete failed: " + key, e);
+        }
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            FileSystemUtils.deleteRecursively(uploadDir(key, uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local multipart abort failed: " + key, e);
+        }
+    }
+
+    @Override
+    public URL presign(String key, HttpMethod method, Date expiration) {
+        long expires = expiration.toInstant().getEpochSecond();
+        String url = url(key) + "?method=" + method.name() + "&expires=" + expires
+                + "&signature=" + sign(method.name(), key, expires);
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("Invalid local blob URL: " + url, e);
+        }
+    }
+
+    /**
+     * presign 서명 검증 (만료 포함, 상수 시간 비교)
+     */
+    public boolean verify(String key, String method, long expires, String signature) {
+        if (!StringUtils.hasText(signature) || !StringUtils.hasText(method)
+                || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(method, key, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public String url(String key) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return base + URL_PREFIX + UriUtils.encodePath(key, StandardCharsets.UTF_8);
+    }
+
+    // 쓰기 / 커밋
+
+    private record Written(Path file, long size, String sha256, String md5) {}
+
+    /**
+     * tmp 파일로 기록하며 SHA-256/MD5 계산 (length >= 0 이면 길이 검증)
+     */
+    private Written write(ReadableByteChannel in, long length) throws IOException {
+        MessageDigest sha256 = newDigest("SHA-256");
+        MessageDigest md5 = newDigest("MD5");
+        Path file = tmp.resolve(UUID.randomUUID() + ".part");
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = 0;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                sha256.update(buffer.array(), 0, buffer.limit());
+                md5.update(buffer.array(), 0, buffer.limit());
+                size += buffer.limit();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            if (length >= 0 && size != length) {
+                throw new IOException("Expected " + length + " bytes but read " + size);
+            }
+            force(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        HexFormat hex = HexFormat.of();
+        return new Written(file, size, hex.formatHex(sha256.digest()), hex.formatHex(md5.digest()));
+    }
+
+    /**
+     * 내용 참조 확보 → 키 메타 교체 → 이전 내용 참조 해제 (락은 중첩하지 않음)
+     */
+    private BlobInfo commit(String key, Written written, String eTag, PutOptions options) throws IOException {
+        acquire(written);
+
+        Instant now = Instant.now();
+        Properties props = new Properties();
+        props.setProperty("key", key);
+        props.setProperty("hash", written.sha256());
+        props.setProperty("size", String.valueOf(written.size()));
+        props.setProperty("etag", eTag);
+        props.setProperty("lastModified", now.toString());
+        writeOptions(props, options);
+
+        replaceMeta(key, props, written.sha256());
+        return new BlobInfo(key, written.size(), eTag, contentType(options), now);
+    }
+
+    /**
+     * 키 메타 교체 (hash 참조는 이미 확보된 상태, 실패하면 해제), 이전 내용 참조 해제
+     */
+    private void replaceMeta(String key, Properties props, String hash) throws IOException {
+        String previous;
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            previous = readMeta(key).map(Meta::hash).orElse(null);
+            writeProperties(metaPath(key), props);
+            keyIndex.add(key);
+        } catch (IOException | RuntimeException e) {
+            release(hash);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    private void acquire(Written written) throws IOException {
+        String hash = written.sha256();
+        Path content = contentPath(hash);
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            long refs = readRefs(hash);
+            if (refs > 0 && Files.exists(content)) {
+                Files.deleteIfExists(written.file()); // 같은 내용이 이미 있음
+            } else {
+                Files.createDirectories(content.getParent());
+                move(written.file(), content);
+                refs = 0;
+            }
+            writeRefs(hash, refs + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이미 저장된 내용의 참조 추가 (그 사이 마지막 참조가 해제돼 내용이 없으면 원본 키가 없는 것으로 봄)
+     */
+    private void retain(String hash, String key) throws IOException {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            long refs = readRefs(hash);
+            if (refs <= 0 || !Files.exists(contentPath(hash))) {
+                throw new BlobNotFoundException(key);
+            }
+            writeRefs(hash, refs + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(String hash) {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            long refs = readRefs(hash) - 1;
+            if (refs > 0) {
+                writeRefs(hash, refs);
+            } else {
+                Files.deleteIfExists(contentPath(hash));
+                Files.deleteIfExists(refsPath(hash));
+            }
+        } catch (IOException e) {
+            // 참조 수가 어긋나도 내용이 남을 뿐 (다음 정리 때 회수)
+            log.warn("Failed to release local blob content {}: {}", hash, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long readRefs(String hash) throws IOException {
+        Path refs = refsPath(hash);
+        if (!Files.exists(refs)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(refs, StandardCharsets.US_ASCII).trim());
+    }
+
+    private void writeRefs(String hash, long refs) throws IOException {
+        Path file = tmp.resolve(UUID.randomUUID() + ".refs");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            out.write(ByteBuffer.wrap(String.valueOf(refs).getBytes(StandardCharsets.US_ASCII)));
+            force(out);
+        }
+        move(file, refsPath(hash));
+    }
+
+    // 메타데이터
+
+    private record Meta(String hash, long size, String eTag, String contentType, String cacheControl,
+                        boolean publicRead, Instant lastModified) {
+        BlobInfo info(String key) {
+            return new BlobInfo(key, size, eTag, contentType, lastModified);
+        }
+    }
+
+    private Optional<Meta> readMeta(String key) {
+        validateKey(key);
+        try {
+            Properties props = readProperties(metaPath(key));
+            return Optional.of(new Meta(
+                    props.getProperty("hash"),
+                    Long.parseLong(props.getProperty("size")),
+                    props.getProperty("etag"),
+                    props.getProperty("contentType"),
+                    props.getProperty("cacheControl"),
+                    Boolean.parseBoolean(props.getProperty("public")),
+                    Instant.parse(props.getProperty("lastModified"))));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local blob metadata read failed: " + key, e);
+        }
+    }
+
+    private static void writeOptions(Properties props, PutOptions options) {
+        props.setProperty("contentType", contentType(options));
+        if (options.cacheControl() != null) {
+            props.setProperty("cacheControl", options.cacheControl());
+        }
+        props.setProperty("public", String.valueOf(options.publicRead()));
+        options.metadata().forEach((name, value) -> props.setProperty("x-" + name, value));
+    }
+
+    private static PutOptions readOptions(Properties props) {
+        Map<String, String> metadata = new HashMap<>();
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith("x-")) {
+                metadata.put(name.substring(2), props.getProperty(name));
+            }
+        }
+        return new PutOptions(props.getProperty("contentType"), props.getProperty("cacheControl"),
+                Boolean.parseBoolean(props.getProperty("public")), metadata);
+    }
+
+    private Properties readProperties(Path path) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return props;
+    }
+
+    private void writeProperties(Path path, Properties props) throws IOException {
+        Path file = tmp.resolve(UUID.randomUUID() + ".meta");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            Writer writer = Channels.newWriter(out, StandardCharsets.UTF_8);
+            props.store(writer, null);
+            writer.flush();
+            force(out);
+        }
+        Files.createDirectories(path.getParent());
+        move(file, path);
+    }
+
+    // 파일시스템 헬퍼
+
+    private void force(FileChannel channel) throws IOException {
+        if (fsync != FsyncPolicy.NONE) {
+            channel.force(fsync == FsyncPolicy.FULL);
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (fsync == FsyncPolicy.FULL) {
+            try (FileChannel dir = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException e) {
+                // Windows 등 디렉터리 채널을 지원하지 않는 환경
+            }
+        }
+    }
+
+    private Path contentPath(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path refsPath(String hash) {
+        return contentPath(hash).resolveSibling(hash + ".refs");
+    }
+
+    private Path metaPath(String key) {
+        String hash = HexFormat.of().formatHex(newDigest("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+        return keys.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".meta");
+    }
+
+    private Path uploadDir(String key, String uploadId) {
+        Path dir;
+        Properties props;
+        try {
+            dir = multipart.resolve(UUID.fromString(uploadId).toString());
+            props = readProperties(dir.resolve("upload.meta"));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Unknown multipart upload: " + uploadId, e);
+        }
+        if (!key.equals(props.getProperty("key"))) {
+            throw new IllegalArgumentException("Upload " + uploadId + " does not belong to " + key);
+        }
+        return dir;
+    }
+
+    private static String partName(int partNumber) {
+        return String.format("part-%05d", partNumber);
+    }
+
+    private ReentrantLock lockFor(String value) {
+        return locks[Math.floorMod(value.hashCode(), LOCK_STRIPES)];
+    }
+
+    private String sign(String method, String key, long expires) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, SIGNATURE_ALGORITHM));
+            byte[] signature = mac.doFinal((method + "\n" + key + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(SIGNATURE_ALGORITHM + " not available", e);
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (!StringUtils.hasText(key) || key.startsWith("/") || key.contains("\\")
+                || ("/" + key + "/").contains("/../") || key.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+    }
+
+    /**
+     * S3 와 같은 UTF-8 바이트 순 비교
+     */
+    private static int compareBytes(String a, String b) {
+        return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String contentType(PutOptions options) {
+        return options.contentType() != null ? options.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+
+    /**
+     * FileChannel 의 [start, start + length) 구간 스트림 (위치 지정 읽기, 채널은 close 시 닫힘)
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        RangeInputStream(FileChannel channel, long start, long length) {
+            this.channel = channel;
+            this.position = start;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (n < 0) {
+                remaining = 0;
+                return -1;
+            }
+            position += n;
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 여러 파일을 순서대로 읽는 채널 (멀티파트 완료 시 이어 붙이기)
+     */
+    private static final class ConcatChannel implements ReadableByteChannel {
+        private final List<Path> files;
+        private int index;
+        private FileChannel current;
+
+        ConcatChannel(List<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            while (true) {
+                if (current == null) {
+                    if (index >= files.size()) {
+                        return -1;
+                    }
+                    current = FileChannel.open(files.get(index++), StandardOpenOption.READ);
+                }
+                int n = current.read(dst);
+                if (n >= 0) {
+                    return n;
+                }
+                current.close();
+                current = null;
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.AudIon.service.storage;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AmazonS3 (SDK v1) 기반 BlobStore
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private static final int MAX_DELETE_BATCH = 1000; // DeleteObjects / ListObjectsV2 한도
+
+    private final AmazonS3 s3;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Override
+    public BlobInfo put(String key, InputStream content, long length, PutOptions options) {
+        PutObjectRequest request = new PutObjectRequest(bucket, key, content, metadata(options, length));
+        return put(request, length, options);
+    }
+
+    @Override
+    public BlobInfo put(String key, Path file, PutOptions options) {
+        long length = file.toFile().length();
+        PutObjectRequest request = new PutObjectRequest(bucket, key, file.toFile()).withMetadata(metadata(options, length));
+        return put(request, length, options);
+    }
+
+    private BlobInfo put(PutObjectRequest request, long length, PutOptions options) {
+        if (options.publicRead()) {
+            request.withCannedAcl(CannedAccessControlList.PublicRead);
+        }
+        PutObjectResult result = s3.putObject(request);
+        return new BlobInfo(request.getKey(), length, result.getETag(), contentType(options), Instant.now());
+    }
+
+    @Override
+    public Optional<BlobInfo> head(String key) {
+        try {
+            return Optional.of(info(key, s3.getObjectMetadata(bucket, key)));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Blob get(String key, long start, long endInclusive) {
+        GetObjectRequest request = new GetObjectRequest(bucket, key);
+        if (endInclusive >= 0) {
+            request.withRange(start, endInclusive);
+        } else if (start > 0) {
+            request.withRange(start);
+        }
+        return blob(key, getObject(request));
+    }
+
+    @Override
+    public Blob getIfNoneMatch(String key, String eTag) {
+        GetObjectRequest request = new GetObjectRequest(bucket, key);
+        if (eTag != null && !eTag.isBlank()) {
+            request.withNonmatchingETagConstraint(eTag);
+        }
+        S3Object object = getObject(request);
+        return object == null ? null : blob(key, object);
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(bucket, key);
+    }
+
+    @Override
+    public ListPage list(String prefix, String startAfter, int maxKeys) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withPrefix(prefix)
+                .withMaxKeys(Math.min(maxKeys, MAX_DELETE_BATCH));
+        if (startAfter != null) {
+            request.withStartAfter(startAfter);
+        }
+        ListObjectsV2Result result = s3.listObjectsV2(request);
+        List<BlobInfo> items = result.getObjectSummaries().stream()
+                .map(summary -> new BlobInfo(summary.getKey(), summary.getSize(), summary.getETag(), null,
+                        summary.getLastModified() != null ? summary.getLastModified().toInstant() : null))
+                .toList();
+        String next = result.isTruncated() && !items.isEmpty() ? items.get(items.size() - 1).key() : null;
+        return new ListPage(items, next);
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> keys) {
+        List<String> failed = new ArrayList<>();
+        List<String> all = List.copyOf(keys);
+        for (int from = 0; from < all.size(); from += MAX_DELETE_BATCH) {
+            List<DeleteObjectsRequest.KeyVersion> batch = all.subList(from, Math.min(all.size(), from + MAX_DELETE_BATCH))
+                    .stream().map(DeleteObjectsRequest.KeyVersion::new).toList();
+            try {
+                s3.deleteObjects(new DeleteObjectsRequest(bucket).withKeys(batch).withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                e.getErrors().forEach(error -> failed.add(error.getKey()));
+                log.warn("Failed to delete {} of {} objects: {}", e.getErrors().size(), batch.size(), e.getMessage());
+            } catch (AmazonServiceException e) {
+                batch.forEach(version -> failed.add(version.getKey()));
+                log.warn("Batch delete of {} objects failed: {}", batch.size(), e.getMessage());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * CopyObject 는 ACL 을 복사하지 않으므로 원본 ACL 을 읽어 그대로 지정 (5GB 이하 객체)
+     */
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        try {
+            AccessControlList acl = s3.getObjectAcl(bucket, sourceKey);
+            s3.copyObject(new CopyObjectRequest(bucket, sourceKey, bucket, targetKey).withAccessControlList(acl));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                throw new BlobNotFoundException(sourceKey, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String initiateMultipart(String key, PutOptions options) {
+        InitiateMultipartUploadRequest request = new InitiateMultipartUploadRequest(bucket, key, metadata(options, -1));
+        if (options.publicRead()) {
+            request.withCannedACL(CannedAccessControlList.PublicRead);
+        }
+        return s3.initiateMultipartUpload(request).getUploadId();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream content, long length) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucket)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(content)
+                .withPartSize(length);
+        return s3.uploadPart(request).getPartETag().getETag();
+    }
+
+    @Override
+    public BlobInfo completeMultipart(String key, String uploadId, List<String> partETags) {
+        List<PartETag> parts = new ArrayList<>(partETags.size());
+        for (int i = 0; i < partETags.size(); i++) {
+            parts.add(new PartETag(i + 1, partETags.get(i)));
+        }
+        s3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, parts));
+        return head(key).orElseThrow(() -> new BlobNotFoundException(key));
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        s3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+    }
+
+    @Override
+    public URL presign(String key, HttpMethod method, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key)
+                .withMethod(com.amazonaws.HttpMethod.valueOf(method.name()))
+                .withExpiration(expiration);
+        return s3.generatePresignedUrl(request);
+    }
+
+    @Override
+    public String url(String key) {
+        return s3.getUrl(bucket, key).toString();
+    }
+
+    private S3Object getObject(GetObjectRequest request) {
+        try {
+            return s3.getObject(request);
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                throw new BlobNotFoundException(request.getKey(), e);
+            }
+            throw e;
+        }
+    }
+
+    private static Blob blob(String key, S3Object object) {
+        return new Blob(info(key, object.getObjectMetadata()), object.getObjectContent());
+    }
+
+    private static BlobInfo info(String key, ObjectMetadata metadata) {
+        Date lastModified = metadata.getLastModified();
+        return new BlobInfo(key, metadata.getInstanceLength(), metadata.getETag(), metadata.getContentType(),
+                lastModified != null ? lastModified.toInstant() : null);
+    }
+
+    private static ObjectMetadata metadata(PutOptions options, long length) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType(options));
+        if (length >= 0) {
+            metadata.setContentLength(length);
+        }
+        if (options.cacheControl() != null) {
+            metadata.setCacheControl(options.cacheControl());
+        }
+        options.metadata().forEach(metadata::addUserMetadata);
+        return metadata;
+    }
+
+    private static String contentType(PutOptions options) {
+        return options.contentType() != null ? options.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
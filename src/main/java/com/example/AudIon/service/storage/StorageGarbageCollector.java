@@ -0,0 +1,265 @@
+package com.example.AudIon.service.storage;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.model.VoiceModelRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.service.voice.VoiceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 가비지 컬렉션 (백그라운드)
+ * 1. 오래된 ERROR 모델 / FAILED 파일 행을 batch-size 씩 일괄 삭제 (파일은 참조가 남지 않은 S3 키를 모아 일괄 삭제)
+ *    - 파일 행은 SKIP LOCKED 로 선점한 노드만 참조 해제/삭제 (여러 노드가 동시에 돌아도 참조가 두 번 줄지 않음)
+ * 2. voices/ 아래 객체를 ListObjectsV2 로 페이지 단위 순회하며 DB 행이 없는 고아 객체를 일괄 삭제
+ *    - 키의 base({dir}/{id}) 기준으로 판별: 원본 확장자가 바뀌었거나(FLAC) 파생 결과(*.train.wav, *.peaks/ 등)여도
+ *      같은 base 의 voice_files 행이 있으면 유지
+ *    - 업로드 직후 행이 아직 없는 객체를 지우지 않도록 orphan-min-age 보다 오래된 객체만 대상
+ *    - 한 번에 max-objects-per-run 개까지만 훑고 다음 실행은 이어서 (한 바퀴 돌면 처음부터)
+ * - DeleteObjects 는 최대 1000개씩, max-deletes-per-second 로 속도 제한
+ * - dry-run 이면 삭제 대상만 집계/로그 (기본값)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageGarbageCollector {
+
+    private static final int MAX_DELETE_BATCH = 1000;
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final VoiceModelRepository voiceModelRepository;
+    private final VoiceService voiceService;
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.gc.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${app.gc.prefix:voices/}")
+    private String prefix;
+
+    @Value("${app.gc.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${app.gc.orphan-min-age-hours:24}")
+    private long orphanMinAgeHours;
+
+    @Value("${app.gc.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.gc.max-rows-per-run:10000}")
+    private int maxRowsPerRun;
+
+    @Value("${app.gc.max-objects-per-run:100000}")
+    private int maxObjectsPerRun;
+
+    @Value("${app.gc.max-deletes-per-second:200}")
+    private int maxDeletesPerSecond;
+
+    private String orphanCursor; // 다음 실행에서 이어서 훑을 위치 (null 이면 처음부터)
+    private long nextDeleteSlot;
+
+    /** 실행 1회 집계 */
+    private static final class RunStats {
+        long modelRows;
+        long fileRows;
+        long listed;
+        long orphans;
+        long orphanBytes;
+        long deleted;
+        long failed;
+    }
+
+    @Scheduled(initialDelayString = "${app.gc.initial-delay-ms:300000}",
+            fixedDelayString = "${app.gc.interval-ms:3600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        RunStats stats = new RunStats();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+            purgeErrorModels(before, stats);
+            purgeFailedFiles(before, stats);
+            sweepOrphans(stats);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Storage GC run failed", e);
+        } finally {
+            sample.stop(meterRegistry.timer("storage.gc.run", "dryRun", String.valueOf(dryRun)));
+            record(stats);
+            log.info("Storage GC {}: {} model rows, {} file rows, {} objects listed, {} orphans ({} bytes), " +
+                            "{} objects deleted, {} failed",
+                    dryRun ? "dry run" : "run", stats.modelRows, stats.fileRows, stats.listed,
+                    stats.orphans, stats.orphanBytes, stats.deleted, stats.failed);
+        }
+    }
+
+    private void purgeErrorModels(LocalDateTime before, RunStats stats) throws InterruptedException {
+        int page = 0;
+        while (stats.modelRows < maxRowsPerRun) {
+            // dry-run 은 지우지 않으므로 다음 페이지로, 실제 삭제는 항상 첫 페이지
+            List<UUID> ids = voiceModelRepository.findOldErrorModels(before, PageRequest.of(dryRun ? page++ : 0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            if (!dryRun) {
+                throttle(ids.size());
+                voiceModelRepository.deleteAllByIdInBatch(ids);
+            }
+            stats.modelRows += ids.size();
+        }
+    }
+
+    private void purgeFailedFiles(LocalDateTime before, RunStats stats) throws InterruptedException {
+        int page = 0;
+        while (stats.fileRows < maxRowsPerRun) {
+            List<VoiceFile> files = voiceFileRepository.findOldFailedFiles(before, PageRequest.of(dryRun ? page++ : 0, batchSize));
+            if (files.isEmpty()) {
+                return;
+            }
+            stats.fileRows += files.size();
+            if (dryRun) {
+                continue;
+            }
+            throttle(files.size());
+            List<UUID> ids = files.stream().map(VoiceFile::getId).toList();
+            VoiceService.DeletedRows deleted = voiceService.deleteFilesInStatus(ids, VoiceFile.Status.FAILED);
+            if (deleted.rows() == 0) {
+                return; // 모두 다른 노드가 선점 - 같은 페이지를 다시 읽지 않고 다음 실행에서
+            }
+            deleteObjects(deleted.keys(), "failed", stats);
+        }
+    }
+
+    private void sweepOrphans(RunStats stats) throws InterruptedException {
+        Instant cutoff = Instant.now().minus(orphanMinAgeHours, ChronoUnit.HOURS);
+        String cursor = orphanCursor;
+        long listed = 0;
+        do {
+            BlobStore.ListPage page = s3Service.listFiles(prefix, cursor, LIST_PAGE_SIZE);
+            listed += page.items().size();
+
+            List<String> orphans = findOrphans(page.items(), cutoff, stats);
+            if (dryRun) {
+                orphans.stream().limit(10).forEach(key -> log.info("Storage GC dry run, orphan: {}", key));
+            } else {
+                deleteObjects(orphans, "orphan", stats);
+            }
+            cursor = page.nextStartAfter();
+        } while (cursor != null && listed < maxObjectsPerRun);
+
+        stats.listed = listed;
+        orphanCursor = cursor;
+    }
+
+    /**
+     * 한 페이지(키 순) 안의 고아 객체 - 페이지의 base 범위에 해당하는 DB 키만 한 번에 조회
+     */
+    private List<String> findOrphans(List<BlobStore.BlobInfo> items, Instant cutoff, RunStats stats) {
+        List<BlobStore.BlobInfo> candidates = items.stream()
+                .filter(item -> item.lastModified() != null && item.lastModified().isBefore(cutoff))
+                .toList();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        String from = null;
+        String to = null;
+        for (BlobStore.BlobInfo item : candidates) {
+            String base = baseOf(item.key());
+            if (from == null || base.compareTo(from) < 0) from = base;
+            if (to == null || base.compareTo(to) > 0) to = base;
+        }
+
+        Set<String> live = new HashSet<>();
+        for (String key : voiceFileRepository.findS3KeysInRange(from, to + Character.MAX_VALUE)) {
+            live.add(baseOf(key));
+        }
+
+        List<String> orphans = new ArrayList<>();
+        for (BlobStore.BlobInfo item : candidates) {
+            if (!live.contains(baseOf(item.key()))) {
+                orphans.add(item.key());
+                stats.orphans++;
+                stats.orphanBytes += item.size();
+            }
+        }
+        return orphans;
+    }
+
+    private void deleteObjects(List<String> keys, String kind, RunStats stats) throws InterruptedException {
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + MAX_DELETE_BATCH));
+            throttle(batch.size());
+            List<String> failed = s3Service.deleteFiles(batch);
+            stats.deleted += batch.size() - failed.size();
+            stats.failed += failed.size();
+            meterRegistry.counter("storage.gc.objects.deleted", "kind", kind).increment(batch.size() - failed.size());
+            if (!failed.isEmpty()) {
+                log.warn("Storage GC could not delete {} {} object(s), retrying next run", failed.size(), kind);
+            }
+        }
+    }
+
+    /**
+     * 초당 삭제 수 제한 (permits 만큼 다음 슬롯을 미룸)
+     */
+    private void throttle(int permits) throws InterruptedException {
+        if (maxDeletesPerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long start = Math.max(now, nextDeleteSlot);
+        nextDeleteSlot = start + TimeUnit.SECONDS.toNanos(permits) / maxDeletesPerSecond;
+        if (start > now) {
+            TimeUnit.NANOSECONDS.sleep(start - now);
+        }
+    }
+
+    private void record(RunStats stats) {
+        String mode = String.valueOf(dryRun);
+        meterRegistry.counter("storage.gc.rows", "table", "voice_models", "dryRun", mode).increment(stats.modelRows);
+        meterRegistry.counter("storage.gc.rows", "table", "voice_files", "dryRun", mode).increment(stats.fileRows);
+        meterRegistry.counter("storage.gc.orphans", "dryRun", mode).increment(stats.orphans);
+        meterRegistry.counter("storage.gc.orphan.bytes", "dryRun", mode).increment(stats.orphanBytes);
+        meterRegistry.counter("storage.gc.objects.listed").increment(stats.listed);
+        meterRegistry.counter("storage.gc.objects.failed").increment(stats.failed);
+    }
+
+    /**
+     * 키의 base - {dir}/{id}.{ext} 또는 파생 디렉터리 {dir}/{id}.{kind}/{name} 에서 {dir}/{id}
+     */
+    static String baseOf(String key) {
+        int slash = key.lastIndexOf('/');
+        int parentSlash = slash > 0 ? key.lastIndexOf('/', slash - 1) : -1;
+        int segment = slash > 0 && key.substring(parentSlash + 1, slash).indexOf('.') >= 0 ? parentSlash + 1 : slash + 1;
+        int dot = key.indexOf('.', segment);
+        return dot < 0 ? key : key.substring(0, dot);
+    }
+}
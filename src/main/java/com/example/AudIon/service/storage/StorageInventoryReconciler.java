@@ -0,0 +1,309 @@
+package com.example.AudIon.service.storage;
+
+import com.example.AudIon.domain.storage.InventoryRun;
+import com.example.AudIon.repository.storage.InventoryRunRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.s3.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 저장소 인벤토리 대조 (백그라운드) - voice_files 키와 버킷 목록을 키 순으로 병합 조인
+ * - 양쪽 모두 키 순 페이지(1000개)로 읽으므로 메모리는 일정, 시간은 O(객체 수 + 행 수), 객체별 HEAD 없음
+ *   (버킷 목록은 UTF-8 바이트 순, DB 는 s3_key COLLATE "C" 순 - 키는 ASCII 로 정리되어 Java 비교와 같음)
+ * - missing: DB 키가 버킷에 없음 / size mismatch: 크기가 기대 크기(stored_objects, 없으면 fileSize)와 다름
+ * - orphan: 버킷에만 있는 객체 - 파생 결과(*.train.wav, *.peaks/ 등)는 같은 base 의 DB 키와 인접하므로
+ *   직전/다음 DB 키의 base 와 비교해 구분, 업로드 직후 행이 아직 없을 수 있는 orphan-min-age 이내 객체는 제외
+ * - 처리한 키를 InventoryRun 에 주기적으로 체크포인트, 재시작/중단 후 다음 키부터 이어서 진행
+ * - 한 실행에 max-objects-per-run 개까지, 완료 후 period-hours 가 지나면 새 대조 시작
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageInventoryReconciler {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final InventoryRunRepository inventoryRunRepository;
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.inventory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.prefix:voices/}")
+    private String prefix;
+
+    @Value("${app.inventory.period-hours:24}")
+    private long periodHours;
+
+    @Value("${app.inventory.max-objects-per-run:1000000}")
+    private long maxObjectsPerRun;
+
+    @Value("${app.inventory.orphan-min-age-hours:1}")
+    private long orphanMinAgeHours;
+
+    @Value("${app.inventory.max-logged-keys:100}")
+    private int maxLoggedKeys;
+
+    @Scheduled(initialDelayString = "${app.inventory.initial-delay-ms:600000}",
+            fixedDelayString = "${app.inventory.interval-ms:600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Optional<InventoryRun> run = inventoryRunRepository.findFirstByFinishedAtIsNullOrderByStartedAtDesc()
+                    .or(this::startIfDue);
+            if (run.isPresent()) {
+                reconcile(run.get());
+            }
+        } catch (Exception e) {
+            log.error("Storage inventory reconciliation failed, resuming from checkpoint next run", e);
+        } finally {
+            sample.stop(meterRegistry.timer("storage.inventory.run"));
+        }
+    }
+
+    private Optional<InventoryRun> startIfDue() {
+        LocalDateTime due = LocalDateTime.now().minusHours(periodHours);
+        boolean recent = inventoryRunRepository.findFirstByOrderByStartedAtDesc()
+                .map(last -> last.getStartedAt().isAfter(due))
+                .orElse(false);
+        if (recent) {
+            return Optional.empty();
+        }
+        log.info("Starting storage inventory reconciliation of {}", prefix);
+        return Optional.of(inventoryRunRepository.save(InventoryRun.builder().prefix(prefix).build()));
+    }
+
+    /** 체크포인트 사이 집계 (저장할 때 InventoryRun 에 더하고 초기화) */
+    private static final class Delta {
+        long matched;
+        long missing;
+        long orphans;
+        long orphanBytes;
+        long sizeMismatches;
+    }
+
+    /** 이번 실행 로그 출력 수 (종류별 max-logged-keys 까지) */
+    private static final class Logged {
+        int missing;
+        int orphans;
+        int sizeMismatches;
+    }
+
+    /**
+     * 체크포인트부터 병합 조인 (PAGE_SIZE 단계마다 체크포인트 저장)
+     */
+    private void reconcile(InventoryRun run) {
+        String start = run.getCheckpointKey() != null ? run.getCheckpointKey() : run.getPrefix();
+        ObjectCursor objects = new ObjectCursor(run.getPrefix(), start);
+        RowCursor rows = new RowCursor(start, run.getPrefix() + Character.MAX_VALUE);
+        Instant orphanCutoff = Instant.now().minus(orphanMinAgeHours, ChronoUnit.HOURS);
+        String lastRowBase = run.getCheckpointBase();
+        String processed = run.getCheckpointKey();
+        Delta delta = new Delta();
+        Logged logged = new Logged();
+
+        long steps = 0;
+        while (true) {
+            BlobStore.BlobInfo object = objects.peek();
+            Row row = rows.peek();
+            if (object == null && row == null) {
+                break;
+            }
+
+            int order = object == null ? 1 : row == null ? -1 : object.key().compareTo(row.key());
+            if (order == 0) {
+                delta.matched++;
+                if (row.size() != null && row.size() != object.size()) {
+                    delta.sizeMismatches++;
+                    if (logged.sizeMismatches++ < maxLoggedKeys) {
+                        log.warn("Storage inventory size mismatch: {} (expected {}, actual {})",
+                                row.key(), row.size(), object.size());
+                    }
+                }
+                lastRowBase = StorageGarbageCollector.baseOf(row.key());
+                processed = row.key();
+                objects.next();
+                rows.next();
+            } else if (order < 0) {
+                String base = StorageGarbageCollector.baseOf(object.key());
+                boolean derived = base.equals(lastRowBase)
+                        || (row != null && base.equals(StorageGarbageCollector.baseOf(row.key())));
+                boolean settled = object.lastModified() != null && object.lastModified().isBefore(orphanCutoff);
+                if (!derived && settled) {
+                    delta.orphans++;
+                    delta.orphanBytes += object.size();
+                    if (logged.orphans++ < maxLoggedKeys) {
+                        log.warn("Storage inventory orphan: {} ({} bytes)", object.key(), object.size());
+                    }
+                }
+                processed = object.key();
+                objects.next();
+            } else {
+                delta.missing++;
+                if (logged.missing++ < maxLoggedKeys) {
+                    log.warn("Storage inventory missing: {}", row.key());
+                }
+                lastRowBase = StorageGarbageCollector.baseOf(row.key());
+                processed = row.key();
+                rows.next();
+            }
+
+            // 병합은 항상 작은 쪽을 진행하므로 processed 이하의 키는 양쪽 모두 처리됨
+            if (++steps % PAGE_SIZE == 0) {
+                checkpoint(run, processed, lastRowBase, objects, rows, delta);
+                if (objects.listed >= maxObjectsPerRun) {
+                    log.info("Storage inventory paused at {} ({} objects this run)", processed, objects.listed);
+                    return;
+                }
+            }
+        }
+
+        run.setFinishedAt(LocalDateTime.now());
+        checkpoint(run, processed, lastRowBase, objects, rows, delta);
+        log.info("Storage inventory of {} finished: {} objects ({} bytes), {} keys, {} matched, {} missing, " +
+                        "{} orphans ({} bytes), {} size mismatches",
+                run.getPrefix(), run.getObjectsListed(), run.getBytesListed(), run.getRowsScanned(), run.getMatched(),
+                run.getMissing(), run.getOrphans(), run.getOrphanBytes(), run.getSizeMismatches());
+    }
+
+    private void checkpoint(InventoryRun run, String key, String base, ObjectCursor objects, RowCursor rows, Delta delta) {
+        run.setCheckpointKey(key);
+        run.setCheckpointBase(base);
+        run.setObjectsListed(run.getObjectsListed() + objects.drainListed());
+        run.setBytesListed(run.getBytesListed() + objects.drainBytes());
+        run.setRowsScanned(run.getRowsScanned() + rows.drainScanned());
+        run.setMatched(run.getMatched() + delta.matched);
+        run.setMissing(run.getMissing() + delta.missing);
+        run.setOrphans(run.getOrphans() + delta.orphans);
+        run.setOrphanBytes(run.getOrphanBytes() + delta.orphanBytes);
+        run.setSizeMismatches(run.getSizeMismatches() + delta.sizeMismatches);
+        inventoryRunRepository.save(run);
+
+        meterRegistry.counter("storage.inventory.issues", "kind", "missing").increment(delta.missing);
+        meterRegistry.counter("storage.inventory.issues", "kind", "orphan").increment(delta.orphans);
+        meterRegistry.counter("storage.inventory.issues", "kind", "size_mismatch").increment(delta.sizeMismatches);
+        meterRegistry.counter("storage.inventory.orphan.bytes").increment(delta.orphanBytes);
+        delta.matched = delta.missing = delta.orphans = delta.orphanBytes = delta.sizeMismatches = 0;
+    }
+
+    /**
+     * 버킷 목록 커서 (한 페이지만 메모리에 유지)
+     */
+    private final class ObjectCursor {
+        private final String prefix;
+        private List<BlobStore.BlobInfo> page = List.of();
+        private int index;
+        private String next; // 다음 페이지 시작 위치 (null 이면 끝)
+        long listed; // 이번 실행에서 목록으로 읽은 객체 수
+        private long pendingListed; // 체크포인트 이후 처리한 객체 수/크기
+        private long pendingBytes;
+
+        ObjectCursor(String prefix, String startAfter) {
+            this.prefix = prefix;
+            this.next = startAfter;
+        }
+
+        BlobStore.BlobInfo peek() {
+            while (index >= page.size() && next != null) {
+                BlobStore.ListPage listPage = s3Service.listFiles(prefix, next, PAGE_SIZE);
+                page = listPage.items();
+                index = 0;
+                next = listPage.nextStartAfter();
+                listed += page.size();
+                meterRegistry.counter("storage.inventory.objects.listed").increment(page.size());
+            }
+            return index < page.size() ? page.get(index) : null;
+        }
+
+        void next() {
+            pendingListed++;
+            pendingBytes += page.get(index).size();
+            index++;
+        }
+
+        long drainListed() {
+            long value = pendingListed;
+            pendingListed = 0;
+            return value;
+        }
+
+        long drainBytes() {
+            long value = pendingBytes;
+            pendingBytes = 0;
+            return value;
+        }
+    }
+
+    private record Row(String key, Long size) {}
+
+    /**
+     * voice_files 키 커서 (키 순 페이지, 같은 키를 참조하는 행은 하나로)
+     */
+    private final class RowCursor {
+        private final String to;
+        private List<Object[]> page = List.of();
+        private int index;
+        private String after;
+        private boolean exhausted;
+        private long pendingScanned;
+
+        RowCursor(String after, String to) {
+            this.after = after;
+            this.to = to;
+        }
+
+        Row peek() {
+            while (true) {
+                if (index >= page.size()) {
+                    if (exhausted) {
+                        return null;
+                    }
+                    page = voiceFileRepository.findInventoryPage(after, to, PAGE_SIZE);
+                    index = 0;
+                    exhausted = page.size() < PAGE_SIZE;
+                    if (page.isEmpty()) {
+                        return null;
+                    }
+                }
+                Object[] values = page.get(index);
+                String key = (String) values[0];
+                if (key.equals(after)) {
+                    index++; // 같은 키의 다른 행
+                    continue;
+                }
+                return new Row(key, values[1] != null ? ((Number) values[1]).longValue() : null);
+            }
+        }
+
+        void next() {
+            after = (String) page.get(index)[0];
+            index++;
+            pendingScanned++;
+            meterRegistry.counter("storage.inventory.rows").increment();
+        }
+
+        long drainScanned() {
+            long value = pendingScanned;
+            pendingScanned = 0;
+            return value;
+        }
+    }
+}
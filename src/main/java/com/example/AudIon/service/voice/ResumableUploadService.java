@@ -0,0 +1,248 @@
+package com.example.AudIon.service.voice;
+
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.voice.ResumableUpload;
+import com.example.AudIon.dto.voice.VoiceUploadResponse;
+import com.example.AudIon.repository.voice.ResumableUploadRepository;
+import com.example.AudIon.service.s3.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 재개 가능한 업로드 (tus 방식: 생성 → PATCH 청크 → HEAD 로 위치 확인 → 완료)
+ * - 청크 하나를 저장소 멀티파트 파트 하나로 바로 올림 (서버에 모아 두지 않음)
+ *   S3 는 마지막 파트를 빼고 5MB 이상이어야 하므로 청크 크기는 part-size-mb(최소 5MB)로 고정
+ * - 중간에 끊긴 청크는 버리고 HEAD 의 Upload-Offset(저장된 파트 끝)부터 다시 보냄 - 재전송은 최대 청크 하나
+ * - 상태는 resumable_uploads 에 저장, 위치 비교는 조건부 UPDATE 라 어느 노드로 이어 보내도 됨
+ * - 완료 시 파트를 합치고 일반 업로드와 같은 등록 과정(형식 검증, 중복 확인, 학습 시작)을 거쳐 같은 응답 반환
+ * - 만료된 업로드는 멀티파트 업로드를 취소해 파트 저장 공간을 회수
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadService {
+
+    private static final long MB = 1024 * 1024;
+    private static final long MIN_PART_SIZE = 5 * MB; // S3 멀티파트 최소 파트 크기 (마지막 파트 제외)
+    private static final long MAX_FILE_SIZE = 50 * MB;
+
+    private final ResumableUploadRepository resumableUploadRepository;
+    private final S3Service s3Service;
+    private final VoiceService voiceService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.upload.resumable.part-size-mb:5}")
+    private long partSizeMb;
+
+    @Value("${app.upload.resumable.expire-hours:24}")
+    private long expireHours;
+
+    // 완료 처리 중 노드가 죽었을 때 다른 요청이 이어받기까지의 시간
+    @Value("${app.upload.resumable.completion-timeout-minutes:10}")
+    private long completionTimeoutMinutes;
+
+    @Value("${app.upload.resumable.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * 업로드 생성 (멀티파트 업로드 시작)
+     */
+    public ResumableUpload create(WalletAddress wallet, long uploadLength, String filename, String contentType,
+                                  Float duration) {
+        if (wallet == null) {
+            throw new IllegalArgumentException("지갑 주소 형식이 올바르지 않습니다.");
+        }
+        if (uploadLength <= 0) {
+            throw new IllegalArgumentException("파일이 비어 있습니다.");
+        }
+        if (uploadLength > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("파일 크기가 너무 큽니다. 최대 50MB까지 허용됩니다.");
+        }
+
+        S3Service.ResumableTarget target = s3Service.startResumableUpload(wallet.toString(), filename, contentType);
+        ResumableUpload upload = resumableUploadRepository.save(ResumableUpload.builder()
+                .walletKey(wallet)
+                .s3Key(target.key())
+                .multipartUploadId(target.uploadId())
+                .originalFilename(filename)
+                .duration(duration)
+                .uploadLength(uploadLength)
+                .uploadOffset(0)
+                .partSize(Math.max(MIN_PART_SIZE, partSizeMb * MB))
+                .status(ResumableUpload.Status.UPLOADING)
+                .expiresAt(LocalDateTime.now().plusHours(expireHours))
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        meterRegistry.counter("upload.resumable.created").increment();
+        log.info("Created resumable upload {} for wallet: {} ({} bytes)", upload.getId(), wallet, uploadLength);
+        return upload;
+    }
+
+    /**
+     * 지갑 소유 업로드 조회
+     */
+    public Optional<ResumableUpload> find(UUID id, WalletAddress wallet) {
+        return resumableUploadRepository.findByIdAndWalletKey(id, wallet);
+    }
+
+    /**
+     * 취소/만료되어 더 이어 올릴 수 없는 업로드
+     */
+    public boolean isGone(ResumableUpload upload) {
+        return upload.getStatus() == ResumableUpload.Status.ABORTED
+                || (upload.getStatus() == ResumableUpload.Status.UPLOADING
+                && upload.getExpiresAt().isBefore(LocalDateTime.now()));
+    }
+
+    /**
+     * 청크 하나를 파트로 저장, 새 위치 반환
+     * 위치가 다르거나 다른 요청이 먼저 반영하면 IllegalStateException (HEAD 로 위치 확인 후 재시도)
+     */
+    public long appendChunk(ResumableUpload upload, long offset, InputStream content, long length) {
+        if (upload.getStatus() != ResumableUpload.Status.UPLOADING) {
+            throw new IllegalStateException("이미 완료 처리된 업로드입니다.");
+        }
+        if (offset != upload.getUploadOffset()) {
+            throw new IllegalStateException("Upload-Offset 이 현재 위치(" + upload.getUploadOffset() + ")와 다릅니다.");
+        }
+        long expected = Math.min(upload.getPartSize(), upload.getUploadLength() - offset);
+        if (length != expected) {
+            throw new IllegalArgumentException("청크 크기는 " + expected + " bytes 여야 합니다.");
+        }
+
+        int partNumber = (int) (offset / upload.getPartSize()) + 1;
+        String eTag = s3Service.uploadResumablePart(upload.getS3Key(), upload.getMultipartUploadId(), partNumber,
+                content, length);
+
+        List<String> eTags = new ArrayList<>(partETags(upload));
+        eTags.add(eTag);
+        long newOffset = offset + length;
+        if (resumableUploadRepository.advance(upload.getId(), offset, newOffset, String.join(",", eTags),
+                LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("다른 요청이 먼저 이 위치를 올렸습니다.");
+        }
+
+        meterRegistry.counter("upload.resumable.bytes").increment(length);
+        log.debug("Resumable upload {} part {} stored ({} / {} bytes)", upload.getId(), partNumber, newOffset,
+                upload.getUploadLength());
+        return newOffset;
+    }
+
+    /**
+     * 업로드 완료 - 파트 합치기 후 일반 업로드와 같은 등록 과정 (이미 완료된 업로드는 같은 응답 반환)
+     * 형식 오류가 아닌 실패(저장소/DB 오류)는 UPLOADING 으로 되돌려 바로 다시 완료 요청 가능
+     * (이미 합쳐진 객체는 그대로 사용, 등록 트랜잭션이 롤백되면 중복 객체 삭제도 취소되어 객체가 남음)
+     */
+    public VoiceUploadResponse finalizeUpload(ResumableUpload upload, WalletAddress wallet) {
+        if (upload.getStatus() == ResumableUpload.Status.COMPLETED) {
+            return voiceService.getUploadResponse(upload.getVoiceFileId(), wallet);
+        }
+        if (upload.getUploadOffset() < upload.getUploadLength()) {
+            throw new IllegalStateException("업로드가 아직 끝나지 않았습니다. (" + upload.getUploadOffset() + " / "
+                    + upload.getUploadLength() + " bytes)");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (resumableUploadRepository.claimCompletion(upload.getId(), now,
+                now.minusMinutes(completionTimeoutMinutes)) == 0) {
+            throw new IllegalStateException("업로드를 완료하는 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        VoiceUploadResponse response;
+        try {
+            S3Service.S3UploadResult uploadResult = s3Service.completeResumableUpload(upload.getS3Key(),
+                    upload.getMultipartUploadId(), partETags(upload), upload.getUploadLength());
+            response = voiceService.handleStoredUpload(uploadResult, wallet, upload.getOriginalFilename(),
+                    upload.getUploadLength(), upload.getDuration());
+        } catch (IllegalArgumentException e) {
+            // 형식/길이 오류는 재시도해도 같으므로 객체를 지우고 종료
+            s3Service.deleteFile(upload.getS3Key());
+            resumableUploadRepository.transition(upload.getId(), ResumableUpload.Status.COMPLETING,
+                    ResumableUpload.Status.ABORTED, LocalDateTime.now());
+            meterRegistry.counter("upload.resumable.finished", "result", "rejected").increment();
+            throw e;
+        } catch (RuntimeException e) {
+            // 일시적 오류 - 완료 타임아웃까지 기다리지 않도록 되돌림
+            resumableUploadRepository.transition(upload.getId(), ResumableUpload.Status.COMPLETING,
+                    ResumableUpload.Status.UPLOADING, LocalDateTime.now());
+            meterRegistry.counter("upload.resumable.finished", "result", "failed").increment();
+            log.warn("Resumable upload {} completion failed, released for retry: {}", upload.getId(), e.getMessage());
+            throw e;
+        }
+
+        resumableUploadRepository.markCompleted(upload.getId(), UUID.fromString(response.getFileId()),
+                LocalDateTime.now());
+        meterRegistry.counter("upload.resumable.finished", "result", "completed").increment();
+        log.info("Resumable upload {} completed as voice file {}", upload.getId(), response.getFileId());
+        return response;
+    }
+
+    /**
+     * 업로드 취소 (청크 수신 중일 때만)
+     */
+    public void abort(ResumableUpload upload) {
+        if (resumableUploadRepository.transition(upload.getId(), ResumableUpload.Status.UPLOADING,
+                ResumableUpload.Status.ABORTED, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("취소할 수 없는 업로드입니다.");
+        }
+        abortQuietly(upload);
+        meterRegistry.counter("upload.resumable.finished", "result", "aborted").increment();
+    }
+
+    /**
+     * 만료된 업로드 취소 + 보관 기간이 지난 기록 삭제
+     */
+    @Scheduled(initialDelayString = "${app.upload.resumable.cleanup-interval-ms:600000}",
+            fixedDelayString = "${app.upload.resumable.cleanup-interval-ms:600000}")
+    public void cleanupExpired() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int expired = 0;
+            for (ResumableUpload upload : resumableUploadRepository
+                    .findTop100ByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(ResumableUpload.Status.UPLOADING, now)) {
+                if (resumableUploadRepository.transition(upload.getId(), ResumableUpload.Status.UPLOADING,
+                        ResumableUpload.Status.ABORTED, now) > 0) {
+                    abortQuietly(upload);
+                    expired++;
+                }
+            }
+            int deleted = resumableUploadRepository.deleteFinishedBefore(now.minusDays(retentionDays));
+            if (expired > 0 || deleted > 0) {
+                meterRegistry.counter("upload.resumable.finished", "result", "expired").increment(expired);
+                log.info("Resumable upload cleanup: {} expired, {} old record(s) deleted", expired, deleted);
+            }
+        } catch (Exception e) {
+            log.error("Resumable upload cleanup failed", e);
+        }
+    }
+
+    /**
+     * 멀티파트 업로드 취소 - 상태는 이미 ABORTED 이므로 실패해도 경고만
+     */
+    private void abortQuietly(ResumableUpload upload) {
+        try {
+            s3Service.abortResumableUpload(upload.getS3Key(), upload.getMultipartUploadId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload for {}: {}", upload.getId(), e.getMessage());
+        }
+    }
+
+    private static List<String> partETags(ResumableUpload upload) {
+        return StringUtils.hasText(upload.getPartETags())
+                ? Arrays.asList(upload.getPartETags().split(","))
+                : List.of();
+    }
+}
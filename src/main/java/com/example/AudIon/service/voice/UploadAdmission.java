@@ -0,0 +1,155 @@
+package com.example.AudIon.service.voice;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 동시 처리 제한 (요청 본문을 읽기 전에 판단)
+ * - 전체 진행 중 바이트(Content-Length 합)가 max-inflight-mb 를 넘으면 503 - 서버 전체 보호 (스레드/임시 디스크/커넥션/힙)
+ *   진행 중인 업로드가 없으면 크기와 관계없이 하나는 허용
+ * - 지갑별 동시 업로드가 max-per-wallet 를 넘으면 429 - 한 사용자가 예산을 독점하지 않도록
+ * - 대기열 없이 바로 거절, Retry-After 는 최근 업로드 처리 시간(EWMA) 기준
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadAdmission {
+
+    private static final long MB = 1024 * 1024;
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.upload.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.upload.admission.max-inflight-mb:256}")
+    private long maxInflightMb;
+
+    @Value("${app.upload.admission.max-per-wallet:2}")
+    private int maxPerWallet;
+
+    // Content-Length 가 없는 요청(chunked)에 잡는 크기 - 업로드 최대 크기 + multipart 여유
+    @Value("${app.upload.admission.unknown-length-mb:51}")
+    private long unknownLengthMb;
+
+    @Value("${app.upload.admission.max-retry-after-seconds:60}")
+    private int maxRetryAfterSeconds;
+
+    private final AtomicLong inflightBytes = new AtomicLong();
+    private final AtomicInteger inflightRequests = new AtomicInteger();
+    private final ConcurrentHashMap<String, Integer> perWallet = new ConcurrentHashMap<>(); // 진행 중인 지갑만
+    private volatile double averageSeconds = 1.0; // 업로드 처리 시간 EWMA
+
+    public enum Rejection {
+        BUSY,       // 전체 예산 초과 (503)
+        WALLET      // 지갑별 동시 업로드 초과 (429)
+    }
+
+    /**
+     * 허용/거절 결과 - 허용된 경우 업로드가 끝나면 반드시 close
+     */
+    public final class Permit implements AutoCloseable {
+        private final String wallet;
+        private final long bytes;
+        private final long startedAt = System.nanoTime();
+        private boolean closed;
+
+        private Permit(String wallet, long bytes) {
+            this.wallet = wallet;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed || wallet == null) {
+                return;
+            }
+            closed = true;
+            release(this);
+        }
+    }
+
+    public record Decision(Permit permit, Rejection rejection, int retryAfterSeconds) {
+        public boolean admitted() {
+            return permit != null;
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("upload.admission.inflight.bytes", inflightBytes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("upload.admission.inflight.requests", inflightRequests, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("upload.admission.inflight.wallets", perWallet, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * 업로드 시작 허용 여부 (contentLength < 0 이면 알 수 없음)
+     */
+    public Decision tryAdmit(String wallet, long contentLength) {
+        long bytes = contentLength >= 0 ? contentLength : unknownLengthMb * MB;
+        if (!enabled) {
+            return new Decision(new Permit(null, 0), null, 0); // 집계하지 않는 허용
+        }
+
+        // 지갑 슬롯 먼저 (키 단위 원자적 증가) - 전체 예산에서 거절되면 되돌림
+        boolean[] slot = {false};
+        perWallet.compute(wallet, (key, count) -> {
+            int active = count == null ? 0 : count;
+            if (active >= maxPerWallet) {
+                return count;
+            }
+            slot[0] = true;
+            return active + 1;
+        });
+        if (!slot[0]) {
+            log.debug("Upload rejected: wallet {} already has {} upload(s) in flight", wallet, maxPerWallet);
+            return reject(Rejection.WALLET);
+        }
+
+        long limit = maxInflightMb * MB;
+        long current;
+        do {
+            current = inflightBytes.get();
+            if (current > 0 && current + bytes > limit) {
+                releaseWallet(wallet);
+                log.debug("Upload rejected: {} bytes in flight, {} more requested", current, bytes);
+                return reject(Rejection.BUSY);
+            }
+        } while (!inflightBytes.compareAndSet(current, current + bytes));
+
+        inflightRequests.incrementAndGet();
+        meterRegistry.counter("upload.admission.admitted").increment();
+        return new Decision(new Permit(wallet, bytes), null, 0);
+    }
+
+    private Decision reject(Rejection rejection) {
+        meterRegistry.counter("upload.admission.rejected", "reason", rejection.name().toLowerCase()).increment();
+        int retryAfter = (int) Math.max(1, Math.min(maxRetryAfterSeconds, Math.ceil(averageSeconds)));
+        return new Decision(null, rejection, retryAfter);
+    }
+
+    private void release(Permit permit) {
+        inflightBytes.addAndGet(-permit.bytes);
+        inflightRequests.decrementAndGet();
+        releaseWallet(permit.wallet);
+        double seconds = (System.nanoTime() - permit.startedAt) / 1e9;
+        averageSeconds = averageSeconds + EWMA_WEIGHT * (seconds - averageSeconds);
+    }
+
+    /**
+     * 지갑 슬롯 반환 - 0 이 되면 맵에서 제거 (유휴 지갑은 메모리에 남지 않음)
+     */
+    private void releaseWallet(String wallet) {
+        perWallet.computeIfPresent(wallet, (key, count) -> count <= 1 ? null : count - 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.AudIon.service.voice;
+
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.ai.AiService;
+import com.example.AudIon.service.s3.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 소프트 삭제된 음성 파일 영구 삭제 (백그라운드)
+ * - 삭제 후 delay-seconds 가 지난 파일을 batch-size 씩 처리
+ * - 학습 중이던 파일은 AI 서버에 학습 취소 요청 (실패해도 진행 - 결과 콜백은 행이 없어 무시됨)
+ * - 행 삭제와 공유 객체 참조 해제는 한 트랜잭션, 커밋 후 S3 객체를 DeleteObjects 로 일괄 삭제
+ *   (S3 삭제 실패분은 StorageGarbageCollector 의 고아 객체 정리에서 회수)
+ * - 여러 노드가 같은 행을 골라도 행 잠금(SKIP LOCKED)으로 한 곳만 처리 - 참조가 두 번 해제되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoiceFilePurgeService {
+
+    private final VoiceFileRepository voiceFileRepository;
+    private final VoiceService voiceService;
+    private final AiService aiService;
+    private final S3Service s3Service;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.purge.delay-seconds:60}")
+    private long delaySeconds;
+
+    @Value("${app.purge.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.purge.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${app.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${app.purge.interval-ms:30000}")
+    public void run() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (purgeBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Voice file purge failed, retrying next run", e);
+        }
+    }
+
+    /**
+     * 한 배치 처리 - 이 노드가 실제로 삭제한 행 수 반환 (모두 다른 노드가 처리 중이면 0 → 이번 실행 종료)
+     */
+    private int purgeBatch() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(delaySeconds);
+        List<VoiceFile> files = voiceFileRepository.findDeletedBefore(before, PageRequest.of(0, batchSize));
+        if (files.isEmpty()) {
+            return 0;
+        }
+
+        for (VoiceFile file : files) {
+            if (file.getStatus() == VoiceFile.Status.TRAINING && StringUtils.hasText(file.getJobId())) {
+                boolean cancelled = aiService.cancelTraining(file.getJobId());
+                meterRegistry.counter("voice.purge.training.cancelled", "result", cancelled ? "ok" : "failed").increment();
+            }
+        }
+
+        List<UUID> ids = files.stream().map(VoiceFile::getId).toList();
+        VoiceService.DeletedRows deleted = voiceService.purgeDeletedFiles(ids);
+        List<String> keys = deleted.keys();
+        List<String> failed = s3Service.deleteFiles(keys);
+
+        meterRegistry.counter("voice.purge.files").increment(deleted.rows());
+        meterRegistry.counter("voice.purge.objects", "result", "deleted").increment(keys.size() - failed.size());
+        meterRegistry.counter("voice.purge.objects", "result", "failed").increment(failed.size());
+        if (!failed.isEmpty()) {
+            log.warn("Purged {} voice file(s) but {} S3 object(s) could not be deleted", deleted.rows(), failed.size());
+        } else if (deleted.rows() > 0) {
+            log.info("Purged {} voice file(s), {} S3 object(s)", deleted.rows(), keys.size());
+        }
+        return deleted.rows() == 0 ? 0 : files.size();
+    }
+}
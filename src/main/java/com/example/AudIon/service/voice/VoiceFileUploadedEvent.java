@@ -0,0 +1,8 @@
+package com.example.AudIon.service.voice;
+
+import java.util.UUID;
+
+/**
+ * 업로드 완료 이벤트 (트랜잭션 커밋 후 전처리 시작)
+ */
+public record VoiceFileUploadedEvent(UUID voiceFileId) {}
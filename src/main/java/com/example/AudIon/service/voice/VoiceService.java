@@ -1,27 +1,53 @@
 package com.example.AudIon.service.voice;
 
+import com.example.AudIon.config.TrigramSearchInitializer;
 import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.voice.StoredObject;
 import com.example.AudIon.domain.voice.VoiceFile;
 import com.example.AudIon.dto.common.PagedResponse;
 import com.example.AudIon.dto.voice.VoiceUploadResponse;
+import com.example.AudIon.repository.model.VoiceModelRepository;
 import com.example.AudIon.repository.user.UserRepository;
+import com.example.AudIon.repository.voice.StoredObjectRepository;
 import com.example.AudIon.repository.voice.VoiceFileRepository;
 import com.example.AudIon.service.ai.AiService;
+import com.example.AudIon.service.audio.AudioInfo;
+import com.example.AudIon.service.audio.AudioPreprocessor;
+import com.example.AudIon.service.audio.AudioProbe;
+import com.example.AudIon.service.audio.TrainingAdmissionPolicy;
+import com.example.AudIon.service.audio.WaveformPeaksService;
+import com.example.AudIon.service.audio.flac.FlacEncoder;
+import com.example.AudIon.service.s3.KeyLayout;
+import com.example.AudIon.service.s3.PresignedUrlCache;
 import com.example.AudIon.service.s3.S3Service;
+import com.example.AudIon.util.SearchUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -31,53 +57,150 @@ public class VoiceService {
     private final S3Service s3Service;
     private final UserRepository userRepository;
     private final VoiceFileRepository voiceFileRepository;
+    private final VoiceModelRepository voiceModelRepository;
     private final AiService aiService;
+    private final TrigramSearchInitializer trigramSearch;
+    private final AudioProbe audioProbe;
+    private final StoredObjectRepository storedObjectRepository;
+    private final MeterRegistry meterRegistry;
+    private final AudioPreprocessor audioPreprocessor;
+    private final TrainingAdmissionPolicy admissionPolicy;
+    private final WaveformPeaksService waveformPeaksService;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Constants
-    private static final Pattern WALLET_ADDRESS_PATTERN = Pattern.compile("^0x[0-9a-fA-F]{40}$");
     private static final List<String> ALLOWED_AUDIO_TYPES = Arrays.asList(
             "audio/mpeg", "audio/mp3", "audio/wav", "audio/wave", "audio/x-wav",
             "audio/ogg", "audio/aac", "audio/mp4", "audio/x-m4a"
     );
     private static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
-    private static final float MAX_DURATION = 300f; // 5 minutes
+
+    @Value("${app.upload.max-duration-seconds:300}")
+    private float maxDuration; // 기본 5분, 긴 녹음은 전처리 단계에서 구간 분할
 
     @Transactional
-    public VoiceUploadResponse handleUpload(MultipartFile file, String walletAddress, Float duration) {
-        log.info("Starting voice file upload for wallet: {}", walletAddress);
+    public VoiceUploadResponse handleUpload(MultipartFile file, WalletAddress wallet, Float duration) {
+        log.info("Starting voice file upload for wallet: {}", wallet);
 
         try {
             // 1) 입력 검증
-            validateInput(file, walletAddress, duration);
-
-            // 2) 사용자 조회 및 생성
-            User user = findOrCreateUser(walletAddress);
+            validateInput(file, wallet, duration);
 
-            // 3) S3 업로드
-            S3Service.S3UploadResult uploadResult = uploadToS3(file, walletAddress);
+            // 2) 오디오 헤더 분석 - 형식/길이 검증 (S3 업로드 전)
+            AudioInfo audioInfo = probeAudio(file, file.getSize());
 
-            // 4) DB 저장 (UPLOADED)
-            VoiceFile voiceFile = createVoiceFile(file, user, uploadResult, duration);
-            voiceFile = voiceFileRepository.save(voiceFile);
+            // 3) 사용자 조회 및 생성
+            User user = findOrCreateUser(wallet);
 
-            log.info("Created voice file record: {} for user: {}", voiceFile.getId(), user.getId());
+            // 4) S3 업로드
+            S3Service.S3UploadResult uploadResult = uploadToS3(file, wallet.toString(), audioInfo);
 
-            // 5) AI 학습 즉시 시작
-            handleAiTraining(voiceFile);
-
-            // 6) 응답 생성
-            return createResponse(voiceFile);
+            // 5) 중복 확인 → DB 저장 → 전처리/학습 → 응답
+            return registerUpload(user, wallet, uploadResult, audioInfo, file.getOriginalFilename(), file.getSize(),
+                    duration);
 
         } catch (Exception e) {
-            log.error("Failed to handle voice upload for wallet: {}", walletAddress, e);
+            log.error("Failed to handle voice upload for wallet: {}", wallet, e);
             throw e;
         }
     }
 
+    /**
+     * 이미 저장소에 올라간 객체로 업로드 처리 (재개 가능한 업로드 완료 시)
+     * 헤더 분석은 저장된 객체에서 읽음 - 형식이 맞지 않으면 IllegalArgumentException (객체 정리는 호출 측)
+     */
+    @Transactional
+    public VoiceUploadResponse handleStoredUpload(S3Service.S3UploadResult uploadResult, WalletAddress wallet,
+                                                  String filename, long fileSize, Float duration) {
+        log.info("Registering stored upload {} for wallet: {}", uploadResult.key(), wallet);
+
+        if (wallet == null) {
+            throw new IllegalArgumentException("지갑 주소 형식이 올바르지 않습니다.");
+        }
+        if (fileSize > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("파일 크기가 너무 큽니다. 최대 50MB까지 허용됩니다.");
+        }
+        if (duration != null && (duration <= 0 || duration > maxDuration)) {
+            throw new IllegalArgumentException("오디오 길이는 0초보다 크고 " + (maxDuration/60) + "분 이하여야 합니다.");
+        }
+
+        AudioInfo audioInfo = probeAudio(
+                (AudioProbe.RangeSource) start -> s3Service.openRange(uploadResult.key(), start, -1), fileSize);
+        User user = findOrCreateUser(wallet);
+        return registerUpload(user, wallet, uploadResult, audioInfo, filename, fileSize, duration);
+    }
+
+    /**
+     * 업로드 응답 다시 조회 (완료된 재개 가능한 업로드의 재시도 등)
+     */
+    public VoiceUploadResponse getUploadResponse(UUID id, WalletAddress wallet) {
+        return createResponse(getVoiceFile(id, wallet));
+    }
+
+    /**
+     * 저장된 객체 등록 - 중복 확인, 객체 공유, DB 저장, 전처리/학습 시작
+     */
+    private VoiceUploadResponse registerUpload(User user, WalletAddress wallet, S3Service.S3UploadResult uploadResult,
+                                               AudioInfo audioInfo, String filename, long fileSize, Float duration) {
+        // 같은 지갑의 동일 내용 재업로드 → 기존 파일 반환 (새 객체/학습 없음)
+        Optional<VoiceFile> duplicate = voiceFileRepository
+                .findFirstByWalletKeyAndContentHashAndStatusNotAndDeletedAtIsNullOrderByUploadedAtDesc(
+                        wallet, uploadResult.contentHash(), VoiceFile.Status.FAILED);
+        if (duplicate.isPresent()) {
+            discardUploadedObject(uploadResult.key());
+            recordDeduplication("wallet", fileSize, true);
+            log.info("Duplicate upload for wallet: {} - returning existing voice file: {}",
+                    wallet, duplicate.get().getId());
+            return createResponse(duplicate.get());
+        }
+
+        // 다른 지갑과 같은 내용이면 기존 S3 객체 공유 (참조 카운트 증가)
+        uploadResult = shareStoredObject(uploadResult, fileSize);
+
+        // DB 저장 (UPLOADED, 전처리 대상이면 PROCESSING)
+        VoiceFile voiceFile = createVoiceFile(filename, fileSize, user, uploadResult, audioInfo, duration);
+        boolean preprocess = audioPreprocessor.supports(audioInfo);
+        if (preprocess) {
+            voiceFile.setStatus(VoiceFile.Status.PROCESSING);
+        }
+        voiceFile = voiceFileRepository.save(voiceFile);
+
+        log.info("Created voice file record: {} for user: {}", voiceFile.getId(), user.getId());
+
+        // 전처리 대상이면 커밋 후 전처리 워커에서 학습 요청, 아니면 AI 학습 즉시 시작
+        if (preprocess) {
+            eventPublisher.publishEvent(new VoiceFileUploadedEvent(voiceFile.getId()));
+        } else {
+            handleAiTraining(voiceFile);
+        }
+
+        return createResponse(voiceFile);
+    }
+
+    /**
+     * 전처리 완료(또는 생략) 후 AI 학습 시작
+     */
+    @Transactional
+    public void startTraining(VoiceFile voiceFile) {
+        handleAiTraining(voiceFile);
+    }
+
     /**
      * AI 학습 즉시 처리 (업로드와 함께)
      */
     private void handleAiTraining(VoiceFile voiceFile) {
+        // 음질 기준 미달이면 학습 요청 없이 FAILED (학습 작업 자체를 절약)
+        Optional<TrainingAdmissionPolicy.Rejection> rejection = admissionPolicy.check(voiceFile);
+        if (rejection.isPresent()) {
+            voiceFile.setStatus(VoiceFile.Status.FAILED);
+            voiceFile.setErrorMessage(rejection.get().message());
+            voiceFileRepository.save(voiceFile);
+            meterRegistry.counter("voice.training.rejected", "reason", rejection.get().reason()).increment();
+            log.info("AI training rejected for voice file: {} - {}", voiceFile.getId(), rejection.get().reason());
+            return;
+        }
+
         try {
             log.info("Starting immediate AI training for voice file: {}", voiceFile.getId());
 
@@ -119,15 +242,17 @@ public class VoiceService {
      * 음성 파일 조회 (보안 검사 포함 - 컨트롤러에서 사용)
      */
     @Transactional(readOnly = true)
-    public VoiceFile getVoiceFile(UUID id, String walletAddress) {
-        VoiceFile voiceFile = getVoiceFile(id);
-        
-        // Security check: Verify ownership using direct walletAddress field
-        if (!voiceFile.getWalletAddress().equalsIgnoreCase(walletAddress)) {
-            throw new IllegalArgumentException("Access denied: Voice file does not belong to you");
-        }
-        
-        return voiceFile;
+    public VoiceFile getVoiceFile(UUID id, WalletAddress wallet) {
+        if (id == null) {
+            throw new IllegalArgumentException("Voice file ID cannot be null");
+        }
+        if (wallet == null) {
+            throw new IllegalArgumentException("Wallet address cannot be null");
+        }
+
+        // Security check: 소유자 조건을 쿼리에 포함해 한 번의 PK 조회로 검증
+        return voiceFileRepository.findByIdAndWalletKeyAndDeletedAtIsNull(id, wallet)
+                .orElseThrow(() -> new IllegalArgumentException("Access denied: Voice file not found or does not belong to you"));
     }
 
     /**
@@ -139,7 +264,7 @@ public class VoiceService {
             throw new IllegalArgumentException("Wallet address cannot be null or empty");
         }
 
-        return voiceFileRepository.findByUserWalletAddressOrderByUploadedAtDesc(walletAddress);
+        return attachPlaybackUrls(voiceFileRepository.findByUserWalletAddressAndDeletedAtIsNullOrderByUploadedAtDesc(walletAddress));
     }
 
     /**
@@ -151,8 +276,8 @@ public class VoiceService {
             throw new IllegalArgumentException("Wallet address cannot be null or empty");
         }
 
-        Page<VoiceFile> page = voiceFileRepository.findByUserWalletAddress(walletAddress, pageable);
-        return PagedResponse.of(page.getContent(), page);
+        Page<VoiceFile> page = voiceFileRepository.findByUserWalletAddressAndDeletedAtIsNull(walletAddress, pageable);
+        return PagedResponse.of(attachPlaybackUrls(page.getContent()), page);
     }
 
     /**
@@ -167,65 +292,184 @@ public class VoiceService {
             throw new IllegalArgumentException("Status cannot be null");
         }
 
-        Page<VoiceFile> page = voiceFileRepository.findByUserWalletAddressAndStatus(walletAddress, status, pageable);
-        return PagedResponse.of(page.getContent(), page);
+        Page<VoiceFile> page = voiceFileRepository.findByUserWalletAddressAndStatusAndDeletedAtIsNull(walletAddress, status, pageable);
+        return PagedResponse.of(attachPlaybackUrls(page.getContent()), page);
     }
 
     /**
      * 파일명으로 검색 (페이지네이션)
+     * trigram 인덱스가 있으면 사용자 범위 인덱스 검색 + 관련도 순 정렬, 없으면 LIKE 검색
      */
     @Transactional(readOnly = true)
-    public PagedResponse<VoiceFile> searchUserVoiceFiles(String walletAddress, String filename, Pageable pageable) {
-        if (!StringUtils.hasText(walletAddress)) {
-            throw new IllegalArgumentException("Wallet address cannot be null or empty");
+    public PagedResponse<VoiceFile> searchUserVoiceFiles(WalletAddress wallet, String filename, Pageable pageable) {
+        if (wallet == null) {
+            throw new IllegalArgumentException("Wallet address cannot be null");
         }
 
-        Page<VoiceFile> page = voiceFileRepository.findByUserWalletAddressAndOriginalFilenameContainingIgnoreCase(
-                walletAddress, filename != null ? filename : "", pageable);
-        return PagedResponse.of(page.getContent(), page);
+        String query = SearchUtils.normalizeQuery(filename);
+        Page<VoiceFile> page;
+        if (trigramSearch.isAvailable() && !query.isEmpty()) {
+            // 정렬은 관련도 순으로 고정 (요청의 sort는 무시)
+            page = voiceFileRepository.searchByFilenameTrigram(wallet.toBytes(), SearchUtils.escapeLike(query), query,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else {
+            page = voiceFileRepository.findByUserWalletAddressAndOriginalFilenameContainingIgnoreCaseAndDeletedAtIsNull(
+                    wallet.toString(), query, pageable);
+        }
+        return PagedResponse.of(attachPlaybackUrls(page.getContent()), page);
     }
 
     /**
-     * 음성 파일 삭제
+     * 음성 파일 삭제 (소프트 삭제 - 바로 목록에서 빠지고, S3 객체와 행은 VoiceFilePurgeService 가 나중에 일괄 정리)
+     * 학습 중인 파일은 정리할 때 학습을 취소
      */
     @Transactional
-    public boolean deleteVoiceFile(UUID id, String walletAddress) {
-        VoiceFile voiceFile = getVoiceFile(id);
+    public boolean deleteVoiceFile(UUID id, WalletAddress wallet) {
+        // 권한 확인 - 소유자 범위 조회로 한 번에 검증
+        VoiceFile voiceFile = getVoiceFile(id, wallet);
 
-        // 권한 확인 - Direct wallet address comparison for better performance
-        if (!voiceFile.getWalletAddress().equalsIgnoreCase(walletAddress)) {
-            throw new IllegalArgumentException("Access denied: file belongs to different user");
+        // 전처리 중인 파일은 삭제할 수 없음
+        if (voiceFile.getStatus() == VoiceFile.Status.PROCESSING) {
+            throw new IllegalStateException("Cannot delete file while preprocessing is in progress");
+        }
+        if (voiceModelRepository.existsByVoiceFileId(id)) {
+            throw new IllegalStateException("Cannot delete file that has a voice model");
         }
 
-        // 학습 중인 파일은 삭제할 수 없음
-        if (voiceFile.getStatus() == VoiceFile.Status.TRAINING) {
-            throw new IllegalStateException("Cannot delete file while training is in progress");
+        // 조회 이후 전처리가 시작됐거나 이미 삭제된 경우 0
+        if (voiceFileRepository.markDeleted(id, wallet.toBytes()) == 0) {
+            throw new IllegalStateException("Voice file is being processed or already deleted");
         }
 
-        try {
-            // S3에서 파일 삭제
-            if (StringUtils.hasText(voiceFile.getS3Key())) {
-                boolean deleted = s3Service.deleteFile(voiceFile.getS3Key());
-                if (!deleted) {
-                    log.warn("Failed to delete file from S3: {}", voiceFile.getS3Key());
-                }
+        log.info("Deleted voice file: {} for user: {}", id, wallet);
+        return true;
+    }
+
+    /**
+     * 행 일괄 삭제 결과
+     *
+     * @param rows 이 트랜잭션이 실제로 삭제한 행 수 (다른 노드가 선점한 행은 제외)
+     * @param keys 더 이상 참조가 없어 지워야 할 S3 키
+     */
+    public record DeletedRows(int rows, List<String> keys) {}
+
+    /**
+     * 소프트 삭제된 파일 영구 삭제 - 공유 객체 참조를 해제하고 더 이상 참조가 없는 S3 키 목록 반환
+     * S3 삭제는 커밋 후 호출 측에서 일괄 처리 (실패해도 고아 객체 정리에서 다시 회수)
+     */
+    @Transactional
+    public DeletedRows purgeDeletedFiles(Collection<UUID> ids) {
+        return deleteRows(ids, file -> file.getDeletedAt() != null);
+    }
+
+    /**
+     * 파일 행 일괄 삭제 (GC) - 지정 상태인 행만, 공유 객체 참조를 해제하고 더 이상 참조가 없는 S3 키 목록 반환
+     * S3 삭제는 커밋 후 호출 측에서 일괄 처리 (실패해도 고아 객체 정리에서 다시 회수)
+     */
+    @Transactional
+    public DeletedRows deleteFilesInStatus(Collection<UUID> ids, VoiceFile.Status status) {
+        return deleteRows(ids, file -> file.getStatus() == status);
+    }
+
+    /**
+     * 행을 먼저 잠가 선점한 뒤(SKIP LOCKED) 다시 읽어 조건 확인 - 여러 노드가 같은 행을 골라도
+     * 참조 해제와 삭제는 선점한 한 곳에서만 일어남 (나중에 온 쪽은 이미 삭제된 행을 읽지 못함)
+     */
+    private DeletedRows deleteRows(Collection<UUID> ids, Predicate<VoiceFile> condition) {
+        if (ids.isEmpty()) {
+            return new DeletedRows(0, List.of());
+        }
+        List<UUID> claimed = voiceFileRepository.lockForDelete(ids);
+        if (claimed.isEmpty()) {
+            return new DeletedRows(0, List.of());
+        }
+        List<VoiceFile> files = voiceFileRepository.findAllById(claimed).stream()
+                .filter(condition)
+                .toList();
+        if (files.isEmpty()) {
+            return new DeletedRows(0, List.of());
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (VoiceFile file : files) {
+            if (StringUtils.hasText(file.getS3Key()) && releaseStoredObject(file)) {
+                keys.addAll(storageKeys(file));
             }
+        }
+        voiceFileRepository.deleteAllByIdInBatch(files.stream().map(VoiceFile::getId).toList());
+        return new DeletedRows(files.size(), keys);
+    }
 
-            // DB에서 삭제
-            voiceFileRepository.delete(voiceFile);
+    /**
+     * 원본과 파생 결과(전처리/특징/파형 피크/구간)의 S3 키
+     */
+    public List<String> storageKeys(VoiceFile voiceFile) {
+        List<String> keys = new ArrayList<>();
+        keys.add(voiceFile.getS3Key());
+        if (StringUtils.hasText(voiceFile.getProcessedS3Key())) {
+            keys.add(voiceFile.getProcessedS3Key());
+        }
+        if (StringUtils.hasText(voiceFile.getFeaturesS3Key())) {
+            keys.add(voiceFile.getFeaturesS3Key());
+        }
+        keys.addAll(waveformPeaksService.keys(voiceFile));
+        if (voiceFile.getChunks() != null) {
+            voiceFile.getChunks().forEach(chunk -> keys.add(chunk.s3Key()));
+        }
+        return keys;
+    }
 
-            log.info("Deleted voice file: {} for user: {}", id, walletAddress);
-            return true;
+    /**
+     * 저장 객체 교체 (FLAC 재인코딩 등) - stored_objects 행과 같은 키를 참조하는 모든 VoiceFile 을 한 트랜잭션에서 갱신
+     * stored_objects 를 먼저 갱신해 업로드의 acquire 와 같은 순서로 잠금 (동시 업로드는 교체 전/후 키 중 하나로 수렴)
+     * 전처리/학습 중인 파일이 있으면 원본을 읽는 중일 수 있으므로 교체하지 않고 -1
+     */
+    @Transactional
+    public int replaceStoredObject(String sourceKey, String targetKey, String targetUrl, long targetSize,
+                                   String audioFormat, String contentType) {
+        if (voiceFileRepository.countByS3KeyAndStatusIn(sourceKey,
+                List.of(VoiceFile.Status.PROCESSING, VoiceFile.Status.TRAINING)) > 0) {
+            return -1;
+        }
+        storedObjectRepository.replaceObject(sourceKey, targetKey, targetUrl, targetSize);
+        int updated = voiceFileRepository.replaceS3Object(sourceKey, targetKey, targetUrl, audioFormat, contentType);
+        log.info("Replaced stored object {} -> {} ({} voice file(s))", sourceKey, targetKey, updated);
+        return updated;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to delete voice file: {}", id, e);
-            return false;
+    /**
+     * 저장 위치 이동 (키 레이아웃 변경) - stored_objects 행과 같은 키를 참조하는 모든 VoiceFile 의 원본/파생 키, URL 을
+     * base 치환으로 한 트랜잭션에서 갱신 (새 키로의 복사는 호출 측에서 먼저, 이전 키 삭제는 커밋 후)
+     * 전처리/학습 중인 파일이 있으면 파생 결과가 이전 위치에 새로 쓰일 수 있으므로 옮기지 않고 -1
+     */
+    @Transactional
+    public int relocateStoredObject(String sourceKey, String oldBase, String newBase, KeyLayout layout) {
+        if (voiceFileRepository.countByS3KeyAndStatusIn(sourceKey,
+                List.of(VoiceFile.Status.PROCESSING, VoiceFile.Status.TRAINING)) > 0) {
+            return -1;
         }
+        storedObjectRepository.relocateObject(sourceKey, oldBase, newBase);
+        int updated = voiceFileRepository.relocateS3Object(sourceKey, oldBase, newBase, layout.version());
+        log.info("Relocated stored object {} -> {} ({} voice file(s))", oldBase, newBase, updated);
+        return updated;
+    }
+
+    /**
+     * 재생용 URL 채우기 (비공개 객체는 캐시된 presigned URL - 목록 N 건이어도 구간당 한 번만 서명)
+     */
+    public VoiceFile attachPlaybackUrl(VoiceFile voiceFile) {
+        voiceFile.setPlaybackUrl(presignedUrlCache.playbackUrl(voiceFile.getS3Key(), voiceFile.getFileUrl()));
+        return voiceFile;
+    }
+
+    private List<VoiceFile> attachPlaybackUrls(List<VoiceFile> voiceFiles) {
+        voiceFiles.forEach(this::attachPlaybackUrl);
+        return voiceFiles;
     }
 
     // Private helper methods
 
-    private void validateInput(MultipartFile file, String walletAddress, Float duration) {
+    private void validateInput(MultipartFile file, WalletAddress wallet, Float duration) {
         // File validation
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("파일이 비어 있습니다.");
@@ -236,59 +480,177 @@ public class VoiceService {
         }
 
         // Wallet address validation
-        if (!StringUtils.hasText(walletAddress) || !WALLET_ADDRESS_PATTERN.matcher(walletAddress).matches()) {
+        if (wallet == null) {
             throw new IllegalArgumentException("지갑 주소 형식이 올바르지 않습니다.");
         }
 
-        // Content type validation
+        // Content type validation - 클라이언트 값은 참고용, 실제 형식은 probeAudio에서 매직 바이트로 판별
         String contentType = file.getContentType();
-        if (!StringUtils.hasText(contentType) || !ALLOWED_AUDIO_TYPES.contains(contentType.toLowerCase())) {
+        if (StringUtils.hasText(contentType) && !contentType.toLowerCase().startsWith("audio/")
+                && !MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(contentType.toLowerCase())) {
             throw new IllegalArgumentException("지원되지 않는 오디오 형식입니다. 허용된 형식: " + ALLOWED_AUDIO_TYPES);
         }
 
-        // Duration validation
-        if (duration != null && (duration <= 0 || duration > MAX_DURATION)) {
-            throw new IllegalArgumentException("오디오 길이는 0초보다 크고 " + (MAX_DURATION/60) + "분 이하여야 합니다.");
+        // Duration validation (클라이언트 값 - 서버 분석 결과가 우선)
+        if (duration != null && (duration <= 0 || duration > maxDuration)) {
+            throw new IllegalArgumentException("오디오 길이는 0초보다 크고 " + (maxDuration/60) + "분 이하여야 합니다.");
         }
     }
 
-    private User findOrCreateUser(String walletAddress) {
-        return userRepository.findByWalletAddress(walletAddress)
+    private User findOrCreateUser(WalletAddress wallet) {
+        return userRepository.findByWallet(wallet)
                 .orElseGet(() -> {
-                    log.info("Creating new user for wallet address: {}", walletAddress);
+                    log.info("Creating new user for wallet address: {}", wallet);
                     User newUser = User.builder()
-                            .walletAddress(walletAddress)
+                            .walletAddress(wallet.toString())
+                            .walletKey(wallet)
                             .createdAt(LocalDateTime.now())
                             .build();
                     User savedUser = userRepository.save(newUser);
-                    log.info("Created new user with ID: {} for wallet: {}", savedUser.getId(), walletAddress);
+                    log.info("Created new user with ID: {} for wallet: {}", savedUser.getId(), wallet);
                     return savedUser;
                 });
     }
 
-    private S3Service.S3UploadResult uploadToS3(MultipartFile file, String walletAddress) {
+    /**
+     * 헤더만 읽어 형식/길이 판별 후 최대 길이 초과 시 거부
+     */
+    private AudioInfo probeAudio(InputStreamSource source, long size) {
+        AudioInfo info;
         try {
-            // 개선된 S3Service 사용 - public 업로드, presigned URL 없음
-            return s3Service.uploadVoiceFile(file, walletAddress, true, 0);
+            info = audioProbe.probe(source, size);
+        } catch (IOException e) {
+            throw new RuntimeException("오디오 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+
+        if (!ALLOWED_AUDIO_TYPES.contains(info.mimeType())) {
+            throw new IllegalArgumentException("지원되지 않는 오디오 형식입니다. 허용된 형식: " + ALLOWED_AUDIO_TYPES);
+        }
+        if (info.duration() > maxDuration) {
+            throw new IllegalArgumentException("오디오 길이는 0초보다 크고 " + (maxDuration/60) + "분 이하여야 합니다.");
+        }
+
+        log.debug("Probed audio: format={}, codec={}, {}Hz, {}ch, {}kbps, {}s",
+                info.format(), info.codec(), info.sampleRate(), info.channels(), info.bitRate(), info.duration());
+        return info;
+    }
+
+    private S3Service.S3UploadResult uploadToS3(MultipartFile file, String walletAddress, AudioInfo audioInfo) {
+        try {
+            // 개선된 S3Service 사용 - public-read 설정에 따라 업로드, presigned URL 은 조회 시 캐시에서 발급, 판별된 형식으로 저장
+            return s3Service.uploadVoiceFile(file, walletAddress, audioInfo.mimeType(), audioInfo.format(),
+                    s3Service.isPublicRead(), 0);
         } catch (Exception e) {
             log.error("S3 upload failed for wallet: {}", walletAddress, e);
             throw new RuntimeException("파일 업로드에 실패했습니다: " + e.getMessage(), e);
         }
     }
 
-    private VoiceFile createVoiceFile(MultipartFile file, User user, S3Service.S3UploadResult uploadResult, Float duration) {
+    /**
+     * stored_objects 참조 획득 - 이미 같은 내용의 공유 키 객체가 있으면 방금 올린 객체를 지우고 기존 객체 사용
+     * 기존 객체가 아직 처음 업로드한 지갑 경로 아래 있으면 그 키/URL 을 내주지 않고 방금 올린 객체를 그대로 사용
+     * (KeyLayoutMigrator 가 공유 키로 옮긴 뒤 업로드부터 공유)
+     */
+    private S3Service.S3UploadResult shareStoredObject(S3Service.S3UploadResult uploadResult, long fileSize) {
+        String fileUrl = uploadResult.publicUrl() != null ? uploadResult.publicUrl() : uploadResult.s3Url();
+        String sharedKey = storedObjectRepository.acquire(
+                uploadResult.contentHash(), uploadResult.key(), fileUrl, fileSize);
+
+        if (uploadResult.key().equals(sharedKey)) {
+            return uploadResult;
+        }
+        if (!KeyLayout.isShared(sharedKey)) {
+            log.info("Same content stored under another wallet path, keeping own object: {}", uploadResult.key());
+            return uploadResult;
+        }
+
+        StoredObject shared = storedObjectRepository.findById(uploadResult.contentHash())
+                .orElseThrow(() -> new IllegalStateException("Stored object disappeared: " + uploadResult.contentHash()));
+        discardUploadedObject(uploadResult.key());
+        recordDeduplication("global", fileSize, false);
+        log.info("Sharing existing S3 object: {} (refCount={})", shared.getS3Key(), shared.getRefCount());
+
+        return new S3Service.S3UploadResult(shared.getS3Key(), shared.getFileUrl(), shared.getFileUrl(),
+                null, uploadResult.contentHash());
+    }
+
+    /**
+     * stored_objects 참조 해제 - S3 객체를 실제로 지워야 하면 true
+     * (해시가 없는 기존 파일은 공유되지 않으므로 항상 true)
+     */
+    private boolean releaseStoredObject(VoiceFile voiceFile) {
+        String hash = voiceFile.getContentHash();
+        if (!StringUtils.hasText(hash)) {
+            return true;
+        }
+
+        Integer remaining = storedObjectRepository.release(hash, voiceFile.getS3Key());
+        if (remaining == null) {
+            return true;
+        }
+        if (remaining > 0) {
+            log.info("S3 object still shared by {} voice file(s), keeping: {}", remaining, voiceFile.getS3Key());
+            return false;
+        }
+        return storedObjectRepository.deleteIfUnreferenced(hash) > 0;
+    }
+
+    /**
+     * 중복으로 판정된 업로드 객체 삭제 - 트랜잭션 안이면 커밋 후 삭제 (롤백되면 객체가 남아 재시도 가능)
+     */
+    private void discardUploadedObject(String s3Key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteUploadedObject(s3Key);
+                }
+            });
+            return;
+        }
+        deleteUploadedObject(s3Key);
+    }
+
+    private void deleteUploadedObject(String s3Key) {
+        if (!s3Service.deleteFile(s3Key)) {
+            log.warn("Failed to delete duplicate upload from S3: {}", s3Key);
+        }
+    }
+
+    private void recordDeduplication(String scope, long bytes, boolean trainingSkipped) {
+        meterRegistry.counter("voice.dedup.hits", "scope", scope).increment();
+        meterRegistry.counter("voice.dedup.bytes.saved", "scope", scope).increment(bytes);
+        if (trainingSkipped) {
+            meterRegistry.counter("voice.dedup.training.runs.saved").increment();
+        }
+    }
+
+    private VoiceFile createVoiceFile(String filename, long fileSize, User user, S3Service.S3UploadResult uploadResult,
+                                      AudioInfo audioInfo, Float duration) {
+        // 서버 분석 길이를 우선 사용 (헤더에서 길이를 알 수 없을 때만 클라이언트 값)
+        Float resolvedDuration = audioInfo.duration() > 0 ? Float.valueOf(audioInfo.duration()) : duration;
+
+        // 이미 FLAC 으로 재인코딩된 공유 객체를 쓰게 되면 저장 형식도 FLAC
+        boolean storedAsFlac = uploadResult.key().endsWith(FlacEncoder.EXTENSION);
+
         return VoiceFile.builder()
                 .user(user)
                 .walletAddress(user.getWalletAddress()) // Set wallet address directly
+                .walletKey(user.getWalletKey())
                 .fileUrl(uploadResult.publicUrl() != null ? uploadResult.publicUrl() : uploadResult.s3Url())
                 .s3Key(uploadResult.key()) // S3에서의 실제 키 저장
-                .originalFilename(sanitizeFilename(file.getOriginalFilename()))
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
-                .duration(duration)
+                .keyLayout(KeyLayout.detect(uploadResult.key()).version()) // 공유 객체면 기존 키의 레이아웃
+                .originalFilename(sanitizeFilename(filename))
+                .contentType(storedAsFlac ? FlacEncoder.CONTENT_TYPE : audioInfo.mimeType())
+                .fileSize(fileSize)
+                .contentHash(uploadResult.contentHash())
+                .duration(resolvedDuration)
                 .uploadedAt(LocalDateTime.now())
                 .status(VoiceFile.Status.UPLOADED)
-                .audioFormat(getFileExtension(file.getOriginalFilename()))
+                .audioFormat(storedAsFlac ? "flac" : audioInfo.format())
+                .sampleRate(audioInfo.sampleRate() > 0 ? audioInfo.sampleRate() : null)
+                .bitRate(audioInfo.bitRate() > 0 ? audioInfo.bitRate() : null)
+                .channels(audioInfo.channels() > 0 ? audioInfo.channels() : null)
                 .build();
     }
 
@@ -323,12 +685,4 @@ public class VoiceService {
         String sanitizedName = nameWithoutExt.replaceAll("[^a-zA-Z0-9._\\-가-힣]", "_");
         return sanitizedName + extension;
     }
-
-    private String getFileExtension(String filename) {
-        if (!StringUtils.hasText(filename) || !filename.contains(".")) {
-            return null;
-        }
-
-        return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-    }
 }
\ No newline at end of file
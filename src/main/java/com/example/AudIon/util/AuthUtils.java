@@ -1,6 +1,7 @@
 package com.example.AudIon.util;
 
 import com.example.AudIon.config.security.JwtAuthenticationFilter.Web3AuthenticatedUser;
+import com.example.AudIon.domain.user.WalletAddress;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -55,6 +56,13 @@ public class AuthUtils {
         return getCurrentUser().map(Web3AuthenticatedUser::getWalletAddress);
     }
 
+    /**
+     * 현재 인증된 사용자의 20바이트 지갑 주소를 가져옴
+     */
+    public static Optional<WalletAddress> getCurrentWallet() {
+        return getCurrentUser().map(Web3AuthenticatedUser::getWallet);
+    }
+
     /**
      * 현재 사용자가 인증되었는지 확인
      */
@@ -68,8 +76,8 @@ public class AuthUtils {
     public static boolean isCurrentUser(String walletAddress) {
         if (walletAddress == null) return false;
 
-        return getCurrentWalletAddress()
-                .map(currentWallet -> currentWallet.equalsIgnoreCase(walletAddress))
+        return getCurrentWallet()
+                .map(currentWallet -> currentWallet.matches(walletAddress))
                 .orElse(false);
     }
 
@@ -0,0 +1,34 @@
+package com.example.AudIon.util;
+
+import java.util.Locale;
+
+/**
+ * 검색어 처리 유틸리티 클래스
+ */
+public class SearchUtils {
+
+    /**
+     * 검색어 정규화 (앞뒤 공백 제거 + 소문자)
+     */
+    public static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * LIKE 패턴용 이스케이프 (\, %, _ 를 리터럴로 처리 - PostgreSQL 기본 이스케이프 문자는 \)
+     */
+    public static String escapeLike(String query) {
+        StringBuilder sb = new StringBuilder(query.length() + 4);
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.AudIon.config;
+
+import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.repository.model.VoiceModelRepository;
+import com.example.AudIon.repository.user.UserRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.util.SearchUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 파일명/모델명 trigram 검색 벤치마크 - 사용자당 10k / 100k 행에서 지연 시간 비교 (PostgreSQL)
+ * 검색어에 맞는 행 수가 같으면 이력 크기와 무관하게 GIN 인덱스 범위 안에서 끝나야 함
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // CREATE INDEX CONCURRENTLY 는 트랜잭션 밖에서만 가능
+@Import(TrigramSearchInitializer.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrigramSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TrigramSearchBenchmarkTest.class);
+    private static final int[] HISTORY_SIZES = {10_000, 100_000};
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired TrigramSearchInitializer trigramSearch;
+    @Autowired UserRepository userRepository;
+    @Autowired VoiceFileRepository voiceFileRepository;
+    @Autowired VoiceModelRepository voiceModelRepository;
+    @Autowired JdbcTemplate jdbc;
+
+    private final Map<Integer, User> users = new LinkedHashMap<>();
+    private String[] queries;
+
+    @BeforeAll
+    void seed() {
+        for (int size : HISTORY_SIZES) {
+            String wallet = String.format("0x%040x", size);
+            User user = userRepository.saveAndFlush(User.builder()
+                    .walletAddress(wallet)
+                    .walletKey(WalletAddress.parse(wallet))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            // "take 4242 1f0e3dad.wav" - 번호 + md5 앞 8자리 (검색어마다 맞는 행 수가 사용자 크기와 거의 무관)
+            jdbc.update("INSERT INTO voice_files (id, user_id, wallet_address, wallet_key, file_url, original_filename, " +
+                            "status, uploaded_at) " +
+                            "SELECT gen_random_uuid(), ?, ?, ?, 'https://s3/bench', " +
+                            "format('take %s %s.wav', g, substr(md5(g::text), 1, 8)), 'UPLOADED', " +
+                            "now() - g * interval '1 minute' FROM generate_series(1, ?) g",
+                    user.getId(), wallet, WalletAddress.parse(wallet).toBytes(), size);
+            jdbc.update("INSERT INTO voice_models (id, user_id, wallet_address, voice_file_id, model_name, status, created_at) " +
+                    "SELECT gen_random_uuid(), user_id, wallet_address, id, replace(original_filename, '.wav', ' voice'), " +
+                    "'DONE', uploaded_at FROM voice_files WHERE user_id = ?", user.getId());
+            users.put(size, user);
+        }
+        // 접두 일치(번호), 중간 일치(해시 조각), 거의 유일한 일치
+        queries = new String[]{
+                "take 4242 ",
+                jdbc.queryForObject("SELECT substr(md5('777'), 3, 5)", String.class),
+                "9999 " + jdbc.queryForObject("SELECT substr(md5('9999'), 1, 8)", String.class)
+        };
+        trigramSearch.initialize();
+        assertTrue(trigramSearch.isAvailable(), "pg_trgm / btree_gin indexes");
+        jdbc.execute("ANALYZE voice_files");
+        jdbc.execute("ANALYZE voice_models");
+    }
+
+    @Test
+    void filenameSearchLatencyIndependentOfHistorySize() {
+        Map<Integer, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<Integer, User> entry : users.entrySet()) {
+            byte[] walletKey = entry.getValue().getWalletKey().toBytes();
+            for (String query : queries) {
+                Page<?> page = voiceFileRepository.searchByFilenameTrigram(walletKey, SearchUtils.escapeLike(query),
+                        query, FIRST_PAGE);
+                assertTrue(page.getTotalElements() > 0, query);
+            }
+            medians.put(entry.getKey(), medianMillis(() -> {
+                for (String query : queries) {
+                    voiceFileRepository.searchByFilenameTrigram(walletKey, SearchUtils.escapeLike(query), query, FIRST_PAGE);
+                }
+                return null;
+            }));
+        }
+        assertUsesIndex("SELECT id FROM voice_files WHERE wallet_key = decode('" +
+                HexFormat.of().formatHex(users.get(largest()).getWalletKey().toBytes()) + "', 'hex') " +
+                "AND lower(original_filename) LIKE '%4242 %'", "idx_voice_file_filename_trgm");
+        report("filename", medians);
+    }
+
+    @Test
+    void modelNameSearchLatencyIndependentOfHistorySize() {
+        Map<Integer, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<Integer, User> entry : users.entrySet()) {
+            UUID userId = entry.getValue().getId();
+            for (String query : queries) {
+                Page<?> page = voiceModelRepository.searchByModelNameTrigram(userId, SearchUtils.escapeLike(query),
+                        query, FIRST_PAGE);
+                assertTrue(page.getTotalElements() > 0, query);
+            }
+            medians.put(entry.getKey(), medianMillis(() -> {
+                for (String query : queries) {
+                    voiceModelRepository.searchByModelNameTrigram(userId, SearchUtils.escapeLike(query), query, FIRST_PAGE);
+                }
+                return null;
+            }));
+        }
+        assertUsesIndex("SELECT id FROM voice_models WHERE user_id = '" + users.get(largest()).getId() + "' " +
+                "AND lower(model_name) LIKE '%4242 %'", "idx_voice_model_name_trgm");
+        report("model name", medians);
+    }
+
+    private static double medianMillis(Supplier<?> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            search.get();
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1e6;
+    }
+
+    /** 가장 큰 이력에서 (사용자 범위 btree 가 아니라) trigram GIN 인덱스를 쓰는지 */
+    private void assertUsesIndex(String sql, String index) {
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private static void report(String name, Map<Integer, Double> medians) {
+        medians.forEach((size, millis) ->
+                log.info("{} search, {} rows per user: median {} ms per 3 queries", name, size, String.format("%.2f", millis)));
+        double small = medians.get(HISTORY_SIZES[0]);
+        double large = medians.get(largest());
+        // 10배 많은 이력에서도 같은 자릿수 (순차 스캔이면 10배 가까이 늘어남)
+        assertTrue(large <= small * 3 + 5, name + " search: " + small + " ms -> " + large + " ms");
+    }
+
+    private static int largest() {
+        return HISTORY_SIZES[HISTORY_SIZES.length - 1];
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.AudIon.domain.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalletAddressTest {
+
+    // EIP-55 예시 주소 (체크섬 대소문자)
+    private static final String CHECKSUM = "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed";
+    private static final String LOWER = CHECKSUM.toLowerCase();
+
+    @Test
+    void parseNormalizesToLowercase() {
+        WalletAddress wallet = WalletAddress.parse(CHECKSUM);
+
+        assertEquals(LOWER, wallet.toString());
+        assertEquals(wallet, WalletAddress.parse(LOWER));
+        assertEquals(wallet, WalletAddress.parse("  " + CHECKSUM.toUpperCase().replace("0X", "0x") + "\n"));
+        assertEquals(wallet, WalletAddress.parse("0X" + LOWER.substring(2)));
+        assertEquals(wallet.hashCode(), WalletAddress.parse(LOWER).hashCode());
+    }
+
+    @Test
+    void parseRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse(LOWER.substring(2)));     // 0x 없음
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse(LOWER.substring(0, 41))); // 짧음
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse(LOWER + "0"));             // 김
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse("0x" + "g".repeat(40)));
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.parse("1x" + "0".repeat(40)));
+
+        assertTrue(WalletAddress.tryParse("not-a-wallet").isEmpty());
+        assertTrue(WalletAddress.tryParse(CHECKSUM).isPresent());
+    }
+
+    @Test
+    void matchesIgnoresCase() {
+        WalletAddress wallet = WalletAddress.parse(LOWER);
+
+        assertTrue(wallet.matches(CHECKSUM));
+        assertTrue(wallet.matches(LOWER));
+        assertTrue(wallet.matches("0X" + CHECKSUM.substring(2).toUpperCase()));
+
+        assertFalse(wallet.matches(null));
+        assertFalse(wallet.matches(LOWER.substring(0, 41) + "0"));
+        assertFalse(wallet.matches(" " + LOWER)); // matches 는 공백을 다듬지 않음
+        assertFalse(wallet.matches(LOWER.substring(2)));
+        assertFalse(wallet.matches("0x" + "z".repeat(40)));
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        for (String hex : List.of(LOWER, "0x" + "0".repeat(40), "0x" + "f".repeat(40),
+                "0x8000000000000000800000000000000080000000")) {
+            WalletAddress wallet = WalletAddress.parse(hex);
+            byte[] bytes = wallet.toBytes();
+
+            assertEquals(WalletAddress.BYTE_LENGTH, bytes.length);
+            assertArrayEquals(HexFormat.of().parseHex(hex.substring(2)), bytes);
+            assertEquals(wallet, WalletAddress.fromBytes(bytes));
+            assertEquals(hex, WalletAddress.fromBytes(bytes).toString());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.fromBytes(null));
+        assertThrows(IllegalArgumentException.class, () -> WalletAddress.fromBytes(new byte[19]));
+    }
+
+    @Test
+    void compareToMatchesUnsignedByteOrder() {
+        List<WalletAddress> wallets = new ArrayList<>();
+        for (String hex : List.of("0x" + "f".repeat(40), "0x" + "0".repeat(40),
+                "0x8000000000000000000000000000000000000000", "0x7fffffffffffffffffffffffffffffffffffffff",
+                "0x0000000000000000800000000000000000000000", "0x0000000000000000000000000000000080000000",
+                "0x000000000000000000000000000000007fffffff", LOWER)) {
+            wallets.add(WalletAddress.parse(hex));
+        }
+        Collections.shuffle(wallets, new Random(1));
+        Collections.sort(wallets);
+
+        for (int i = 1; i < wallets.size(); i++) {
+            assertTrue(compareBytes(wallets.get(i - 1).toBytes(), wallets.get(i).toBytes()) < 0,
+                    wallets.get(i - 1) + " < " + wallets.get(i));
+        }
+        WalletAddress wallet = WalletAddress.parse(CHECKSUM);
+        assertEquals(0, wallet.compareTo(WalletAddress.parse(LOWER)));
+        assertNotEquals(wallet, WalletAddress.parse("0x" + "0".repeat(40)));
+    }
+
+    /** bytea 정렬과 같은 부호 없는 바이트 사전순 */
+    private static int compareBytes(byte[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int c = Integer.compare(a[i] & 0xFF, b[i] & 0xFF);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.AudIon.service.audio.dsp;
+
+import jdk.incubator.vector.FloatVector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 스칼라/벡터 커널 결과 비교
+ * - 길이는 레인 수 전후와 홀수 꼬리 포함 (벡터 루프 + 스칼라 나머지 경계)
+ * - offset 을 0 이 아닌 값으로 줘서 구간 계산도 함께 확인
+ */
+class DspKernelsEquivalenceTest {
+
+    private static final int OFFSET = 3;
+
+    private static ScalarDspKernels scalar;
+    private static DspKernels vector;
+    private static int lanes;
+
+    private final Random random = new Random(42);
+
+    @BeforeAll
+    static void setUp() {
+        scalar = new ScalarDspKernels();
+        vector = DspKernels.select(true);
+        assumeTrue(vector instanceof VectorDspKernels, "jdk.incubator.vector 모듈 없음");
+        lanes = FloatVector.SPECIES_PREFERRED.length();
+    }
+
+    /** 0, 1, 홀수, 레인 수 ±1, 여러 벡터 + 꼬리, 합산 블록(1024) 경계 */
+    private static int[] lengths() {
+        return IntStream.of(0, 1, 3, 7, lanes - 1, lanes, lanes + 1, 2 * lanes + 3,
+                        1023, 1024, 1025, 4099)
+                .filter(n -> n >= 0)
+                .distinct()
+                .toArray();
+    }
+
+    private float[] signal(int n) {
+        float[] x = new float[OFFSET + n + 5];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = (float) (random.nextGaussian() * 0.4);
+        }
+        return x;
+    }
+
+    @Test
+    void int16ToFloat() {
+        for (int n : lengths()) {
+            byte[] src = new byte[2 * (OFFSET + n)];
+            random.nextBytes(src);
+            float[] expected = new float[OFFSET + n];
+            float[] actual = new float[OFFSET + n];
+            scalar.int16ToFloat(src, 2 * OFFSET, expected, OFFSET, n);
+            vector.int16ToFloat(src, 2 * OFFSET, actual, OFFSET, n);
+            assertArrayEquals(expected, actual, "n=" + n);
+        }
+    }
+
+    @Test
+    void floatToInt16() {
+        for (int n : lengths()) {
+            float[] src = signal(n);
+            src[OFFSET] = 0f; // 반올림 경계 / 클리핑 값 포함
+            if (n > 1) src[OFFSET + 1] = -0f;
+            if (n > 2) src[OFFSET + 2] = 1.7f;
+            byte[] expected = new byte[2 * (OFFSET + n)];
+            byte[] actual = new byte[2 * (OFFSET + n)];
+            scalar.floatToInt16(src, OFFSET, expected, 2 * OFFSET, n, 1.5f);
+            vector.floatToInt16(src, OFFSET, actual, 2 * OFFSET, n, 1.5f);
+            assertArrayEquals(expected, actual, "n=" + n);
+        }
+    }
+
+    @Test
+    void gain() {
+        for (int n : lengths()) {
+            float[] expected = signal(n);
+            float[] actual = expected.clone();
+            scalar.gain(expected, OFFSET, n, 0.7f);
+            vector.gain(actual, OFFSET, n, 0.7f);
+            assertArrayEquals(expected, actual, "n=" + n);
+        }
+    }
+
+    @Test
+    void reductions() {
+        for (int n : lengths()) {
+            float[] x = signal(n);
+            double sum = scalar.sumOfSquares(x, OFFSET, n);
+            assertEquals(sum, vector.sumOfSquares(x, OFFSET, n), 1e-5 * Math.max(1, sum), "sumOfSquares n=" + n);
+            assertEquals(scalar.peak(x, OFFSET, n), vector.peak(x, OFFSET, n), "peak n=" + n);
+            assertEquals(scalar.countAtLeast(x, OFFSET, n, 0.5f), vector.countAtLeast(x, OFFSET, n, 0.5f), "countAtLeast n=" + n);
+            assertEquals(scalar.min(x, OFFSET, n), vector.min(x, OFFSET, n), "min n=" + n);
+            assertEquals(scalar.max(x, OFFSET, n), vector.max(x, OFFSET, n), "max n=" + n);
+        }
+    }
+
+    @Test
+    void dot() {
+        for (int n : lengths()) {
+            float[] a = signal(n);
+            float[] b = signal(n);
+            float expected = scalar.dot(a, OFFSET, b, 1, n);
+            assertEquals(expected, vector.dot(a, OFFSET, b, 1, n), 1e-4f * Math.max(1, n), "n=" + n);
+        }
+    }
+
+    @Test
+    void fir() {
+        for (int taps : new int[]{1, 4, 31}) {
+            float[] h = signal(taps);
+            float[] kernel = new float[taps];
+            System.arraycopy(h, OFFSET, kernel, 0, taps);
+            for (int n : lengths()) {
+                float[] x = signal(n + taps);
+                float[] expected = new float[OFFSET + n];
+                float[] actual = new float[OFFSET + n];
+                scalar.fir(x, OFFSET, kernel, expected, OFFSET, n);
+                vector.fir(x, OFFSET, kernel, actual, OFFSET, n);
+                assertArrayEquals(expected, actual, 1e-5f, "taps=" + taps + " n=" + n);
+            }
+        }
+    }
+
+    /** 레인 수보다 작은 단계만 있는 크기(스칼라 경로)부터 여러 벡터 단계를 거치는 크기까지 */
+    @Test
+    void fftMagnitude() {
+        for (int n = 1; n <= Math.max(4096, 8 * lanes); n <<= 1) {
+            float[] re = signal(n);
+            float[] im = signal(n);
+            float[] expectedRe = new float[n];
+            float[] expectedIm = new float[n];
+            System.arraycopy(re, OFFSET, expectedRe, 0, n);
+            System.arraycopy(im, OFFSET, expectedIm, 0, n);
+            float[] actualRe = expectedRe.clone();
+            float[] actualIm = expectedIm.clone();
+
+            float[] expected = new float[n / 2 + 1];
+            float[] actual = new float[n / 2 + 1];
+            scalar.fftMagnitude(expectedRe, expectedIm, expected, n);
+            vector.fftMagnitude(actualRe, actualIm, actual, n);
+
+            float tolerance = 1e-5f * n;
+            assertArrayEquals(expectedRe, actualRe, tolerance, "re n=" + n);
+            assertArrayEquals(expectedIm, actualIm, tolerance, "im n=" + n);
+            assertArrayEquals(expected, actual, tolerance, "magnitude n=" + n);
+        }
+    }
+
+    /** 스칼라 FFT 자체 확인 - 단일 주파수 사인은 해당 bin 에만 크기 n/2 */
+    @Test
+    void fftFindsSingleTone() {
+        int n = 256;
+        int bin = 10;
+        float[] re = new float[n];
+        float[] im = new float[n];
+        for (int i = 0; i < n; i++) {
+            re[i] = (float) Math.sin(2 * Math.PI * bin * i / n);
+        }
+        float[] out = new float[n / 2 + 1];
+        scalar.fftMagnitude(re, im, out, n);
+        assertEquals(n / 2f, out[bin], 1e-3f);
+        for (int i = 0; i < out.length; i++) {
+            if (i != bin) assertTrue(out[i] < 1e-3f, "bin " + i + " = " + out[i]);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.AudIon.service.audio.flac;
+
+import com.example.AudIon.service.audio.AudioInfo;
+import com.example.AudIon.service.audio.AudioProbe;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WAV → FlacEncoder → FlacDecoder 비트 단위 일치
+ * - 블록 크기로 나누어 떨어지지 않는 길이, 8/16/24bit, 1~3채널
+ * - 무음(CONSTANT), 사인(FIXED), 최대 진폭 잡음(VERBATIM), 양 끝 값이 모두 나오도록 구성
+ */
+class FlacRoundTripTest {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    @TempDir
+    Path dir;
+
+    private final Random random = new Random(40);
+
+    @Test
+    void stereo16BitSpeechLike() throws IOException {
+        int n = 3 * FlacEncoder.BLOCK_SIZE + 1234;
+        int[][] pcm = new int[2][n];
+        for (int i = 0; i < n; i++) {
+            double tone = Math.sin(2 * Math.PI * 220 * i / SAMPLE_RATE) * 12000;
+            pcm[0][i] = (int) (tone + random.nextGaussian() * 300);
+            pcm[1][i] = (int) (tone * 0.8 + random.nextGaussian() * 300); // L/R 상관 → 스테레오 분해 선택
+        }
+        assertRoundTrip(pcm, 16);
+    }
+
+    @Test
+    void mono8Bit() throws IOException {
+        int n = FlacEncoder.BLOCK_SIZE + 17;
+        int[][] pcm = new int[1][n];
+        for (int i = 0; i < n; i++) {
+            pcm[0][i] = (int) Math.round(Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE) * 127);
+        }
+        pcm[0][0] = -128;
+        assertRoundTrip(pcm, 8);
+    }
+
+    @Test
+    void threeChannel24Bit() throws IOException {
+        int n = 2 * FlacEncoder.BLOCK_SIZE - 1;
+        int[][] pcm = new int[3][n];
+        for (int i = 0; i < n; i++) {
+            pcm[0][i] = (int) (Math.sin(2 * Math.PI * 100 * i / SAMPLE_RATE) * 8_000_000);
+            pcm[1][i] = random.nextInt(1 << 24) - (1 << 23);
+            pcm[2][i] = 0;
+        }
+        pcm[1][0] = -(1 << 23);
+        pcm[1][1] = (1 << 23) - 1;
+        assertRoundTrip(pcm, 24);
+    }
+
+    @Test
+    void silenceAndFullScaleNoise() throws IOException {
+        int n = 2 * FlacEncoder.BLOCK_SIZE;
+        int[][] pcm = new int[2][n];
+        for (int i = FlacEncoder.BLOCK_SIZE; i < n; i++) {
+            pcm[0][i] = random.nextBoolean() ? Short.MIN_VALUE : Short.MAX_VALUE;
+            pcm[1][i] = random.nextInt(1 << 16) + Short.MIN_VALUE;
+        }
+        assertRoundTrip(pcm, 16);
+    }
+
+    @Test
+    void decoderRejectsCorruptedFrame() throws IOException {
+        int n = 2 * FlacEncoder.BLOCK_SIZE;
+        int[][] pcm = new int[1][n];
+        for (int i = 0; i < n; i++) {
+            pcm[0][i] = (int) (random.nextGaussian() * 2000);
+        }
+        Path wav = writeWav(pcm, 16);
+        AudioInfo info = probe(wav);
+        Path flac = dir.resolve("corrupt.flac");
+        FlacEncoder.encode(wav, info, flac);
+
+        byte[] bytes = Files.readAllBytes(flac);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(flac, bytes);
+        assertFalse(FlacDecoder.matches(flac, wav, info));
+    }
+
+    @Test
+    void decoderRejectsDifferentSource() throws IOException {
+        int n = FlacEncoder.BLOCK_SIZE + 100;
+        int[][] pcm = new int[1][n];
+        for (int i = 0; i < n; i++) {
+            pcm[0][i] = (int) (random.nextGaussian() * 2000);
+        }
+        Path wav = writeWav(pcm, 16);
+        AudioInfo info = probe(wav);
+        Path flac = dir.resolve("source.flac");
+        FlacEncoder.encode(wav, info, flac);
+
+        pcm[0][n - 1] ^= 1; // 마지막(짧은) 블록의 샘플 하나만 다름
+        Path other = writeWav(pcm, 16);
+        assertFalse(FlacDecoder.matches(flac, other, probe(other)));
+    }
+
+    @Test
+    void rejectsUnsupportedInput() throws IOException {
+        int[][] pcm = new int[1][8]; // 16 프레임 미만
+        Path wav = writeWav(pcm, 16);
+        AudioInfo info = probe(wav);
+
+        assertFalse(FlacEncoder.supports(info));
+        assertThrows(IllegalArgumentException.class, () -> FlacEncoder.encode(wav, info, dir.resolve("x.flac")));
+    }
+
+    private void assertRoundTrip(int[][] pcm, int bps) throws IOException {
+        Path wav = writeWav(pcm, bps);
+        AudioInfo info = probe(wav);
+        assertTrue(FlacEncoder.supports(info));
+
+        Path flac = dir.resolve("out.flac");
+        FlacEncoder.Result result = FlacEncoder.encode(wav, info, flac);
+
+        assertEquals(pcm[0].length, result.totalSamples());
+        assertEquals(Files.size(flac), result.size());
+        assertTrue(FlacDecoder.matches(flac, wav, info), "decoded samples differ from source");
+    }
+
+    private AudioInfo probe(Path wav) throws IOException {
+        return new AudioProbe().probe(() -> Files.newInputStream(wav), Files.size(wav));
+    }
+
+    /** 정수 PCM WAV (8bit 는 unsigned) */
+    private Path writeWav(int[][] pcm, int bps) throws IOException {
+        int channels = pcm.length;
+        int n = pcm[0].length;
+        int bytesPerSample = bps / 8;
+        int dataLength = n * channels * bytesPerSample;
+        ByteBuffer b = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        b.put("RIFF".getBytes()).putInt(36 + dataLength).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16)
+                .putShort((short) 1).putShort((short) channels).putInt(SAMPLE_RATE)
+                .putInt(SAMPLE_RATE * channels * bytesPerSample)
+                .putShort((short) (channels * bytesPerSample)).putShort((short) bps)
+                .put("data".getBytes()).putInt(dataLength);
+        for (int i = 0; i < n; i++) {
+            for (int[] channel : pcm) {
+                int v = bps == 8 ? channel[i] + 128 : channel[i];
+                for (int k = 0; k < bytesPerSample; k++) {
+                    b.put((byte) (v >> (8 * k)));
+                }
+            }
+        }
+        Path wav = Files.createTempFile(dir, "pcm-", ".wav");
+        Files.write(wav, b.array());
+        return wav;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.AudIon.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GCRA 로컬 버킷 - 5회/1초 (interval 200ms, 버스트 5)
+ * 시각은 System.nanoTime() 기준 오프셋으로 직접 넘김 (stripe 정리 시각이 생성 시 nanoTime 으로 초기화되므로)
+ */
+class RateLimitBucketsTest {
+
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy(5, Duration.ofSeconds(1));
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final long start = System.nanoTime();
+
+    @Test
+    void allowsBurstThenReportsWait() {
+        RateLimitBuckets buckets = new RateLimitBuckets(POLICY, 4, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.acquire("a", start), "request " + i);
+        }
+        assertEquals(INTERVAL, buckets.acquire("a", start));
+        assertEquals(INTERVAL / 2, buckets.acquire("a", start + INTERVAL / 2));
+
+        // 키별로 독립
+        assertEquals(0, buckets.acquire("b", start));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimitBuckets buckets = new RateLimitBuckets(POLICY, 4, 100);
+        for (int i = 0; i < 5; i++) {
+            buckets.acquire("a", start);
+        }
+
+        assertEquals(0, buckets.acquire("a", start + INTERVAL));
+        assertTrue(buckets.acquire("a", start + INTERVAL) > 0);
+
+        // 한참 뒤에는 다시 버스트 전체
+        long later = start + TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.acquire("a", later), "request " + i);
+        }
+        assertTrue(buckets.acquire("a", later) > 0);
+    }
+
+    @Test
+    void refundReturnsToken() {
+        RateLimitBuckets buckets = new RateLimitBuckets(POLICY, 4, 100);
+        for (int i = 0; i < 5; i++) {
+            buckets.acquire("a", start);
+        }
+        buckets.refund("a");
+
+        assertEquals(0, buckets.acquire("a", start));
+        assertTrue(buckets.acquire("a", start) > 0);
+        buckets.refund("unknown"); // 없는 키는 무시
+    }
+
+    @Test
+    void evictIdleRemovesOnlyFullBuckets() {
+        RateLimitBuckets buckets = new RateLimitBuckets(POLICY, 4, 100);
+        buckets.acquire("a", start);                          // 다음 토큰 시각 start + 200ms
+        buckets.acquire("b", start + INTERVAL);               // start + 400ms
+        assertEquals(2, buckets.size());
+
+        assertEquals(0, buckets.evictIdle(start + INTERVAL - 1));
+        assertEquals(1, buckets.evictIdle(start + INTERVAL));   // 충전 완료 시각과 같으면 정리 (makeRoom 과 같은 기준)
+        assertEquals(1, buckets.size());
+        assertEquals(1, buckets.evictIdle(start + 3 * INTERVAL));
+        assertEquals(0, buckets.size());
+
+        // 정리된 키는 새 버킷으로 다시 버스트 전체
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.acquire("a", start + 3 * INTERVAL), "request " + i);
+        }
+    }
+
+    @Test
+    void fullStripesShareOverflowBucket() {
+        // stripe 2개, stripe 당 버킷 1개
+        RateLimitBuckets buckets = new RateLimitBuckets(POLICY, 2, 2);
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (buckets.acquire("key-" + i, start) == 0) {
+                allowed++;
+            }
+        }
+        // 키마다 한 번씩: stripe 별 첫 키(자기 버킷) 1 + 나머지 키가 나눠 쓰는 공용 버킷 5
+        assertEquals(2 * (1 + 5), allowed);
+        assertEquals(2, buckets.size());
+        assertEquals(98, buckets.overflows.sum());
+
+        // 기존 버킷이 충전되면 새 키가 그 자리를 받음 (상한 유지)
+        long later = start + TimeUnit.SECONDS.toNanos(2);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.acquire("fresh", later), "request " + i);
+        }
+        assertTrue(buckets.acquire("fresh", later) > 0);
+        assertTrue(buckets.size() <= 2);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.AudIon.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * LocalBlobStore.list - 키 색인 기반 페이지 조회 (바이트 순, prefix 범위, 이어 읽기, 재시작 후 색인 복원)
+ */
+class LocalBlobStoreListTest {
+
+    private static final BlobStore.PutOptions OPTIONS = new BlobStore.PutOptions("audio/wav", null, false, null);
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = open();
+        for (String key : List.of("voices/b/2.wav", "voices/a/1.wav", "voices/a/3.wav", "voices/é.wav",
+                "voices/a/2.wav", "other/x.wav", "voices/z.wav")) {
+            put(key);
+        }
+    }
+
+    @Test
+    void pagesThroughPrefixInByteOrder() {
+        assertEquals(List.of("voices/a/1.wav", "voices/a/2.wav", "voices/a/3.wav", "voices/b/2.wav",
+                "voices/z.wav", "voices/é.wav"), listAll(store, "voices/", 2));
+    }
+
+    @Test
+    void stopsAtEndOfPrefix() {
+        BlobStore.ListPage page = store.list("voices/a/", null, 3);
+
+        assertEquals(List.of("voices/a/1.wav", "voices/a/2.wav", "voices/a/3.wav"), keys(page));
+        assertNull(page.nextStartAfter());
+    }
+
+    @Test
+    void resumesAfterContinuationKey() {
+        assertEquals(List.of("voices/a/3.wav", "voices/b/2.wav"),
+                keys(store.list("voices/", "voices/a/2.wav", 2)));
+        assertEquals(List.of("voices/a/1.wav"), keys(store.list("voices/", "other/x.wav", 1)));
+    }
+
+    @Test
+    void reflectsDeletesCopiesAndRestart() throws Exception {
+        store.delete("voices/a/2.wav");
+        store.copy("voices/a/1.wav", "voices/a/0.wav");
+
+        assertEquals(List.of("voices/a/0.wav", "voices/a/1.wav", "voices/a/3.wav"), listAll(store, "voices/a/", 2));
+        assertEquals(List.of("voices/a/0.wav", "voices/a/1.wav", "voices/a/3.wav"), listAll(open(), "voices/a/", 2));
+    }
+
+    private LocalBlobStore open() throws Exception {
+        LocalBlobStore opened = new LocalBlobStore();
+        ReflectionTestUtils.setField(opened, "rootDir", root.toString());
+        ReflectionTestUtils.setField(opened, "fsync", LocalBlobStore.FsyncPolicy.NONE);
+        ReflectionTestUtils.setField(opened, "signingSecret", "test");
+        opened.init();
+        return opened;
+    }
+
+    private void put(String key) {
+        byte[] content = key.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(content), content.length, OPTIONS);
+    }
+
+    private static List<String> listAll(LocalBlobStore store, String prefix, int pageSize) {
+        List<String> all = new ArrayList<>();
+        String startAfter = null;
+        do {
+            BlobStore.ListPage page = store.list(prefix, startAfter, pageSize);
+            all.addAll(keys(page));
+            startAfter = page.nextStartAfter();
+        } while (startAfter != null);
+        return all;
+    }
+
+    private static List<String> keys(BlobStore.ListPage page) {
+        return page.items().stream().map(BlobStore.BlobInfo::key).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.AudIon.service.storage;
+
+import com.example.AudIon.service.s3.KeyLayout;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * StorageGarbageCollector.baseOf - 고아 객체 판별 (GC, 인벤토리 대사) 기준
+ * 원본/파생 객체가 모두 원본과 같은 base 로 모여야 하고, 다른 파일의 base 와는 겹치지 않아야 함
+ */
+class StorageKeyBaseTest {
+
+    private static final String WALLET = "0x5aaeb6053f3e94c9b9a09f33669435e7ef1beaed";
+    private static final String ID = "3f2504e0-4f89-11d3-9a0c-0305e82c3301";
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 7);
+
+    /** 원본 키 하나에서 만들어지는 모든 객체 (확장자 변경, 전처리, 특징, 파형 피크, 구간) */
+    private static List<String> keysFor(String base) {
+        return List.of(
+                base + ".wav",
+                base + ".mp3",
+                base + ".flac",
+                base + ".train.wav",
+                base + ".mel.f16",
+                base + ".peaks/0.dat",
+                base + ".peaks/12.dat",
+                base + ".chunks/0000.wav",
+                base + ".chunks/0137.wav",
+                base);
+    }
+
+    @Test
+    void datedKeys() {
+        String base = KeyLayout.DATED.base(WALLET, ID, DATE);
+        assertEquals("voices/" + WALLET + "/2025/03/07/" + ID, base);
+        keysFor(base).forEach(key -> assertEquals(base, StorageGarbageCollector.baseOf(key), key));
+    }
+
+    @Test
+    void shardedKeys() {
+        String base = KeyLayout.SHARDED.base(WALLET, ID, DATE);
+        assertEquals(4, base.split("/").length);
+        keysFor(base).forEach(key -> assertEquals(base, StorageGarbageCollector.baseOf(key), key));
+    }
+
+    @Test
+    void sharedKeys() {
+        String base = KeyLayout.SHARED.base(WALLET, ID, DATE);
+        assertEquals(base, KeyLayout.SHARED.base("other-wallet", ID, DATE.plusDays(3))); // 지갑/날짜 무관
+        keysFor(base).forEach(key -> assertEquals(base, StorageGarbageCollector.baseOf(key), key));
+    }
+
+    @Test
+    void layoutsAreDetectedFromKeys() {
+        assertEquals(KeyLayout.DATED, KeyLayout.detect(KeyLayout.DATED.base(WALLET, ID, DATE) + ".wav"));
+        assertEquals(KeyLayout.SHARDED, KeyLayout.detect(KeyLayout.SHARDED.base(WALLET, ID, DATE) + ".wav"));
+        assertEquals(KeyLayout.SHARED, KeyLayout.detect(KeyLayout.SHARED.base(WALLET, ID, DATE) + ".wav"));
+    }
+
+    @Test
+    void differentFilesDoNotShareBase() {
+        String other = "3f2504e0-4f89-11d3-9a0c-0305e82c3302";
+        for (KeyLayout layout : KeyLayout.values()) {
+            String base = layout.base(WALLET, ID, DATE);
+            String otherBase = layout.base(WALLET, other, DATE);
+            for (String key : keysFor(otherBase)) {
+                assertNotEquals(base, StorageGarbageCollector.baseOf(key), key);
+            }
+        }
+        // 같은 지갑 디렉터리 아래의 다른 날짜
+        assertNotEquals(StorageGarbageCollector.baseOf(KeyLayout.DATED.base(WALLET, ID, DATE) + ".wav"),
+                StorageGarbageCollector.baseOf(KeyLayout.DATED.base(WALLET, ID, DATE.plusDays(1)) + ".wav"));
+    }
+}
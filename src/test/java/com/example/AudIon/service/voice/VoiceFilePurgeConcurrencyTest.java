@@ -0,0 +1,158 @@
+package com.example.AudIon.service.voice;
+
+import com.example.AudIon.config.TrigramSearchInitializer;
+import com.example.AudIon.domain.user.User;
+import com.example.AudIon.domain.user.WalletAddress;
+import com.example.AudIon.domain.voice.StoredObject;
+import com.example.AudIon.domain.voice.VoiceFile;
+import com.example.AudIon.repository.user.UserRepository;
+import com.example.AudIon.repository.voice.StoredObjectRepository;
+import com.example.AudIon.repository.voice.VoiceFileRepository;
+import com.example.AudIon.service.ai.AiService;
+import com.example.AudIon.service.audio.AudioPreprocessor;
+import com.example.AudIon.service.audio.AudioProbe;
+import com.example.AudIon.service.audio.TrainingAdmissionPolicy;
+import com.example.AudIon.service.audio.WaveformPeaksService;
+import com.example.AudIon.service.s3.PresignedUrlCache;
+import com.example.AudIon.service.s3.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 노드가 같은 소프트 삭제 행을 동시에 영구 삭제해도 공유 객체 참조는 한 번만 해제되는지 (PostgreSQL)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 각 purge 가 실제로 커밋되어야 함
+@Import({VoiceService.class, SimpleMeterRegistry.class})
+class VoiceFilePurgeConcurrencyTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String SHARED_KEY = "voices/objects/ab/" + UUID.randomUUID() + ".wav";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean S3Service s3Service;
+    @MockBean AiService aiService;
+    @MockBean TrigramSearchInitializer trigramSearch;
+    @MockBean AudioProbe audioProbe;
+    @MockBean AudioPreprocessor audioPreprocessor;
+    @MockBean TrainingAdmissionPolicy admissionPolicy;
+    @MockBean WaveformPeaksService waveformPeaksService;
+    @MockBean PresignedUrlCache presignedUrlCache;
+
+    @Autowired VoiceService voiceService;
+    @Autowired VoiceFileRepository voiceFileRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired StoredObjectRepository storedObjectRepository;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void concurrentPurgesReleaseSharedObjectOnce() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            String hash = Integer.toHexString(round) + HASH.substring(Integer.toHexString(round).length());
+            String key = SHARED_KEY.replace(".wav", "-" + round + ".wav");
+            storedObjectRepository.saveAndFlush(StoredObject.builder()
+                    .contentHash(hash).s3Key(key).fileUrl("https://s3/" + key).fileSize(100L).refCount(2).build());
+
+            VoiceFile deleted = saveFile("0x" + "1".repeat(40), hash, key);
+            VoiceFile live = saveFile("0x" + "2".repeat(40), hash, key);
+            jdbc.update("UPDATE voice_files SET deleted_at = now() - interval '1 day' WHERE id = ?", deleted.getId());
+
+            List<VoiceService.DeletedRows> results = purgeConcurrently(deleted.getId(), 2);
+
+            int rows = results.stream().mapToInt(VoiceService.DeletedRows::rows).sum();
+            assertEquals(1, rows, "round " + round + ": exactly one node deletes the row");
+            assertTrue(results.stream().allMatch(r -> r.keys().isEmpty()),
+                    "round " + round + ": object is still referenced by the live file");
+            StoredObject object = storedObjectRepository.findById(hash).orElseThrow();
+            assertEquals(1, object.getRefCount(), "round " + round);
+            assertTrue(voiceFileRepository.existsById(live.getId()));
+        }
+    }
+
+    @Test
+    void purgeAfterPurgeIsNoop() {
+        String hash = "f".repeat(64);
+        String key = SHARED_KEY.replace(".wav", "-seq.wav");
+        storedObjectRepository.saveAndFlush(StoredObject.builder()
+                .contentHash(hash).s3Key(key).fileUrl("https://s3/" + key).fileSize(100L).refCount(1).build());
+        VoiceFile file = saveFile("0x" + "3".repeat(40), hash, key);
+        jdbc.update("UPDATE voice_files SET deleted_at = now() - interval '1 day' WHERE id = ?", file.getId());
+
+        VoiceService.DeletedRows first = voiceService.purgeDeletedFiles(List.of(file.getId()));
+        VoiceService.DeletedRows second = voiceService.purgeDeletedFiles(List.of(file.getId()));
+
+        assertEquals(1, first.rows());
+        assertEquals(List.of(key), first.keys());
+        assertEquals(0, second.rows());
+        assertTrue(second.keys().isEmpty());
+        assertTrue(storedObjectRepository.findById(hash).isEmpty());
+    }
+
+    private List<VoiceService.DeletedRows> purgeConcurrently(UUID id, int nodes) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(nodes);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<VoiceService.DeletedRows>> futures = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return voiceService.purgeDeletedFiles(List.of(id));
+                }));
+            }
+            List<VoiceService.DeletedRows> results = new ArrayList<>();
+            for (Future<VoiceService.DeletedRows> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private VoiceFile saveFile(String wallet, String hash, String key) {
+        User user = userRepository.findByWalletAddress(wallet).orElseGet(() -> userRepository.saveAndFlush(User.builder()
+                .walletAddress(wallet)
+                .walletKey(WalletAddress.parse(wallet))
+                .createdAt(LocalDateTime.now())
+                .build()));
+        return voiceFileRepository.saveAndFlush(VoiceFile.builder()
+                .user(user)
+                .walletAddress(wallet)
+                .walletKey(WalletAddress.parse(wallet))
+                .fileUrl("https://s3/" + key)
+                .s3Key(key)
+                .contentHash(hash)
+                .fileSize(100L)
+                .uploadedAt(LocalDateTime.now())
+                .build());
+    }
+}